@@ -0,0 +1,49 @@
+package com.habitora.backend.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.habitora.backend.presentation.dto.HabitacionDisponibleResponse;
+import com.habitora.backend.service.disponibilidad.DisponibilidadService;
+
+/**
+ * Habitaciones libres en el mes siguiente a {@link GeneradorDatos#MES_BASE}
+ * en todas las propiedades de un dueño al azar (hasta diez, de cincuenta
+ * habitaciones cada una): con el índice en memoria ya cargado, que es el caso
+ * normal, y descartándolo antes de cada consulta, que mide las dos consultas
+ * de carga.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class DisponibilidadBenchmark {
+
+    private static final LocalDate DESDE = GeneradorDatos.MES_BASE.plusMonths(1).atDay(1);
+    private static final LocalDate HASTA = GeneradorDatos.MES_BASE.plusMonths(1).atEndOfMonth();
+
+    @Benchmark
+    public List<HabitacionDisponibleResponse> libresConIndiceCargado(EntornoBenchmark entorno,
+                                                                    EntornoBenchmark.Azar azar) {
+        return entorno.bean(DisponibilidadService.class).libres(azar.propiedadesDeUnUsuario(entorno), DESDE, HASTA);
+    }
+
+    @Benchmark
+    public List<HabitacionDisponibleResponse> libresCargandoIndice(EntornoBenchmark entorno,
+                                                                  EntornoBenchmark.Azar azar) {
+        DisponibilidadService service = entorno.bean(DisponibilidadService.class);
+        List<Long> propiedades = azar.propiedadesDeUnUsuario(entorno);
+        propiedades.forEach(service::invalidar);
+        return service.libres(propiedades, DESDE, HASTA);
+    }
+}
@@ -0,0 +1,93 @@
+package com.habitora.backend.benchmarks;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.habitora.backend.BackendApplication;
+import com.habitora.backend.benchmarks.GeneradorDatos.DatosGenerados;
+import com.habitora.backend.service.resumen.ResumenPropiedadService;
+
+/**
+ * Contexto de Spring del backend con el perfil {@code test} (H2 en memoria,
+ * {@code MODE=MySQL}, tareas programadas apagadas) y los datos generados para
+ * el tamaño {@link #filas} del trial, con el resumen de cada propiedad ya
+ * calculado. Cada fork de JMH arranca su propia base.
+ */
+@State(Scope.Benchmark)
+public class EntornoBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private DatosGenerados datos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+        datos = new GeneradorDatos(bean(JdbcTemplate.class), GeneradorDatos.SEMILLA).generar(filas);
+        bean(ResumenPropiedadService.class).recalcularPendientes();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    public DatosGenerados datos() {
+        return datos;
+    }
+
+    /**
+     * Generador aleatorio por hilo con semilla fija, para que la secuencia de
+     * filas elegidas se repita entre corridas.
+     */
+    @State(Scope.Thread)
+    public static class Azar {
+
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            random = new SplittableRandom(GeneradorDatos.SEMILLA);
+        }
+
+        public long facturaAbierta(EntornoBenchmark entorno) {
+            long[] abiertas = entorno.datos().facturasAbiertas();
+            return abiertas[random.nextInt(abiertas.length)];
+        }
+
+        public long propiedad(EntornoBenchmark entorno) {
+            return 1 + random.nextInt(entorno.datos().propiedades());
+        }
+
+        /** Propiedades de un dueño al azar, en orden de id. */
+        public List<Long> propiedadesDeUnUsuario(EntornoBenchmark entorno) {
+            int propiedades = entorno.datos().propiedades();
+            int usuario = random.nextInt(Math.ceilDiv(propiedades, GeneradorDatos.PROPIEDADES_POR_USUARIO));
+            int primera = usuario * GeneradorDatos.PROPIEDADES_POR_USUARIO + 1;
+            int ultima = Math.min(primera + GeneradorDatos.PROPIEDADES_POR_USUARIO - 1, propiedades);
+            return LongStream.rangeClosed(primera, ultima).boxed().toList();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.habitora.backend.benchmarks;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.habitora.backend.service.facturacion.GeneradorFacturasService;
+import com.habitora.backend.service.facturacion.ResultadoFacturacion;
+
+/**
+ * Emisión del ciclo mensual completo (incluida la planificación de
+ * recordatorios tras el commit de cada página). Cada iteración borra antes
+ * las facturas del mes emitido para partir siempre del mismo estado.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+@State(Scope.Benchmark)
+public class FacturacionBenchmark {
+
+    private static final YearMonth PERIODO = GeneradorDatos.MES_BASE.plusMonths(1);
+
+    @Setup(Level.Iteration)
+    public void borrarCiclo(EntornoBenchmark entorno) {
+        JdbcTemplate jdbcTemplate = entorno.bean(JdbcTemplate.class);
+        Date inicio = Date.valueOf(PERIODO.atDay(1));
+        jdbcTemplate.update("delete from recordatorios where factura_id in "
+                + "(select id from facturas where periodo_inicio = ?)", inicio);
+        jdbcTemplate.update("delete from facturas where periodo_inicio = ?", inicio);
+    }
+
+    @Benchmark
+    public ResultadoFacturacion generarCiclo(EntornoBenchmark entorno) {
+        return entorno.bean(GeneradorFacturasService.class).generarCiclo(PERIODO);
+    }
+}
@@ -0,0 +1,207 @@
+package com.habitora.backend.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+
+/**
+ * Genera, de forma reproducible, el grafo completo de entidades para los
+ * benchmarks: usuarios, propiedades, pisos, habitaciones, inquilinos,
+ * contratos, facturas del {@link #MES_BASE}, pagos, configuraciones,
+ * recordatorios programados y la fila de {@code resumen_propiedades} de cada
+ * propiedad.
+ *
+ * <p>{@code filas} es el número de contratos (y de habitaciones e
+ * inquilinos); el resto de tablas escala con él. Con la misma semilla se
+ * obtienen exactamente los mismos datos e ids, así que dos corridas del mismo
+ * benchmark son comparables entre versiones. Se inserta por JDBC en lotes
+ * para que la carga de un millón de filas no domine el tiempo del trial.
+ */
+public class GeneradorDatos {
+
+    public static final long SEMILLA = 20240501L;
+
+    /** Mes de las facturas generadas; los benchmarks de facturación emiten el siguiente. */
+    public static final YearMonth MES_BASE = YearMonth.of(2030, 1);
+
+    static final int HABITACIONES_POR_PISO = 10;
+    static final int PISOS_POR_PROPIEDAD = 5;
+    static final int HABITACIONES_POR_PROPIEDAD = HABITACIONES_POR_PISO * PISOS_POR_PROPIEDAD;
+    static final int PROPIEDADES_POR_USUARIO = 10;
+
+    private static final int TAMANO_LOTE = 10_000;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final byte CONTRATO_CANCELADO = 0;
+    private static final byte FACTURA_ABIERTA = 1;
+    private static final byte FACTURA_PAGADA = 2;
+    private static final byte FACTURA_VENCIDA = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    public GeneradorDatos(JdbcTemplate jdbcTemplate, long semilla) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(semilla);
+    }
+
+    public DatosGenerados generar(int filas) {
+        int propiedades = Math.ceilDiv(filas, HABITACIONES_POR_PROPIEDAD);
+        int usuarios = Math.ceilDiv(propiedades, PROPIEDADES_POR_USUARIO);
+
+        // Todas las decisiones aleatorias se toman antes de insertar, en un
+        // orden fijo, para que los datos no dependan del orden de las tablas.
+        int[] precios = new int[filas + 1];
+        int[] mesesAntiguedad = new int[filas + 1];
+        byte[] estados = new byte[filas + 1];
+        MetodoPago[] metodos = MetodoPago.values();
+        int abiertas = 0;
+        for (int i = 1; i <= filas; i++) {
+            precios[i] = 300 + random.nextInt(40) * 10;
+            mesesAntiguedad[i] = 1 + random.nextInt(24);
+            int dado = random.nextInt(100);
+            if (dado < 10) {
+                estados[i] = CONTRATO_CANCELADO;
+            } else if (dado < 55) {
+                estados[i] = FACTURA_ABIERTA;
+                abiertas++;
+            } else if (dado < 82) {
+                estados[i] = FACTURA_PAGADA;
+            } else {
+                estados[i] = FACTURA_VENCIDA;
+            }
+        }
+
+        insertar("insert into usuarios (id, nombre_completo, email, telefono_whatsapp, contraseña) values (?, ?, ?, ?, ?)",
+                usuarios, u -> new Object[] { u, "Dueño " + u, "dueno" + u + "@habitora.bench", telefono(u), "secreto" });
+
+        insertar("insert into propiedades (id, usuario_id, nombre, direccion, cantidad_pisos) values (?, ?, ?, ?, ?)",
+                propiedades, p -> new Object[] { p, (p - 1) / PROPIEDADES_POR_USUARIO + 1, "Propiedad " + p,
+                        "Av. Benchmark " + p, PISOS_POR_PROPIEDAD });
+
+        insertar("insert into pisos (id, propiedad_id, numero_piso) values (?, ?, ?)",
+                propiedades * PISOS_POR_PROPIEDAD, s -> new Object[] { s, (s - 1) / PISOS_POR_PROPIEDAD + 1,
+                        (s - 1) % PISOS_POR_PROPIEDAD + 1 });
+
+        insertar("insert into habitaciones (id, propiedad_id, piso_id, codigo, precio_renta, estado) values (?, ?, ?, ?, ?, ?)",
+                filas, h -> new Object[] { h, propiedadDe(h), (h - 1) / HABITACIONES_POR_PISO + 1, "H-" + h,
+                        BigDecimal.valueOf(precios[h]), estados[h] == CONTRATO_CANCELADO ? "DISPONIBLE" : "OCUPADA" });
+
+        insertar("insert into inquilinos (id, nombre_completo, numero_dni, email, telefono_whatsapp) values (?, ?, ?, ?, ?)",
+                filas, i -> new Object[] { i, "Inquilino " + i, String.format("%08d", i),
+                        "inquilino" + i + "@habitora.bench", telefono(i) });
+
+        LocalDate inicioMes = MES_BASE.atDay(1);
+        insertar("insert into contratos (id, propiedad_id, habitacion_id, inquilino_id, estado, fecha_inicio, fecha_fin, "
+                        + "monto_deposito, tiene_archivadas) values (?, ?, ?, ?, ?, ?, ?, ?, false)",
+                filas, c -> new Object[] { c, propiedadDe(c), c, c,
+                        estados[c] == CONTRATO_CANCELADO ? "CANCELADO" : "ACTIVO",
+                        Date.valueOf(inicioMes.minusMonths(mesesAntiguedad[c])),
+                        estados[c] == CONTRATO_CANCELADO ? Date.valueOf(inicioMes.minusDays(1)) : null,
+                        BigDecimal.valueOf(precios[c]) });
+
+        insertar("insert into facturas (id, contrato_id, periodo_inicio, periodo_fin, fecha_vencimiento, monto_renta, "
+                        + "total_a_pagar, monto_pagado, estado, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                filas, c -> estados[c] == CONTRATO_CANCELADO ? null : new Object[] { c, c, Date.valueOf(inicioMes),
+                        Date.valueOf(MES_BASE.atEndOfMonth()), Date.valueOf(MES_BASE.atDay(5)),
+                        BigDecimal.valueOf(precios[c]), BigDecimal.valueOf(precios[c]),
+                        estados[c] == FACTURA_PAGADA ? BigDecimal.valueOf(precios[c]) : BigDecimal.ZERO,
+                        estados[c] == FACTURA_ABIERTA ? "ABIERTA" : estados[c] == FACTURA_PAGADA ? "PAGADA" : "VENCIDA" });
+
+        insertar("insert into pagos (id, contrato_id, factura_id, fecha_pago, monto, metodo) values (?, ?, ?, ?, ?, ?)",
+                filas, c -> estados[c] != FACTURA_PAGADA ? null : new Object[] { c, c, c,
+                        Date.valueOf(MES_BASE.atDay(3)), BigDecimal.valueOf(precios[c]), metodos[c % metodos.length].name() });
+
+        insertar("insert into config_recordatorios (id, propiedad_id, dias_antes, canal, telefono_remitente, esta_activo) "
+                        + "values (?, ?, 3, 'WHATSAPP', ?, true)",
+                propiedades, p -> new Object[] { p, p, telefono(p) });
+
+        Timestamp programado = Timestamp.valueOf(MES_BASE.atDay(2).atTime(9, 0));
+        insertar("insert into recordatorios (id, factura_id, contrato_id, programado_para, canal, telefono_destino, "
+                        + "mensaje, estado) values (?, ?, ?, ?, 'WHATSAPP', ?, ?, 'PROGRAMADO')",
+                filas, c -> estados[c] != FACTURA_ABIERTA ? null : new Object[] { c, c, c, programado, telefono(c),
+                        "Recordatorio de la factura " + c });
+
+        // Filas en cero marcadas como pendientes: las calcula el propio
+        // ResumenPropiedadService (ver EntornoBenchmark), y el benchmark de
+        // recálculo vuelve a marcar filas que ya existen.
+        Timestamp sinCalcular = Timestamp.valueOf(inicioMes.atStartOfDay());
+        insertar("insert into resumen_propiedades (propiedad_id, total_habitaciones, habitaciones_ocupadas, "
+                        + "renta_mensual_esperada, mes, renta_cobrada_mes, monto_vencido, actualizado_en, pendiente, marca) "
+                        + "values (?, 0, 0, 0, ?, 0, 0, ?, true, 0)",
+                propiedades, p -> new Object[] { p, Date.valueOf(inicioMes), sinCalcular });
+
+        reiniciarGeneradores(usuarios, propiedades, filas);
+
+        long[] facturasAbiertas = new long[abiertas];
+        for (int i = 1, j = 0; i <= filas; i++) {
+            if (estados[i] == FACTURA_ABIERTA) {
+                facturasAbiertas[j++] = i;
+            }
+        }
+        return new DatosGenerados(filas, propiedades, facturasAbiertas);
+    }
+
+    /**
+     * Los ids se insertaron explícitamente: las columnas identity y las
+     * tablas de secuencia ({@code *_seq}, el dialecto MySQL no usa secuencias
+     * nativas) se adelantan para que Hibernate no los repita.
+     */
+    private void reiniciarGeneradores(int usuarios, int propiedades, int filas) {
+        reiniciarIdentity("usuarios", usuarios);
+        reiniciarIdentity("propiedades", propiedades);
+        reiniciarIdentity("pisos", propiedades * PISOS_POR_PROPIEDAD);
+        reiniciarIdentity("habitaciones", filas);
+        reiniciarIdentity("inquilinos", filas);
+        reiniciarIdentity("config_recordatorios", propiedades);
+        for (String secuencia : List.of("contratos_seq", "facturas_seq", "pagos_seq", "recordatorios_seq")) {
+            jdbcTemplate.update("update " + secuencia + " set next_val = ?", filas + ALLOCATION_SIZE + 1);
+        }
+    }
+
+    private void reiniciarIdentity(String tabla, long maximo) {
+        jdbcTemplate.execute("alter table " + tabla + " alter column id restart with " + (maximo + 1));
+    }
+
+    /** Inserta las filas 1..total; una fila {@code null} se omite. */
+    private void insertar(String sql, int total, IntFunction<Object[]> fila) {
+        List<Object[]> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 1; i <= total; i++) {
+            Object[] valores = fila.apply(i);
+            if (valores != null) {
+                lote.add(valores);
+            }
+            if (lote.size() == TAMANO_LOTE) {
+                jdbcTemplate.batchUpdate(sql, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, lote);
+        }
+    }
+
+    private static int propiedadDe(int habitacion) {
+        return (habitacion - 1) / HABITACIONES_POR_PROPIEDAD + 1;
+    }
+
+    private static String telefono(int n) {
+        return "+519" + String.format("%08d", n);
+    }
+
+    /**
+     * Resumen de lo generado que necesitan los benchmarks para elegir filas.
+     */
+    public record DatosGenerados(int contratos, int propiedades, long[] facturasAbiertas) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.habitora.backend.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.habitora.backend.presentation.dto.ResumenPropiedadResponse;
+import com.habitora.backend.service.resumen.ResumenPropiedadService;
+
+/**
+ * Consultas de ocupación de una propiedad al azar: el recálculo con los
+ * cuatro agregados indexados y la lectura del resumen materializado que sirve
+ * el dashboard.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class OcupacionBenchmark {
+
+    @Benchmark
+    public void recalcularResumen(EntornoBenchmark entorno, EntornoBenchmark.Azar azar) {
+        ResumenPropiedadService service = entorno.bean(ResumenPropiedadService.class);
+        service.marcarPendiente(azar.propiedad(entorno));
+        service.recalcularPendientes();
+    }
+
+    @Benchmark
+    public ResumenPropiedadResponse leerResumen(EntornoBenchmark entorno, EntornoBenchmark.Azar azar) {
+        return entorno.bean(ResumenPropiedadService.class).obtener(azar.propiedad(entorno));
+    }
+}
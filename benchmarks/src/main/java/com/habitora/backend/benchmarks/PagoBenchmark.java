@@ -0,0 +1,39 @@
+package com.habitora.backend.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.presentation.dto.PagoResponse;
+import com.habitora.backend.service.pago.PagoService;
+
+/**
+ * Registro de un pago sobre una factura abierta al azar: carga con versión,
+ * actualización del saldo, inserción del pago y eventos tras el commit. El
+ * monto es de un céntimo para que ninguna factura llegue a pagarse durante
+ * la medición.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class PagoBenchmark {
+
+    private static final PagoRequest PAGO = new PagoRequest(new BigDecimal("0.01"),
+            GeneradorDatos.MES_BASE.atDay(4), MetodoPago.YAPE);
+
+    @Benchmark
+    public PagoResponse registrarPago(EntornoBenchmark entorno, EntornoBenchmark.Azar azar) {
+        return entorno.bean(PagoService.class).registrarPago(azar.facturaAbierta(entorno), PAGO);
+    }
+}
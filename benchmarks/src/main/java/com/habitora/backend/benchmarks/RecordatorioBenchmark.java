@@ -0,0 +1,43 @@
+package com.habitora.backend.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.projection.RecordatorioPendiente;
+import com.habitora.backend.persistence.repository.RecordatorioRepository;
+
+/**
+ * Reclamo de un lote de recordatorios vencidos ({@code FOR UPDATE SKIP
+ * LOCKED}) y lectura de sus datos de envío, como hace el despachador antes de
+ * llamar al proveedor. La transacción se revierte para que cada invocación
+ * vea la misma cola.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class RecordatorioBenchmark {
+
+    private static final int TAMANO_LOTE = 100;
+    private static final LocalDateTime AHORA = GeneradorDatos.MES_BASE.atEndOfMonth().atStartOfDay();
+
+    @Benchmark
+    public List<RecordatorioPendiente> reclamarLote(EntornoBenchmark entorno) {
+        RecordatorioRepository repository = entorno.bean(RecordatorioRepository.class);
+        return entorno.bean(TransactionTemplate.class).execute(status -> {
+            status.setRollbackOnly();
+            return repository.findPendientes(repository.reclamarPendientes(AHORA, TAMANO_LOTE));
+        });
+    }
+}
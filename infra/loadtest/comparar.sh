@@ -0,0 +1,46 @@
+#!/usr/bin/env sh
+# Corre lecturas.js contra la app con hilos de plataforma (configuración
+# anterior) y con hilos virtuales, con el mismo pool, y deja un resumen JSON
+# de k6 por corrida en infra/loadtest/resultados/. La comparación de ambas
+# queda además en resultados/comparacion.md, junto con el commit, el pool y
+# la tasa usados: es la tabla que se adjunta al PR que cambie esta
+# configuración (los resultados dependen de la máquina y no se versionan).
+#
+#   EMAIL=dueno@ejemplo.pe CONTRASENA=... PROPIEDADES=21-30 FACTURAS=1-5000 ./infra/loadtest/comparar.sh
+#
+# EMAIL y CONTRASENA (obligatorios) y los ids van a lecturas.js por el entorno.
+# Requiere docker compose y k6 en el PATH, y datos cargados en la base.
+set -eu
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+COMPOSE="docker compose -f $DIR/../docker-compose.yml"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+mkdir -p "$DIR/resultados"
+
+for virtuales in false true; do
+  echo ">> VIRTUAL_THREADS=$virtuales"
+  VIRTUAL_THREADS=$virtuales $COMPOSE up -d --build --force-recreate app
+  # actuator está en el puerto de gestión, no publicado: basta con que la app responda.
+  until curl -s -o /dev/null "$BASE_URL/api/auth/login"; do sleep 2; done
+
+  k6 run -e BASE_URL="$BASE_URL" \
+    --summary-export "$DIR/resultados/virtuales-$virtuales.json" \
+    "$DIR/lecturas.js" || true
+done
+
+SALIDA="$DIR/resultados/comparacion.md"
+{
+  echo "# Lecturas: hilos de plataforma vs. virtuales"
+  echo
+  echo "- Fecha: $(date -u +%Y-%m-%dT%H:%MZ)"
+  echo "- Commit: $(git -C "$DIR" rev-parse --short HEAD 2>/dev/null || echo '?')"
+  echo "- DB_POOL_SIZE: ${DB_POOL_SIZE:-20}, TASA_MAXIMA: ${TASA_MAXIMA:-1500} req/s"
+  echo
+  echo "| VIRTUAL_THREADS | req/s | p95 (ms) | p99 (ms) | errores |"
+  echo "|---|---|---|---|---|"
+  for virtuales in false true; do
+    f="$DIR/resultados/virtuales-$virtuales.json"
+    jq -r --arg v "$virtuales" '[$v, .metrics.http_reqs.rate, .metrics.http_req_duration["p(95)"], .metrics.http_req_duration["p(99)"], (.metrics.http_req_failed.value * 100)] | map(if type == "number" then (. * 100 | round / 100 | tostring) else . end) | "| " + join(" | ") + "% |"' "$f"
+  done
+} > "$SALIDA"
+cat "$SALIDA"
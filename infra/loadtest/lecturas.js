@@ -0,0 +1,110 @@
+// Carga de lectura sobre los endpoints más usados del panel, autenticada como
+// un dueño.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e EMAIL=dueno@ejemplo.pe -e CONTRASENA=... \
+//          -e PROPIEDADES=1-10 -e CONTRATOS=1-500 -e FACTURAS=1-500 lecturas.js
+//
+// setup() inicia sesión y comprueba, con el token, qué ids de PROPIEDADES,
+// CONTRATOS y FACTURAS (listas "1,5,9" o rangos "1-500") son del usuario: la
+// carga sólo pide esos, así mide respuestas 200 y no rechazos 403/404. La tasa de llegada es abierta (ramping-arrival-rate): si el
+// servidor se satura, las peticiones se acumulan en vez de frenar al
+// generador, que es lo que ocurre en producción.
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EMAIL = __ENV.EMAIL;
+const CONTRASENA = __ENV.CONTRASENA;
+const TASA_MAXIMA = Number(__ENV.TASA_MAXIMA || 1500);
+
+export const options = {
+  scenarios: {
+    lecturas: {
+      executor: 'ramping-arrival-rate',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: 3000,
+      stages: [
+        { target: TASA_MAXIMA / 4, duration: '1m' },
+        { target: TASA_MAXIMA, duration: '2m' },
+        { target: TASA_MAXIMA, duration: '2m' },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(95)<500', 'p(99)<1500'],
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+function ids(texto) {
+  return String(texto).split(',').flatMap((parte) => {
+    const [desde, hasta] = parte.split('-').map(Number);
+    if (!hasta) {
+      return [desde];
+    }
+    return Array.from({ length: hasta - desde + 1 }, (_, i) => desde + i);
+  });
+}
+
+function cabeceras(token) {
+  return { headers: { Authorization: `Bearer ${token}` } };
+}
+
+/** Ids de la lista a los que el usuario tiene acceso. */
+function propios(token, lista, ruta) {
+  const respuestas = http.batch(ids(lista).map((id) => ['GET', `${BASE_URL}${ruta(id)}`, null, cabeceras(token)]));
+  const accesibles = ids(lista).filter((_, i) => respuestas[i].status === 200);
+  if (accesibles.length === 0) {
+    fail(`Ningún id de "${lista}" es accesible para ${EMAIL}`);
+  }
+  return accesibles;
+}
+
+export function setup() {
+  if (!EMAIL || !CONTRASENA) {
+    fail('Indique EMAIL y CONTRASENA de un usuario con propiedades');
+  }
+  const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: EMAIL, 'contraseña': CONTRASENA }),
+    { headers: { 'Content-Type': 'application/json' } });
+  if (login.status !== 200) {
+    fail(`Login de ${EMAIL} fallido: ${login.status}`);
+  }
+  const token = login.json('token');
+  return {
+    token,
+    propiedades: propios(token, __ENV.PROPIEDADES || '1-10', (id) => `/api/propiedades/${id}/resumen`),
+    contratos: propios(token, __ENV.CONTRATOS || '1-100', (id) => `/api/contratos/${id}`),
+    facturas: propios(token, __ENV.FACTURAS || '1-100', (id) => `/api/facturas/${id}`),
+  };
+}
+
+function azar(lista) {
+  return lista[Math.floor(Math.random() * lista.length)];
+}
+
+function get(datos, ruta, endpoint) {
+  const res = http.get(`${BASE_URL}${ruta}`, { ...cabeceras(datos.token), tags: { endpoint } });
+  check(res, { 'respuesta 200': (r) => r.status === 200 });
+}
+
+export default function (datos) {
+  const dado = Math.random();
+  if (dado < 0.25) {
+    get(datos, `/api/propiedades/${azar(datos.propiedades)}/arbol`, 'arbol');
+  } else if (dado < 0.45) {
+    get(datos, `/api/propiedades/${azar(datos.propiedades)}/resumen`, 'resumen');
+  } else if (dado < 0.65) {
+    get(datos, `/api/facturas/${azar(datos.facturas)}`, 'factura');
+  } else if (dado < 0.8) {
+    get(datos, `/api/contratos/${azar(datos.contratos)}`, 'contrato');
+  } else if (dado < 0.9) {
+    const min = 300 + 10 * Math.floor(Math.random() * 30);
+    get(datos, `/api/habitaciones?propiedadId=${azar(datos.propiedades)}&precioMin=${min}&precioMax=${min + 100}`,
+      'habitaciones');
+  } else {
+    get(datos, `/api/inquilinos?nombre=Inquilino%20${1 + Math.floor(Math.random() * 9)}`, 'inquilinos');
+  }
+}
@@ -1,5 +1,22 @@
 package com.habitora.backend.configuration.app;
 
+import java.time.Clock;
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
 public class AppConfig {
-    
+
+    /**
+     * Reloj de la aplicación. Todas las tareas programadas calculan "hoy"
+     * con este reloj para que los periodos de facturación respeten la zona
+     * horaria del negocio y no la del servidor.
+     */
+    @Bean
+    Clock clock(@Value("${habitora.zona-horaria:America/Lima}") String zonaHoraria) {
+        return Clock.system(ZoneId.of(zonaHoraria));
+    }
 }
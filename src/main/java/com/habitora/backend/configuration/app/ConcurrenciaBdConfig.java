@@ -0,0 +1,69 @@
+package com.habitora.backend.configuration.app;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Envuelve el {@code dataSource} principal en un {@link DataSourceLimitado}
+ * cuando se define {@code habitora.db.max-concurrencia} (perfil prod, con
+ * hilos virtuales). Sin la propiedad el pool se usa tal cual. La cola del
+ * semáforo se publica como {@code habitora.bd.en-espera}, junto a las
+ * métricas {@code hikaricp.*} del pool. Con particiones por propietario
+ * cada una tiene su propio semáforo, del tamaño de su pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "habitora.db.max-concurrencia")
+public class ConcurrenciaBdConfig {
+
+    @Bean
+    static BeanPostProcessor limitarConcurrenciaBd(Environment env) {
+        int maxConcurrencia = env.getRequiredProperty("habitora.db.max-concurrencia", Integer.class);
+        Duration esperaMaxima = env.getProperty("habitora.db.espera-maxima", Duration.class, Duration.ofSeconds(10));
+        return new LimitadorBd(maxConcurrencia, esperaMaxima);
+    }
+
+    @Bean
+    MeterBinder metricasConcurrenciaBd(DataSource dataSource) {
+        DataSource principal = dataSource instanceof DataSourcePorPropietario enrutador
+                ? enrutador.getResolvedDefaultDataSource()
+                : dataSource;
+        return registry -> {
+            if (principal instanceof DataSourceLimitado limitado) {
+                Gauge.builder("habitora.bd.en-espera", limitado, DataSourceLimitado::getEnEspera)
+                        .description("Hilos esperando turno para pedir una conexión al pool")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Ordenado justo antes que el enrutado por propietario
+     * ({@link ParticionesBdConfig}), que envuelve al pool principal ya limitado.
+     */
+    private record LimitadorBd(int maxConcurrencia, Duration esperaMaxima) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nombre) {
+            if ("dataSource".equals(nombre) && bean instanceof DataSource ds && !(bean instanceof DataSourceLimitado)) {
+                return new DataSourceLimitado(ds, maxConcurrencia, esperaMaxima);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
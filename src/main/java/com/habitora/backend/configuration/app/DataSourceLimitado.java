@@ -0,0 +1,111 @@
+package com.habitora.backend.configuration.app;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Limita cuántas conexiones pueden estar prestadas a la vez con un semáforo
+ * justo delante del pool.
+ *
+ * <p>Con hilos virtuales Tomcat ya no frena la concurrencia: miles de
+ * peticiones pueden pedir conexión al mismo tiempo y quedarse bloqueadas
+ * dentro de Hikari hasta agotar su {@code connection-timeout}. El semáforo
+ * las pone en cola FIFO antes de llegar al pool y las rechaza con
+ * {@link SQLTransientConnectionException} si no obtienen turno en
+ * {@code esperaMaxima}. El permiso se devuelve una sola vez, al cerrar la
+ * conexión.
+ *
+ * <p>Los permisos deben coincidir con el tamaño del pool: un hilo que
+ * necesite dos conexiones a la vez (p. ej. un {@code REQUIRES_NEW} dentro de
+ * una transacción abierta) ocupa dos permisos.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final Duration esperaMaxima;
+
+    public DataSourceLimitado(DataSource destino, int maxConcurrencia, Duration esperaMaxima) {
+        super(destino);
+        this.permisos = new Semaphore(maxConcurrencia, true);
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String contrasena) throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection(usuario, contrasena));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /** Hilos en cola esperando un permiso (aproximado). */
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("No se obtuvo conexión a la base de datos en "
+                        + esperaMaxima.toMillis() + " ms (" + permisos.getQueueLength() + " en espera).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido mientras esperaba una conexión.", e);
+        }
+    }
+
+    private Connection liberarAlCerrar(Connection conexion) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            yield invocar(conexion, metodo, args);
+                        } finally {
+                            if (liberada.compareAndSet(false, true)) {
+                                permisos.release();
+                            }
+                        }
+                    }
+                    default -> invocar(conexion, metodo, args);
+                });
+    }
+
+    private static Object invocar(Connection conexion, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(conexion, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.habitora.backend.configuration.app;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.habitora.backend.service.seguridad.PropietarioActual;
+
+/**
+ * Entrega las conexiones de los dueños grandes desde su propio pool.
+ *
+ * <p>La partición se decide al pedir la conexión (al abrir la transacción)
+ * según el usuario autenticado; sin usuario, o si el usuario no tiene
+ * partición asignada, se usa el pool principal. Las particiones apuntan a la
+ * misma base: separan la concurrencia, no los datos, así un pico de un dueño
+ * grande (p. ej. a inicio de mes) agota su pool y no el de los demás.
+ */
+public class DataSourcePorPropietario extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<Long, String> particionPorUsuario;
+
+    public DataSourcePorPropietario(Map<Long, String> particionPorUsuario) {
+        this.particionPorUsuario = Map.copyOf(particionPorUsuario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return PropietarioActual.id().map(particionPorUsuario::get).orElse(null);
+    }
+
+    /** Cierra los pools de las particiones, no el principal (no lo creó). */
+    @Override
+    public void close() throws SQLException {
+        for (DataSource destino : getResolvedDataSources().values()) {
+            if (destino.isWrapperFor(AutoCloseable.class)) {
+                try {
+                    destino.unwrap(AutoCloseable.class).close();
+                } catch (SQLException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new SQLException("No se pudo cerrar el pool de una partición.", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.habitora.backend.configuration.app;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import com.habitora.backend.persistence.entity.FiltroPropietario;
+import com.habitora.backend.service.seguridad.PropietarioActual;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Activa el {@link FiltroPropietario} en cada {@code EntityManager} que se
+ * abre con un usuario autenticado, tanto los de una transacción como los
+ * que Spring Data abre para una consulta suelta. Así una consulta olvidada
+ * sin {@code propiedadIds} no devuelve datos de otro dueño. Sin usuario
+ * (tareas programadas, login) el filtro queda apagado.
+ */
+@Configuration
+public class FiltroPropietarioConfig {
+
+    @Bean
+    static BeanPostProcessor activarFiltroPropietario() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nombre) {
+                if (bean instanceof AbstractEntityManagerFactoryBean fabrica) {
+                    fabrica.setEntityManagerInitializer(FiltroPropietarioConfig::activar);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void activar(EntityManager entityManager) {
+        PropietarioActual.id().ifPresent(usuarioId -> entityManager.unwrap(Session.class)
+                .enableFilter(FiltroPropietario.NOMBRE)
+                .setParameter(FiltroPropietario.PARAMETRO, usuarioId));
+    }
+}
@@ -0,0 +1,51 @@
+package com.habitora.backend.configuration.app;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Métricas de Hibernate que actuator no registra por su cuenta (las
+ * generales, {@code hibernate.*}, ya las publica a partir de
+ * {@code generate_statistics}). Sólo se registran con las estadísticas
+ * activas: apagadas por defecto, encendidas en el perfil {@code prod}
+ * ({@code HIBERNATE_ESTADISTICAS}) y en los tests.
+ * <ul>
+ *   <li>{@code hibernate.query.*}: ejecuciones y tiempos por consulta, para
+ *       ubicar las lentas (también se registran en el log
+ *       {@code org.hibernate.SQL_SLOW}, ver {@code hibernate.log_slow_query}),</li>
+ *   <li>{@code habitora.hibernate.cache.aciertos}: proporción de aciertos de
+ *       la caché de segundo nivel desde el arranque.</li>
+ * </ul>
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    MeterBinder metricasHibernate(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            if (!sessionFactory.getStatistics().isStatisticsEnabled()) {
+                return;
+            }
+            new HibernateQueryMetrics(sessionFactory, "entityManagerFactory", Tags.empty()).bindTo(registry);
+            Gauge.builder("habitora.hibernate.cache.aciertos", sessionFactory.getStatistics(),
+                            MetricasConfig::proporcionAciertos)
+                    .description("Aciertos / consultas a la caché de segundo nivel")
+                    .register(registry);
+        };
+    }
+
+    private static double proporcionAciertos(Statistics estadisticas) {
+        long aciertos = estadisticas.getSecondLevelCacheHitCount();
+        long consultas = aciertos + estadisticas.getSecondLevelCacheMissCount();
+        return consultas == 0 ? Double.NaN : (double) aciertos / consultas;
+    }
+}
@@ -0,0 +1,136 @@
+package com.habitora.backend.configuration.app;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Con {@code habitora.particiones.habilitadas=true} envuelve el
+ * {@code dataSource} principal en un {@link DataSourcePorPropietario}, con un
+ * pool por cada partición de {@code habitora.particiones.destinos.*}:
+ *
+ * <pre>
+ * habitora.particiones.destinos.grandes.url=jdbc:mysql://...
+ * habitora.particiones.destinos.grandes.usuario=...
+ * habitora.particiones.destinos.grandes.contrasena=...
+ * habitora.particiones.destinos.grandes.max-conexiones=10
+ * habitora.particiones.usuarios.42=grandes
+ * </pre>
+ *
+ * Cada destino debe llegar a la misma base que el principal (otro usuario
+ * de MySQL, otro puerto del proxy): las cachés, los ids y las tareas
+ * programadas suponen una sola base. Los pools copian las
+ * {@code spring.datasource.hikari.data-source-properties} del principal y,
+ * si hay {@code habitora.db.max-concurrencia}, llevan su propio
+ * {@link DataSourceLimitado}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "habitora.particiones.habilitadas", havingValue = "true")
+public class ParticionesBdConfig {
+
+    @Bean
+    static BeanPostProcessor enrutarPorPropietario(Environment env) {
+        Binder binder = Binder.get(env);
+        Map<String, Destino> destinos = binder.bindOrCreate("habitora.particiones.destinos",
+                Bindable.mapOf(String.class, Destino.class));
+        Map<Long, String> usuarios = binder.bindOrCreate("habitora.particiones.usuarios",
+                Bindable.mapOf(Long.class, String.class));
+        Map<String, String> propiedadesJdbc = binder.bindOrCreate("spring.datasource.hikari.data-source-properties",
+                Bindable.mapOf(String.class, String.class));
+        boolean limitar = env.containsProperty("habitora.db.max-concurrencia");
+        Duration esperaMaxima = env.getProperty("habitora.db.espera-maxima", Duration.class, Duration.ofSeconds(10));
+
+        usuarios.forEach((usuarioId, particion) -> {
+            if (!destinos.containsKey(particion)) {
+                throw new IllegalStateException("habitora.particiones.usuarios." + usuarioId
+                        + " apunta a la partición '" + particion + "', que no está en habitora.particiones.destinos.");
+            }
+        });
+        return new Enrutador(destinos, usuarios, propiedadesJdbc, limitar, esperaMaxima);
+    }
+
+    /** Métricas {@code hikaricp.*} de los pools de las particiones, por nombre de pool. */
+    @Bean
+    MeterBinder metricasParticiones(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof DataSourcePorPropietario enrutador)) {
+                return;
+            }
+            for (DataSource destino : enrutador.getResolvedDataSources().values()) {
+                try {
+                    if (destino.isWrapperFor(HikariDataSource.class)) {
+                        destino.unwrap(HikariDataSource.class)
+                                .setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param maxConexiones tamaño fijo del pool (y permisos del semáforo)
+     */
+    public record Destino(String url, String usuario, String contrasena, @DefaultValue("10") int maxConexiones) {
+    }
+
+    /**
+     * Se ordena después del {@code LimitadorBd} de {@link ConcurrenciaBdConfig}:
+     * el pool principal llega ya limitado y cada partición recibe el suyo.
+     */
+    private record Enrutador(Map<String, Destino> destinos, Map<Long, String> usuarios,
+                             Map<String, String> propiedadesJdbc, boolean limitar, Duration esperaMaxima)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nombre) {
+            if (!"dataSource".equals(nombre) || !(bean instanceof DataSource principal)
+                    || bean instanceof DataSourcePorPropietario) {
+                return bean;
+            }
+            Map<Object, Object> pools = new HashMap<>();
+            destinos.forEach((particion, destino) -> pools.put(particion, pool(particion, destino)));
+            DataSourcePorPropietario enrutador = new DataSourcePorPropietario(usuarios);
+            enrutador.setDefaultTargetDataSource(principal);
+            enrutador.setTargetDataSources(pools);
+            enrutador.afterPropertiesSet();
+            return enrutador;
+        }
+
+        private DataSource pool(String particion, Destino destino) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("habitora-" + particion);
+            pool.setJdbcUrl(destino.url());
+            pool.setUsername(destino.usuario());
+            pool.setPassword(destino.contrasena());
+            pool.setMaximumPoolSize(destino.maxConexiones());
+            pool.setMinimumIdle(destino.maxConexiones());
+            propiedadesJdbc.forEach(pool::addDataSourceProperty);
+            return limitar ? new DataSourceLimitado(pool, destino.maxConexiones(), esperaMaxima) : pool;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.habitora.backend.configuration.app;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (facturación, recordatorios, etc.).
+ * Se puede desactivar con {@code habitora.tareas.habilitadas=false},
+ * por ejemplo en los tests, donde las tareas se invocan manualmente.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "habitora.tareas.habilitadas", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
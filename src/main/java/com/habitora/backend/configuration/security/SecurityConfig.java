@@ -1,17 +1,91 @@
 package com.habitora.backend.configuration.security;
 
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
+import com.habitora.backend.service.seguridad.AutenticacionService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+/**
+ * API sin estado protegida con tokens JWT (HS256) que emite
+ * {@code POST /api/auth/login}. Quedan abiertos el login, el health que
+ * consulta el balanceador y, sólo en el puerto de gestión
+ * ({@code management.server.port}, que no se publica fuera de la red
+ * interna), los endpoints de actuator que lee Prometheus. Sin puerto de
+ * gestión, actuator exige token como el resto. Qué recursos puede ver cada
+ * usuario lo decide {@code AutorizacionService}.
+ */
 @Configuration
 public class SecurityConfig {
+
+  /** Costos de BCrypt aceptados: por debajo es débil; por encima, cada login cuesta segundos de CPU. */
+  private static final int COSTO_MINIMO = 10;
+  private static final int COSTO_MAXIMO = 14;
+
   @Bean
-  SecurityFilterChain security(HttpSecurity http) throws Exception {
+  SecurityFilterChain security(HttpSecurity http,
+                               @Value("${management.server.port:-1}") int puertoGestion) throws Exception {
+    RequestMatcher enPuertoGestion = peticion -> puertoGestion > 0 && peticion.getLocalPort() == puertoGestion;
     http
       .csrf(csrf -> csrf.disable())
-      .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+      .sessionManagement(sesion -> sesion.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+      .authorizeHttpRequests(auth -> auth
+        .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+        .requestMatchers("/actuator/health/**", "/error").permitAll()
+        .requestMatchers(enPuertoGestion).permitAll()
+        .anyRequest().authenticated())
+      .oauth2ResourceServer(oauth -> oauth.jwt(Customizer.withDefaults()));
     return http.build();
   }
-}
\ No newline at end of file
+
+  @Bean
+  PasswordEncoder passwordEncoder(@Value("${habitora.seguridad.bcrypt-costo:10}") int costo) {
+    if (costo < COSTO_MINIMO || costo > COSTO_MAXIMO) {
+      throw new IllegalStateException("habitora.seguridad.bcrypt-costo debe estar entre "
+          + COSTO_MINIMO + " y " + COSTO_MAXIMO + " (es " + costo + ").");
+    }
+    return new BCryptPasswordEncoder(costo);
+  }
+
+  @Bean
+  JwtEncoder jwtEncoder(@Value("${habitora.seguridad.jwt.secreto}") String secreto) {
+    return new NimbusJwtEncoder(new ImmutableSecret<>(clave(secreto)));
+  }
+
+  @Bean
+  JwtDecoder jwtDecoder(@Value("${habitora.seguridad.jwt.secreto}") String secreto) {
+    NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(clave(secreto))
+        .macAlgorithm(MacAlgorithm.HS256)
+        .build();
+    decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(AutenticacionService.EMISOR));
+    return decoder;
+  }
+
+  private static SecretKey clave(String secreto) {
+    byte[] bytes = secreto.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length < 32) {
+      throw new IllegalStateException("habitora.seguridad.jwt.secreto debe tener al menos 32 bytes.");
+    }
+    return new SecretKeySpec(bytes, "HmacSHA256");
+  }
+}
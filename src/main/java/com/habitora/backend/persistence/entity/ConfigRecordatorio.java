@@ -4,19 +4,22 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import lombok.experimental.Accessors;
 
 @Entity
 @Table(name = "config_recordatorios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "config-recordatorios")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = "propiedad")
 public class ConfigRecordatorio {
 
     @Id
@@ -45,6 +48,16 @@ public class ConfigRecordatorio {
     @Column(name = "esta_activo", nullable = false)
     private Boolean estaActivo = true;
 
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof ConfigRecordatorio otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return ConfigRecordatorio.class.hashCode();
+    }
+
     public enum Canal {
         WHATSAPP
     }
@@ -3,6 +3,7 @@ package com.habitora.backend.persistence.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.Filter;
 import lombok.*;
 import lombok.experimental.Accessors;
 
@@ -12,19 +13,30 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "contratos")
+@Table(
+        name = "contratos",
+        indexes = {
+                @Index(name = "idx_contrato_propiedad_estado", columnList = "propiedad_id, estado")
+        }
+)
+@NamedEntityGraph(name = "Contrato.conFacturas", attributeNodes = {
+        @NamedAttributeNode("habitacion"),
+        @NamedAttributeNode("inquilino"),
+        @NamedAttributeNode("facturas")
+})
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_PROPIEDAD)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString(exclude = {"facturas", "pagos", "recordatorios"})
-@EqualsAndHashCode(exclude = {"facturas", "pagos", "recordatorios"})
+@ToString(exclude = {"propiedad", "habitacion", "inquilino", "facturas", "pagos", "recordatorios"})
 public class Contrato {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contrato_seq")
+    @SequenceGenerator(name = "contrato_seq", sequenceName = "contratos_seq", allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
@@ -62,6 +74,14 @@ public class Contrato {
     @Column(name = "url_archivo_firmado", length = 300)
     private String urlArchivoFirmado;
 
+    /**
+     * Tiene facturas en {@code facturas_archivo}. Sólo lo escribe
+     * {@code ArchivadorService} al moverlas, nunca el guardado de la entidad.
+     */
+    @Builder.Default
+    @Column(name = "tiene_archivadas", nullable = false, updatable = false)
+    private Boolean tieneArchivadas = false;
+
     @Builder.Default
     @OneToMany(mappedBy = "contrato", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Factura> facturas = new ArrayList<>();
@@ -89,6 +109,16 @@ public class Contrato {
         recordatorio.setContrato(this);
     }
 
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof Contrato otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Contrato.class.hashCode();
+    }
+
     public enum EstadoContrato {
         ACTIVO,
         CANCELADO
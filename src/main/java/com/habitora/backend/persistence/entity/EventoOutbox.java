@@ -0,0 +1,78 @@
+package com.habitora.backend.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio pendiente de publicar, escrito en la misma transacción
+ * que el cambio que lo origina. {@code clave} agrupa los eventos que deben
+ * entregarse en orden (los de un mismo contrato).
+ */
+@Entity
+@Table(
+        name = "eventos_outbox",
+        indexes = {
+                @Index(name = "idx_evento_outbox_pendiente", columnList = "publicado_en, id"),
+                @Index(name = "idx_evento_outbox_clave", columnList = "clave, publicado_en, id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Accessors(chain = true)
+@ToString(exclude = "payload")
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "tipo", nullable = false, length = 60)
+    private String tipo;
+
+    @Column(name = "clave", nullable = false, length = 60)
+    private String clave;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    /**
+     * Antes de esta hora no se reclama: plazo del nodo que lo reclamó o
+     * espera tras un fallo.
+     */
+    @Column(name = "disponible_desde", nullable = false)
+    private LocalDateTime disponibleDesde;
+
+    @Column(name = "publicado_en")
+    private LocalDateTime publicadoEn;
+
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    /** Agotó los intentos: ya no se reintenta ni frena a los siguientes de su clave. */
+    @Column(name = "fallido_en")
+    private LocalDateTime fallidoEn;
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof EventoOutbox otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return EventoOutbox.class.hashCode();
+    }
+}
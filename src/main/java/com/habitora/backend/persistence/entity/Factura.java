@@ -3,6 +3,7 @@ package com.habitora.backend.persistence.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.Filter;
 import lombok.*;
 import lombok.experimental.Accessors;
 
@@ -18,22 +19,28 @@ import java.util.List;
                 @UniqueConstraint(name = "uk_factura_periodo", columnNames = {"contrato_id", "periodo_inicio", "periodo_fin"})
         },
         indexes = {
-                @Index(name = "idx_factura_estado", columnList = "estado"),
-                @Index(name = "idx_factura_vencimiento", columnList = "fecha_vencimiento")
+                @Index(name = "idx_factura_estado_vencimiento", columnList = "estado, fecha_vencimiento"),
+                @Index(name = "idx_factura_vencimiento", columnList = "fecha_vencimiento"),
+                @Index(name = "idx_factura_contrato_estado", columnList = "contrato_id, estado")
         }
 )
+@NamedEntityGraph(name = "Factura.conPagos", attributeNodes = {
+        @NamedAttributeNode("contrato"),
+        @NamedAttributeNode("pagos")
+})
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_CONTRATO)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString(exclude = {"pagos", "recordatorios"})
-@EqualsAndHashCode(exclude = {"pagos", "recordatorios"})
+@ToString(exclude = {"contrato", "pagos", "recordatorios"})
 public class Factura {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "factura_seq")
+    @SequenceGenerator(name = "factura_seq", sequenceName = "facturas_seq", allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
@@ -65,10 +72,19 @@ public class Factura {
     @Column(name = "total_a_pagar", nullable = false, precision = 12, scale = 2)
     private BigDecimal totalAPagar;
 
+    @Builder.Default
+    @PositiveOrZero(message = "El monto pagado no puede ser negativo.")
+    @Column(name = "monto_pagado", nullable = false, precision = 12, scale = 2)
+    private BigDecimal montoPagado = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "estado", nullable = false, length = 20)
     private EstadoFactura estado;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Builder.Default
     @OneToMany(mappedBy = "factura", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Pago> pagos = new ArrayList<>();
@@ -87,6 +103,32 @@ public class Factura {
         recordatorio.setFactura(this);
     }
 
+    public BigDecimal getSaldo() {
+        return totalAPagar.subtract(montoPagado);
+    }
+
+    /**
+     * Acumula el monto en {@code montoPagado} sin recorrer la colección
+     * {@code pagos} y marca la factura como pagada al cubrir el total.
+     */
+    public void registrarPago(Pago pago) {
+        pago.setFactura(this);
+        montoPagado = montoPagado.add(pago.getMonto());
+        if (montoPagado.compareTo(totalAPagar) >= 0) {
+            estado = EstadoFactura.PAGADA;
+        }
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof Factura otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Factura.class.hashCode();
+    }
+
     public enum EstadoFactura {
         ABIERTA,
         PAGADA,
@@ -0,0 +1,88 @@
+package com.habitora.backend.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factura cerrada ({@code PAGADA} o {@code CANCELADA}) movida fuera de
+ * {@code facturas} por el archivado; conserva su id. Sólo lectura.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "facturas_archivo",
+        indexes = {
+                @Index(name = "idx_factura_archivo_contrato_periodo", columnList = "contrato_id, periodo_inicio")
+        }
+)
+@NamedEntityGraph(name = "FacturaArchivada.conPagos", attributeNodes = {
+        @NamedAttributeNode("contrato"),
+        @NamedAttributeNode("pagos")
+})
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_CONTRATO)
+@Getter
+@NoArgsConstructor
+@ToString(exclude = {"contrato", "pagos"})
+public class FacturaArchivada {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "contrato_id", nullable = false,
+                foreignKey = @ForeignKey(name = "fk_factura_archivo_contrato"))
+    private Contrato contrato;
+
+    @Column(name = "periodo_inicio", nullable = false)
+    private LocalDate periodoInicio;
+
+    @Column(name = "periodo_fin", nullable = false)
+    private LocalDate periodoFin;
+
+    @Column(name = "fecha_vencimiento", nullable = false)
+    private LocalDate fechaVencimiento;
+
+    @Column(name = "monto_renta", nullable = false, precision = 12, scale = 2)
+    private BigDecimal montoRenta;
+
+    @Column(name = "total_a_pagar", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAPagar;
+
+    @Column(name = "monto_pagado", nullable = false, precision = 12, scale = 2)
+    private BigDecimal montoPagado;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoFactura estado;
+
+    @Column(name = "archivado_en", nullable = false)
+    private LocalDateTime archivadoEn;
+
+    @OneToMany(mappedBy = "factura")
+    private List<PagoArchivado> pagos = new ArrayList<>();
+
+    public BigDecimal getSaldo() {
+        return totalAPagar.subtract(montoPagado);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof FacturaArchivada otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return FacturaArchivada.class.hashCode();
+    }
+}
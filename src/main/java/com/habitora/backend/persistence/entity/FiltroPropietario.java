@@ -0,0 +1,27 @@
+package com.habitora.backend.persistence.entity;
+
+/**
+ * Filtro de Hibernate {@value #NOMBRE}: restringe las consultas de cada
+ * entidad a las filas de un dueño ({@code Usuario}). Se activa solo en las
+ * peticiones autenticadas (ver {@code FiltroPropietarioConfig}); las tareas
+ * programadas y el login lo ven todo.
+ *
+ * <p>Como todo filtro, se aplica a las consultas HQL/Criteria y no a las
+ * búsquedas por id, las consultas nativas ni los lotes por JDBC. Las
+ * condiciones son SQL sobre la tabla de cada entidad.
+ */
+public final class FiltroPropietario {
+
+    public static final String NOMBRE = "propietario";
+    public static final String PARAMETRO = "usuarioId";
+
+    public static final String POR_USUARIO = "usuario_id = :usuarioId";
+    public static final String POR_PROPIEDAD =
+            "propiedad_id in (select p.id from propiedades p where p.usuario_id = :usuarioId)";
+    public static final String POR_CONTRATO =
+            "contrato_id in (select c.id from contratos c where c.propiedad_id in "
+                    + "(select p.id from propiedades p where p.usuario_id = :usuarioId))";
+
+    private FiltroPropietario() {
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import lombok.experimental.Accessors;
 import java.math.BigDecimal;
@@ -15,17 +17,21 @@ import java.math.BigDecimal;
                 @UniqueConstraint(name = "uk_codigo_propiedad", columnNames = {"propiedad_id", "codigo"})
         },
         indexes = {
-                @Index(name = "idx_habitacion_codigo", columnList = "codigo")
+                @Index(name = "idx_habitacion_codigo", columnList = "codigo"),
+                @Index(name = "idx_habitacion_propiedad_precio", columnList = "propiedad_id, precio_renta, id"),
+                @Index(name = "idx_habitacion_propiedad_estado_precio",
+                       columnList = "propiedad_id, estado, precio_renta, id")
         }
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "habitaciones")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString(exclude = {"contratos"})
-@EqualsAndHashCode(exclude = {"contratos"})
+@ToString(exclude = {"propiedad", "piso", "contratos"})
 public class Habitacion {
 
     @Id
@@ -67,6 +73,16 @@ public class Habitacion {
         contrato.setHabitacion(this);
     }
 
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof Habitacion otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Habitacion.class.hashCode();
+    }
+
     public enum EstadoHabitacion {
         DISPONIBLE,
         OCUPADA
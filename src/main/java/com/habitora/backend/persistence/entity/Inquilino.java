@@ -11,7 +11,9 @@ import java.util.List;
 @Table(
         name = "inquilinos",
         indexes = {
-                @Index(name = "idx_inquilino_dni", columnList = "numero_dni")
+                @Index(name = "idx_inquilino_dni", columnList = "numero_dni"),
+                @Index(name = "idx_inquilino_nombre", columnList = "nombre_completo, id"),
+                @Index(name = "idx_inquilino_email", columnList = "email, id")
         },
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_inquilino_dni", columnNames = "numero_dni")
@@ -24,7 +26,6 @@ import java.util.List;
 @Builder
 @Accessors(chain = true)
 @ToString(exclude = "contratos")
-@EqualsAndHashCode(exclude = "contratos")
 public class Inquilino {
 
     @Id
@@ -59,4 +60,14 @@ public class Inquilino {
         contratos.add(contrato);
         contrato.setInquilino(this);
     }
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof Inquilino otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Inquilino.class.hashCode();
+    }
 }
@@ -3,6 +3,7 @@ package com.habitora.backend.persistence.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Filter;
 import lombok.*;
 import lombok.experimental.Accessors;
 
@@ -10,19 +11,25 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "pagos")
+@Table(
+        name = "pagos",
+        indexes = {
+                @Index(name = "idx_pago_factura", columnList = "factura_id")
+        }
+)
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_CONTRATO)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = {"contrato", "factura"})
 public class Pago {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pago_seq")
+    @SequenceGenerator(name = "pago_seq", sequenceName = "pagos_seq", allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
@@ -50,6 +57,16 @@ public class Pago {
     @Column(name = "metodo", nullable = false, length = 20)
     private MetodoPago metodo;
 
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof Pago otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Pago.class.hashCode();
+    }
+
     public enum MetodoPago {
         EFECTIVO,
         TRANSFERENCIA,
@@ -0,0 +1,68 @@
+package com.habitora.backend.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Pago de una {@link FacturaArchivada}, archivado junto con ella. Sólo
+ * lectura.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "pagos_archivo",
+        indexes = {
+                @Index(name = "idx_pago_archivo_factura", columnList = "factura_id")
+        }
+)
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_CONTRATO)
+@Getter
+@NoArgsConstructor
+@ToString(exclude = {"contrato", "factura"})
+public class PagoArchivado {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "contrato_id", nullable = false,
+                foreignKey = @ForeignKey(name = "fk_pago_archivo_contrato"))
+    private Contrato contrato;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "factura_id",
+                foreignKey = @ForeignKey(name = "fk_pago_archivo_factura"))
+    private FacturaArchivada factura;
+
+    @Column(name = "fecha_pago", nullable = false)
+    private LocalDate fechaPago;
+
+    @Column(name = "monto", nullable = false, precision = 12, scale = 2)
+    private BigDecimal monto;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metodo", nullable = false, length = 20)
+    private MetodoPago metodo;
+
+    @Column(name = "archivado_en", nullable = false)
+    private LocalDateTime archivadoEn;
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof PagoArchivado otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return PagoArchivado.class.hashCode();
+    }
+}
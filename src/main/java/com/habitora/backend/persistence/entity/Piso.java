@@ -3,6 +3,8 @@ package com.habitora.backend.persistence.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import lombok.experimental.Accessors;
 import java.util.ArrayList;
@@ -10,14 +12,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "pisos")
+@NamedEntityGraph(name = "Piso.conHabitaciones", attributeNodes = @NamedAttributeNode("habitaciones"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pisos")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString(exclude = "habitaciones")
-@EqualsAndHashCode(exclude = "habitaciones")
+@ToString(exclude = {"propiedad", "habitaciones"})
 public class Piso {
 
   @Id
@@ -35,6 +39,7 @@ public class Piso {
   private Integer numeroPiso;
 
   @Builder.Default
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pisos.habitaciones")
   @OneToMany(mappedBy = "piso", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Habitacion> habitaciones = new ArrayList<>();
 
@@ -42,4 +47,14 @@ public class Piso {
     habitaciones.add(habitacion);
     habitacion.setPiso(this);
   }
+
+  @Override
+  public final boolean equals(Object o) {
+    return this == o || o instanceof Piso otro && getId() != null && getId().equals(otro.getId());
+  }
+
+  @Override
+  public final int hashCode() {
+    return Piso.class.hashCode();
+  }
 }
@@ -2,6 +2,11 @@ package com.habitora.backend.persistence.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 import lombok.*;
 import lombok.experimental.Accessors;
 import java.util.ArrayList;
@@ -13,14 +18,18 @@ import java.util.List;
  */
 @Entity
 @Table(name = "propiedades")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "propiedades")
+@FilterDef(name = FiltroPropietario.NOMBRE,
+    parameters = @ParamDef(name = FiltroPropietario.PARAMETRO, type = Long.class))
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_USUARIO)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString(exclude = { "pisos", "habitaciones", "contratos", "configRecordatorios" })
-@EqualsAndHashCode(exclude = { "pisos", "habitaciones", "contratos", "configRecordatorios" })
+@ToString(exclude = { "usuario", "pisos", "habitaciones", "contratos", "configRecordatorios" })
 public class Propiedad {
 
   @Id
@@ -52,10 +61,12 @@ public class Propiedad {
 
   // Relaciones inversas
   @Builder.Default
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "propiedades.pisos")
   @OneToMany(mappedBy = "propiedad", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Piso> pisos = new ArrayList<>();
 
   @Builder.Default
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "propiedades.habitaciones")
   @OneToMany(mappedBy = "propiedad", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Habitacion> habitaciones = new ArrayList<>();
 
@@ -64,6 +75,7 @@ public class Propiedad {
   private List<Contrato> contratos = new ArrayList<>();
 
   @Builder.Default
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "propiedades.config-recordatorios")
   @OneToMany(mappedBy = "propiedad", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<ConfigRecordatorio> configRecordatorios = new ArrayList<>();
 
@@ -87,4 +99,14 @@ public class Propiedad {
     configRecordatorios.add(config);
     config.setPropiedad(this);
   }
+
+  @Override
+  public final boolean equals(Object o) {
+    return this == o || o instanceof Propiedad otro && getId() != null && getId().equals(otro.getId());
+  }
+
+  @Override
+  public final int hashCode() {
+    return Propiedad.class.hashCode();
+  }
 }
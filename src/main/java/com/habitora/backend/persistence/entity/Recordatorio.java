@@ -2,24 +2,31 @@ package com.habitora.backend.persistence.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import lombok.*;
 import lombok.experimental.Accessors;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "recordatorios")
+@Table(
+        name = "recordatorios",
+        indexes = {
+                @Index(name = "idx_recordatorio_estado_programado", columnList = "estado, programado_para")
+        }
+)
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_CONTRATO)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = {"factura", "contrato"})
 public class Recordatorio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recordatorio_seq")
+    @SequenceGenerator(name = "recordatorio_seq", sequenceName = "recordatorios_seq", allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
@@ -60,15 +67,36 @@ public class Recordatorio {
     @Enumerated(EnumType.STRING)
     @Column(name = "estado", nullable = false, length = 20)
     private EstadoRecordatorio estado;
-    
+
+    /** Mientras está {@code ENVIANDO}, hasta cuándo es del nodo que lo reclamó. */
+    @Column(name = "reclamado_hasta")
+    private LocalDateTime reclamadoHasta;
+
+    /** Intentos de envío fallidos; los pasajeros lo reprograman hasta {@code habitora.recordatorios.max-intentos}. */
+    @Builder.Default
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos = 0;
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof Recordatorio otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Recordatorio.class.hashCode();
+    }
+
     public enum Canal {
         WHATSAPP
     }
 
+    /** Nuevos valores al final: el orden es el del enum de la columna. */
     public enum EstadoRecordatorio {
         PROGRAMADO,
         ENVIADO,
         FALLIDO,
-        CANCELADO
+        CANCELADO,
+        ENVIANDO
     }
 }
@@ -0,0 +1,80 @@
+package com.habitora.backend.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+
+import com.habitora.backend.persistence.entity.Recordatorio.Canal;
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recordatorio archivado: los de una {@link FacturaArchivada} y los
+ * {@code ENVIADO} antiguos de facturas que siguen abiertas, por eso
+ * {@code factura_id} no es una foránea. Sólo lectura.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "recordatorios_archivo",
+        indexes = {
+                @Index(name = "idx_recordatorio_archivo_factura", columnList = "factura_id, estado")
+        }
+)
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_CONTRATO)
+@Getter
+@NoArgsConstructor
+@ToString(exclude = "contrato")
+public class RecordatorioArchivado {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "factura_id", nullable = false)
+    private Long facturaId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "contrato_id", nullable = false,
+                foreignKey = @ForeignKey(name = "fk_recordatorio_archivo_contrato"))
+    private Contrato contrato;
+
+    @Column(name = "programado_para", nullable = false)
+    private LocalDateTime programadoPara;
+
+    @Column(name = "enviado_en")
+    private LocalDateTime enviadoEn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "canal", nullable = false, length = 20)
+    private Canal canal;
+
+    @Column(name = "telefono_destino", nullable = false, length = 40)
+    private String telefonoDestino;
+
+    @Lob
+    @Column(name = "mensaje")
+    private String mensaje;
+
+    @Column(name = "id_mensaje_proveedor", length = 120)
+    private String idMensajeProveedor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoRecordatorio estado;
+
+    @Column(name = "archivado_en", nullable = false)
+    private LocalDateTime archivadoEn;
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof RecordatorioArchivado otro && getId() != null && getId().equals(otro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return RecordatorioArchivado.class.hashCode();
+    }
+}
@@ -0,0 +1,84 @@
+package com.habitora.backend.persistence.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
+import lombok.*;
+import lombok.experimental.Accessors;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Resumen materializado de ocupación y cobranza de una propiedad. Se
+ * recalcula cuando cambian sus contratos, facturas o pagos, para servir el
+ * dashboard con una lectura por clave primaria.
+ */
+@Entity
+@Table(
+        name = "resumen_propiedades",
+        indexes = {
+                @Index(name = "idx_resumen_pendiente", columnList = "pendiente, propiedad_id")
+        }
+)
+@Filter(name = FiltroPropietario.NOMBRE, condition = FiltroPropietario.POR_PROPIEDAD)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Accessors(chain = true)
+@ToString
+public class ResumenPropiedad {
+
+    @Id
+    @Column(name = "propiedad_id", updatable = false, nullable = false)
+    private Long propiedadId;
+
+    @Column(name = "total_habitaciones", nullable = false)
+    private Integer totalHabitaciones;
+
+    @Column(name = "habitaciones_ocupadas", nullable = false)
+    private Integer habitacionesOcupadas;
+
+    @Column(name = "renta_mensual_esperada", nullable = false, precision = 14, scale = 2)
+    private BigDecimal rentaMensualEsperada;
+
+    /** Primer día del mes al que corresponde {@code rentaCobradaMes}. */
+    @Column(name = "mes", nullable = false)
+    private LocalDate mes;
+
+    @Column(name = "renta_cobrada_mes", nullable = false, precision = 14, scale = 2)
+    private BigDecimal rentaCobradaMes;
+
+    @Column(name = "monto_vencido", nullable = false, precision = 14, scale = 2)
+    private BigDecimal montoVencido;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+
+    /**
+     * Cambió algo de la propiedad después del último recálculo. Sólo lo
+     * escriben las consultas de marca del repositorio, nunca el guardado de
+     * la entidad.
+     */
+    @Builder.Default
+    @Column(name = "pendiente", nullable = false, updatable = false)
+    private Boolean pendiente = false;
+
+    /** Crece con cada marca: el recálculo sólo limpia {@code pendiente} si no cambió mientras calculaba. */
+    @Builder.Default
+    @Column(name = "marca", nullable = false, updatable = false)
+    private Long marca = 0L;
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof ResumenPropiedad otro && getPropiedadId() != null
+                && getPropiedadId().equals(otro.getPropiedadId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return ResumenPropiedad.class.hashCode();
+    }
+}
@@ -0,0 +1,59 @@
+package com.habitora.backend.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta ya confirmada de una escritura enviada con
+ * {@code Idempotency-Key}, escrita en la misma transacción que la escritura.
+ * El {@code id} es {@code usuario:operacion:clave}; {@code huella} es el
+ * SHA-256 del cuerpo, para rechazar la misma clave con otra solicitud.
+ */
+@Entity
+@Table(
+        name = "solicitudes_idempotentes",
+        indexes = {
+                @Index(name = "idx_solicitud_idempotente_expira", columnList = "expira_en")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Accessors(chain = true)
+@ToString(exclude = "respuesta")
+public class SolicitudIdempotente {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false, length = 150)
+    private String id;
+
+    @Column(name = "huella", nullable = false, length = 64)
+    private String huella;
+
+    /** Cuerpo de la respuesta, en JSON. */
+    @Lob
+    @Column(name = "respuesta", nullable = false)
+    private String respuesta;
+
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    /** Desde esta hora la limpieza puede borrarla y la clave vuelve a quedar libre. */
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof SolicitudIdempotente otra && getId() != null && getId().equals(otra.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return SolicitudIdempotente.class.hashCode();
+    }
+}
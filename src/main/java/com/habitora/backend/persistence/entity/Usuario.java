@@ -19,8 +19,7 @@ import lombok.experimental.Accessors;
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = "contraseña")
 public class Usuario {
 
   @Id
@@ -47,4 +46,13 @@ public class Usuario {
   @Column(name = "contraseña", nullable = false, length = 255)
   private String contraseña;
 
-}
\ No newline at end of file
+  @Override
+  public final boolean equals(Object o) {
+    return this == o || o instanceof Usuario otro && getId() != null && getId().equals(otro.getId());
+  }
+
+  @Override
+  public final int hashCode() {
+    return Usuario.class.hashCode();
+  }
+}
@@ -0,0 +1,81 @@
+package com.habitora.backend.persistence.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Base de las migraciones que solo agregan índices secundarios.
+ *
+ * <p>Cada índice se crea únicamente si aún no existe, porque las bases
+ * creadas antes de Flyway pueden tener algunos (ddl-auto) y otros no. En
+ * MySQL se crea con {@code ALGORITHM=INPLACE, LOCK=NONE}: la tabla sigue
+ * aceptando lecturas y escrituras mientras se construye el índice, y si el
+ * motor no puede garantizarlo la sentencia falla en vez de bloquear. La
+ * espera por el metadata lock se acota para no encolar tráfico detrás de
+ * una transacción larga. Se ejecuta fuera de transacción: el DDL de MySQL
+ * hace commit implícito de todos modos.
+ */
+@Slf4j
+public abstract class MigracionIndices extends BaseJavaMigration {
+
+    private static final int ESPERA_BLOQUEO_SEGUNDOS = 10;
+
+    protected abstract List<Indice> indices();
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexion = context.getConnection();
+        boolean mysql = conexion.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+        try (Statement sentencia = conexion.createStatement()) {
+            if (mysql) {
+                sentencia.execute("SET SESSION lock_wait_timeout = " + ESPERA_BLOQUEO_SEGUNDOS);
+            }
+            try {
+                for (Indice indice : indices()) {
+                    if (existe(conexion, indice)) {
+                        log.info("Índice {} ya existe en {}, se omite", indice.nombre(), indice.tabla());
+                        continue;
+                    }
+                    sentencia.execute(mysql
+                            ? "ALTER TABLE %s ADD INDEX %s (%s), ALGORITHM=INPLACE, LOCK=NONE"
+                                    .formatted(indice.tabla(), indice.nombre(), indice.columnas())
+                            : "CREATE INDEX %s ON %s (%s)".formatted(indice.nombre(), indice.tabla(), indice.columnas()));
+                }
+            } finally {
+                if (mysql) {
+                    sentencia.execute("SET SESSION lock_wait_timeout = DEFAULT");
+                }
+            }
+        }
+    }
+
+    private static boolean existe(Connection conexion, Indice indice) throws SQLException {
+        try (ResultSet indices = conexion.getMetaData()
+                .getIndexInfo(conexion.getCatalog(), null, indice.tabla(), false, false)) {
+            while (indices.next()) {
+                if (indice.nombre().equalsIgnoreCase(indices.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Índice a crear; {@code columnas} separadas por coma, en orden. */
+    protected record Indice(String tabla, String nombre, String columnas) {
+    }
+}
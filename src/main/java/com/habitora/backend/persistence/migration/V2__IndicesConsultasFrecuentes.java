@@ -0,0 +1,35 @@
+package com.habitora.backend.persistence.migration;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Índices secundarios de las entidades ({@code @Table(indexes = ...)}),
+ * incluidos los de las consultas más frecuentes: contratos activos por
+ * propiedad, facturas por contrato y estado, pagos por factura y la cola de
+ * recordatorios. Las habitaciones por propiedad y estado usan el prefijo de
+ * {@code idx_habitacion_propiedad_estado_precio}.
+ */
+@Component
+public class V2__IndicesConsultasFrecuentes extends MigracionIndices {
+
+    @Override
+    protected List<Indice> indices() {
+        return List.of(
+                new Indice("usuarios", "idx_usuario_email", "email"),
+                new Indice("inquilinos", "idx_inquilino_dni", "numero_dni"),
+                new Indice("inquilinos", "idx_inquilino_nombre", "nombre_completo, id"),
+                new Indice("inquilinos", "idx_inquilino_email", "email, id"),
+                new Indice("habitaciones", "idx_habitacion_codigo", "codigo"),
+                new Indice("habitaciones", "idx_habitacion_propiedad_precio", "propiedad_id, precio_renta, id"),
+                new Indice("habitaciones", "idx_habitacion_propiedad_estado_precio",
+                        "propiedad_id, estado, precio_renta, id"),
+                new Indice("contratos", "idx_contrato_propiedad_estado", "propiedad_id, estado"),
+                new Indice("facturas", "idx_factura_estado_vencimiento", "estado, fecha_vencimiento"),
+                new Indice("facturas", "idx_factura_vencimiento", "fecha_vencimiento"),
+                new Indice("facturas", "idx_factura_contrato_estado", "contrato_id, estado"),
+                new Indice("pagos", "idx_pago_factura", "factura_id"),
+                new Indice("recordatorios", "idx_recordatorio_estado_programado", "estado, programado_para"));
+    }
+}
@@ -0,0 +1,9 @@
+package com.habitora.backend.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos mínimos de un contrato activo para emitir su factura del periodo.
+ */
+public record ContratoFacturable(Long contratoId, BigDecimal precioRenta) {
+}
@@ -0,0 +1,17 @@
+package com.habitora.backend.persistence.projection;
+
+import java.time.LocalDate;
+
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+
+/**
+ * Datos de una factura necesarios para programar sus recordatorios.
+ */
+public record FacturaARecordar(Long facturaId,
+                               Long contratoId,
+                               Long propiedadId,
+                               LocalDate fechaVencimiento,
+                               EstadoFactura estado,
+                               String nombreInquilino,
+                               String telefonoInquilino) {
+}
@@ -0,0 +1,24 @@
+package com.habitora.backend.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+
+/**
+ * Fila del export contable de facturas; al ser un DTO no se adjunta al
+ * contexto de persistencia mientras se recorre el cursor.
+ */
+public record FilaExportacionFactura(Long facturaId,
+                                     Long contratoId,
+                                     String codigoHabitacion,
+                                     String nombreInquilino,
+                                     String dniInquilino,
+                                     LocalDate periodoInicio,
+                                     LocalDate periodoFin,
+                                     LocalDate fechaVencimiento,
+                                     BigDecimal montoRenta,
+                                     BigDecimal totalAPagar,
+                                     BigDecimal montoPagado,
+                                     EstadoFactura estado) {
+}
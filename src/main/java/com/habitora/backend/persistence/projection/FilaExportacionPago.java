@@ -0,0 +1,20 @@
+package com.habitora.backend.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+
+/**
+ * Fila del export contable de pagos.
+ */
+public record FilaExportacionPago(Long pagoId,
+                                  Long facturaId,
+                                  Long contratoId,
+                                  String codigoHabitacion,
+                                  String nombreInquilino,
+                                  String dniInquilino,
+                                  LocalDate fechaPago,
+                                  BigDecimal monto,
+                                  MetodoPago metodo) {
+}
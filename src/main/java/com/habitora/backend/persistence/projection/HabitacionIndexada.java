@@ -0,0 +1,9 @@
+package com.habitora.backend.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de una habitación que guarda el índice de disponibilidad.
+ */
+public record HabitacionIndexada(Long propiedadId, Long habitacionId, String codigo, BigDecimal precioRenta) {
+}
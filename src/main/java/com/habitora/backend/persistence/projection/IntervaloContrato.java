@@ -0,0 +1,9 @@
+package com.habitora.backend.persistence.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Periodo que ocupa un contrato activo; {@code fechaFin} nula es indefinida.
+ */
+public record IntervaloContrato(Long propiedadId, Long habitacionId, LocalDate fechaInicio, LocalDate fechaFin) {
+}
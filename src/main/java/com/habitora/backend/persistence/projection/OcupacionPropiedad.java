@@ -0,0 +1,4 @@
+package com.habitora.backend.persistence.projection;
+
+public record OcupacionPropiedad(Long totalHabitaciones, Long habitacionesOcupadas) {
+}
@@ -0,0 +1,6 @@
+package com.habitora.backend.persistence.projection;
+
+import java.time.LocalDateTime;
+
+public record ProgramacionRecordatorio(Long facturaId, LocalDateTime programadoPara) {
+}
@@ -0,0 +1,15 @@
+package com.habitora.backend.persistence.projection;
+
+/**
+ * Proyección de las columnas propias de una propiedad, sin relaciones.
+ */
+public interface PropiedadVista {
+
+    Long getId();
+
+    String getNombre();
+
+    String getDireccion();
+
+    Integer getCantidadPisos();
+}
@@ -0,0 +1,9 @@
+package com.habitora.backend.persistence.projection;
+
+/**
+ * Recordatorio reclamado para envío, con la propiedad a la que pertenece
+ * (para resolver el número remitente) y los intentos de envío ya hechos.
+ */
+public record RecordatorioPendiente(Long id, Long propiedadId, String telefonoDestino, String mensaje,
+        int intentos) {
+}
@@ -0,0 +1,12 @@
+package com.habitora.backend.persistence.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.habitora.backend.persistence.entity.ConfigRecordatorio;
+
+public interface ConfigRecordatorioRepository extends JpaRepository<ConfigRecordatorio, Long> {
+
+    Optional<ConfigRecordatorio> findFirstByPropiedadIdOrderByIdAsc(Long propiedadId);
+}
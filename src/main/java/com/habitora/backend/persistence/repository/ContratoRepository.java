@@ -0,0 +1,77 @@
+package com.habitora.backend.persistence.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.projection.ContratoFacturable;
+import com.habitora.backend.persistence.projection.IntervaloContrato;
+
+public interface ContratoRepository extends JpaRepository<Contrato, Long> {
+
+    /** Contrato con habitación, inquilino y facturas, en una sola consulta. */
+    @EntityGraph("Contrato.conFacturas")
+    Optional<Contrato> findConFacturasById(Long id);
+
+    @Query("select c.propiedad.id from Contrato c where c.id = :id")
+    Optional<Long> findPropiedadIdById(@Param("id") Long id);
+
+    /**
+     * Página (por keyset sobre el id) de contratos que deben facturarse en el
+     * periodo indicado.
+     */
+    @Query("""
+            select new com.habitora.backend.persistence.projection.ContratoFacturable(c.id, h.precioRenta)
+            from Contrato c
+            join c.habitacion h
+            where c.estado = :estado
+              and c.id > :desdeId
+              and c.fechaInicio <= :finPeriodo
+              and (c.fechaFin is null or c.fechaFin >= :inicioPeriodo)
+            order by c.id
+            """)
+    List<ContratoFacturable> findFacturables(@Param("estado") EstadoContrato estado,
+                                             @Param("inicioPeriodo") LocalDate inicioPeriodo,
+                                             @Param("finPeriodo") LocalDate finPeriodo,
+                                             @Param("desdeId") long desdeId,
+                                             Limit limit);
+
+    /** Periodos de los contratos en {@code estado} de las propiedades; usa {@code idx_contrato_propiedad_estado}. */
+    @Query("""
+            select new com.habitora.backend.persistence.projection.IntervaloContrato(
+                c.propiedad.id, c.habitacion.id, c.fechaInicio, c.fechaFin)
+            from Contrato c
+            where c.propiedad.id in :propiedadIds
+              and c.estado = :estado
+            """)
+    List<IntervaloContrato> findIntervalos(@Param("propiedadIds") Collection<Long> propiedadIds,
+                                           @Param("estado") EstadoContrato estado);
+
+    /**
+     * Si la habitación ya tiene un contrato en {@code estado} que se cruza con
+     * [{@code inicio}, {@code fin}], sin contar {@code exceptoId}.
+     */
+    @Query("""
+            select case when count(c) > 0 then true else false end
+            from Contrato c
+            where c.habitacion.id = :habitacionId
+              and c.estado = :estado
+              and c.id <> :exceptoId
+              and c.fechaInicio <= :fin
+              and (c.fechaFin is null or c.fechaFin >= :inicio)
+            """)
+    boolean existeSolapado(@Param("habitacionId") Long habitacionId,
+                           @Param("estado") EstadoContrato estado,
+                           @Param("inicio") LocalDate inicio,
+                           @Param("fin") LocalDate fin,
+                           @Param("exceptoId") long exceptoId);
+}
@@ -0,0 +1,73 @@
+package com.habitora.backend.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.EventoOutbox;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Bloquea hasta {@code limite} eventos pendientes, en orden de inserción,
+     * tomando sólo el más antiguo de cada clave: el siguiente de una clave no
+     * se reclama hasta que el anterior se publica o falla definitivamente,
+     * aunque esté reclamado por otro nodo o esperando un reintento. Las filas
+     * bloqueadas se saltan.
+     */
+    @Query(value = """
+            select e.id
+            from eventos_outbox e
+            where e.publicado_en is null
+              and e.fallido_en is null
+              and e.disponible_desde <= :ahora
+              and not exists (
+                  select 1 from eventos_outbox anterior
+                  where anterior.clave = e.clave
+                    and anterior.publicado_en is null
+                    and anterior.fallido_en is null
+                    and anterior.id < e.id)
+            order by e.id
+            limit :limite
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> reclamarPendientes(@Param("ahora") LocalDateTime ahora, @Param("limite") int limite);
+
+    @Modifying
+    @Query("update EventoOutbox e set e.disponibleDesde = :hasta where e.id in :ids")
+    int extenderReclamo(@Param("ids") Collection<Long> ids, @Param("hasta") LocalDateTime hasta);
+
+    @Modifying
+    @Query("update EventoOutbox e set e.publicadoEn = :ahora, e.ultimoError = null where e.id in :ids and e.publicadoEn is null")
+    int marcarPublicados(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora);
+
+    /** {@code fallidoEn} no nulo lo retira definitivamente del despacho. */
+    @Modifying
+    @Query("""
+            update EventoOutbox e
+            set e.intentos = :intentos, e.disponibleDesde = :disponibleDesde, e.ultimoError = :error,
+                e.fallidoEn = :fallidoEn
+            where e.id = :id
+            """)
+    int registrarFallo(@Param("id") Long id,
+                       @Param("intentos") int intentos,
+                       @Param("disponibleDesde") LocalDateTime disponibleDesde,
+                       @Param("error") String error,
+                       @Param("fallidoEn") LocalDateTime fallidoEn);
+
+    @Query("select e from EventoOutbox e where e.id in :ids order by e.id")
+    List<EventoOutbox> findAllByIdOrdenados(@Param("ids") Collection<Long> ids);
+
+    @Query("select e.id from EventoOutbox e where e.publicadoEn < :limite order by e.publicadoEn")
+    List<Long> findIdsPublicadosAntesDe(@Param("limite") LocalDateTime limite, Limit limit);
+
+    @Modifying
+    @Query("delete from EventoOutbox e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,49 @@
+package com.habitora.backend.persistence.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.FacturaArchivada;
+import com.habitora.backend.persistence.projection.FilaExportacionFactura;
+
+import jakarta.persistence.QueryHint;
+
+public interface FacturaArchivadaRepository extends JpaRepository<FacturaArchivada, Long> {
+
+    /** Factura archivada con su contrato y sus pagos, en una sola consulta. */
+    @EntityGraph("FacturaArchivada.conPagos")
+    Optional<FacturaArchivada> findConPagosById(Long id);
+
+    @Query("select f.contrato.propiedad.id from FacturaArchivada f where f.id = :id")
+    Optional<Long> findPropiedadIdById(@Param("id") Long id);
+
+    List<FacturaArchivada> findByContratoIdOrderByPeriodoInicio(Long contratoId);
+
+    /** Como {@link FacturaRepository#streamParaExportacion}, sobre el archivo. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.habitora.backend.persistence.projection.FilaExportacionFactura(
+                f.id, c.id, h.codigo, i.nombreCompleto, i.numeroDni, f.periodoInicio, f.periodoFin,
+                f.fechaVencimiento, f.montoRenta, f.totalAPagar, f.montoPagado, f.estado)
+            from FacturaArchivada f
+            join f.contrato c
+            join c.habitacion h
+            join c.inquilino i
+            where c.propiedad.id = :propiedadId
+              and f.periodoInicio between :desde and :hasta
+            order by f.id
+            """)
+    Stream<FilaExportacionFactura> streamParaExportacion(@Param("propiedadId") Long propiedadId,
+                                                         @Param("desde") LocalDate desde,
+                                                         @Param("hasta") LocalDate hasta);
+}
@@ -0,0 +1,106 @@
+package com.habitora.backend.persistence.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.projection.FacturaARecordar;
+import com.habitora.backend.persistence.projection.FilaExportacionFactura;
+
+import jakarta.persistence.QueryHint;
+
+public interface FacturaRepository extends JpaRepository<Factura, Long> {
+
+    /** Factura con su contrato y sus pagos, en una sola consulta. */
+    @EntityGraph("Factura.conPagos")
+    Optional<Factura> findConPagosById(Long id);
+
+    @Query("select f.contrato.propiedad.id from Factura f where f.id = :id")
+    Optional<Long> findPropiedadIdById(@Param("id") Long id);
+
+    /**
+     * Contratos (de entre los indicados) que ya tienen factura para el periodo.
+     * Se resuelve con el índice de {@code uk_factura_periodo}.
+     */
+    @Query("""
+            select f.contrato.id
+            from Factura f
+            where f.contrato.id in :contratoIds
+              and f.periodoInicio = :inicio
+              and f.periodoFin = :fin
+            """)
+    Set<Long> findContratoIdsFacturados(@Param("contratoIds") Collection<Long> contratoIds,
+                                        @Param("inicio") LocalDate inicio,
+                                        @Param("fin") LocalDate fin);
+
+    /** Las facturas indicadas que pertenecen a alguna de las propiedades. */
+    @Query("select f from Factura f where f.id in :ids and f.contrato.propiedad.id in :propiedadIds")
+    List<Factura> findAllByIdEnPropiedades(@Param("ids") Collection<Long> ids,
+                                           @Param("propiedadIds") Collection<Long> propiedadIds);
+
+    @Query("""
+            select new com.habitora.backend.persistence.projection.FacturaARecordar(
+                f.id, c.id, c.propiedad.id, f.fechaVencimiento, f.estado,
+                i.nombreCompleto, i.telefonoWhatsapp)
+            from Factura f
+            join f.contrato c
+            join c.inquilino i
+            where f.id in :ids
+            """)
+    List<FacturaARecordar> findParaRecordatorio(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Página (keyset por id) de facturas de una propiedad en el estado dado que
+     * vencen a partir de {@code desde}.
+     */
+    @Query("""
+            select f.id
+            from Factura f
+            where f.contrato.propiedad.id = :propiedadId
+              and f.estado = :estado
+              and f.fechaVencimiento >= :desde
+              and f.id > :desdeId
+            order by f.id
+            """)
+    List<Long> findIdsPorPropiedad(@Param("propiedadId") Long propiedadId,
+                                   @Param("estado") EstadoFactura estado,
+                                   @Param("desde") LocalDate desde,
+                                   @Param("desdeId") long desdeId,
+                                   Limit limit);
+
+    /**
+     * Facturas de la propiedad cuyo periodo empieza en el rango, recorridas
+     * con un cursor de sólo avance. Debe consumirse dentro de una transacción
+     * y cerrarse.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.habitora.backend.persistence.projection.FilaExportacionFactura(
+                f.id, c.id, h.codigo, i.nombreCompleto, i.numeroDni, f.periodoInicio, f.periodoFin,
+                f.fechaVencimiento, f.montoRenta, f.totalAPagar, f.montoPagado, f.estado)
+            from Factura f
+            join f.contrato c
+            join c.habitacion h
+            join c.inquilino i
+            where c.propiedad.id = :propiedadId
+              and f.periodoInicio between :desde and :hasta
+            order by f.id
+            """)
+    Stream<FilaExportacionFactura> streamParaExportacion(@Param("propiedadId") Long propiedadId,
+                                                         @Param("desde") LocalDate desde,
+                                                         @Param("hasta") LocalDate hasta);
+}
@@ -0,0 +1,141 @@
+package com.habitora.backend.persistence.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.projection.HabitacionIndexada;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Las búsquedas paginan por keyset (sin OFFSET): cada página parte de la
+ * última clave devuelta, así que su costo no crece con la profundidad.
+ */
+public interface HabitacionRepository extends JpaRepository<Habitacion, Long> {
+
+    @Query("select h.propiedad.id from Habitacion h where h.id = :id")
+    Optional<Long> findPropiedadIdById(@Param("id") Long id);
+
+    /** Códigos ya usados en la propiedad; usa {@code uk_codigo_propiedad}. */
+    @Query("select h.codigo from Habitacion h where h.propiedad.id = :propiedadId")
+    Set<String> findCodigosPorPropiedad(@Param("propiedadId") Long propiedadId);
+
+    /**
+     * Por prefijo del código en las propiedades indicadas ({@code %} y
+     * {@code _} escapados con {@code !}), en orden (código, id); usa
+     * {@code idx_habitacion_codigo}.
+     */
+    @Query("""
+            select h
+            from Habitacion h
+            where h.codigo like :prefijo escape '!'
+              and h.propiedad.id in :propiedadIds
+              and (h.codigo > :desdeCodigo or (h.codigo = :desdeCodigo and h.id > :desdeId))
+            order by h.codigo, h.id
+            """)
+    List<Habitacion> buscarPorPrefijoCodigo(@Param("propiedadIds") Collection<Long> propiedadIds,
+                                            @Param("prefijo") String prefijo,
+                                            @Param("desdeCodigo") String desdeCodigo,
+                                            @Param("desdeId") long desdeId,
+                                            Limit limit);
+
+    /**
+     * Habitaciones de la propiedad con precio hasta {@code precioMax}, en
+     * orden (precio, id) a partir de la clave dada; usa
+     * {@code idx_habitacion_propiedad_precio}.
+     */
+    @Query("""
+            select h
+            from Habitacion h
+            where h.propiedad.id = :propiedadId
+              and h.precioRenta <= :precioMax
+              and (h.precioRenta > :desdePrecio or (h.precioRenta = :desdePrecio and h.id > :desdeId))
+            order by h.precioRenta, h.id
+            """)
+    List<Habitacion> buscarPorPrecio(@Param("propiedadId") Long propiedadId,
+                                     @Param("precioMax") BigDecimal precioMax,
+                                     @Param("desdePrecio") BigDecimal desdePrecio,
+                                     @Param("desdeId") long desdeId,
+                                     Limit limit);
+
+    /** Igual que {@link #buscarPorPrecio}, filtrando por estado; usa {@code idx_habitacion_propiedad_estado_precio}. */
+    @Query("""
+            select h
+            from Habitacion h
+            where h.propiedad.id = :propiedadId
+              and h.estado = :estado
+              and h.precioRenta <= :precioMax
+              and (h.precioRenta > :desdePrecio or (h.precioRenta = :desdePrecio and h.id > :desdeId))
+            order by h.precioRenta, h.id
+            """)
+    List<Habitacion> buscarPorEstadoYPrecio(@Param("propiedadId") Long propiedadId,
+                                            @Param("estado") EstadoHabitacion estado,
+                                            @Param("precioMax") BigDecimal precioMax,
+                                            @Param("desdePrecio") BigDecimal desdePrecio,
+                                            @Param("desdeId") long desdeId,
+                                            Limit limit);
+
+    /** Bloquea la fila para serializar la creación de contratos de la habitación. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from Habitacion h where h.id = :id")
+    Optional<Habitacion> findConBloqueoById(@Param("id") Long id);
+
+    @Query("""
+            select new com.habitora.backend.persistence.projection.HabitacionIndexada(
+                h.propiedad.id, h.id, h.codigo, h.precioRenta)
+            from Habitacion h
+            where h.propiedad.id in :propiedadIds
+            order by h.propiedad.id, h.codigo
+            """)
+    List<HabitacionIndexada> findIndexadas(@Param("propiedadIds") Collection<Long> propiedadIds);
+
+    /** Habitaciones en {@code actual} que tienen un contrato {@code activo} vigente en {@code hoy}. */
+    @Query("""
+            select h.id
+            from Habitacion h
+            where h.estado = :actual
+              and exists (
+                  select 1 from Contrato c
+                  where c.habitacion = h
+                    and c.estado = :activo
+                    and c.fechaInicio <= :hoy
+                    and (c.fechaFin is null or c.fechaFin >= :hoy))
+            """)
+    List<Long> findIdsConContratoVigente(@Param("actual") EstadoHabitacion actual,
+                                         @Param("activo") EstadoContrato activo,
+                                         @Param("hoy") LocalDate hoy);
+
+    /** Habitaciones en {@code actual} sin ningún contrato {@code activo} vigente en {@code hoy}. */
+    @Query("""
+            select h.id
+            from Habitacion h
+            where h.estado = :actual
+              and not exists (
+                  select 1 from Contrato c
+                  where c.habitacion = h
+                    and c.estado = :activo
+                    and c.fechaInicio <= :hoy
+                    and (c.fechaFin is null or c.fechaFin >= :hoy))
+            """)
+    List<Long> findIdsSinContratoVigente(@Param("actual") EstadoHabitacion actual,
+                                         @Param("activo") EstadoContrato activo,
+                                         @Param("hoy") LocalDate hoy);
+
+    @Modifying
+    @Query("update Habitacion h set h.estado = :estado where h.id in :ids")
+    int actualizarEstado(@Param("ids") Collection<Long> ids, @Param("estado") EstadoHabitacion estado);
+}
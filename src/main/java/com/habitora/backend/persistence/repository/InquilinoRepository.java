@@ -0,0 +1,80 @@
+package com.habitora.backend.persistence.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.Inquilino;
+
+/**
+ * Las búsquedas paginan por keyset (sin OFFSET): cada página parte de la
+ * última clave devuelta, así que su costo no crece con la profundidad.
+ * Sólo devuelven inquilinos con algún contrato en {@code propiedadIds}: los
+ * inquilinos no tienen dueño propio ni filtro de propietario.
+ */
+public interface InquilinoRepository extends JpaRepository<Inquilino, Long> {
+
+    /** DNIs (de entre los indicados) que ya están registrados; usa {@code uk_inquilino_dni}. */
+    @Query("select i.numeroDni from Inquilino i where i.numeroDni in :dnis")
+    Set<String> findDnisRegistrados(@Param("dnis") Collection<String> dnis);
+
+    /** Usa {@code uk_inquilino_dni}. */
+    @Query("""
+            select i
+            from Inquilino i
+            where i.numeroDni = :dni
+              and exists (select 1 from Contrato c where c.inquilino = i and c.propiedad.id in :propiedadIds)
+            """)
+    Optional<Inquilino> buscarPorDni(@Param("propiedadIds") Collection<Long> propiedadIds,
+                                     @Param("dni") String dni);
+
+    /**
+     * Por prefijo del nombre ({@code %} y {@code _} escapados con {@code !}),
+     * en orden (nombre, id); usa {@code idx_inquilino_nombre}.
+     */
+    @Query("""
+            select i
+            from Inquilino i
+            where i.nombreCompleto like :prefijo escape '!'
+              and (i.nombreCompleto > :desdeNombre
+                   or (i.nombreCompleto = :desdeNombre and i.id > :desdeId))
+              and exists (select 1 from Contrato c where c.inquilino = i and c.propiedad.id in :propiedadIds)
+            order by i.nombreCompleto, i.id
+            """)
+    List<Inquilino> buscarPorPrefijoNombre(@Param("propiedadIds") Collection<Long> propiedadIds,
+                                           @Param("prefijo") String prefijo,
+                                           @Param("desdeNombre") String desdeNombre,
+                                           @Param("desdeId") long desdeId,
+                                           Limit limit);
+
+    /** Usa {@code idx_inquilino_email}. */
+    @Query("""
+            select i
+            from Inquilino i
+            where i.email = :email
+              and i.id > :desdeId
+              and exists (select 1 from Contrato c where c.inquilino = i and c.propiedad.id in :propiedadIds)
+            order by i.id
+            """)
+    List<Inquilino> buscarPorEmail(@Param("propiedadIds") Collection<Long> propiedadIds,
+                                   @Param("email") String email,
+                                   @Param("desdeId") long desdeId,
+                                   Limit limit);
+
+    @Query("""
+            select i
+            from Inquilino i
+            where i.id > :desdeId
+              and exists (select 1 from Contrato c where c.inquilino = i and c.propiedad.id in :propiedadIds)
+            order by i.id
+            """)
+    List<Inquilino> buscarTodos(@Param("propiedadIds") Collection<Long> propiedadIds,
+                                @Param("desdeId") long desdeId,
+                                Limit limit);
+}
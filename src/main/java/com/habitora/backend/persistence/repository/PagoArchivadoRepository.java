@@ -0,0 +1,37 @@
+package com.habitora.backend.persistence.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.PagoArchivado;
+import com.habitora.backend.persistence.projection.FilaExportacionPago;
+
+import jakarta.persistence.QueryHint;
+
+public interface PagoArchivadoRepository extends JpaRepository<PagoArchivado, Long> {
+
+    /** Como {@link PagoRepository#streamParaExportacion}, sobre el archivo. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.habitora.backend.persistence.projection.FilaExportacionPago(
+                p.id, f.id, c.id, h.codigo, i.nombreCompleto, i.numeroDni, p.fechaPago, p.monto, p.metodo)
+            from PagoArchivado p
+            join p.contrato c
+            join c.habitacion h
+            join c.inquilino i
+            left join p.factura f
+            where c.propiedad.id = :propiedadId
+              and p.fechaPago between :desde and :hasta
+            order by p.id
+            """)
+    Stream<FilaExportacionPago> streamParaExportacion(@Param("propiedadId") Long propiedadId,
+                                                      @Param("desde") LocalDate desde,
+                                                      @Param("hasta") LocalDate hasta);
+}
@@ -0,0 +1,17 @@
+package com.habitora.backend.persistence.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.habitora.backend.persistence.entity.Piso;
+
+public interface PisoRepository extends JpaRepository<Piso, Long> {
+
+    /** Pisos de la propiedad con sus habitaciones, en una sola consulta. */
+    @EntityGraph("Piso.conHabitaciones")
+    List<Piso> findByPropiedadIdOrderByNumeroPisoAsc(Long propiedadId);
+
+    List<Piso> findByPropiedadId(Long propiedadId);
+}
@@ -0,0 +1,24 @@
+package com.habitora.backend.persistence.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.projection.PropiedadVista;
+
+public interface PropiedadRepository extends JpaRepository<Propiedad, Long> {
+
+    Optional<PropiedadVista> findVistaById(Long id);
+
+    @Query("select p.id from Propiedad p where p.usuario.id = :usuarioId order by p.id")
+    List<Long> findIdsByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    /** Propiedades con sus configuraciones en una consulta; la colección queda en la caché de segundo nivel. */
+    @Query("select p from Propiedad p left join fetch p.configRecordatorios where p.id in :ids")
+    List<Propiedad> findConConfigRecordatoriosByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,24 @@
+package com.habitora.backend.persistence.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.RecordatorioArchivado;
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+import com.habitora.backend.persistence.projection.ProgramacionRecordatorio;
+
+public interface RecordatorioArchivadoRepository extends JpaRepository<RecordatorioArchivado, Long> {
+
+    @Query("""
+            select new com.habitora.backend.persistence.projection.ProgramacionRecordatorio(r.facturaId, r.programadoPara)
+            from RecordatorioArchivado r
+            where r.facturaId in :facturaIds
+              and r.estado = :estado
+            """)
+    List<ProgramacionRecordatorio> findProgramacionesPorEstado(@Param("facturaIds") Collection<Long> facturaIds,
+                                                               @Param("estado") EstadoRecordatorio estado);
+}
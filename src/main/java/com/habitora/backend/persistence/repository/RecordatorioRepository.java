@@ -0,0 +1,68 @@
+package com.habitora.backend.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.Recordatorio;
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+import com.habitora.backend.persistence.projection.ProgramacionRecordatorio;
+import com.habitora.backend.persistence.projection.RecordatorioPendiente;
+
+public interface RecordatorioRepository extends JpaRepository<Recordatorio, Long> {
+
+    /**
+     * Bloquea hasta {@code limite} recordatorios vencidos, incluidos los
+     * {@code ENVIANDO} cuyo reclamo ya venció (el nodo que los tenía cayó).
+     * Las filas que otra instancia ya tiene bloqueadas se saltan, de modo que
+     * varios nodos pueden reclamar a la vez sin tomar el mismo recordatorio.
+     */
+    @Query(value = """
+            select id
+            from recordatorios
+            where estado in ('PROGRAMADO', 'ENVIANDO')
+              and programado_para <= :ahora
+              and (estado = 'PROGRAMADO' or reclamado_hasta <= :ahora)
+            order by programado_para
+            limit :limite
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> reclamarPendientes(@Param("ahora") LocalDateTime ahora, @Param("limite") int limite);
+
+    @Modifying
+    @Query("""
+            update Recordatorio r
+            set r.estado = com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio.ENVIANDO,
+                r.reclamadoHasta = :hasta
+            where r.id in :ids
+            """)
+    int marcarEnviando(@Param("ids") Collection<Long> ids, @Param("hasta") LocalDateTime hasta);
+
+    @Query("""
+            select new com.habitora.backend.persistence.projection.RecordatorioPendiente(
+                r.id, c.propiedad.id, r.telefonoDestino, r.mensaje, r.intentos)
+            from Recordatorio r
+            join r.contrato c
+            where r.id in :ids
+            """)
+    List<RecordatorioPendiente> findPendientes(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Recordatorio r where r.factura.id in :facturaIds and r.estado = :estado")
+    int deleteByFacturaIdsAndEstado(@Param("facturaIds") Collection<Long> facturaIds,
+                                    @Param("estado") EstadoRecordatorio estado);
+
+    @Query("""
+            select new com.habitora.backend.persistence.projection.ProgramacionRecordatorio(r.factura.id, r.programadoPara)
+            from Recordatorio r
+            where r.factura.id in :facturaIds
+              and r.estado = :estado
+            """)
+    List<ProgramacionRecordatorio> findProgramacionesPorEstado(@Param("facturaIds") Collection<Long> facturaIds,
+                                               @Param("estado") EstadoRecordatorio estado);
+}
@@ -0,0 +1,94 @@
+package com.habitora.backend.persistence.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.entity.ResumenPropiedad;
+import com.habitora.backend.persistence.projection.OcupacionPropiedad;
+
+/**
+ * Lectura del resumen materializado y agregados (por propiedad) con los que
+ * se recalcula.
+ */
+public interface ResumenPropiedadRepository extends JpaRepository<ResumenPropiedad, Long> {
+
+    @Query("""
+            select new com.habitora.backend.persistence.projection.OcupacionPropiedad(
+                count(h), coalesce(sum(case when h.estado = :ocupada then 1 else 0 end), 0))
+            from Habitacion h
+            where h.propiedad.id = :propiedadId
+            """)
+    OcupacionPropiedad calcularOcupacion(@Param("propiedadId") Long propiedadId,
+                                         @Param("ocupada") EstadoHabitacion ocupada);
+
+    @Query("""
+            select coalesce(sum(h.precioRenta), 0)
+            from Contrato c
+            join c.habitacion h
+            where c.propiedad.id = :propiedadId
+              and c.estado = :estado
+            """)
+    BigDecimal calcularRentaEsperada(@Param("propiedadId") Long propiedadId,
+                                     @Param("estado") EstadoContrato estado);
+
+    @Query("""
+            select coalesce(sum(p.monto), 0)
+            from Pago p
+            where p.contrato.propiedad.id = :propiedadId
+              and p.fechaPago between :desde and :hasta
+            """)
+    BigDecimal calcularCobrado(@Param("propiedadId") Long propiedadId,
+                               @Param("desde") LocalDate desde,
+                               @Param("hasta") LocalDate hasta);
+
+    @Query("""
+            select coalesce(sum(f.totalAPagar - f.montoPagado), 0)
+            from Factura f
+            where f.contrato.propiedad.id = :propiedadId
+              and f.estado = :estado
+            """)
+    BigDecimal calcularSaldo(@Param("propiedadId") Long propiedadId,
+                             @Param("estado") EstadoFactura estado);
+
+    @Query("select distinct f.contrato.propiedad.id from Factura f where f.id in :facturaIds")
+    List<Long> findPropiedadIdsDeFacturas(@Param("facturaIds") Collection<Long> facturaIds);
+
+    @Query("select p.id from Propiedad p where p.id > :desdeId order by p.id")
+    List<Long> findPropiedadIds(@Param("desdeId") long desdeId, Limit limit);
+
+    @Query("""
+            select r.propiedadId from ResumenPropiedad r
+            where r.pendiente = true and r.propiedadId > :desdeId
+            order by r.propiedadId
+            """)
+    List<Long> findPendientes(@Param("desdeId") long desdeId, Limit limit);
+
+    /** Marca los resúmenes existentes de las propiedades; las que aún no tienen fila se calculan al leerlas. */
+    @Modifying
+    @Query(value = """
+            update resumen_propiedades
+            set pendiente = true, marca = marca + 1
+            where propiedad_id in (:propiedadIds)
+            """, nativeQuery = true)
+    int marcarPendientes(@Param("propiedadIds") Collection<Long> propiedadIds);
+
+    /** Limpia la marca si nadie volvió a marcar la propiedad desde que se leyó {@code marca}. */
+    @Modifying
+    @Query(value = """
+            update resumen_propiedades
+            set pendiente = false
+            where propiedad_id = :propiedadId and marca = :marca
+            """, nativeQuery = true)
+    int limpiarPendiente(@Param("propiedadId") Long propiedadId, @Param("marca") long marca);
+}
@@ -0,0 +1,23 @@
+package com.habitora.backend.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.habitora.backend.persistence.entity.SolicitudIdempotente;
+
+public interface SolicitudIdempotenteRepository extends JpaRepository<SolicitudIdempotente, String> {
+
+    @Query("select s.id from SolicitudIdempotente s where s.expiraEn < :limite order by s.expiraEn")
+    List<String> findIdsExpiradasAntesDe(@Param("limite") LocalDateTime limite, Limit limit);
+
+    @Modifying
+    @Query("delete from SolicitudIdempotente s where s.id in :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+}
@@ -1,5 +1,69 @@
 package com.habitora.backend.presentation.advice;
 
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.habitora.backend.presentation.dto.ErrorResponse;
+import com.habitora.backend.service.exception.AccesoDenegadoException;
+import com.habitora.backend.service.exception.CredencialesInvalidasException;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+import com.habitora.backend.service.exception.DemasiadosIntentosException;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+
+@RestControllerAdvice
 public class ControllerAdvice {
 
+    @ExceptionHandler(RecursoNoEncontradoException.class)
+    ResponseEntity<ErrorResponse> noEncontrado(RecursoNoEncontradoException e) {
+        return responder(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(ReglaNegocioException.class)
+    ResponseEntity<ErrorResponse> reglaNegocio(ReglaNegocioException e) {
+        return responder(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(AccesoDenegadoException.class)
+    ResponseEntity<ErrorResponse> accesoDenegado(AccesoDenegadoException e) {
+        return responder(HttpStatus.FORBIDDEN, e.getMessage());
+    }
+
+    @ExceptionHandler(CredencialesInvalidasException.class)
+    ResponseEntity<ErrorResponse> credencialesInvalidas(CredencialesInvalidasException e) {
+        return responder(HttpStatus.UNAUTHORIZED, e.getMessage());
+    }
+
+    @ExceptionHandler(DemasiadosIntentosException.class)
+    ResponseEntity<ErrorResponse> demasiadosIntentos(DemasiadosIntentosException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getReintentarEn().toSeconds())))
+                .body(ErrorResponse.of(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    ResponseEntity<ErrorResponse> validacion(MethodArgumentNotValidException e) {
+        List<String> detalles = e.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .toList();
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Datos inválidos.", detalles, Instant.now()));
+    }
+
+    @ExceptionHandler(DatosInvalidosException.class)
+    ResponseEntity<ErrorResponse> datosInvalidos(DatosInvalidosException e) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), e.getDetalles(), Instant.now()));
+    }
+
+    private ResponseEntity<ErrorResponse> responder(HttpStatus estado, String mensaje) {
+        return ResponseEntity.status(estado).body(ErrorResponse.of(estado.value(), mensaje));
+    }
 }
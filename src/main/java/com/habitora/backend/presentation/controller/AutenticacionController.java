@@ -0,0 +1,28 @@
+package com.habitora.backend.presentation.controller;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.habitora.backend.presentation.dto.LoginRequest;
+import com.habitora.backend.presentation.dto.TokenResponse;
+import com.habitora.backend.service.seguridad.AutenticacionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class AutenticacionController {
+
+    private final AutenticacionService autenticacionService;
+
+    /** Tras el balanceador, {@code getRemoteAddr} ya es la IP del cliente (ver server.forward-headers-strategy). */
+    @PostMapping("/login")
+    public TokenResponse login(@Valid @RequestBody LoginRequest request, HttpServletRequest peticion) {
+        return autenticacionService.login(request.email(), request.contraseña(), peticion.getRemoteAddr());
+    }
+}
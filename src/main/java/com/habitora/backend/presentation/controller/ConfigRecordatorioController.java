@@ -0,0 +1,31 @@
+package com.habitora.backend.presentation.controller;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.habitora.backend.presentation.dto.ConfigRecordatorioRequest;
+import com.habitora.backend.presentation.dto.ConfigRecordatorioResponse;
+import com.habitora.backend.service.recordatorio.ConfigRecordatorioService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/propiedades/{propiedadId}/config-recordatorio")
+@RequiredArgsConstructor
+public class ConfigRecordatorioController {
+
+    private final ConfigRecordatorioService configRecordatorioService;
+    private final AutorizacionService autorizacion;
+
+    @PutMapping
+    public ConfigRecordatorioResponse guardar(@PathVariable Long propiedadId,
+                                              @Valid @RequestBody ConfigRecordatorioRequest request) {
+        autorizacion.verificarPropiedad(propiedadId);
+        return configRecordatorioService.guardar(propiedadId, request);
+    }
+}
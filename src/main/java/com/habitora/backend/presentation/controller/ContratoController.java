@@ -0,0 +1,64 @@
+package com.habitora.backend.presentation.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.habitora.backend.presentation.dto.ContratoDetalleResponse;
+import com.habitora.backend.presentation.dto.ContratoRequest;
+import com.habitora.backend.presentation.dto.FinContratoRequest;
+import com.habitora.backend.service.contrato.ContratoService;
+import com.habitora.backend.service.idempotencia.SolicitudesIdempotentes;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/contratos")
+@RequiredArgsConstructor
+public class ContratoController {
+
+    private final ContratoService contratoService;
+    private final SolicitudesIdempotentes solicitudesIdempotentes;
+    private final AutorizacionService autorizacion;
+
+    @GetMapping("/{id}")
+    public ContratoDetalleResponse obtener(@PathVariable Long id) {
+        ContratoDetalleResponse contrato = contratoService.obtenerDetalle(id);
+        autorizacion.verificarPropiedad(contrato.propiedadId());
+        return contrato;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ContratoDetalleResponse crear(@Valid @RequestBody ContratoRequest request,
+                                         @RequestHeader(name = SolicitudesIdempotentes.CABECERA, required = false)
+                                         String claveIdempotencia) {
+        autorizacion.verificarHabitacion(request.habitacionId());
+        return solicitudesIdempotentes.ejecutar("contrato", claveIdempotencia, request, ContratoDetalleResponse.class,
+                () -> contratoService.crear(request));
+    }
+
+    @PatchMapping("/{id}/fin")
+    public ResponseEntity<Void> finalizar(@PathVariable Long id, @Valid @RequestBody FinContratoRequest request) {
+        autorizacion.verificarContrato(id);
+        contratoService.finalizar(id, request.fechaFin());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/{id}/cancelacion")
+    public ResponseEntity<Void> cancelar(@PathVariable Long id) {
+        autorizacion.verificarContrato(id);
+        contratoService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.habitora.backend.presentation.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.habitora.backend.service.exportacion.ExportacionService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/propiedades/{propiedadId}/exportaciones")
+@RequiredArgsConstructor
+public class ExportacionController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final ExportacionService exportacionService;
+    private final AutorizacionService autorizacion;
+
+    @GetMapping("/facturas")
+    public ResponseEntity<StreamingResponseBody> exportarFacturas(@PathVariable Long propiedadId,
+                                                                  @RequestParam int anio) {
+        autorizacion.verificarPropiedad(propiedadId);
+        exportacionService.verificarPropiedad(propiedadId);
+        Year periodo = Year.of(anio);
+        return csv("facturas-" + propiedadId + "-" + anio + ".csv",
+                salida -> exportacionService.exportarFacturas(propiedadId, periodo, salida));
+    }
+
+    @GetMapping("/pagos")
+    public ResponseEntity<StreamingResponseBody> exportarPagos(@PathVariable Long propiedadId,
+                                                               @RequestParam int anio) {
+        autorizacion.verificarPropiedad(propiedadId);
+        exportacionService.verificarPropiedad(propiedadId);
+        Year periodo = Year.of(anio);
+        return csv("pagos-" + propiedadId + "-" + anio + ".csv",
+                salida -> exportacionService.exportarPagos(propiedadId, periodo, salida));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csv(String archivo, StreamingResponseBody cuerpo) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(cuerpo);
+    }
+}
@@ -0,0 +1,63 @@
+package com.habitora.backend.presentation.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.habitora.backend.presentation.dto.CambioVencimientoRequest;
+import com.habitora.backend.presentation.dto.FacturaDetalleResponse;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.presentation.dto.PagoResponse;
+import com.habitora.backend.service.factura.FacturaService;
+import com.habitora.backend.service.idempotencia.SolicitudesIdempotentes;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/facturas")
+@RequiredArgsConstructor
+public class FacturaController {
+
+    private final FacturaService facturaService;
+    private final PagoService pagoService;
+    private final SolicitudesIdempotentes solicitudesIdempotentes;
+    private final AutorizacionService autorizacion;
+
+    @GetMapping("/{id}")
+    public FacturaDetalleResponse obtener(@PathVariable Long id) {
+        FacturaDetalleResponse factura = facturaService.obtenerDetalle(id);
+        autorizacion.verificarPropiedad(factura.propiedadId());
+        return factura;
+    }
+
+    @PatchMapping("/{id}/vencimiento")
+    public ResponseEntity<Void> cambiarVencimiento(@PathVariable Long id,
+                                                   @Valid @RequestBody CambioVencimientoRequest request) {
+        autorizacion.verificarFactura(id);
+        facturaService.cambiarVencimiento(id, request.fechaVencimiento());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/pagos")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PagoResponse registrarPago(@PathVariable Long id, @Valid @RequestBody PagoRequest request,
+                                      @RequestHeader(name = SolicitudesIdempotentes.CABECERA, required = false)
+                                      String claveIdempotencia) {
+        autorizacion.verificarFactura(id);
+        return solicitudesIdempotentes.ejecutar("pago", claveIdempotencia, List.of(id, request), PagoResponse.class,
+                () -> pagoService.registrarPago(id, request));
+    }
+}
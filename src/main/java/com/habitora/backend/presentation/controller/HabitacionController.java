@@ -0,0 +1,55 @@
+package com.habitora.backend.presentation.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.presentation.dto.HabitacionDisponibleResponse;
+import com.habitora.backend.presentation.dto.HabitacionResponse;
+import com.habitora.backend.presentation.dto.PaginaResponse;
+import com.habitora.backend.service.busqueda.BusquedaHabitacionesService;
+import com.habitora.backend.service.disponibilidad.DisponibilidadService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/habitaciones")
+@RequiredArgsConstructor
+public class HabitacionController {
+
+    private final BusquedaHabitacionesService busquedaHabitacionesService;
+    private final DisponibilidadService disponibilidadService;
+    private final AutorizacionService autorizacion;
+
+    @GetMapping
+    public PaginaResponse<HabitacionResponse> buscar(@RequestParam(required = false) Long propiedadId,
+                                                     @RequestParam(required = false) String codigo,
+                                                     @RequestParam(required = false) EstadoHabitacion estado,
+                                                     @RequestParam(required = false) BigDecimal precioMin,
+                                                     @RequestParam(required = false) BigDecimal precioMax,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer tamano) {
+        if (propiedadId != null) {
+            autorizacion.verificarPropiedad(propiedadId);
+        }
+        return busquedaHabitacionesService.buscar(autorizacion.actual().propiedadIds(), propiedadId, codigo, estado,
+                precioMin, precioMax, cursor, tamano);
+    }
+
+    @GetMapping("/disponibles")
+    public List<HabitacionDisponibleResponse> disponibles(@RequestParam Long usuarioId,
+                                                          @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate desde,
+                                                          @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate hasta) {
+        autorizacion.verificarUsuario(usuarioId);
+        return disponibilidadService.libres(autorizacion.actual().propiedadIds(), desde, hasta);
+    }
+}
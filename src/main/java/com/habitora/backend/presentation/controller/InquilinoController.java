@@ -0,0 +1,32 @@
+package com.habitora.backend.presentation.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.habitora.backend.presentation.dto.InquilinoResponse;
+import com.habitora.backend.presentation.dto.PaginaResponse;
+import com.habitora.backend.service.busqueda.BusquedaInquilinosService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/inquilinos")
+@RequiredArgsConstructor
+public class InquilinoController {
+
+    private final BusquedaInquilinosService busquedaInquilinosService;
+    private final AutorizacionService autorizacion;
+
+    @GetMapping
+    public PaginaResponse<InquilinoResponse> buscar(@RequestParam(required = false) String dni,
+                                                    @RequestParam(required = false) String nombre,
+                                                    @RequestParam(required = false) String email,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer tamano) {
+        return busquedaInquilinosService.buscar(autorizacion.actual().propiedadIds(), dni, nombre, email,
+                cursor, tamano);
+    }
+}
@@ -0,0 +1,30 @@
+package com.habitora.backend.presentation.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.habitora.backend.presentation.dto.ImportacionPagosResponse;
+import com.habitora.backend.service.pago.ImportadorPagosService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/pagos")
+@RequiredArgsConstructor
+public class PagoController {
+
+    private final ImportadorPagosService importadorPagosService;
+    private final AutorizacionService autorizacion;
+
+    @PostMapping(path = "/importaciones", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportacionPagosResponse importar(@RequestParam("archivo") MultipartFile archivo) throws IOException {
+        return importadorPagosService.importar(archivo.getInputStream(), autorizacion.actual().propiedadIds());
+    }
+}
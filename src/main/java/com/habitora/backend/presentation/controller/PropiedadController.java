@@ -0,0 +1,83 @@
+package com.habitora.backend.presentation.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.habitora.backend.presentation.dto.ImportacionOnboardingResponse;
+import com.habitora.backend.presentation.dto.OnboardingRequest;
+import com.habitora.backend.presentation.dto.PropiedadArbolResponse;
+import com.habitora.backend.presentation.dto.ResumenPropiedadResponse;
+import com.habitora.backend.service.notificacion.DifusorCambiosEstado;
+import com.habitora.backend.service.onboarding.ImportadorOnboardingService;
+import com.habitora.backend.service.propiedad.PropiedadService;
+import com.habitora.backend.service.resumen.ResumenPropiedadService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/propiedades")
+@RequiredArgsConstructor
+public class PropiedadController {
+
+    private final PropiedadService propiedadService;
+    private final ResumenPropiedadService resumenPropiedadService;
+    private final ImportadorOnboardingService importadorOnboardingService;
+    private final DifusorCambiosEstado difusorCambiosEstado;
+    private final AutorizacionService autorizacion;
+
+    @GetMapping("/{id}/arbol")
+    public PropiedadArbolResponse arbol(@PathVariable Long id) {
+        autorizacion.verificarPropiedad(id);
+        return propiedadService.obtenerArbol(id);
+    }
+
+    @GetMapping("/{id}/resumen")
+    public ResumenPropiedadResponse resumen(@PathVariable Long id) {
+        autorizacion.verificarPropiedad(id);
+        return resumenPropiedadService.obtener(id);
+    }
+
+    /**
+     * Eventos {@code factura} y {@code recordatorio} con el nuevo estado, y
+     * {@code reinicio} cuando el cliente debe recargar todo.
+     */
+    @GetMapping(path = "/{id}/cambios-estado", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter cambiosEstado(@PathVariable Long id) {
+        autorizacion.verificarPropiedad(id);
+        return difusorCambiosEstado.suscribir(id);
+    }
+
+    @PostMapping(path = "/importaciones", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportacionOnboardingResponse importar(@RequestBody OnboardingRequest request) {
+        verificarDestino(request);
+        return importadorOnboardingService.importar(request);
+    }
+
+    @PostMapping(path = "/importaciones", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportacionOnboardingResponse importarArchivo(@RequestParam("archivo") MultipartFile archivo)
+            throws IOException {
+        OnboardingRequest request = importadorOnboardingService.leer(archivo.getInputStream());
+        verificarDestino(request);
+        return importadorOnboardingService.importar(request);
+    }
+
+    /** La propiedad existente debe ser del usuario; una nueva sólo puede crearse a su nombre. */
+    private void verificarDestino(OnboardingRequest request) {
+        if (request.propiedadId() != null) {
+            autorizacion.verificarPropiedad(request.propiedadId());
+        } else if (request.propiedad() != null && request.propiedad().usuarioId() != null) {
+            autorizacion.verificarUsuario(request.propiedad().usuarioId());
+        }
+    }
+}
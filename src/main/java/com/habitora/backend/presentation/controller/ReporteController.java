@@ -0,0 +1,42 @@
+package com.habitora.backend.presentation.controller;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.habitora.backend.presentation.dto.ProyeccionCobranzaResponse;
+import com.habitora.backend.service.reporte.ProyeccionCobranzaService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/reportes")
+@RequiredArgsConstructor
+public class ReporteController {
+
+    private final ProyeccionCobranzaService proyeccionService;
+    private final AutorizacionService autorizacion;
+
+    /**
+     * Sin {@code propiedadId}, de toda la cartera del usuario. Las consultas
+     * del reporte son JDBC y no pasan por el filtro del propietario: las
+     * propiedades se resuelven aquí.
+     */
+    @GetMapping("/proyeccion-cobranza")
+    public ProyeccionCobranzaResponse proyeccionCobranza(@RequestParam(defaultValue = "6") int meses,
+                                                         @RequestParam(required = false) Long propiedadId) {
+        Collection<Long> propiedades;
+        if (propiedadId != null) {
+            autorizacion.verificarPropiedad(propiedadId);
+            propiedades = List.of(propiedadId);
+        } else {
+            propiedades = autorizacion.actual().propiedadIds();
+        }
+        return proyeccionService.proyectar(propiedades, meses);
+    }
+}
@@ -0,0 +1,10 @@
+package com.habitora.backend.presentation.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+
+public record CambioVencimientoRequest(
+        @NotNull(message = "La fecha de vencimiento es obligatoria.")
+        LocalDate fechaVencimiento) {
+}
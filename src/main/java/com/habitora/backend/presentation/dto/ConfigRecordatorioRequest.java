@@ -0,0 +1,18 @@
+package com.habitora.backend.presentation.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record ConfigRecordatorioRequest(
+        @NotNull(message = "Los días de anticipación son obligatorios.")
+        @Min(value = 1, message = "El recordatorio debe enviarse al menos 1 día antes.")
+        @Max(value = 30, message = "El recordatorio no puede configurarse con más de 30 días de anticipación.")
+        Integer diasAntes,
+
+        @Size(max = 40, message = "El teléfono remitente no puede exceder los 40 caracteres.")
+        String telefonoRemitente,
+
+        Boolean estaActivo) {
+}
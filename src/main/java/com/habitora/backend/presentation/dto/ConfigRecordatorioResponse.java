@@ -0,0 +1,16 @@
+package com.habitora.backend.presentation.dto;
+
+import com.habitora.backend.persistence.entity.ConfigRecordatorio;
+
+public record ConfigRecordatorioResponse(Long id,
+                                         Long propiedadId,
+                                         Integer diasAntes,
+                                         ConfigRecordatorio.Canal canal,
+                                         String telefonoRemitente,
+                                         Boolean estaActivo) {
+
+    public static ConfigRecordatorioResponse from(ConfigRecordatorio config) {
+        return new ConfigRecordatorioResponse(config.getId(), config.getPropiedad().getId(), config.getDiasAntes(),
+                config.getCanal(), config.getTelefonoRemitente(), config.getEstaActivo());
+    }
+}
@@ -0,0 +1,60 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.FacturaArchivada;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+
+public record ContratoDetalleResponse(Long id,
+                                      Long propiedadId,
+                                      EstadoContrato estado,
+                                      LocalDate fechaInicio,
+                                      LocalDate fechaFin,
+                                      BigDecimal montoDeposito,
+                                      Long habitacionId,
+                                      String codigoHabitacion,
+                                      Long inquilinoId,
+                                      String nombreInquilino,
+                                      List<FacturaItem> facturas) {
+
+    public record FacturaItem(Long id,
+                              LocalDate periodoInicio,
+                              LocalDate periodoFin,
+                              LocalDate fechaVencimiento,
+                              BigDecimal totalAPagar,
+                              BigDecimal montoPagado,
+                              EstadoFactura estado) {
+
+        static FacturaItem from(Factura factura) {
+            return new FacturaItem(factura.getId(), factura.getPeriodoInicio(), factura.getPeriodoFin(),
+                    factura.getFechaVencimiento(), factura.getTotalAPagar(), factura.getMontoPagado(),
+                    factura.getEstado());
+        }
+
+        static FacturaItem from(FacturaArchivada factura) {
+            return new FacturaItem(factura.getId(), factura.getPeriodoInicio(), factura.getPeriodoFin(),
+                    factura.getFechaVencimiento(), factura.getTotalAPagar(), factura.getMontoPagado(),
+                    factura.getEstado());
+        }
+    }
+
+    public static ContratoDetalleResponse from(Contrato contrato) {
+        return from(contrato, List.of());
+    }
+
+    /** Con las facturas archivadas del contrato delante de las vigentes. */
+    public static ContratoDetalleResponse from(Contrato contrato, List<FacturaArchivada> archivadas) {
+        return new ContratoDetalleResponse(contrato.getId(), contrato.getPropiedad().getId(),
+                contrato.getEstado(), contrato.getFechaInicio(), contrato.getFechaFin(), contrato.getMontoDeposito(),
+                contrato.getHabitacion().getId(), contrato.getHabitacion().getCodigo(),
+                contrato.getInquilino().getId(), contrato.getInquilino().getNombreCompleto(),
+                Stream.concat(archivadas.stream().map(FacturaItem::from),
+                        contrato.getFacturas().stream().map(FacturaItem::from)).toList());
+    }
+}
@@ -0,0 +1,24 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record ContratoRequest(
+        @NotNull(message = "La habitación es obligatoria.")
+        Long habitacionId,
+
+        @NotNull(message = "El inquilino es obligatorio.")
+        Long inquilinoId,
+
+        @NotNull(message = "La fecha de inicio es obligatoria.")
+        LocalDate fechaInicio,
+
+        LocalDate fechaFin,
+
+        @NotNull(message = "El monto del depósito es obligatorio.")
+        @PositiveOrZero(message = "El monto del depósito no puede ser negativo.")
+        BigDecimal montoDeposito) {
+}
@@ -0,0 +1,8 @@
+package com.habitora.backend.presentation.dto;
+
+/**
+ * Error de una fila de un archivo importado (filas numeradas desde 1, sin
+ * contar la cabecera).
+ */
+public record ErrorFilaResponse(int fila, String mensaje) {
+}
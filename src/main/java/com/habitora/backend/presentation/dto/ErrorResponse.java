@@ -0,0 +1,11 @@
+package com.habitora.backend.presentation.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ErrorResponse(int estado, String mensaje, List<String> detalles, Instant momento) {
+
+    public static ErrorResponse of(int estado, String mensaje) {
+        return new ErrorResponse(estado, mensaje, List.of(), Instant.now());
+    }
+}
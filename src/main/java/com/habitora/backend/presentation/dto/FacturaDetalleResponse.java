@@ -0,0 +1,50 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.FacturaArchivada;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Pago;
+import com.habitora.backend.persistence.entity.PagoArchivado;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+
+public record FacturaDetalleResponse(Long id,
+                                     Long contratoId,
+                                     Long propiedadId,
+                                     LocalDate periodoInicio,
+                                     LocalDate periodoFin,
+                                     LocalDate fechaVencimiento,
+                                     BigDecimal totalAPagar,
+                                     BigDecimal montoPagado,
+                                     BigDecimal saldo,
+                                     EstadoFactura estado,
+                                     List<PagoItem> pagos) {
+
+    public record PagoItem(Long id, LocalDate fechaPago, BigDecimal monto, MetodoPago metodo) {
+
+        static PagoItem from(Pago pago) {
+            return new PagoItem(pago.getId(), pago.getFechaPago(), pago.getMonto(), pago.getMetodo());
+        }
+
+        static PagoItem from(PagoArchivado pago) {
+            return new PagoItem(pago.getId(), pago.getFechaPago(), pago.getMonto(), pago.getMetodo());
+        }
+    }
+
+    public static FacturaDetalleResponse from(Factura factura) {
+        return new FacturaDetalleResponse(factura.getId(), factura.getContrato().getId(),
+                factura.getContrato().getPropiedad().getId(), factura.getPeriodoInicio(), factura.getPeriodoFin(),
+                factura.getFechaVencimiento(), factura.getTotalAPagar(), factura.getMontoPagado(), factura.getSaldo(),
+                factura.getEstado(), factura.getPagos().stream().map(PagoItem::from).toList());
+    }
+
+    public static FacturaDetalleResponse from(FacturaArchivada factura) {
+        return new FacturaDetalleResponse(factura.getId(), factura.getContrato().getId(),
+                factura.getContrato().getPropiedad().getId(), factura.getPeriodoInicio(), factura.getPeriodoFin(),
+                factura.getFechaVencimiento(), factura.getTotalAPagar(), factura.getMontoPagado(), factura.getSaldo(),
+                factura.getEstado(), factura.getPagos().stream().map(PagoItem::from).toList());
+    }
+}
@@ -0,0 +1,10 @@
+package com.habitora.backend.presentation.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+
+public record FinContratoRequest(
+        @NotNull(message = "La fecha de fin es obligatoria.")
+        LocalDate fechaFin) {
+}
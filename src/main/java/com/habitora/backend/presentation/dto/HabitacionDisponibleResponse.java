@@ -0,0 +1,16 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+
+import com.habitora.backend.persistence.projection.HabitacionIndexada;
+
+public record HabitacionDisponibleResponse(Long id,
+                                           Long propiedadId,
+                                           String codigo,
+                                           BigDecimal precioRenta) {
+
+    public static HabitacionDisponibleResponse from(HabitacionIndexada habitacion) {
+        return new HabitacionDisponibleResponse(habitacion.habitacionId(), habitacion.propiedadId(),
+                habitacion.codigo(), habitacion.precioRenta());
+    }
+}
@@ -0,0 +1,21 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+
+public record HabitacionResponse(Long id,
+                                 Long propiedadId,
+                                 Long pisoId,
+                                 String codigo,
+                                 BigDecimal precioRenta,
+                                 EstadoHabitacion estado) {
+
+    /** Propiedad y piso se leen del id del proxy, sin inicializarlos. */
+    public static HabitacionResponse from(Habitacion habitacion) {
+        return new HabitacionResponse(habitacion.getId(), habitacion.getPropiedad().getId(),
+                habitacion.getPiso().getId(), habitacion.getCodigo(), habitacion.getPrecioRenta(),
+                habitacion.getEstado());
+    }
+}
@@ -0,0 +1,19 @@
+package com.habitora.backend.presentation.dto;
+
+import java.util.List;
+
+/**
+ * Reporte de una importación de onboarding. Los DNIs ya registrados no son
+ * error: esos inquilinos se conservan y se cuentan en
+ * {@code inquilinosExistentes}.
+ */
+public record ImportacionOnboardingResponse(Long propiedadId,
+                                            int pisosCreados,
+                                            int habitacionesLeidas,
+                                            int habitacionesCreadas,
+                                            int inquilinosLeidos,
+                                            int inquilinosCreados,
+                                            int inquilinosExistentes,
+                                            List<ErrorFilaResponse> erroresHabitaciones,
+                                            List<ErrorFilaResponse> erroresInquilinos) {
+}
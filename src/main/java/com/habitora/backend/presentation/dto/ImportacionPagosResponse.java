@@ -0,0 +1,9 @@
+package com.habitora.backend.presentation.dto;
+
+import java.util.List;
+
+public record ImportacionPagosResponse(int filasLeidas,
+                                       int pagosRegistrados,
+                                       int facturasPagadas,
+                                       List<ErrorFilaResponse> errores) {
+}
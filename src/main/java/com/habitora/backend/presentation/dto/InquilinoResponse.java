@@ -0,0 +1,15 @@
+package com.habitora.backend.presentation.dto;
+
+import com.habitora.backend.persistence.entity.Inquilino;
+
+public record InquilinoResponse(Long id,
+                                String nombreCompleto,
+                                String numeroDni,
+                                String email,
+                                String telefonoWhatsapp) {
+
+    public static InquilinoResponse from(Inquilino inquilino) {
+        return new InquilinoResponse(inquilino.getId(), inquilino.getNombreCompleto(), inquilino.getNumeroDni(),
+                inquilino.getEmail(), inquilino.getTelefonoWhatsapp());
+    }
+}
@@ -0,0 +1,11 @@
+package com.habitora.backend.presentation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record LoginRequest(
+        @NotBlank(message = "El correo electrónico es obligatorio.")
+        String email,
+
+        @NotBlank(message = "La contraseña es obligatoria.")
+        String contraseña) {
+}
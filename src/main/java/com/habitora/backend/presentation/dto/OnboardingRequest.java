@@ -0,0 +1,29 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Alta masiva de un edificio: una propiedad nueva ({@code propiedad}) o una
+ * existente ({@code propiedadId}), con sus habitaciones e inquilinos. Las
+ * filas se validan una a una con las restricciones de las entidades y las
+ * inválidas se devuelven en el reporte sin detener la importación.
+ */
+public record OnboardingRequest(Long propiedadId,
+                                PropiedadNueva propiedad,
+                                List<HabitacionFila> habitaciones,
+                                List<InquilinoFila> inquilinos) {
+
+    public record PropiedadNueva(Long usuarioId,
+                                 String nombre,
+                                 String direccion,
+                                 Integer cantidadPisos,
+                                 Integer pisoResidenciaDueno) {
+    }
+
+    public record HabitacionFila(Integer piso, String codigo, BigDecimal precioRenta) {
+    }
+
+    public record InquilinoFila(String nombreCompleto, String numeroDni, String email, String telefonoWhatsapp) {
+    }
+}
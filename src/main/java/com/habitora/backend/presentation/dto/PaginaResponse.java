@@ -0,0 +1,10 @@
+package com.habitora.backend.presentation.dto;
+
+import java.util.List;
+
+/**
+ * Página de una búsqueda por keyset. {@code siguiente} es el cursor opaco
+ * para pedir la página siguiente, o {@code null} si no hay más.
+ */
+public record PaginaResponse<T>(List<T> elementos, String siguiente) {
+}
@@ -0,0 +1,21 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record PagoRequest(
+        @NotNull(message = "El monto del pago es obligatorio.")
+        @Positive(message = "El monto debe ser mayor a cero.")
+        BigDecimal monto,
+
+        @NotNull(message = "La fecha del pago es obligatoria.")
+        LocalDate fechaPago,
+
+        @NotNull(message = "El método de pago es obligatorio.")
+        MetodoPago metodo) {
+}
@@ -0,0 +1,23 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Pago;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+
+public record PagoResponse(Long id,
+                           Long facturaId,
+                           BigDecimal monto,
+                           LocalDate fechaPago,
+                           MetodoPago metodo,
+                           BigDecimal saldoFactura,
+                           EstadoFactura estadoFactura) {
+
+    public static PagoResponse from(Pago pago, Factura factura) {
+        return new PagoResponse(pago.getId(), factura.getId(), pago.getMonto(), pago.getFechaPago(),
+                pago.getMetodo(), factura.getSaldo(), factura.getEstado());
+    }
+}
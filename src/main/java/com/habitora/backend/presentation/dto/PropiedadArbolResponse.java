@@ -0,0 +1,36 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.entity.Piso;
+import com.habitora.backend.persistence.projection.PropiedadVista;
+
+public record PropiedadArbolResponse(Long id,
+                                     String nombre,
+                                     String direccion,
+                                     Integer cantidadPisos,
+                                     List<PisoItem> pisos) {
+
+    public record PisoItem(Long id, Integer numeroPiso, List<HabitacionItem> habitaciones) {
+    }
+
+    public record HabitacionItem(Long id, String codigo, BigDecimal precioRenta, EstadoHabitacion estado) {
+
+        static HabitacionItem from(Habitacion habitacion) {
+            return new HabitacionItem(habitacion.getId(), habitacion.getCodigo(), habitacion.getPrecioRenta(),
+                    habitacion.getEstado());
+        }
+    }
+
+    public static PropiedadArbolResponse from(PropiedadVista propiedad, List<Piso> pisos) {
+        List<PisoItem> items = pisos.stream()
+                .map(p -> new PisoItem(p.getId(), p.getNumeroPiso(),
+                        p.getHabitaciones().stream().map(HabitacionItem::from).toList()))
+                .toList();
+        return new PropiedadArbolResponse(propiedad.getId(), propiedad.getNombre(), propiedad.getDireccion(),
+                propiedad.getCantidadPisos(), items);
+    }
+}
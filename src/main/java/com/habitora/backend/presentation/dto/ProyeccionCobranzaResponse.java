@@ -0,0 +1,44 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Proyección de cobranza de los próximos meses y morosidad actual, por
+ * propiedad y para toda la cartera ({@code totales}).
+ *
+ * @param tasaCobro cobrado / facturado en los últimos 12 meses; se aplica a
+ *                  lo que vence en cada mes para estimar {@code cobroEsperado}
+ */
+public record ProyeccionCobranzaResponse(LocalDate calculadaAl,
+                                         BigDecimal tasaCobro,
+                                         List<MesItem> totales,
+                                         MorosidadItem morosidad,
+                                         List<PropiedadItem> propiedades) {
+
+    public record PropiedadItem(Long propiedadId,
+                                BigDecimal tasaCobro,
+                                List<MesItem> meses,
+                                MorosidadItem morosidad) {
+    }
+
+    /**
+     * @param facturacionEsperada renta de los contratos activos que aún no se facturó ese mes
+     * @param saldoPorVencer      saldo de las facturas ya emitidas que vencen ese mes
+     */
+    public record MesItem(YearMonth mes,
+                          BigDecimal facturacionEsperada,
+                          BigDecimal saldoPorVencer,
+                          BigDecimal cobroEsperado) {
+    }
+
+    /** Saldo de las facturas vencidas, por días de atraso. */
+    public record MorosidadItem(BigDecimal total,
+                                BigDecimal hasta30Dias,
+                                BigDecimal de31A60Dias,
+                                BigDecimal de61A90Dias,
+                                BigDecimal masDe90Dias) {
+    }
+}
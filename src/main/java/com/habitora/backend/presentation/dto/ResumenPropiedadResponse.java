@@ -0,0 +1,23 @@
+package com.habitora.backend.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.habitora.backend.persistence.entity.ResumenPropiedad;
+
+public record ResumenPropiedadResponse(Long propiedadId,
+                                       int totalHabitaciones,
+                                       int habitacionesOcupadas,
+                                       BigDecimal rentaMensualEsperada,
+                                       LocalDate mes,
+                                       BigDecimal rentaCobradaMes,
+                                       BigDecimal montoVencido,
+                                       LocalDateTime actualizadoEn) {
+
+    public static ResumenPropiedadResponse from(ResumenPropiedad resumen) {
+        return new ResumenPropiedadResponse(resumen.getPropiedadId(), resumen.getTotalHabitaciones(),
+                resumen.getHabitacionesOcupadas(), resumen.getRentaMensualEsperada(), resumen.getMes(),
+                resumen.getRentaCobradaMes(), resumen.getMontoVencido(), resumen.getActualizadoEn());
+    }
+}
@@ -0,0 +1,9 @@
+package com.habitora.backend.presentation.dto;
+
+/**
+ * Token de acceso para la cabecera {@code Authorization: Bearer ...}.
+ *
+ * @param expiraEn segundos de validez desde su emisión
+ */
+public record TokenResponse(String token, String tipo, long expiraEn) {
+}
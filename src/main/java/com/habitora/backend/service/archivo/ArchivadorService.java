@@ -0,0 +1,193 @@
+package com.habitora.backend.service.archivo;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mueve a las tablas {@code *_archivo} lo que ya no cambia:
+ * <ul>
+ *   <li>facturas {@code PAGADA} o {@code CANCELADA} con periodo y vencimiento
+ *       anteriores al corte, junto con sus pagos y recordatorios. Una factura
+ *       con un pago posterior al corte se queda, así el resumen del mes en
+ *       curso no pierde cobros;</li>
+ *   <li>recordatorios {@code ENVIADO} programados antes del corte, aunque su
+ *       factura siga abierta.</li>
+ * </ul>
+ * El corte es el primer día del mes, {@code habitora.archivo.meses} meses
+ * atrás. Cada bloque de {@code habitora.archivo.tamano-bloque} ids se copia
+ * con INSERT ... SELECT y se borra del origen en su propia transacción, así
+ * los bloqueos duran poco y una pasada interrumpida se retoma sin duplicar.
+ *
+ * <p>Las lecturas de historial consultan también el archivo:
+ * {@code FacturaService.obtenerDetalle} cuando la factura no está en
+ * {@code facturas}, {@code ContratoService.obtenerDetalle} cuando el contrato
+ * tiene {@code tiene_archivadas}, que se marca al mover sus facturas, y los
+ * exportes contables.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchivadorService {
+
+    private static final String SQL_FACTURAS_ARCHIVABLES = """
+            select f.id
+            from facturas f
+            where f.estado in ('PAGADA', 'CANCELADA')
+              and f.fecha_vencimiento < :corte
+              and f.periodo_fin < :corte
+              and not exists (select 1 from pagos p where p.factura_id = f.id and p.fecha_pago >= :corte)
+            order by f.id
+            limit :limite
+            """;
+
+    private static final String SQL_RECORDATORIOS_ARCHIVABLES = """
+            select id
+            from recordatorios
+            where estado = 'ENVIADO'
+              and programado_para < :corte
+            order by id
+            limit :limite
+            """;
+
+    private static final String SQL_COPIAR_FACTURAS = """
+            insert into facturas_archivo (id, contrato_id, periodo_inicio, periodo_fin, fecha_vencimiento,
+                                          monto_renta, total_a_pagar, monto_pagado, estado, archivado_en)
+            select id, contrato_id, periodo_inicio, periodo_fin, fecha_vencimiento,
+                   monto_renta, total_a_pagar, monto_pagado, estado, :ahora
+            from facturas
+            where id in (:ids)
+            """;
+
+    private static final String SQL_MARCAR_CONTRATOS = """
+            update contratos
+            set tiene_archivadas = true
+            where tiene_archivadas = false
+              and id in (select contrato_id from facturas where id in (:ids))
+            """;
+
+    private static final String SQL_COPIAR_PAGOS = """
+            insert into pagos_archivo (id, contrato_id, factura_id, fecha_pago, monto, metodo, archivado_en)
+            select id, contrato_id, factura_id, fecha_pago, monto, metodo, :ahora
+            from pagos
+            where factura_id in (:ids)
+            """;
+
+    private static final String COLUMNAS_RECORDATORIO = """
+            id, factura_id, contrato_id, programado_para, enviado_en, canal, telefono_destino, mensaje,
+            id_mensaje_proveedor, estado""";
+
+    private static final String SQL_COPIAR_RECORDATORIOS_DE_FACTURAS =
+            "insert into recordatorios_archivo (" + COLUMNAS_RECORDATORIO + ", archivado_en)"
+                    + " select " + COLUMNAS_RECORDATORIO + ", :ahora from recordatorios where factura_id in (:ids)";
+
+    private static final String SQL_COPIAR_RECORDATORIOS =
+            "insert into recordatorios_archivo (" + COLUMNAS_RECORDATORIO + ", archivado_en)"
+                    + " select " + COLUMNAS_RECORDATORIO + ", :ahora from recordatorios where id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${habitora.archivo.meses:12}")
+    private int meses;
+
+    @Value("${habitora.archivo.tamano-bloque:500}")
+    private int tamanoBloque;
+
+    /** Primer día del mes, {@code meses} meses antes de {@code hoy}. */
+    public LocalDate corte(LocalDate hoy) {
+        return hoy.minusMonths(meses).withDayOfMonth(1);
+    }
+
+    @Scheduled(cron = "${habitora.archivo.cron:0 0 3 * * *}", zone = "${habitora.zona-horaria:America/Lima}")
+    public void archivarHoy() {
+        archivar(LocalDate.now(clock));
+    }
+
+    public ResultadoArchivo archivar(LocalDate hoy) {
+        LocalDate corte = corte(hoy);
+        int facturas = 0;
+        int pagos = 0;
+        int recordatorios = 0;
+
+        List<Long> ids;
+        do {
+            ids = buscar(SQL_FACTURAS_ARCHIVABLES, corte);
+            if (!ids.isEmpty()) {
+                int[] movidos = moverFacturas(ids);
+                facturas += movidos[0];
+                pagos += movidos[1];
+                recordatorios += movidos[2];
+            }
+        } while (ids.size() == tamanoBloque);
+
+        do {
+            ids = buscar(SQL_RECORDATORIOS_ARCHIVABLES, corte);
+            if (!ids.isEmpty()) {
+                recordatorios += moverRecordatorios(ids);
+            }
+        } while (ids.size() == tamanoBloque);
+
+        contar("facturas", facturas);
+        contar("pagos", pagos);
+        contar("recordatorios", recordatorios);
+        if (facturas + recordatorios > 0) {
+            log.info("Archivado anterior al {}: {} facturas, {} pagos y {} recordatorios",
+                    corte, facturas, pagos, recordatorios);
+        }
+        return new ResultadoArchivo(corte, facturas, pagos, recordatorios);
+    }
+
+    private List<Long> buscar(String sql, LocalDate corte) {
+        return jdbcTemplate.queryForList(sql, Map.of("corte", Date.valueOf(corte), "limite", tamanoBloque), Long.class);
+    }
+
+    /** @return facturas, pagos y recordatorios movidos */
+    private int[] moverFacturas(List<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            Map<String, Object> parametros = Map.of("ids", ids, "ahora", ahora());
+            int facturas = jdbcTemplate.update(SQL_COPIAR_FACTURAS, parametros);
+            jdbcTemplate.update(SQL_MARCAR_CONTRATOS, parametros);
+            int pagos = jdbcTemplate.update(SQL_COPIAR_PAGOS, parametros);
+            int recordatorios = jdbcTemplate.update(SQL_COPIAR_RECORDATORIOS_DE_FACTURAS, parametros);
+            jdbcTemplate.update("delete from recordatorios where factura_id in (:ids)", parametros);
+            jdbcTemplate.update("delete from pagos where factura_id in (:ids)", parametros);
+            jdbcTemplate.update("delete from facturas where id in (:ids)", parametros);
+            return new int[] {facturas, pagos, recordatorios};
+        });
+    }
+
+    private int moverRecordatorios(List<Long> ids) {
+        Integer movidos = transactionTemplate.execute(status -> {
+            Map<String, Object> parametros = Map.of("ids", ids, "ahora", ahora());
+            int copiados = jdbcTemplate.update(SQL_COPIAR_RECORDATORIOS, parametros);
+            jdbcTemplate.update("delete from recordatorios where id in (:ids)", parametros);
+            return copiados;
+        });
+        return movidos == null ? 0 : movidos;
+    }
+
+    private Timestamp ahora() {
+        return Timestamp.valueOf(LocalDateTime.now(clock));
+    }
+
+    private void contar(String tabla, int filas) {
+        meterRegistry.counter("habitora.archivo.filas", "tabla", tabla).increment(filas);
+    }
+}
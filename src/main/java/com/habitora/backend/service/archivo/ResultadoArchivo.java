@@ -0,0 +1,14 @@
+package com.habitora.backend.service.archivo;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen de una pasada del archivado.
+ *
+ * @param corte          se archivó lo anterior a esta fecha
+ * @param facturas       facturas cerradas movidas (con sus pagos y recordatorios)
+ * @param pagos          pagos movidos junto con sus facturas
+ * @param recordatorios  recordatorios movidos, de facturas archivadas o enviados
+ */
+public record ResultadoArchivo(LocalDate corte, int facturas, int pagos, int recordatorios) {
+}
@@ -0,0 +1,89 @@
+package com.habitora.backend.service.busqueda;
+
+import static com.habitora.backend.service.busqueda.CursorKeyset.presente;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.repository.HabitacionRepository;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.presentation.dto.HabitacionResponse;
+import com.habitora.backend.presentation.dto.PaginaResponse;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Búsqueda de habitaciones con paginación por keyset: por prefijo del código
+ * en las propiedades permitidas (las del usuario), o dentro de una propiedad
+ * por estado y rango de precio (ordenadas por precio).
+ */
+@Service
+@RequiredArgsConstructor
+public class BusquedaHabitacionesService {
+
+    /** Tope de {@code precio_renta} (DECIMAL(12,2)) cuando no se indica máximo. */
+    private static final BigDecimal PRECIO_MAXIMO = new BigDecimal("9999999999.99");
+
+    private final HabitacionRepository habitacionRepository;
+    private final PropiedadRepository propiedadRepository;
+
+    @Transactional(readOnly = true)
+    public PaginaResponse<HabitacionResponse> buscar(Collection<Long> propiedadesPermitidas, Long propiedadId,
+                                                     String codigo, EstadoHabitacion estado, BigDecimal precioMin,
+                                                     BigDecimal precioMax, String cursor, Integer tamano) {
+        int limite = CursorKeyset.tamano(tamano);
+
+        if (presente(codigo)) {
+            if (propiedadId != null || estado != null || precioMin != null || precioMax != null) {
+                throw new DatosInvalidosException("La búsqueda por código no admite otros filtros.", List.of());
+            }
+            if (propiedadesPermitidas.isEmpty()) {
+                return new PaginaResponse<>(List.of(), null);
+            }
+            String prefijo = CursorKeyset.prefijoLike(codigo);
+            CursorKeyset desde = CursorKeyset.decodificar(cursor, "codigo", prefijo);
+            List<Habitacion> filas = habitacionRepository.buscarPorPrefijoCodigo(propiedadesPermitidas,
+                    prefijo, desde == null ? "" : desde.valor(), desde == null ? 0 : desde.id(),
+                    Limit.of(limite + 1));
+            return CursorKeyset.pagina(filas, limite, "codigo", prefijo, Habitacion::getCodigo, Habitacion::getId,
+                    HabitacionResponse::from);
+        }
+
+        if (propiedadId == null) {
+            throw new DatosInvalidosException("Indique el código o la propiedad de las habitaciones.", List.of());
+        }
+        if (!propiedadRepository.existsById(propiedadId)) {
+            throw new RecursoNoEncontradoException("Propiedad", propiedadId);
+        }
+        BigDecimal minimo = precioMin == null ? BigDecimal.ZERO : precioMin;
+        BigDecimal maximo = precioMax == null ? PRECIO_MAXIMO : precioMax;
+        if (minimo.compareTo(maximo) > 0) {
+            throw new DatosInvalidosException("El precio mínimo no puede ser mayor que el máximo.", List.of());
+        }
+
+        String filtro = propiedadId + "|" + estado + "|" + minimo.toPlainString() + "|" + maximo.toPlainString();
+        CursorKeyset desde = CursorKeyset.decodificar(cursor, "precio", filtro);
+        BigDecimal desdePrecio;
+        try {
+            desdePrecio = desde == null ? minimo : new BigDecimal(desde.valor());
+        } catch (NumberFormatException e) {
+            throw new DatosInvalidosException("El cursor no es válido para esta búsqueda.", List.of());
+        }
+        long desdeId = desde == null ? 0 : desde.id();
+        List<Habitacion> filas = estado == null
+                ? habitacionRepository.buscarPorPrecio(propiedadId, maximo, desdePrecio, desdeId, Limit.of(limite + 1))
+                : habitacionRepository.buscarPorEstadoYPrecio(propiedadId, estado, maximo, desdePrecio, desdeId,
+                        Limit.of(limite + 1));
+        return CursorKeyset.pagina(filas, limite, "precio", filtro, h -> h.getPrecioRenta().toPlainString(),
+                Habitacion::getId, HabitacionResponse::from);
+    }
+}
@@ -0,0 +1,74 @@
+package com.habitora.backend.service.busqueda;
+
+import static com.habitora.backend.service.busqueda.CursorKeyset.presente;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.entity.Inquilino;
+import com.habitora.backend.persistence.repository.InquilinoRepository;
+import com.habitora.backend.presentation.dto.InquilinoResponse;
+import com.habitora.backend.presentation.dto.PaginaResponse;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Búsqueda de inquilinos por DNI exacto, prefijo del nombre o email, con
+ * paginación por keyset, entre los que tienen contrato en las propiedades
+ * permitidas (las del usuario). Se admite un solo criterio por búsqueda para
+ * que cada una use su índice.
+ */
+@Service
+@RequiredArgsConstructor
+public class BusquedaInquilinosService {
+
+    private final InquilinoRepository inquilinoRepository;
+
+    @Transactional(readOnly = true)
+    public PaginaResponse<InquilinoResponse> buscar(Collection<Long> propiedadesPermitidas, String dni,
+                                                    String nombre, String email, String cursor, Integer tamano) {
+        if (Stream.of(dni, nombre, email).filter(CursorKeyset::presente).count() > 1) {
+            throw new DatosInvalidosException("Busque por un solo criterio: dni, nombre o email.", List.of());
+        }
+        int limite = CursorKeyset.tamano(tamano);
+        if (propiedadesPermitidas.isEmpty()) {
+            return new PaginaResponse<>(List.of(), null);
+        }
+
+        if (presente(dni)) {
+            List<InquilinoResponse> elementos = inquilinoRepository.buscarPorDni(propiedadesPermitidas, dni.strip())
+                    .map(InquilinoResponse::from).stream().toList();
+            return new PaginaResponse<>(elementos, null);
+        }
+        if (presente(nombre)) {
+            String prefijo = CursorKeyset.prefijoLike(nombre);
+            CursorKeyset desde = CursorKeyset.decodificar(cursor, "nombre", prefijo);
+            List<Inquilino> filas = inquilinoRepository.buscarPorPrefijoNombre(propiedadesPermitidas, prefijo,
+                    desde == null ? "" : desde.valor(), desde == null ? 0 : desde.id(), Limit.of(limite + 1));
+            return pagina(filas, limite, "nombre", prefijo, Inquilino::getNombreCompleto);
+        }
+        if (presente(email)) {
+            String buscado = email.strip();
+            CursorKeyset desde = CursorKeyset.decodificar(cursor, "email", buscado);
+            List<Inquilino> filas = inquilinoRepository.buscarPorEmail(propiedadesPermitidas, buscado,
+                    desde == null ? 0 : desde.id(), Limit.of(limite + 1));
+            return pagina(filas, limite, "email", buscado, i -> "");
+        }
+        CursorKeyset desde = CursorKeyset.decodificar(cursor, "id", "");
+        List<Inquilino> filas = inquilinoRepository.buscarTodos(propiedadesPermitidas, desde == null ? 0 : desde.id(),
+                Limit.of(limite + 1));
+        return pagina(filas, limite, "id", "", i -> "");
+    }
+
+    private static PaginaResponse<InquilinoResponse> pagina(List<Inquilino> filas, int limite, String tipo,
+                                                            String filtro, Function<Inquilino, String> valor) {
+        return CursorKeyset.pagina(filas, limite, tipo, filtro, valor, Inquilino::getId, InquilinoResponse::from);
+    }
+}
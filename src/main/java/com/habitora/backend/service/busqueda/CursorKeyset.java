@@ -0,0 +1,86 @@
+package com.habitora.backend.service.busqueda;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import com.habitora.backend.presentation.dto.PaginaResponse;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+
+/**
+ * Última clave de una página (valor de orden + id), serializada como token
+ * opaco. El token lleva el tipo de búsqueda y una huella de sus filtros para
+ * rechazar cursores de otra búsqueda: con otros filtros, la clave no marca
+ * una posición válida y se saltarían o repetirían filas.
+ */
+record CursorKeyset(String valor, long id) {
+
+    private static final char SEPARADOR = '|';
+
+    String codificar(String tipo, String filtro) {
+        String plano = tipo + SEPARADOR + huella(filtro) + SEPARADOR + id + SEPARADOR + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@code null} si no hay token (primera página). {@code filtro} debe ser
+     * el mismo con que se codificó el cursor.
+     */
+    static CursorKeyset decodificar(String token, String tipo, String filtro) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int primero = plano.indexOf(SEPARADOR);
+            int segundo = plano.indexOf(SEPARADOR, primero + 1);
+            int tercero = plano.indexOf(SEPARADOR, segundo + 1);
+            if (primero < 0 || segundo < 0 || tercero < 0
+                    || !plano.substring(0, primero).equals(tipo)
+                    || !plano.substring(primero + 1, segundo).equals(huella(filtro))) {
+                throw new IllegalArgumentException();
+            }
+            return new CursorKeyset(plano.substring(tercero + 1), Long.parseLong(plano.substring(segundo + 1, tercero)));
+        } catch (IllegalArgumentException e) {
+            throw new DatosInvalidosException("El cursor no es válido para esta búsqueda.", List.of());
+        }
+    }
+
+    private static String huella(String filtro) {
+        CRC32 crc = new CRC32();
+        crc.update(filtro.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    /** Escapa los comodines de LIKE con {@code !} y añade {@code %} al final. */
+    static String prefijoLike(String prefijo) {
+        return prefijo.strip().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    /** Página de 1 a 100 elementos; 20 por defecto. */
+    static int tamano(Integer solicitado) {
+        return solicitado == null ? 20 : Math.clamp(solicitado, 1, 100);
+    }
+
+    /**
+     * Arma la página a partir de {@code limite + 1} filas leídas: la sobrante
+     * sólo indica que hay otra página, cuyo cursor es la clave de la última
+     * fila devuelta.
+     */
+    static <E, R> PaginaResponse<R> pagina(List<E> filas, int limite, String tipo, String filtro,
+                                           Function<E, String> valor, Function<E, Long> id,
+                                           Function<E, R> respuesta) {
+        if (filas.size() <= limite) {
+            return new PaginaResponse<>(filas.stream().map(respuesta).toList(), null);
+        }
+        E ultima = filas.get(limite - 1);
+        return new PaginaResponse<>(filas.subList(0, limite).stream().map(respuesta).toList(),
+                new CursorKeyset(valor.apply(ultima), id.apply(ultima)).codificar(tipo, filtro));
+    }
+
+    static boolean presente(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
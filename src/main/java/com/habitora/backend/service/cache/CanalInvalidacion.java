@@ -0,0 +1,15 @@
+package com.habitora.backend.service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por el que los nodos se avisan los cambios de entidades cacheadas
+ * en la caché de segundo nivel y de otros índices en memoria (en ese caso
+ * {@link MensajeInvalidacion#entidad()} es el tema del índice).
+ */
+public interface CanalInvalidacion {
+
+    void publicar(MensajeInvalidacion mensaje);
+
+    void suscribir(Consumer<MensajeInvalidacion> suscriptor);
+}
@@ -0,0 +1,36 @@
+package com.habitora.backend.service.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementación en proceso del canal de invalidación, que hace las veces de
+ * broker local: entrega cada mensaje a los suscriptores de esta JVM. Con
+ * varios nodos se reemplaza por una implementación sobre un broker real
+ * (Redis pub/sub, RabbitMQ, etc.) sin cambiar a los publicadores.
+ *
+ * <p>Ojo: con esta implementación la invalidación entre nodos no ocurre.
+ * Los mensajes sólo llegan a este mismo nodo, e
+ * {@link InvalidadorCacheDistribuido} descarta los propios (su caché ya la
+ * actualizó Hibernate). Desplegada en varios nodos, la caché de segundo nivel
+ * de cada uno sólo se corrige al vencer el TTL de sus regiones; los índices
+ * en memoria que escuchan el canal, igual.
+ */
+@Component
+public class CanalInvalidacionLocal implements CanalInvalidacion {
+
+    private final List<Consumer<MensajeInvalidacion>> suscriptores = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(MensajeInvalidacion mensaje) {
+        suscriptores.forEach(s -> s.accept(mensaje));
+    }
+
+    @Override
+    public void suscribir(Consumer<MensajeInvalidacion> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+}
@@ -0,0 +1,132 @@
+package com.habitora.backend.service.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import com.habitora.backend.persistence.entity.ConfigRecordatorio;
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Piso;
+import com.habitora.backend.persistence.entity.Propiedad;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantiene coherente la caché de segundo nivel entre nodos.
+ *
+ * <p>Tras el commit de un cambio en una entidad cacheada publica un
+ * {@link MensajeInvalidacion}; al recibir el de otro nodo desaloja esa
+ * entidad y las colecciones cacheadas que la contienen. El TTL de cada
+ * región acota cualquier mensaje perdido.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvalidadorCacheDistribuido
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    /** Colecciones cacheadas que hay que desalojar cuando cambia cada entidad. */
+    private static final Map<String, List<String>> COLECCIONES = Map.of(
+            Propiedad.class.getName(), List.of(Propiedad.class.getName() + ".pisos",
+                    Propiedad.class.getName() + ".habitaciones", Piso.class.getName() + ".habitaciones"),
+            Piso.class.getName(), List.of(Propiedad.class.getName() + ".pisos"),
+            Habitacion.class.getName(), List.of(Propiedad.class.getName() + ".habitaciones",
+                    Piso.class.getName() + ".habitaciones"),
+            ConfigRecordatorio.class.getName(), List.of(Propiedad.class.getName() + ".configRecordatorios"));
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CanalInvalidacion canal;
+    private final String nodo = UUID.randomUUID().toString();
+
+    private SessionFactoryImplementor sessionFactory;
+
+    @PostConstruct
+    void registrar() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registro = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registro.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registro.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registro.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        canal.suscribir(this::recibir);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent evento) {
+        publicar(evento.getPersister(), evento.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent evento) {
+        publicar(evento.getPersister(), evento.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent evento) {
+        publicar(evento.getPersister(), evento.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent evento) {
+        // Sin commit no hay nada que invalidar en otros nodos.
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent evento) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent evento) {
+    }
+
+    /**
+     * Invalida en todos los nodos, incluido éste, una entidad escrita por
+     * JDBC (fuera de los listeners de Hibernate) y sus colecciones.
+     */
+    public void invalidar(Class<?> entidad, Object id) {
+        MensajeInvalidacion mensaje = new MensajeInvalidacion(nodo, entidad.getName(), id);
+        desalojar(mensaje);
+        canal.publicar(mensaje);
+    }
+
+    private void publicar(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            canal.publicar(new MensajeInvalidacion(nodo, persister.getEntityName(), id));
+        }
+    }
+
+    void recibir(MensajeInvalidacion mensaje) {
+        // El canal también lleva los avisos de otros índices en memoria.
+        if (!nodo.equals(mensaje.nodoOrigen())
+                && sessionFactory.getMappingMetamodel().findEntityDescriptor(mensaje.entidad()) != null) {
+            desalojar(mensaje);
+        }
+    }
+
+    private void desalojar(MensajeInvalidacion mensaje) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(mensaje.entidad(), mensaje.id());
+        COLECCIONES.getOrDefault(mensaje.entidad(), List.of()).forEach(cache::evictCollectionData);
+        log.debug("Caché invalidada por el nodo {}: {}#{}", mensaje.nodoOrigen(), mensaje.entidad(), mensaje.id());
+    }
+}
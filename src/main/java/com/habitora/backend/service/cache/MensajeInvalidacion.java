@@ -0,0 +1,7 @@
+package com.habitora.backend.service.cache;
+
+/**
+ * Aviso de que una entidad cacheada cambió en el nodo {@code nodoOrigen}.
+ */
+public record MensajeInvalidacion(String nodoOrigen, String entidad, Object id) {
+}
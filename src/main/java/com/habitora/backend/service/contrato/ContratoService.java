@@ -0,0 +1,146 @@
+package com.habitora.backend.service.contrato;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.entity.Inquilino;
+import com.habitora.backend.persistence.entity.FacturaArchivada;
+import com.habitora.backend.persistence.repository.ContratoRepository;
+import com.habitora.backend.persistence.repository.FacturaArchivadaRepository;
+import com.habitora.backend.persistence.repository.HabitacionRepository;
+import com.habitora.backend.persistence.repository.InquilinoRepository;
+import com.habitora.backend.presentation.dto.ContratoDetalleResponse;
+import com.habitora.backend.presentation.dto.ContratoRequest;
+import com.habitora.backend.service.event.ContratoCambiadoEvent;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+import com.habitora.backend.service.idempotencia.SolicitudesIdempotentes;
+import com.habitora.backend.service.outbox.RegistroEventos;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Las altas y cambios de periodo bloquean la habitación, así dos contratos
+ * que se solapan no pueden confirmarse a la vez. {@code Habitacion.estado}
+ * se deriva de los contratos activos vigentes hoy.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContratoService {
+
+    /** Fin usado para comparar contratos sin fecha de fin. */
+    private static final LocalDate FIN_INDEFINIDO = LocalDate.of(9999, 12, 31);
+
+    private final ContratoRepository contratoRepository;
+    private final HabitacionRepository habitacionRepository;
+    private final InquilinoRepository inquilinoRepository;
+    private final FacturaArchivadaRepository facturaArchivadaRepository;
+    private final RegistroEventos registroEventos;
+    private final SolicitudesIdempotentes solicitudesIdempotentes;
+    private final Clock clock;
+
+    /**
+     * Incluye las facturas archivadas; sólo se consultan si el contrato tiene
+     * alguna.
+     */
+    @Transactional(readOnly = true)
+    public ContratoDetalleResponse obtenerDetalle(Long contratoId) {
+        Contrato contrato = contratoRepository.findConFacturasById(contratoId)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Contrato", contratoId));
+        List<FacturaArchivada> archivadas = Boolean.TRUE.equals(contrato.getTieneArchivadas())
+                ? facturaArchivadaRepository.findByContratoIdOrderByPeriodoInicio(contratoId)
+                : List.of();
+        return ContratoDetalleResponse.from(contrato, archivadas);
+    }
+
+    @Transactional
+    public ContratoDetalleResponse crear(ContratoRequest request) {
+        validarPeriodo(request.fechaInicio(), request.fechaFin());
+        Habitacion habitacion = habitacionRepository.findConBloqueoById(request.habitacionId())
+                .orElseThrow(() -> new RecursoNoEncontradoException("Habitacion", request.habitacionId()));
+        Inquilino inquilino = inquilinoRepository.findById(request.inquilinoId())
+                .orElseThrow(() -> new RecursoNoEncontradoException("Inquilino", request.inquilinoId()));
+        verificarSinSolapamiento(habitacion, request.fechaInicio(), request.fechaFin(), 0L);
+
+        Contrato contrato = contratoRepository.save(Contrato.builder()
+                .propiedad(habitacion.getPropiedad())
+                .habitacion(habitacion)
+                .inquilino(inquilino)
+                .estado(EstadoContrato.ACTIVO)
+                .fechaInicio(request.fechaInicio())
+                .fechaFin(request.fechaFin())
+                .montoDeposito(request.montoDeposito())
+                .build());
+        registrarCambio(contrato);
+        ContratoDetalleResponse respuesta = ContratoDetalleResponse.from(contrato);
+        solicitudesIdempotentes.registrar(respuesta);
+        return respuesta;
+    }
+
+    /** Fija (o adelanta) el fin de un contrato activo. */
+    @Transactional
+    public void finalizar(Long contratoId, LocalDate fechaFin) {
+        Contrato contrato = obtenerActivo(contratoId);
+        validarPeriodo(contrato.getFechaInicio(), fechaFin);
+        Habitacion habitacion = habitacionRepository.findConBloqueoById(contrato.getHabitacion().getId())
+                .orElseThrow(() -> new RecursoNoEncontradoException("Habitacion", contrato.getHabitacion().getId()));
+        verificarSinSolapamiento(habitacion, contrato.getFechaInicio(), fechaFin, contrato.getId());
+        contrato.setFechaFin(fechaFin);
+        registrarCambio(contrato);
+    }
+
+    @Transactional
+    public void cancelar(Long contratoId) {
+        Contrato contrato = obtenerActivo(contratoId);
+        contrato.setEstado(EstadoContrato.CANCELADO);
+        registrarCambio(contrato);
+    }
+
+    private Contrato obtenerActivo(Long contratoId) {
+        Contrato contrato = contratoRepository.findById(contratoId)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Contrato", contratoId));
+        if (contrato.getEstado() != EstadoContrato.ACTIVO) {
+            throw new ReglaNegocioException("El contrato " + contratoId + " está " + contrato.getEstado() + ".");
+        }
+        return contrato;
+    }
+
+    private static void validarPeriodo(LocalDate inicio, LocalDate fin) {
+        if (fin != null && fin.isBefore(inicio)) {
+            throw new DatosInvalidosException("Periodo de contrato inválido.",
+                    List.of("fechaFin (" + fin + ") es anterior a fechaInicio (" + inicio + ")"));
+        }
+    }
+
+    private void verificarSinSolapamiento(Habitacion habitacion, LocalDate inicio, LocalDate fin, long exceptoId) {
+        if (contratoRepository.existeSolapado(habitacion.getId(), EstadoContrato.ACTIVO, inicio,
+                fin != null ? fin : FIN_INDEFINIDO, exceptoId)) {
+            throw new ReglaNegocioException("La habitación " + habitacion.getCodigo()
+                    + " ya tiene un contrato activo en ese periodo.");
+        }
+    }
+
+    /**
+     * Recalcula el estado de la habitación (el contrato ya está en el
+     * contexto, así que el auto-flush lo incluye en la consulta) y registra
+     * el cambio en el outbox.
+     */
+    private void registrarCambio(Contrato contrato) {
+        Habitacion habitacion = contrato.getHabitacion();
+        LocalDate hoy = LocalDate.now(clock);
+        habitacion.setEstado(contratoRepository.existeSolapado(habitacion.getId(), EstadoContrato.ACTIVO, hoy, hoy, 0L)
+                ? EstadoHabitacion.OCUPADA
+                : EstadoHabitacion.DISPONIBLE);
+        registroEventos.registrar(contrato.getId(),
+                new ContratoCambiadoEvent(contrato.getPropiedad().getId(), habitacion.getId()));
+    }
+}
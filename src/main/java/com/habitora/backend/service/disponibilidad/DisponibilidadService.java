@@ -0,0 +1,209 @@
+package com.habitora.backend.service.disponibilidad;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.projection.HabitacionIndexada;
+import com.habitora.backend.persistence.projection.IntervaloContrato;
+import com.habitora.backend.persistence.repository.ContratoRepository;
+import com.habitora.backend.persistence.repository.HabitacionRepository;
+import com.habitora.backend.presentation.dto.HabitacionDisponibleResponse;
+import com.habitora.backend.service.cache.CanalInvalidacion;
+import com.habitora.backend.service.cache.InvalidadorCacheDistribuido;
+import com.habitora.backend.service.cache.MensajeInvalidacion;
+import com.habitora.backend.service.event.ContratoCambiadoEvent;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Responde qué habitaciones están libres en un rango de fechas con un índice
+ * en memoria de los contratos activos, sin consultar la base.
+ *
+ * <p>Cada propiedad se carga la primera vez que se consulta (habitaciones y
+ * contratos activos de todas las propiedades pedidas, en dos consultas) y se
+ * descarta cuando cambia uno de sus contratos: en el nodo que publica el
+ * {@link ContratoCambiadoEvent} del outbox y por el {@link CanalInvalidacion}
+ * en los demás. Una carga que se cruza con un cambio no se guarda, para no
+ * dejar en el índice una foto anterior al commit.
+ *
+ * <p>También mantiene {@code Habitacion.estado} derivado de los contratos:
+ * cada noche corrige las habitaciones cuyo contrato empezó o terminó.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DisponibilidadService {
+
+    /** Tema de los mensajes de este índice en el canal de invalidación. */
+    public static final String TEMA = "disponibilidad";
+
+    private static final int TAMANO_BLOQUE = 1000;
+
+    private final HabitacionRepository habitacionRepository;
+    private final ContratoRepository contratoRepository;
+    private final CanalInvalidacion canal;
+    private final InvalidadorCacheDistribuido invalidadorCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final Map<Long, IndicePropiedad> indices = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versiones = new ConcurrentHashMap<>();
+    private final String nodo = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void suscribir() {
+        canal.suscribir(this::recibir);
+    }
+
+    /**
+     * Habitaciones libres en todo [{@code desde}, {@code hasta}], en el orden
+     * de {@code propiedadIds} y por código dentro de cada propiedad.
+     */
+    public List<HabitacionDisponibleResponse> libres(Collection<Long> propiedadIds, LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new DatosInvalidosException("Rango de fechas inválido.",
+                    List.of("hasta (" + hasta + ") es anterior a desde (" + desde + ")"));
+        }
+        List<HabitacionDisponibleResponse> libres = new ArrayList<>();
+        for (IndicePropiedad indice : obtener(propiedadIds)) {
+            indice.agregarLibres(desde, hasta, libres);
+        }
+        return libres;
+    }
+
+    @EventListener
+    public void alCambiarContrato(ContratoCambiadoEvent evento) {
+        invalidar(evento.propiedadId());
+    }
+
+    /**
+     * Descarta el índice de la propiedad en todos los nodos; para cambios que
+     * no pasan por {@link ContratoCambiadoEvent} (habitaciones importadas por
+     * JDBC, etc.).
+     */
+    public void invalidar(Long propiedadId) {
+        descartar(propiedadId);
+        canal.publicar(new MensajeInvalidacion(nodo, TEMA, propiedadId));
+    }
+
+    void recibir(MensajeInvalidacion mensaje) {
+        if (TEMA.equals(mensaje.entidad()) && !nodo.equals(mensaje.nodoOrigen())) {
+            descartar(((Number) mensaje.id()).longValue());
+        }
+    }
+
+    private void descartar(Long propiedadId) {
+        versiones.merge(propiedadId, 1L, Long::sum);
+        indices.remove(propiedadId);
+    }
+
+    private List<IndicePropiedad> obtener(Collection<Long> propiedadIds) {
+        List<Long> faltantes = propiedadIds.stream().filter(id -> !indices.containsKey(id)).distinct().toList();
+        Map<Long, IndicePropiedad> cargados = faltantes.isEmpty() ? Map.of() : cargar(faltantes);
+        List<IndicePropiedad> resultado = new ArrayList<>(propiedadIds.size());
+        for (Long id : propiedadIds) {
+            IndicePropiedad indice = cargados.get(id);
+            resultado.add(indice != null ? indice : indices.getOrDefault(id, IndicePropiedad.VACIO));
+        }
+        return resultado;
+    }
+
+    private Map<Long, IndicePropiedad> cargar(List<Long> propiedadIds) {
+        Map<Long, Long> versionLeida = new HashMap<>();
+        propiedadIds.forEach(id -> versionLeida.put(id, versiones.getOrDefault(id, 0L)));
+
+        Map<Long, List<HabitacionIndexada>> habitaciones = habitacionRepository.findIndexadas(propiedadIds).stream()
+                .collect(Collectors.groupingBy(HabitacionIndexada::propiedadId));
+        Map<Long, List<IntervaloContrato>> contratos = contratoRepository
+                .findIntervalos(propiedadIds, EstadoContrato.ACTIVO).stream()
+                .collect(Collectors.groupingBy(IntervaloContrato::habitacionId));
+
+        Map<Long, IndicePropiedad> cargados = new HashMap<>();
+        for (Long id : propiedadIds) {
+            IndicePropiedad indice = IndicePropiedad.de(habitaciones.getOrDefault(id, List.of()), contratos);
+            cargados.put(id, indice);
+            indices.compute(id, (clave, actual) -> actual != null
+                    || !versionLeida.get(clave).equals(versiones.getOrDefault(clave, 0L)) ? actual : indice);
+        }
+        return cargados;
+    }
+
+    @Scheduled(cron = "${habitora.disponibilidad.cron-estados:0 10 0 * * *}", zone = "${habitora.zona-horaria:America/Lima}")
+    public void sincronizarEstadosHoy() {
+        sincronizarEstados(LocalDate.now(clock));
+    }
+
+    /**
+     * Deja {@code Habitacion.estado} en {@code OCUPADA} si y sólo si la
+     * habitación tiene un contrato activo vigente en {@code hoy}.
+     *
+     * @return cantidad de habitaciones corregidas
+     */
+    public int sincronizarEstados(LocalDate hoy) {
+        List<Long> ocupar = habitacionRepository.findIdsConContratoVigente(
+                EstadoHabitacion.DISPONIBLE, EstadoContrato.ACTIVO, hoy);
+        List<Long> liberar = habitacionRepository.findIdsSinContratoVigente(
+                EstadoHabitacion.OCUPADA, EstadoContrato.ACTIVO, hoy);
+        int corregidas = actualizarEstado(ocupar, EstadoHabitacion.OCUPADA)
+                + actualizarEstado(liberar, EstadoHabitacion.DISPONIBLE);
+        if (corregidas > 0) {
+            log.info("Estado de habitaciones al {}: {} ocupadas y {} liberadas", hoy, ocupar.size(), liberar.size());
+        }
+        return corregidas;
+    }
+
+    /** UPDATE por bloques; fuera de Hibernate, así que la caché se invalida a mano. */
+    private int actualizarEstado(List<Long> ids, EstadoHabitacion estado) {
+        int total = 0;
+        for (int i = 0; i < ids.size(); i += TAMANO_BLOQUE) {
+            List<Long> bloque = ids.subList(i, Math.min(i + TAMANO_BLOQUE, ids.size()));
+            Integer actualizadas = transactionTemplate.execute(status -> habitacionRepository.actualizarEstado(bloque, estado));
+            total += actualizadas == null ? 0 : actualizadas;
+            bloque.forEach(id -> invalidadorCache.invalidar(Habitacion.class, id));
+        }
+        return total;
+    }
+
+    /** Habitaciones de una propiedad (por código) y su ocupación, en el mismo orden. */
+    private record IndicePropiedad(List<HabitacionDisponibleResponse> habitaciones,
+                                   List<OcupacionHabitacion> ocupaciones) {
+
+        static final IndicePropiedad VACIO = new IndicePropiedad(List.of(), List.of());
+
+        static IndicePropiedad de(List<HabitacionIndexada> habitaciones,
+                                  Map<Long, List<IntervaloContrato>> contratosPorHabitacion) {
+            return new IndicePropiedad(
+                    habitaciones.stream().map(HabitacionDisponibleResponse::from).toList(),
+                    habitaciones.stream()
+                            .map(h -> OcupacionHabitacion.de(contratosPorHabitacion.getOrDefault(h.habitacionId(), List.of())))
+                            .toList());
+        }
+
+        void agregarLibres(LocalDate desde, LocalDate hasta, List<HabitacionDisponibleResponse> destino) {
+            for (int i = 0; i < habitaciones.size(); i++) {
+                if (ocupaciones.get(i).libreEntre(desde, hasta)) {
+                    destino.add(habitaciones.get(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.habitora.backend.service.disponibilidad;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.habitora.backend.persistence.projection.IntervaloContrato;
+
+/**
+ * Periodos ocupados de una habitación, como intervalos cerrados de días
+ * epoch, disjuntos y ordenados por inicio (los que se cruzan o se tocan se
+ * fusionan al construir). Saber si la habitación está libre en un rango es
+ * una búsqueda binaria.
+ */
+final class OcupacionHabitacion {
+
+    static final OcupacionHabitacion LIBRE = new OcupacionHabitacion(new int[0], new int[0]);
+
+    private static final int INDEFINIDO = Integer.MAX_VALUE;
+
+    private final int[] inicios;
+    private final int[] fines;
+
+    private OcupacionHabitacion(int[] inicios, int[] fines) {
+        this.inicios = inicios;
+        this.fines = fines;
+    }
+
+    static OcupacionHabitacion de(List<IntervaloContrato> contratos) {
+        long[][] intervalos = contratos.stream()
+                .map(c -> new long[] { c.fechaInicio().toEpochDay(),
+                        c.fechaFin() == null ? INDEFINIDO : c.fechaFin().toEpochDay() })
+                .sorted((a, b) -> Long.compare(a[0], b[0]))
+                .toArray(long[][]::new);
+
+        int[] inicios = new int[intervalos.length];
+        int[] fines = new int[intervalos.length];
+        int n = 0;
+        for (long[] intervalo : intervalos) {
+            if (n > 0 && intervalo[0] <= (long) fines[n - 1] + 1) {
+                fines[n - 1] = (int) Math.max(fines[n - 1], intervalo[1]);
+            } else {
+                inicios[n] = (int) intervalo[0];
+                fines[n] = (int) intervalo[1];
+                n++;
+            }
+        }
+        return n == 0 ? LIBRE : new OcupacionHabitacion(Arrays.copyOf(inicios, n), Arrays.copyOf(fines, n));
+    }
+
+    /** Si ningún periodo ocupado se cruza con [{@code desde}, {@code hasta}]. */
+    boolean libreEntre(LocalDate desde, LocalDate hasta) {
+        // Último intervalo que empieza a más tardar en "hasta": por ser
+        // disjuntos y ordenados, es el único que puede cruzarse con el rango.
+        int i = Arrays.binarySearch(inicios, (int) hasta.toEpochDay());
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return i < 0 || fines[i] < desde.toEpochDay();
+    }
+}
@@ -0,0 +1,8 @@
+package com.habitora.backend.service.event;
+
+/**
+ * Se creó, modificó o desactivó la configuración de recordatorios de una
+ * propiedad.
+ */
+public record ConfigRecordatorioCambiadoEvent(Long propiedadId) {
+}
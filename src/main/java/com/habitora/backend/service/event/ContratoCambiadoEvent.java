@@ -0,0 +1,7 @@
+package com.habitora.backend.service.event;
+
+/**
+ * Se creó, finalizó o canceló un contrato de la habitación indicada.
+ */
+public record ContratoCambiadoEvent(Long propiedadId, Long habitacionId) {
+}
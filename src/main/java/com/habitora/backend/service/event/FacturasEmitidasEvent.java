@@ -0,0 +1,9 @@
+package com.habitora.backend.service.event;
+
+import java.util.List;
+
+/**
+ * Se emitieron nuevas facturas (por ejemplo, una página del ciclo mensual).
+ */
+public record FacturasEmitidasEvent(List<Long> facturaIds) {
+}
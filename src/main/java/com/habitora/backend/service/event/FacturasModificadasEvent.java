@@ -0,0 +1,13 @@
+package com.habitora.backend.service.event;
+
+import java.util.List;
+
+/**
+ * Cambió la fecha de vencimiento o el estado de una o varias facturas.
+ */
+public record FacturasModificadasEvent(List<Long> facturaIds) {
+
+    public static FacturasModificadasEvent of(Long facturaId) {
+        return new FacturasModificadasEvent(List.of(facturaId));
+    }
+}
@@ -0,0 +1,11 @@
+package com.habitora.backend.service.event;
+
+import java.util.List;
+
+/**
+ * Se registraron pagos de una o varias facturas; {@code pagadas} son las que
+ * quedaron saldadas. Un pago no cambia el vencimiento: los recordatorios sólo
+ * se cancelan para las pagadas.
+ */
+public record PagosRegistradosEvent(List<Long> facturaIds, List<Long> pagadas) {
+}
@@ -0,0 +1,11 @@
+package com.habitora.backend.service.exception;
+
+/**
+ * El usuario autenticado no es dueño del recurso (se traduce a 403).
+ */
+public class AccesoDenegadoException extends RuntimeException {
+
+    public AccesoDenegadoException(String recurso, Object id) {
+        super("No tiene acceso a " + recurso + " con id " + id + ".");
+    }
+}
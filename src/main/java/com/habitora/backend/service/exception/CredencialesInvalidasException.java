@@ -0,0 +1,11 @@
+package com.habitora.backend.service.exception;
+
+/**
+ * Email o contraseña incorrectos en el login (se traduce a 401).
+ */
+public class CredencialesInvalidasException extends RuntimeException {
+
+    public CredencialesInvalidasException() {
+        super("Email o contraseña incorrectos.");
+    }
+}
@@ -0,0 +1,20 @@
+package com.habitora.backend.service.exception;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Los datos recibidos no cumplen las validaciones y no llegaron por un
+ * {@code @Valid} del controlador (se traduce a 400 con el detalle).
+ */
+@Getter
+public class DatosInvalidosException extends RuntimeException {
+
+    private final List<String> detalles;
+
+    public DatosInvalidosException(String mensaje, List<String> detalles) {
+        super(mensaje);
+        this.detalles = List.copyOf(detalles);
+    }
+}
@@ -0,0 +1,24 @@
+package com.habitora.backend.service.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * Se superó el límite de intentos de login, u otro límite de uso (se
+ * traduce a 429 con {@code Retry-After}).
+ */
+@Getter
+public class DemasiadosIntentosException extends RuntimeException {
+
+    private final Duration reintentarEn;
+
+    public DemasiadosIntentosException(Duration reintentarEn) {
+        this("Demasiados intentos de inicio de sesión. Intente más tarde.", reintentarEn);
+    }
+
+    public DemasiadosIntentosException(String mensaje, Duration reintentarEn) {
+        super(mensaje);
+        this.reintentarEn = reintentarEn;
+    }
+}
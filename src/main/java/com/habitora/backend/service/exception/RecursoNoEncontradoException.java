@@ -0,0 +1,11 @@
+package com.habitora.backend.service.exception;
+
+/**
+ * El recurso solicitado no existe (se traduce a 404).
+ */
+public class RecursoNoEncontradoException extends RuntimeException {
+
+    public RecursoNoEncontradoException(String recurso, Object id) {
+        super(recurso + " con id " + id + " no existe.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.habitora.backend.service.exception;
+
+/**
+ * La operación viola una regla del negocio (se traduce a 409).
+ */
+public class ReglaNegocioException extends RuntimeException {
+
+    public ReglaNegocioException(String mensaje) {
+        super(mensaje);
+    }
+}
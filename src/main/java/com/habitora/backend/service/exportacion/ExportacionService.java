@@ -0,0 +1,117 @@
+package com.habitora.backend.service.exportacion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.projection.FilaExportacionFactura;
+import com.habitora.backend.persistence.projection.FilaExportacionPago;
+import com.habitora.backend.persistence.repository.FacturaArchivadaRepository;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.persistence.repository.PagoArchivadoRepository;
+import com.habitora.backend.persistence.repository.PagoRepository;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+import com.habitora.backend.util.EscritorCsv;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportes contables (CSV) de facturas y pagos de una propiedad por año.
+ *
+ * <p>Las filas se leen con un cursor de sólo avance como proyecciones DTO,
+ * que nunca entran al contexto de persistencia, y se escriben directamente al
+ * flujo de la respuesta vaciando el búfer cada {@value #FILAS_POR_BLOQUE}
+ * filas. La memoria usada no depende del número de filas exportadas.
+ *
+ * <p>Incluyen lo archivado: primero las filas de las tablas
+ * {@code *_archivo} y después las vigentes, cada tramo ordenado por id y
+ * leído con su propio cursor, uno detrás de otro.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportacionService {
+
+    private static final int FILAS_POR_BLOQUE = 1000;
+
+    private final FacturaRepository facturaRepository;
+    private final PagoRepository pagoRepository;
+    private final FacturaArchivadaRepository facturaArchivadaRepository;
+    private final PagoArchivadoRepository pagoArchivadoRepository;
+    private final PropiedadRepository propiedadRepository;
+
+    /** Se llama antes de empezar a responder, cuando aún puede devolverse un 404. */
+    public void verificarPropiedad(Long propiedadId) {
+        if (!propiedadRepository.existsById(propiedadId)) {
+            throw new RecursoNoEncontradoException("Propiedad", propiedadId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarFacturas(Long propiedadId, Year anio, OutputStream salida) throws IOException {
+        EscritorCsv csv = new EscritorCsv(salida);
+        csv.fila("factura_id", "contrato_id", "habitacion", "inquilino", "dni", "periodo_inicio", "periodo_fin",
+                "fecha_vencimiento", "monto_renta", "total_a_pagar", "monto_pagado", "estado");
+        LocalDate desde = anio.atDay(1);
+        LocalDate hasta = anio.atMonth(12).atEndOfMonth();
+        Function<FilaExportacionFactura, Object[]> columnas = f -> new Object[] {
+                f.facturaId(), f.contratoId(), f.codigoHabitacion(), f.nombreInquilino(), f.dniInquilino(),
+                f.periodoInicio(), f.periodoFin(), f.fechaVencimiento(), f.montoRenta(), f.totalAPagar(),
+                f.montoPagado(), f.estado() };
+        long escritas;
+        try (Stream<FilaExportacionFactura> filas = facturaArchivadaRepository.streamParaExportacion(
+                propiedadId, desde, hasta)) {
+            escritas = escribir(csv, filas, columnas);
+        }
+        try (Stream<FilaExportacionFactura> filas = facturaRepository.streamParaExportacion(
+                propiedadId, desde, hasta)) {
+            escritas += escribir(csv, filas, columnas);
+        }
+        log.info("Exportadas {} facturas de la propiedad {} ({})", escritas, propiedadId, anio);
+        return escritas;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarPagos(Long propiedadId, Year anio, OutputStream salida) throws IOException {
+        EscritorCsv csv = new EscritorCsv(salida);
+        csv.fila("pago_id", "factura_id", "contrato_id", "habitacion", "inquilino", "dni", "fecha_pago", "monto",
+                "metodo");
+        LocalDate desde = anio.atDay(1);
+        LocalDate hasta = anio.atMonth(12).atEndOfMonth();
+        Function<FilaExportacionPago, Object[]> columnas = p -> new Object[] {
+                p.pagoId(), p.facturaId(), p.contratoId(), p.codigoHabitacion(), p.nombreInquilino(),
+                p.dniInquilino(), p.fechaPago(), p.monto(), p.metodo() };
+        long escritas;
+        try (Stream<FilaExportacionPago> filas = pagoArchivadoRepository.streamParaExportacion(
+                propiedadId, desde, hasta)) {
+            escritas = escribir(csv, filas, columnas);
+        }
+        try (Stream<FilaExportacionPago> filas = pagoRepository.streamParaExportacion(propiedadId, desde, hasta)) {
+            escritas += escribir(csv, filas, columnas);
+        }
+        log.info("Exportados {} pagos de la propiedad {} ({})", escritas, propiedadId, anio);
+        return escritas;
+    }
+
+    private static <T> long escribir(EscritorCsv csv, Stream<T> filas, Function<T, Object[]> columnas)
+            throws IOException {
+        long escritas = 0;
+        for (Iterator<T> it = filas.iterator(); it.hasNext(); ) {
+            csv.fila(columnas.apply(it.next()));
+            if (++escritas % FILAS_POR_BLOQUE == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+        return escritas;
+    }
+}
@@ -0,0 +1,148 @@
+package com.habitora.backend.service.factura;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.service.notificacion.NotificadorCambiosEstado;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pasa a {@code VENCIDA} las facturas {@code ABIERTA} cuya fecha de
+ * vencimiento ya pasó.
+ *
+ * <p>Recorre {@code idx_factura_estado_vencimiento (estado, fecha_vencimiento)}
+ * por keyset sobre {@code (fecha_vencimiento, id)}: cada bloque lee sólo del
+ * índice y se actualiza con un único UPDATE en su propia transacción, así los
+ * bloqueos duran poco aunque haya miles de facturas vencidas. Tras el
+ * commit de cada bloque se avisa el nuevo estado a los suscriptores de
+ * {@link NotificadorCambiosEstado}.
+ */
+@Slf4j
+@Service
+public class BarridoFacturasVencidasService {
+
+    private static final String SQL_PRIMER_BLOQUE = """
+            select id, fecha_vencimiento
+            from facturas
+            where estado = 'ABIERTA'
+              and fecha_vencimiento < :hoy
+            order by fecha_vencimiento, id
+            limit :limite
+            """;
+
+    private static final String SQL_SIGUIENTE_BLOQUE = """
+            select id, fecha_vencimiento
+            from facturas
+            where estado = 'ABIERTA'
+              and fecha_vencimiento < :hoy
+              and (fecha_vencimiento > :ultimaFecha or (fecha_vencimiento = :ultimaFecha and id > :ultimoId))
+            order by fecha_vencimiento, id
+            limit :limite
+            """;
+
+    private static final String SQL_MARCAR_VENCIDAS = """
+            update facturas
+            set estado = 'VENCIDA', version = version + 1
+            where estado = 'ABIERTA'
+              and id in (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificadorCambiosEstado notificador;
+    private final Clock clock;
+    private final Counter filasActualizadas;
+    private final Timer latenciaBloque;
+
+    @Value("${habitora.facturacion.barrido.tamano-bloque:1000}")
+    private int tamanoBloque;
+
+    public BarridoFacturasVencidasService(NamedParameterJdbcTemplate jdbcTemplate,
+                                          TransactionTemplate transactionTemplate,
+                                          NotificadorCambiosEstado notificador,
+                                          Clock clock,
+                                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificador = notificador;
+        this.clock = clock;
+        this.filasActualizadas = Counter.builder("habitora.facturas.vencidas")
+                .description("Facturas pasadas de ABIERTA a VENCIDA por el barrido")
+                .register(meterRegistry);
+        this.latenciaBloque = Timer.builder("habitora.facturas.barrido.bloque")
+                .description("Duración de cada bloque del barrido de facturas vencidas")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${habitora.facturacion.barrido.cron:0 5 0 * * *}", zone = "${habitora.zona-horaria:America/Lima}")
+    public void barrerVencidas() {
+        barrer(LocalDate.now(clock));
+    }
+
+    /**
+     * @return cantidad de facturas marcadas como vencidas
+     */
+    public int barrer(LocalDate hoy) {
+        int total = 0;
+        Cursor cursor = null;
+        while (true) {
+            Cursor anterior = cursor;
+            Bloque bloque = latenciaBloque.record(() -> transactionTemplate.execute(status -> procesarBloque(hoy, anterior)));
+            if (bloque == null || bloque.leidas() == 0) {
+                break;
+            }
+            total += bloque.actualizadas();
+            filasActualizadas.increment(bloque.actualizadas());
+            if (bloque.actualizadas() > 0) {
+                notificador.publicarFacturas(bloque.ids());
+            }
+            if (bloque.leidas() < tamanoBloque) {
+                break;
+            }
+            cursor = bloque.siguiente();
+        }
+        if (total > 0) {
+            log.info("Barrido de vencidas al {}: {} facturas marcadas como VENCIDA", hoy, total);
+        }
+        return total;
+    }
+
+    private Bloque procesarBloque(LocalDate hoy, Cursor cursor) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("hoy", Date.valueOf(hoy))
+                .addValue("limite", tamanoBloque);
+        if (cursor != null) {
+            parametros.addValue("ultimaFecha", Date.valueOf(cursor.fecha()))
+                    .addValue("ultimoId", cursor.id());
+        }
+        List<Cursor> filas = jdbcTemplate.query(cursor == null ? SQL_PRIMER_BLOQUE : SQL_SIGUIENTE_BLOQUE, parametros,
+                (rs, n) -> new Cursor(rs.getLong("id"), rs.getDate("fecha_vencimiento").toLocalDate()));
+        if (filas.isEmpty()) {
+            return new Bloque(0, 0, List.of(), cursor);
+        }
+
+        List<Long> ids = filas.stream().map(Cursor::id).toList();
+        int actualizadas = jdbcTemplate.update(SQL_MARCAR_VENCIDAS, Map.of("ids", ids));
+        return new Bloque(filas.size(), actualizadas, ids, filas.get(filas.size() - 1));
+    }
+
+    private record Cursor(long id, LocalDate fecha) {
+    }
+
+    private record Bloque(int leidas, int actualizadas, List<Long> ids, Cursor siguiente) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.habitora.backend.service.factura;
+
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.repository.FacturaArchivadaRepository;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.presentation.dto.FacturaDetalleResponse;
+import com.habitora.backend.service.event.FacturasModificadasEvent;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+import com.habitora.backend.service.outbox.RegistroEventos;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class FacturaService {
+
+    private final FacturaRepository facturaRepository;
+    private final FacturaArchivadaRepository facturaArchivadaRepository;
+    private final RegistroEventos registroEventos;
+
+    /** Busca en el archivo sólo si la factura ya no está en {@code facturas}. */
+    @Transactional(readOnly = true)
+    public FacturaDetalleResponse obtenerDetalle(Long facturaId) {
+        return facturaRepository.findConPagosById(facturaId)
+                .map(FacturaDetalleResponse::from)
+                .or(() -> facturaArchivadaRepository.findConPagosById(facturaId).map(FacturaDetalleResponse::from))
+                .orElseThrow(() -> new RecursoNoEncontradoException("Factura", facturaId));
+    }
+
+    @Transactional
+    public void cambiarVencimiento(Long facturaId, LocalDate fechaVencimiento) {
+        Factura factura = facturaRepository.findById(facturaId)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Factura", facturaId));
+        if (factura.getEstado() != EstadoFactura.ABIERTA) {
+            throw new ReglaNegocioException("Sólo se puede cambiar el vencimiento de una factura abierta.");
+        }
+        factura.setFechaVencimiento(fechaVencimiento);
+        registroEventos.registrar(factura.getContrato().getId(), FacturasModificadasEvent.of(facturaId));
+    }
+}
@@ -0,0 +1,180 @@
+package com.habitora.backend.service.facturacion;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.projection.ContratoFacturable;
+import com.habitora.backend.persistence.repository.ContratoRepository;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.service.event.FacturasEmitidasEvent;
+import com.habitora.backend.service.outbox.RegistroEventos;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emite, una vez por ciclo (mes calendario), la factura de cada contrato
+ * {@code ACTIVO}.
+ *
+ * <p>Los contratos se recorren en páginas de tamaño fijo con paginación por
+ * keyset y cada página se procesa en su propia transacción: se consultan de
+ * una sola vez los contratos que ya tienen factura del periodo (idempotencia
+ * frente a {@code uk_factura_periodo}) y el resto se inserta con batching JDBC,
+ * vaciando el contexto de persistencia al final de la página.
+ *
+ * <p>Cada ciclo es una observación {@code habitora.facturacion.ciclo} (timer y
+ * span); por página se registran {@code habitora.facturacion.pagina} y los
+ * contadores {@code habitora.facturas.emitidas} y
+ * {@code habitora.facturas.omitidas}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeneradorFacturasService {
+
+    private final ContratoRepository contratoRepository;
+    private final FacturaRepository facturaRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final RegistroEventos registroEventos;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${habitora.facturacion.tamano-pagina:500}")
+    private int tamanoPagina;
+
+    @Value("${habitora.facturacion.dias-vencimiento:5}")
+    private int diasVencimiento;
+
+    @Scheduled(cron = "${habitora.facturacion.cron:0 0 1 1 * *}", zone = "${habitora.zona-horaria:America/Lima}")
+    public void generarCicloActual() {
+        generarCiclo(YearMonth.now(clock));
+    }
+
+    public ResultadoFacturacion generarCiclo(YearMonth periodo) {
+        return Observation.createNotStarted("habitora.facturacion.ciclo", observationRegistry)
+                .contextualName("facturacion " + periodo)
+                .highCardinalityKeyValue("periodo", periodo.toString())
+                .observe(() -> generar(periodo));
+    }
+
+    private ResultadoFacturacion generar(YearMonth periodo) {
+        LocalDate inicio = periodo.atDay(1);
+        LocalDate fin = periodo.atEndOfMonth();
+
+        long desdeId = 0;
+        int creadas = 0;
+        int omitidas = 0;
+        long t0 = System.nanoTime();
+
+        while (true) {
+            long anterior = desdeId;
+            Pagina pagina = meterRegistry.timer("habitora.facturacion.pagina")
+                    .record(() -> procesarPagina(inicio, fin, anterior));
+            meterRegistry.counter("habitora.facturas.emitidas").increment(pagina.creadas());
+            meterRegistry.counter("habitora.facturas.omitidas").increment(pagina.omitidas());
+            creadas += pagina.creadas();
+            omitidas += pagina.omitidas();
+            if (pagina.leidos() < tamanoPagina) {
+                break;
+            }
+            desdeId = pagina.ultimoContratoId();
+        }
+
+        log.info("Facturación {}: {} facturas creadas, {} contratos ya facturados ({} ms)",
+                periodo, creadas, omitidas, (System.nanoTime() - t0) / 1_000_000);
+        return new ResultadoFacturacion(periodo, creadas, omitidas);
+    }
+
+    private Pagina procesarPagina(LocalDate inicio, LocalDate fin, long desdeId) {
+        try {
+            return transactionTemplate.execute(status -> generarPagina(inicio, fin, desdeId));
+        } catch (RuntimeException e) {
+            if (!violaRestriccion(e)) {
+                throw e;
+            }
+            // Otra instancia facturó la misma página en paralelo: al repetirla
+            // ya se ven sus filas y sólo se insertan las que falten.
+            log.warn("Conflicto de uk_factura_periodo desde contrato {}, reintentando página", desdeId);
+            return transactionTemplate.execute(status -> generarPagina(inicio, fin, desdeId));
+        }
+    }
+
+    /**
+     * El flush directo del {@link EntityManager} no pasa por la traducción de
+     * Spring: el conflicto llega como excepción de Hibernate, a veces envuelta
+     * en una {@code PersistenceException}; al confirmar, ya traducido.
+     */
+    private static boolean violaRestriccion(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof DataIntegrityViolationException || causa instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Pagina generarPagina(LocalDate inicio, LocalDate fin, long desdeId) {
+        List<ContratoFacturable> contratos = contratoRepository.findFacturables(
+                EstadoContrato.ACTIVO, inicio, fin, desdeId, Limit.of(tamanoPagina));
+        if (contratos.isEmpty()) {
+            return new Pagina(0, 0, 0, desdeId);
+        }
+
+        List<Long> ids = contratos.stream().map(ContratoFacturable::contratoId).toList();
+        Set<Long> yaFacturados = facturaRepository.findContratoIdsFacturados(ids, inicio, fin);
+        LocalDate vencimiento = inicio.plusDays(diasVencimiento);
+
+        Map<Long, FacturasEmitidasEvent> emitidas = new LinkedHashMap<>();
+        for (ContratoFacturable contrato : contratos) {
+            if (yaFacturados.contains(contrato.contratoId())) {
+                continue;
+            }
+            BigDecimal renta = contrato.precioRenta();
+            Factura factura = Factura.builder()
+                    .contrato(entityManager.getReference(Contrato.class, contrato.contratoId()))
+                    .periodoInicio(inicio)
+                    .periodoFin(fin)
+                    .fechaVencimiento(vencimiento)
+                    .montoRenta(renta)
+                    .totalAPagar(renta)
+                    .estado(EstadoFactura.ABIERTA)
+                    .build();
+            entityManager.persist(factura);
+            emitidas.put(contrato.contratoId(), new FacturasEmitidasEvent(List.of(factura.getId())));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        if (!emitidas.isEmpty()) {
+            registroEventos.registrarTodos(emitidas);
+        }
+        return new Pagina(contratos.size(), emitidas.size(), yaFacturados.size(), ids.get(ids.size() - 1));
+    }
+
+    private record Pagina(int leidos, int creadas, int omitidas, long ultimoContratoId) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.habitora.backend.service.facturacion;
+
+import java.time.YearMonth;
+
+/**
+ * Resumen de un ciclo de facturación.
+ *
+ * @param creadas  facturas nuevas insertadas en el ciclo
+ * @param omitidas contratos que ya tenían factura para el periodo
+ */
+public record ResultadoFacturacion(YearMonth periodo, int creadas, int omitidas) {
+}
@@ -0,0 +1,67 @@
+package com.habitora.backend.service.http;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker por destino: tras {@code umbralFallos} fallos consecutivos
+ * se abre y rechaza las llamadas durante {@code tiempoAbierto}; después deja
+ * pasar una sola llamada de prueba (semiabierto) y se cierra si tiene éxito.
+ */
+public class CircuitBreaker {
+
+    public enum Estado {
+        CERRADO,
+        ABIERTO,
+        SEMIABIERTO
+    }
+
+    private final int umbralFallos;
+    private final Duration tiempoAbierto;
+    private final Clock clock;
+
+    private Estado estado = Estado.CERRADO;
+    private int fallosConsecutivos;
+    private Instant abiertoHasta = Instant.MIN;
+
+    public CircuitBreaker(int umbralFallos, Duration tiempoAbierto, Clock clock) {
+        this.umbralFallos = umbralFallos;
+        this.tiempoAbierto = tiempoAbierto;
+        this.clock = clock;
+    }
+
+    /** @return {@code true} si la llamada puede realizarse */
+    public synchronized boolean permitir() {
+        switch (estado) {
+            case CERRADO:
+                return true;
+            case ABIERTO:
+                if (clock.instant().isBefore(abiertoHasta)) {
+                    return false;
+                }
+                estado = Estado.SEMIABIERTO;
+                return true;
+            default:
+                // Ya hay una llamada de prueba en curso.
+                return false;
+        }
+    }
+
+    public synchronized void registrarExito() {
+        estado = Estado.CERRADO;
+        fallosConsecutivos = 0;
+    }
+
+    public synchronized void registrarFallo() {
+        fallosConsecutivos++;
+        if (estado == Estado.SEMIABIERTO || fallosConsecutivos >= umbralFallos) {
+            estado = Estado.ABIERTO;
+            abiertoHasta = clock.instant().plus(tiempoAbierto);
+        }
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+}
@@ -0,0 +1,13 @@
+package com.habitora.backend.service.http;
+
+import java.io.IOException;
+
+/**
+ * La llamada no se realizó porque el circuito del destino está abierto.
+ */
+public class CircuitoAbiertoException extends IOException {
+
+    public CircuitoAbiertoException(String host) {
+        super("Circuito abierto para " + host + ", se rechaza la llamada.");
+    }
+}
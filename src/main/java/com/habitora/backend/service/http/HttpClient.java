@@ -1,5 +1,219 @@
 package com.habitora.backend.service.http;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cliente HTTP saliente compartido (proveedor de mensajería, etc.).
+ *
+ * <p>Usa una única instancia de {@link java.net.http.HttpClient}: mantiene su
+ * propio pool de conexiones y negocia HTTP/2 (multiplexando las peticiones
+ * sobre una conexión) cuando el servidor lo admite. Sobre ella añade:
+ * <ul>
+ *   <li>un límite de peticiones en curso que absorbe las ráfagas de inicio de
+ *       mes sin abrir conexiones sin control,</li>
+ *   <li>reintentos con backoff exponencial y jitter ante errores de red y
+ *       respuestas 429/502/503/504, sólo si repetir la petición es seguro:
+ *       métodos idempotentes o peticiones con cabecera
+ *       {@value #CABECERA_IDEMPOTENCIA}. Un POST sin ella se reintenta
+ *       únicamente si no llegó a conectar o recibió 429, porque tras un 5xx o
+ *       una conexión cortada el proveedor pudo haberlo procesado,</li>
+ *   <li>un circuit breaker por host; toda llamada que pasa por él registra
+ *       éxito o fallo, también si se interrumpe o falla de forma
+ *       inesperada,</li>
+ *   <li>el timer {@code habitora.http.cliente} (host, método, resultado) y el
+ *       gauge {@code habitora.http.en-curso}.</li>
+ * </ul>
+ * Cada llamada se ejecuta en un hilo virtual, de modo que la API asíncrona no
+ * retiene hilos de plataforma mientras espera.
+ */
+@Slf4j
+@Component
 public class HttpClient {
-    
+
+    public static final String CABECERA_IDEMPOTENCIA = "Idempotency-Key";
+
+    private static final Set<Integer> ESTADOS_REINTENTABLES = Set.of(429, 502, 503, 504);
+    private static final Set<String> METODOS_IDEMPOTENTES = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+    private final java.net.http.HttpClient cliente;
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CircuitBreaker> circuitos = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final Duration timeout;
+    private final Semaphore enCurso;
+    private final int maxReintentos;
+    private final Duration backoffInicial;
+    private final int umbralFallos;
+    private final Duration tiempoAbierto;
+
+    public HttpClient(MeterRegistry meterRegistry, Clock clock,
+                      @Value("${habitora.http.timeout:PT10S}") Duration timeout,
+                      @Value("${habitora.http.max-en-curso:200}") int maxEnCurso,
+                      @Value("${habitora.http.reintentos:3}") int maxReintentos,
+                      @Value("${habitora.http.backoff-inicial:PT0.2S}") Duration backoffInicial,
+                      @Value("${habitora.http.circuito.umbral-fallos:10}") int umbralFallos,
+                      @Value("${habitora.http.circuito.tiempo-abierto:PT30S}") Duration tiempoAbierto) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.timeout = timeout;
+        this.enCurso = new Semaphore(maxEnCurso, true);
+        this.maxReintentos = maxReintentos;
+        this.backoffInicial = backoffInicial;
+        this.umbralFallos = umbralFallos;
+        this.tiempoAbierto = tiempoAbierto;
+        Gauge.builder("habitora.http.en-curso", enCurso, s -> maxEnCurso - s.availablePermits())
+                .description("Peticiones HTTP salientes en curso")
+                .register(meterRegistry);
+        this.cliente = java.net.http.HttpClient.newBuilder()
+                .version(java.net.http.HttpClient.Version.HTTP_2)
+                .connectTimeout(timeout)
+                .executor(ejecutor)
+                .build();
+    }
+
+    public CompletableFuture<HttpResponse<String>> postJsonAsync(URI uri, String cuerpo, Map<String, String> cabeceras) {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo));
+        cabeceras.forEach(peticion::header);
+        return enviarAsync(peticion.build());
+    }
+
+    public HttpResponse<String> postJson(URI uri, String cuerpo, Map<String, String> cabeceras)
+            throws IOException, InterruptedException {
+        try {
+            return postJsonAsync(uri, cuerpo, cabeceras).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<HttpResponse<String>> enviarAsync(HttpRequest peticion) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return enviarConReintentos(peticion);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, ejecutor);
+    }
+
+    private HttpResponse<String> enviarConReintentos(HttpRequest peticion) throws IOException, InterruptedException {
+        String host = peticion.uri().getHost();
+        CircuitBreaker circuito = circuitos.computeIfAbsent(host,
+                h -> new CircuitBreaker(umbralFallos, tiempoAbierto, clock));
+
+        boolean repetible = METODOS_IDEMPOTENTES.contains(peticion.method())
+                || peticion.headers().firstValue(CABECERA_IDEMPOTENCIA).isPresent();
+
+        for (int intento = 0; ; intento++) {
+            if (!circuito.permitir()) {
+                registrar(peticion, "CIRCUITO_ABIERTO", 0);
+                throw new CircuitoAbiertoException(host);
+            }
+
+            HttpResponse<String> respuesta = null;
+            IOException error = null;
+            long t0 = System.nanoTime();
+            try {
+                enCurso.acquire();
+                try {
+                    respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    enCurso.release();
+                }
+            } catch (InterruptedException | RuntimeException e) {
+                // Sin resultado cuenta como fallo: si era la llamada de prueba, el circuito no queda semiabierto.
+                circuito.registrarFallo();
+                registrar(peticion, "ERROR", System.nanoTime() - t0);
+                throw e;
+            }
+            long duracion = System.nanoTime() - t0;
+
+            if (error != null || ESTADOS_REINTENTABLES.contains(respuesta.statusCode()) || respuesta.statusCode() >= 500) {
+                circuito.registrarFallo();
+            } else {
+                circuito.registrarExito();
+            }
+            boolean reintentable = error != null
+                    ? repetible || sinConexion(error)
+                    : ESTADOS_REINTENTABLES.contains(respuesta.statusCode()) && (repetible || respuesta.statusCode() == 429);
+            registrar(peticion, error != null ? "ERROR" : String.valueOf(respuesta.statusCode()), duracion);
+
+            if (!reintentable || intento >= maxReintentos) {
+                if (error != null) {
+                    throw error;
+                }
+                return respuesta;
+            }
+            long espera = backoff(intento);
+            log.debug("Reintentando {} {} en {} ms (intento {})", peticion.method(), peticion.uri(), espera, intento + 1);
+            TimeUnit.MILLISECONDS.sleep(espera);
+        }
+    }
+
+    /** El error ocurrió antes de enviar nada: repetir no puede duplicar la petición. */
+    private static boolean sinConexion(IOException error) {
+        return error instanceof ConnectException || error instanceof HttpConnectTimeoutException;
+    }
+
+    /** Backoff exponencial con "full jitter": aleatorio en [0, inicial * 2^intento]. */
+    private long backoff(int intento) {
+        long tope = backoffInicial.toMillis() << Math.min(intento, 10);
+        return ThreadLocalRandom.current().nextLong(tope + 1);
+    }
+
+    private void registrar(HttpRequest peticion, String resultado, long nanos) {
+        Timer.builder("habitora.http.cliente")
+                .description("Llamadas HTTP salientes")
+                .tag("host", peticion.uri().getHost())
+                .tag("metodo", peticion.method())
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        cliente.shutdown();
+        ejecutor.shutdown();
+    }
 }
@@ -0,0 +1,224 @@
+package com.habitora.backend.service.idempotencia;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.habitora.backend.persistence.entity.SolicitudIdempotente;
+import com.habitora.backend.persistence.repository.SolicitudIdempotenteRepository;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+import com.habitora.backend.service.seguridad.PropietarioActual;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deduplica las escrituras que los clientes reintentan con la misma
+ * cabecera {@value #CABECERA}: la repetición recibe la respuesta de la
+ * primera en vez de crear otro pago o contrato.
+ *
+ * <p>El servicio que escribe llama a {@link #registrar} dentro de su
+ * transacción: la respuesta se persiste en la sesión, sin lectura previa, y
+ * Hibernate la inserta en {@code solicitudes_idempotentes} al hacer flush con
+ * el resto de la escritura, antes del commit; tras el commit queda también en
+ * memoria. Así el camino normal no suma un viaje a la base al registrarla,
+ * sólo un insert más en el flush que ya existe. Una repetición en el mismo nodo se responde desde memoria; en
+ * otro nodo, la clave primaria rechaza el insert (o la validación del
+ * servicio falla, p. ej. la factura ya está pagada), la transacción se
+ * deshace y la respuesta se lee de la base. Dos envíos simultáneos se
+ * serializan en ese insert.
+ *
+ * <p>Las claves son por usuario y operación, y se conservan al menos
+ * {@code habitora.idempotencia.ttl}.
+ */
+@Slf4j
+@Component
+public class SolicitudesIdempotentes {
+
+    public static final String CABECERA = "Idempotency-Key";
+
+    static final int LARGO_MAXIMO_CLAVE = 100;
+
+    private static final int TAMANO_BLOQUE_LIMPIEZA = 1000;
+
+    /** Solicitud que el hilo está ejecutando dentro de {@link #ejecutar}. */
+    private static final ThreadLocal<Solicitud> EN_CURSO = new ThreadLocal<>();
+
+    private final SolicitudIdempotenteRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Cache<String, Guardada> recientes;
+
+    public SolicitudesIdempotentes(SolicitudIdempotenteRepository repository,
+                                   EntityManager entityManager,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   Clock clock,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${habitora.idempotencia.ttl:PT24H}") Duration ttl,
+                                   @Value("${habitora.idempotencia.maximo-en-memoria:10000}") long maximoEnMemoria) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.recientes = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximoEnMemoria).build();
+    }
+
+    /**
+     * Ejecuta {@code escritura} o, si la clave ya se usó con la misma
+     * solicitud, devuelve la respuesta guardada. Sin clave la ejecuta sin más.
+     *
+     * @param operacion nombre estable de la operación (separa las claves de cada endpoint)
+     * @param solicitud lo que identifica la solicitud (ids de la ruta y cuerpo), para la huella
+     */
+    public <T> T ejecutar(String operacion, String clave, Object solicitud, Class<T> tipo, Supplier<T> escritura) {
+        if (clave == null) {
+            return escritura.get();
+        }
+        if (clave.isBlank() || clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw new DatosInvalidosException("Cabecera " + CABECERA + " inválida.",
+                    List.of("Debe tener entre 1 y " + LARGO_MAXIMO_CLAVE + " caracteres."));
+        }
+        Long usuarioId = PropietarioActual.id()
+                .orElseThrow(() -> new IllegalStateException(CABECERA + " en una petición sin usuario autenticado."));
+        Solicitud actual = new Solicitud(usuarioId + ":" + operacion + ":" + clave, huella(solicitud));
+
+        Guardada enMemoria = recientes.getIfPresent(actual.id());
+        if (enMemoria != null) {
+            return repetir(actual, enMemoria, tipo, "memoria");
+        }
+        EN_CURSO.set(actual);
+        try {
+            return escritura.get();
+        } catch (RuntimeException e) {
+            Guardada enBase = leer(actual.id());
+            if (enBase == null) {
+                throw e;
+            }
+            recientes.put(actual.id(), enBase);
+            return repetir(actual, enBase, tipo, "base");
+        } finally {
+            EN_CURSO.remove();
+        }
+    }
+
+    /**
+     * Guarda {@code respuesta} como la de la solicitud en curso, en la
+     * transacción actual. Fuera de {@link #ejecutar} con clave no hace nada.
+     */
+    public void registrar(Object respuesta) {
+        Solicitud actual = EN_CURSO.get();
+        if (actual == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("La respuesta se registra en la transacción de la escritura.");
+        }
+        Guardada guardada = new Guardada(actual.huella(), json(respuesta));
+        LocalDateTime ahora = LocalDateTime.now(clock);
+        entityManager.persist(SolicitudIdempotente.builder()
+                .id(actual.id())
+                .huella(guardada.huella())
+                .respuesta(guardada.respuesta())
+                .creadoEn(ahora)
+                .expiraEn(ahora.plus(ttl))
+                .build());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recientes.put(actual.id(), guardada);
+            }
+        });
+    }
+
+    /**
+     * Borra las solicitudes expiradas.
+     *
+     * @return cantidad de solicitudes borradas
+     */
+    @Scheduled(cron = "${habitora.idempotencia.cron-limpieza:0 25 0 * * *}", zone = "${habitora.zona-horaria:America/Lima}")
+    public int limpiarExpiradas() {
+        LocalDateTime limite = LocalDateTime.now(clock);
+        int total = 0;
+        List<String> ids;
+        do {
+            ids = repository.findIdsExpiradasAntesDe(limite, Limit.of(TAMANO_BLOQUE_LIMPIEZA));
+            if (!ids.isEmpty()) {
+                List<String> bloque = ids;
+                Integer borradas = transactionTemplate.execute(status -> repository.deleteByIds(bloque));
+                total += borradas == null ? 0 : borradas;
+            }
+        } while (ids.size() == TAMANO_BLOQUE_LIMPIEZA);
+        if (total > 0) {
+            log.info("Borradas {} solicitudes idempotentes expiradas antes de {}", total, limite);
+        }
+        return total;
+    }
+
+    private Guardada leer(String id) {
+        return repository.findById(id)
+                .map(solicitud -> new Guardada(solicitud.getHuella(), solicitud.getRespuesta()))
+                .orElse(null);
+    }
+
+    private <T> T repetir(Solicitud actual, Guardada guardada, Class<T> tipo, String origen) {
+        if (!guardada.huella().equals(actual.huella())) {
+            throw new ReglaNegocioException("La " + CABECERA + " ya se usó con otra solicitud.");
+        }
+        meterRegistry.counter("habitora.idempotencia.repeticiones", "origen", origen).increment();
+        try {
+            return objectMapper.readValue(guardada.respuesta(), tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta guardada de " + actual.id(), e);
+        }
+    }
+
+    private String huella(Object solicitud) {
+        try {
+            byte[] resumen = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(solicitud));
+            return HexFormat.of().formatHex(resumen);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("No se pudo calcular la huella de " + solicitud, e);
+        }
+    }
+
+    private String json(Object respuesta) {
+        try {
+            return objectMapper.writeValueAsString(respuesta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar " + respuesta, e);
+        }
+    }
+
+    private record Solicitud(String id, String huella) {
+    }
+
+    private record Guardada(String huella, String respuesta) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.habitora.backend.service.notificacion;
+
+/**
+ * Estado actual de una factura o un recordatorio de la propiedad
+ * {@code propiedadId}, tras un cambio.
+ */
+public record CambioEstado(Long propiedadId, Tipo tipo, Long id, String estado) {
+
+    public enum Tipo {
+        FACTURA,
+        RECORDATORIO
+    }
+
+    /** Los cambios con la misma clave se pueden fundir: sólo importa el último. */
+    String clave() {
+        return tipo + ":" + id;
+    }
+}
@@ -0,0 +1,19 @@
+package com.habitora.backend.service.notificacion;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por el que el nodo donde ocurre un cambio de estado lo avisa a
+ * todos los nodos, incluido él mismo, que lo reenvían a sus suscriptores.
+ */
+public interface CanalCambiosEstado {
+
+    void publicar(CambioEstado cambio);
+
+    /**
+     * Registra {@code suscriptor} para los cambios de todos los nodos.
+     *
+     * @return acción que lo da de baja
+     */
+    Runnable suscribir(Consumer<CambioEstado> suscriptor);
+}
@@ -0,0 +1,30 @@
+package com.habitora.backend.service.notificacion;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementación en proceso del canal de cambios de estado, que hace las
+ * veces de broker local: entrega cada cambio a los suscriptores de esta JVM.
+ * Con varios nodos se reemplaza por una implementación sobre un broker real
+ * (Redis pub/sub, RabbitMQ, etc.) sin cambiar a los publicadores.
+ */
+@Component
+public class CanalCambiosEstadoLocal implements CanalCambiosEstado {
+
+    private final List<Consumer<CambioEstado>> suscriptores = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(CambioEstado cambio) {
+        suscriptores.forEach(s -> s.accept(cambio));
+    }
+
+    @Override
+    public Runnable suscribir(Consumer<CambioEstado> suscriptor) {
+        suscriptores.add(suscriptor);
+        return () -> suscriptores.remove(suscriptor);
+    }
+}
@@ -0,0 +1,226 @@
+package com.habitora.backend.service.notificacion;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.habitora.backend.service.exception.DemasiadosIntentosException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reenvía por SSE los {@link CambioEstado} del {@link CanalCambiosEstado} a
+ * los suscriptores de cada propiedad conectados a este nodo.
+ *
+ * <p>Difundir no bloquea: sólo encola en cada suscripción, y un hilo virtual
+ * por suscripción escribe en su conexión. La cola de cada suscripción funde
+ * los cambios de una misma factura o recordatorio (sólo se envía el último)
+ * y tiene a lo sumo {@code habitora.sse.max-pendientes} entradas; si un
+ * cliente lento la llena, se vacía y el cliente recibe un único evento
+ * {@code reinicio} para que vuelva a cargar el estado. Sin cambios se envía
+ * un latido cada {@code habitora.sse.latido}, que también detecta las
+ * conexiones cerradas.
+ *
+ * <p>Métricas: {@code habitora.sse.suscripciones} y
+ * {@code habitora.sse.reinicios}.
+ */
+@Slf4j
+@Component
+public class DifusorCambiosEstado {
+
+    private final Map<Long, Set<Suscripcion>> porPropiedad = new ConcurrentHashMap<>();
+    private final AtomicInteger activas = new AtomicInteger();
+    private final CanalCambiosEstado canal;
+    private final Counter reinicios;
+    private final int maxSuscripciones;
+    private final int maxPendientes;
+    private final Duration duracionMaxima;
+    private final Duration latido;
+    private Runnable desuscribir = () -> { };
+
+    public DifusorCambiosEstado(CanalCambiosEstado canal,
+                                MeterRegistry meterRegistry,
+                                @Value("${habitora.sse.max-suscripciones:5000}") int maxSuscripciones,
+                                @Value("${habitora.sse.max-pendientes:256}") int maxPendientes,
+                                @Value("${habitora.sse.duracion-maxima:PT30M}") Duration duracionMaxima,
+                                @Value("${habitora.sse.latido:PT25S}") Duration latido) {
+        this.canal = canal;
+        this.maxSuscripciones = maxSuscripciones;
+        this.maxPendientes = maxPendientes;
+        this.duracionMaxima = duracionMaxima;
+        this.latido = latido;
+        this.reinicios = Counter.builder("habitora.sse.reinicios")
+                .description("Colas de suscriptores lentos vaciadas (se les pide recargar)")
+                .register(meterRegistry);
+        meterRegistry.gauge("habitora.sse.suscripciones", activas);
+    }
+
+    @PostConstruct
+    void escuchar() {
+        desuscribir = canal.suscribir(this::difundir);
+    }
+
+    /**
+     * Abre una suscripción a los cambios de la propiedad; termina al cerrar
+     * el cliente la conexión o a los {@code habitora.sse.duracion-maxima}
+     * (el cliente reconecta).
+     */
+    public SseEmitter suscribir(Long propiedadId) {
+        if (activas.incrementAndGet() > maxSuscripciones) {
+            activas.decrementAndGet();
+            throw new DemasiadosIntentosException("Demasiadas suscripciones abiertas. Intente más tarde.", latido);
+        }
+        SseEmitter emisor = nuevoEmisor(duracionMaxima);
+        Suscripcion suscripcion = new Suscripcion(propiedadId, emisor);
+        porPropiedad.compute(propiedadId, (id, suscripciones) -> {
+            Set<Suscripcion> conjunto = suscripciones == null ? ConcurrentHashMap.newKeySet() : suscripciones;
+            conjunto.add(suscripcion);
+            return conjunto;
+        });
+        emisor.onCompletion(suscripcion::cerrar);
+        emisor.onTimeout(suscripcion::cerrar);
+        emisor.onError(e -> suscripcion.cerrar());
+        iniciar("sse-propiedad-" + propiedadId, suscripcion::enviar);
+        return emisor;
+    }
+
+    /** Emisor de una suscripción nueva; los tests lo reemplazan por uno que no necesita contenedor. */
+    SseEmitter nuevoEmisor(Duration duracion) {
+        return new SseEmitter(duracion.toMillis());
+    }
+
+    /** Arranca el bucle de envío de una suscripción; los tests lo controlan desde su propio hilo. */
+    void iniciar(String nombre, Runnable envio) {
+        Thread.ofVirtual().name(nombre).start(envio);
+    }
+
+    void difundir(CambioEstado cambio) {
+        Set<Suscripcion> suscripciones = porPropiedad.get(cambio.propiedadId());
+        if (suscripciones != null) {
+            suscripciones.forEach(s -> s.encolar(cambio));
+        }
+    }
+
+    @PreDestroy
+    void cerrarTodas() {
+        desuscribir.run();
+        porPropiedad.values().forEach(suscripciones -> suscripciones.forEach(s -> s.emisor.complete()));
+    }
+
+    private final class Suscripcion {
+
+        private final Long propiedadId;
+        private final SseEmitter emisor;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition hayCambios = lock.newCondition();
+        /** Último cambio de cada factura o recordatorio, en orden de llegada. */
+        private final LinkedHashMap<String, CambioEstado> pendientes = new LinkedHashMap<>();
+        private boolean desbordada;
+        private boolean cerrada;
+
+        Suscripcion(Long propiedadId, SseEmitter emisor) {
+            this.propiedadId = propiedadId;
+            this.emisor = emisor;
+        }
+
+        void encolar(CambioEstado cambio) {
+            lock.lock();
+            try {
+                if (cerrada || desbordada) {
+                    // Con la cola desbordada el cliente recargará todo: el cambio ya está incluido.
+                    return;
+                }
+                pendientes.remove(cambio.clave());
+                if (pendientes.size() >= maxPendientes) {
+                    pendientes.clear();
+                    desbordada = true;
+                    reinicios.increment();
+                } else {
+                    pendientes.put(cambio.clave(), cambio);
+                }
+                hayCambios.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Bucle del hilo de la suscripción: espera cambios y los escribe en la conexión. */
+        void enviar() {
+            try {
+                while (true) {
+                    List<CambioEstado> lote;
+                    boolean reinicio;
+                    boolean sinCambios;
+                    lock.lock();
+                    try {
+                        long espera = latido.toNanos();
+                        while (!cerrada && !desbordada && pendientes.isEmpty() && espera > 0) {
+                            espera = hayCambios.awaitNanos(espera);
+                        }
+                        if (cerrada) {
+                            return;
+                        }
+                        reinicio = desbordada;
+                        desbordada = false;
+                        lote = List.copyOf(pendientes.values());
+                        pendientes.clear();
+                        sinCambios = !reinicio && lote.isEmpty();
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (reinicio) {
+                        emisor.send(SseEmitter.event().name("reinicio").data(""));
+                    }
+                    for (CambioEstado cambio : lote) {
+                        emisor.send(SseEmitter.event().name(cambio.tipo().name().toLowerCase(Locale.ROOT)).data(cambio));
+                    }
+                    if (sinCambios) {
+                        emisor.send(SseEmitter.event().comment("latido"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // El cliente cerró la conexión o el emisor ya terminó; el contenedor avisa por onError/onCompletion.
+                log.debug("Suscripción SSE de la propiedad {} terminada: {}", propiedadId, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cerrar();
+            }
+        }
+
+        void cerrar() {
+            lock.lock();
+            try {
+                if (cerrada) {
+                    return;
+                }
+                cerrada = true;
+                pendientes.clear();
+                hayCambios.signal();
+            } finally {
+                lock.unlock();
+            }
+            porPropiedad.computeIfPresent(propiedadId, (id, suscripciones) -> {
+                suscripciones.remove(this);
+                return suscripciones.isEmpty() ? null : suscripciones;
+            });
+            activas.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.habitora.backend.service.notificacion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.habitora.backend.service.event.FacturasModificadasEvent;
+import com.habitora.backend.service.event.PagosRegistradosEvent;
+import com.habitora.backend.service.notificacion.CambioEstado.Tipo;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publica en el {@link CanalCambiosEstado} los cambios de estado de facturas
+ * y recordatorios, ya confirmados:
+ * <ul>
+ *   <li>pagos y cambios de vencimiento, al llegar su
+ *       {@link PagosRegistradosEvent} o {@link FacturasModificadasEvent} por
+ *       el outbox;</li>
+ *   <li>facturas vencidas, desde cada bloque del barrido nocturno;</li>
+ *   <li>recordatorios enviados o fallidos, desde el despachador.</li>
+ * </ul>
+ * Las facturas se leen una vez por evento o bloque, sin importar cuántos
+ * suscriptores haya.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificadorCambiosEstado {
+
+    private static final String SQL_FACTURAS = """
+            select f.id, f.estado, c.propiedad_id
+            from facturas f
+            join contratos c on c.id = f.contrato_id
+            where f.id in (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CanalCambiosEstado canal;
+
+    @EventListener
+    public void alModificarFacturas(FacturasModificadasEvent evento) {
+        publicarFacturas(evento.facturaIds());
+    }
+
+    @EventListener
+    public void alRegistrarPagos(PagosRegistradosEvent evento) {
+        publicarFacturas(evento.facturaIds());
+    }
+
+    /** Publica el estado actual de cada factura. */
+    public void publicarFacturas(Collection<Long> facturaIds) {
+        if (facturaIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(SQL_FACTURAS, Map.of("ids", facturaIds),
+                (rs, n) -> new CambioEstado(rs.getLong("propiedad_id"), Tipo.FACTURA, rs.getLong("id"),
+                        rs.getString("estado")))
+                .forEach(canal::publicar);
+    }
+
+    /** Publica {@code cambios} tras el commit de la transacción actual, o ya si no hay una. */
+    public void publicarTrasCommit(List<CambioEstado> cambios) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cambios.forEach(canal::publicar);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cambios.forEach(canal::publicar);
+            }
+        });
+    }
+}
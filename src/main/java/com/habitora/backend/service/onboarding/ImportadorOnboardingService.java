@@ -0,0 +1,318 @@
+package com.habitora.backend.service.onboarding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.entity.Inquilino;
+import com.habitora.backend.persistence.entity.Piso;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.entity.Usuario;
+import com.habitora.backend.persistence.repository.HabitacionRepository;
+import com.habitora.backend.persistence.repository.InquilinoRepository;
+import com.habitora.backend.persistence.repository.PisoRepository;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.persistence.repository.UsuarioRepository;
+import com.habitora.backend.presentation.dto.ErrorFilaResponse;
+import com.habitora.backend.presentation.dto.ImportacionOnboardingResponse;
+import com.habitora.backend.presentation.dto.OnboardingRequest;
+import com.habitora.backend.presentation.dto.OnboardingRequest.HabitacionFila;
+import com.habitora.backend.presentation.dto.OnboardingRequest.InquilinoFila;
+import com.habitora.backend.presentation.dto.OnboardingRequest.PropiedadNueva;
+import com.habitora.backend.service.cache.InvalidadorCacheDistribuido;
+import com.habitora.backend.service.disponibilidad.DisponibilidadService;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+import com.habitora.backend.service.resumen.ResumenPropiedadService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Onboarding masivo de un edificio: propiedad, pisos, habitaciones e
+ * inquilinos en una sola petición (JSON en el cuerpo o como archivo).
+ *
+ * <p>Las filas se validan en paralelo con las restricciones de Bean
+ * Validation de las entidades, fuera de la transacción. Después, en una sola
+ * transacción, los conflictos con {@code uk_codigo_propiedad} y
+ * {@code uk_inquilino_dni} se resuelven contra conjuntos cargados con una
+ * consulta (por bloque de DNIs), y habitaciones e inquilinos se insertan con
+ * batching JDBC: sus ids son IDENTITY y Hibernate no podría agruparlos. Los
+ * DNIs ya registrados no son error: el inquilino existente se conserva.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportadorOnboardingService {
+
+    private static final int TAMANO_BLOQUE = 1000;
+    private static final int LARGO_MAXIMO_CODIGO = 50;
+
+    private final PropiedadRepository propiedadRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final PisoRepository pisoRepository;
+    private final HabitacionRepository habitacionRepository;
+    private final InquilinoRepository inquilinoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final InvalidadorCacheDistribuido invalidadorCache;
+    private final ResumenPropiedadService resumenPropiedadService;
+    private final DisponibilidadService disponibilidadService;
+    private final AutorizacionService autorizacion;
+
+    /** Lee el archivo de onboarding (el mismo JSON que {@link OnboardingRequest}). */
+    public OnboardingRequest leer(InputStream archivo) throws IOException {
+        try {
+            return objectMapper.readValue(archivo, OnboardingRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new DatosInvalidosException("El archivo no es un JSON de onboarding válido.",
+                    List.of(e.getOriginalMessage()));
+        }
+    }
+
+    public ImportacionOnboardingResponse importar(OnboardingRequest request) {
+        List<HabitacionFila> habitaciones = Objects.requireNonNullElse(request.habitaciones(), List.of());
+        List<InquilinoFila> inquilinos = Objects.requireNonNullElse(request.inquilinos(), List.of());
+
+        Propiedad validada = propiedadAValidar(request);
+        List<List<String>> erroresHabitaciones = validarEnParalelo(habitaciones, f -> validarHabitacion(f, validada));
+        List<List<String>> erroresInquilinos = validarEnParalelo(inquilinos, this::validarInquilino);
+
+        ImportacionOnboardingResponse respuesta = transactionTemplate.execute(status -> {
+            Propiedad propiedad = request.propiedadId() != null
+                    ? propiedadRepository.findById(request.propiedadId())
+                            .orElseThrow(() -> new RecursoNoEncontradoException("Propiedad", request.propiedadId()))
+                    : crearPropiedad(validada, request.propiedad());
+            ResultadoHabitaciones resultadoHabitaciones = importarHabitaciones(
+                    propiedad, request.propiedadId() != null, habitaciones, erroresHabitaciones);
+            ResultadoInquilinos resultadoInquilinos = importarInquilinos(inquilinos, erroresInquilinos);
+            return new ImportacionOnboardingResponse(propiedad.getId(),
+                    resultadoHabitaciones.pisosCreados(),
+                    habitaciones.size(), resultadoHabitaciones.creadas(),
+                    inquilinos.size(), resultadoInquilinos.creados(), resultadoInquilinos.existentes(),
+                    resultadoHabitaciones.errores(), resultadoInquilinos.errores());
+        });
+
+        // Las inserciones JDBC no pasan por Hibernate: se desalojan a mano las
+        // colecciones cacheadas de la propiedad, su índice de disponibilidad y
+        // se recalcula su resumen. Una propiedad nueva cambia además las del
+        // usuario en la caché de autorización.
+        invalidadorCache.invalidar(Propiedad.class, respuesta.propiedadId());
+        if (request.propiedadId() == null) {
+            autorizacion.invalidar(request.propiedad().usuarioId());
+        }
+        disponibilidadService.invalidar(respuesta.propiedadId());
+        resumenPropiedadService.marcarPendiente(respuesta.propiedadId());
+        log.info("Onboarding de la propiedad {}: {} habitaciones y {} inquilinos creados ({} filas con error)",
+                respuesta.propiedadId(), respuesta.habitacionesCreadas(), respuesta.inquilinosCreados(),
+                respuesta.erroresHabitaciones().size() + respuesta.erroresInquilinos().size());
+        return respuesta;
+    }
+
+    /**
+     * Propiedad contra la que se validan las filas: la nueva (ya validada) o
+     * una referencia a la existente.
+     */
+    private Propiedad propiedadAValidar(OnboardingRequest request) {
+        if ((request.propiedadId() == null) == (request.propiedad() == null)) {
+            throw new DatosInvalidosException("Indique propiedadId o los datos de una propiedad nueva, no ambos.",
+                    List.of());
+        }
+        if (request.propiedadId() != null) {
+            return Propiedad.builder().id(request.propiedadId()).build();
+        }
+        PropiedadNueva datos = request.propiedad();
+        Propiedad propiedad = Propiedad.builder()
+                .nombre(recortar(datos.nombre()))
+                .direccion(recortar(datos.direccion()))
+                .cantidadPisos(Objects.requireNonNullElse(datos.cantidadPisos(), 0))
+                .pisoResidenciaDueno(datos.pisoResidenciaDueno())
+                .build();
+        List<String> errores = mensajes(validator.validate(propiedad));
+        if (datos.usuarioId() == null) {
+            errores.add("El usuario dueño de la propiedad es obligatorio.");
+        }
+        if (!errores.isEmpty()) {
+            throw new DatosInvalidosException("La propiedad no es válida.", errores);
+        }
+        return propiedad;
+    }
+
+    private Propiedad crearPropiedad(Propiedad propiedad, PropiedadNueva datos) {
+        Usuario usuario = usuarioRepository.findById(datos.usuarioId())
+                .orElseThrow(() -> new RecursoNoEncontradoException("Usuario", datos.usuarioId()));
+        propiedad.setUsuario(usuario);
+        entityManager.persist(propiedad);
+        return propiedad;
+    }
+
+    private ResultadoHabitaciones importarHabitaciones(Propiedad propiedad, boolean existente,
+                                                       List<HabitacionFila> filas, List<List<String>> errores) {
+        Set<String> registrados = new HashSet<>();
+        if (existente) {
+            habitacionRepository.findCodigosPorPropiedad(propiedad.getId()).forEach(c -> registrados.add(clave(c)));
+        }
+
+        List<ErrorFilaResponse> reporte = new ArrayList<>();
+        List<HabitacionFila> aceptadas = new ArrayList<>();
+        Set<String> enArchivo = new HashSet<>();
+        for (int i = 0; i < filas.size(); i++) {
+            HabitacionFila fila = filas.get(i);
+            String codigo = recortar(fila.codigo());
+            if (!errores.get(i).isEmpty()) {
+                reporte.add(new ErrorFilaResponse(i + 1, String.join(" ", errores.get(i))));
+            } else if (registrados.contains(clave(codigo))) {
+                reporte.add(new ErrorFilaResponse(i + 1, "El código " + codigo + " ya existe en la propiedad."));
+            } else if (!enArchivo.add(clave(codigo))) {
+                reporte.add(new ErrorFilaResponse(i + 1, "El código " + codigo + " está repetido en el archivo."));
+            } else {
+                aceptadas.add(fila);
+            }
+        }
+
+        Map<Integer, Piso> pisos = new HashMap<>();
+        if (existente) {
+            pisoRepository.findByPropiedadId(propiedad.getId()).forEach(p -> pisos.put(p.getNumeroPiso(), p));
+        }
+        int pisosCreados = 0;
+        for (HabitacionFila fila : aceptadas) {
+            if (!pisos.containsKey(fila.piso())) {
+                Piso piso = Piso.builder().propiedad(propiedad).numeroPiso(fila.piso()).build();
+                entityManager.persist(piso);
+                pisos.put(fila.piso(), piso);
+                pisosCreados++;
+            }
+        }
+        if (pisos.size() > propiedad.getCantidadPisos()) {
+            propiedad.setCantidadPisos(pisos.size());
+        }
+        entityManager.flush();
+
+        insertarEnBloques("insert into habitaciones (propiedad_id, piso_id, codigo, precio_renta, estado) "
+                        + "values (?, ?, ?, ?, ?)",
+                aceptadas, f -> new Object[] { propiedad.getId(), pisos.get(f.piso()).getId(), recortar(f.codigo()),
+                        f.precioRenta(), EstadoHabitacion.DISPONIBLE.name() });
+        return new ResultadoHabitaciones(pisosCreados, aceptadas.size(), reporte);
+    }
+
+    private ResultadoInquilinos importarInquilinos(List<InquilinoFila> filas, List<List<String>> errores) {
+        List<String> dnis = new ArrayList<>();
+        for (int i = 0; i < filas.size(); i++) {
+            if (errores.get(i).isEmpty()) {
+                dnis.add(recortar(filas.get(i).numeroDni()));
+            }
+        }
+        List<String> distintos = dnis.stream().distinct().toList();
+        Set<String> registrados = new HashSet<>();
+        for (int desde = 0; desde < distintos.size(); desde += TAMANO_BLOQUE) {
+            registrados.addAll(inquilinoRepository.findDnisRegistrados(
+                    distintos.subList(desde, Math.min(desde + TAMANO_BLOQUE, distintos.size()))));
+        }
+
+        List<ErrorFilaResponse> reporte = new ArrayList<>();
+        List<InquilinoFila> aceptadas = new ArrayList<>();
+        Set<String> enArchivo = new HashSet<>();
+        int existentes = 0;
+        for (int i = 0; i < filas.size(); i++) {
+            InquilinoFila fila = filas.get(i);
+            String dni = recortar(fila.numeroDni());
+            if (!errores.get(i).isEmpty()) {
+                reporte.add(new ErrorFilaResponse(i + 1, String.join(" ", errores.get(i))));
+            } else if (!enArchivo.add(dni)) {
+                reporte.add(new ErrorFilaResponse(i + 1, "El DNI " + dni + " está repetido en el archivo."));
+            } else if (registrados.contains(dni)) {
+                existentes++;
+            } else {
+                aceptadas.add(fila);
+            }
+        }
+
+        insertarEnBloques("insert into inquilinos (nombre_completo, numero_dni, email, telefono_whatsapp) "
+                        + "values (?, ?, ?, ?)",
+                aceptadas, f -> new Object[] { recortar(f.nombreCompleto()), recortar(f.numeroDni()),
+                        recortar(f.email()), recortar(f.telefonoWhatsapp()) });
+        return new ResultadoInquilinos(aceptadas.size(), existentes, reporte);
+    }
+
+    private List<String> validarHabitacion(HabitacionFila fila, Propiedad propiedad) {
+        Piso piso = fila.piso() == null ? null : Piso.builder().propiedad(propiedad).numeroPiso(fila.piso()).build();
+        Habitacion habitacion = Habitacion.builder()
+                .propiedad(propiedad)
+                .piso(piso)
+                .codigo(recortar(fila.codigo()))
+                .precioRenta(fila.precioRenta())
+                .estado(EstadoHabitacion.DISPONIBLE)
+                .build();
+        List<String> errores = mensajes(validator.validate(habitacion));
+        if (piso != null) {
+            errores.addAll(mensajes(validator.validate(piso)));
+        }
+        if (habitacion.getCodigo() != null && habitacion.getCodigo().length() > LARGO_MAXIMO_CODIGO) {
+            errores.add("El código de la habitación no puede exceder los 50 caracteres.");
+        }
+        return errores;
+    }
+
+    private List<String> validarInquilino(InquilinoFila fila) {
+        return mensajes(validator.validate(Inquilino.builder()
+                .nombreCompleto(recortar(fila.nombreCompleto()))
+                .numeroDni(recortar(fila.numeroDni()))
+                .email(recortar(fila.email()))
+                .telefonoWhatsapp(recortar(fila.telefonoWhatsapp()))
+                .build()));
+    }
+
+    /** El validador es thread-safe; el orden de los resultados sigue al de las filas. */
+    private static <F> List<List<String>> validarEnParalelo(List<F> filas, Function<F, List<String>> validacion) {
+        return filas.parallelStream().map(validacion).toList();
+    }
+
+    private <F> void insertarEnBloques(String sql, List<F> filas, Function<F, Object[]> valores) {
+        for (int desde = 0; desde < filas.size(); desde += TAMANO_BLOQUE) {
+            jdbcTemplate.batchUpdate(sql, filas.subList(desde, Math.min(desde + TAMANO_BLOQUE, filas.size()))
+                    .stream().map(valores).toList());
+        }
+    }
+
+    private static <T> List<String> mensajes(Set<ConstraintViolation<T>> violaciones) {
+        return new ArrayList<>(violaciones.stream().map(ConstraintViolation::getMessage).sorted().toList());
+    }
+
+    private static String recortar(String valor) {
+        return valor == null ? null : valor.strip();
+    }
+
+    /** MySQL compara los códigos sin distinguir mayúsculas. */
+    private static String clave(String codigo) {
+        return codigo.toUpperCase(Locale.ROOT);
+    }
+
+    private record ResultadoHabitaciones(int pisosCreados, int creadas, List<ErrorFilaResponse> errores) {
+    }
+
+    private record ResultadoInquilinos(int creados, int existentes, List<ErrorFilaResponse> errores) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.habitora.backend.service.outbox;
+
+/**
+ * Destino de los eventos del outbox. Si {@link #publicar} lanza una
+ * excepción el evento queda pendiente y se reintenta, así que la entrega es
+ * al menos una vez: los consumidores deben tolerar duplicados.
+ */
+public interface CanalEventos {
+
+    void publicar(MensajeEvento mensaje);
+}
@@ -0,0 +1,41 @@
+package com.habitora.backend.service.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Implementación en proceso del canal de eventos, que hace las veces de
+ * broker local: entrega cada evento a los {@code @EventListener} de esta JVM
+ * en una transacción propia, de modo que un consumidor que falla sólo
+ * revierte lo suyo. Con un broker real (Kafka, RabbitMQ, etc.) se reemplaza
+ * por una implementación que envíe el mensaje usando {@code clave} como
+ * clave de partición, para conservar el orden por contrato.
+ */
+@Component
+@RequiredArgsConstructor
+public class CanalEventosLocal implements CanalEventos {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void publicar(MensajeEvento mensaje) {
+        Class<?> tipo = RegistroEventos.TIPOS.get(mensaje.tipo());
+        if (tipo == null) {
+            throw new IllegalStateException("Tipo de evento desconocido: " + mensaje.tipo());
+        }
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(mensaje.payload(), tipo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido del evento " + mensaje.id(), e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.habitora.backend.service.outbox;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.EventoOutbox;
+import com.habitora.backend.persistence.repository.EventoOutboxRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica los eventos de {@code eventos_outbox} en el {@link CanalEventos}.
+ *
+ * <p>Cada lote se reclama en una transacción corta: toma con
+ * {@code FOR UPDATE SKIP LOCKED} el evento pendiente más antiguo de cada
+ * contrato y le corre {@code disponible_desde} el plazo
+ * {@code habitora.outbox.duracion-reclamo}, así varios nodos pueden
+ * despachar a la vez sin desordenar los eventos de un mismo contrato. Cada
+ * evento se publica después, fuera de esa transacción (el canal abre la
+ * suya), de modo que el despacho usa una sola conexión a la vez; al final
+ * los publicados se marcan juntos. Si el nodo cae antes de marcarlos, otro
+ * los retoma al vencer el plazo: la entrega es al menos una vez.
+ *
+ * <p>Un evento que falla queda pendiente con una espera creciente (hasta
+ * {@value #ESPERA_MAXIMA_SEGUNDOS} s) y frena a los siguientes de su
+ * contrato, no a los demás. Al llegar a {@code habitora.outbox.max-intentos}
+ * se aparta con {@code fallido_en}: deja de reintentarse y los siguientes de
+ * su contrato siguen. Para reintentarlo a mano basta con volver a poner
+ * {@code fallido_en} en {@code null}.
+ *
+ * <p>Métricas: {@code habitora.outbox.eventos} por resultado
+ * ({@code publicado}, {@code fallido} o {@code agotado}) y
+ * {@code habitora.outbox.demora}, el tiempo entre el registro y la
+ * publicación.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DespachadorEventosService {
+
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 300;
+    private static final int TAMANO_BLOQUE_LIMPIEZA = 1000;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CanalEventos canal;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${habitora.outbox.tamano-lote:100}")
+    private int tamanoLote;
+
+    @Value("${habitora.outbox.max-intentos:10}")
+    private int maxIntentos;
+
+    @Value("${habitora.outbox.duracion-reclamo:PT1M}")
+    private Duration duracionReclamo;
+
+    @Value("${habitora.outbox.retencion:P7D}")
+    private Duration retencion;
+
+    @Scheduled(fixedDelayString = "${habitora.outbox.intervalo:PT1S}")
+    public void despacharPendientes() {
+        int total = 0;
+        int publicados;
+        do {
+            publicados = despacharLote();
+            total += publicados;
+        } while (publicados > 0);
+        if (total > 0) {
+            log.debug("Publicados {} eventos del outbox", total);
+        }
+    }
+
+    /**
+     * Reclama y publica un lote.
+     *
+     * @return cantidad de eventos publicados (sin contar los que fallaron)
+     */
+    public int despacharLote() {
+        List<EventoOutbox> reclamados = transactionTemplate.execute(status -> {
+            LocalDateTime ahora = LocalDateTime.now(clock);
+            List<Long> ids = eventoOutboxRepository.reclamarPendientes(ahora, tamanoLote);
+            if (ids.isEmpty()) {
+                return List.<EventoOutbox>of();
+            }
+            eventoOutboxRepository.extenderReclamo(ids, ahora.plus(duracionReclamo));
+            return eventoOutboxRepository.findAllByIdOrdenados(ids);
+        });
+        if (reclamados == null || reclamados.isEmpty()) {
+            return 0;
+        }
+        List<EventoOutbox> publicados = new ArrayList<>();
+        for (EventoOutbox evento : reclamados) {
+            if (publicar(evento)) {
+                publicados.add(evento);
+            }
+        }
+        if (!publicados.isEmpty()) {
+            LocalDateTime ahora = LocalDateTime.now(clock);
+            List<Long> ids = publicados.stream().map(EventoOutbox::getId).toList();
+            transactionTemplate.executeWithoutResult(status -> eventoOutboxRepository.marcarPublicados(ids, ahora));
+            meterRegistry.counter("habitora.outbox.eventos", "resultado", "publicado").increment(publicados.size());
+            Timer demora = meterRegistry.timer("habitora.outbox.demora");
+            publicados.forEach(e -> demora.record(Duration.between(e.getCreadoEn(), ahora)));
+        }
+        return publicados.size();
+    }
+
+    private boolean publicar(EventoOutbox evento) {
+        try {
+            canal.publicar(new MensajeEvento(evento.getId(), evento.getTipo(), evento.getClave(), evento.getPayload()));
+            return true;
+        } catch (RuntimeException e) {
+            registrarFallo(evento, e);
+            return false;
+        }
+    }
+
+    private void registrarFallo(EventoOutbox evento, RuntimeException e) {
+        LocalDateTime ahora = LocalDateTime.now(clock);
+        int intentos = evento.getIntentos() + 1;
+        boolean agotado = intentos >= maxIntentos;
+        transactionTemplate.executeWithoutResult(status -> eventoOutboxRepository.registrarFallo(evento.getId(),
+                intentos, ahora.plusSeconds(espera(intentos)), resumir(e), agotado ? ahora : null));
+        if (agotado) {
+            meterRegistry.counter("habitora.outbox.eventos", "resultado", "agotado").increment();
+            log.error("El evento {} {} de {} agotó sus {} intentos y se aparta: {}",
+                    evento.getId(), evento.getTipo(), evento.getClave(), intentos, e.toString());
+        } else {
+            meterRegistry.counter("habitora.outbox.eventos", "resultado", "fallido").increment();
+            log.warn("Fallo al publicar el evento {} {} de {} (intento {}): {}",
+                    evento.getId(), evento.getTipo(), evento.getClave(), intentos, e.toString());
+        }
+    }
+
+    private static long espera(int intentos) {
+        return Math.min(ESPERA_MAXIMA_SEGUNDOS, 1L << Math.min(intentos - 1, 16));
+    }
+
+    private static String resumir(Exception e) {
+        String texto = e.toString();
+        return texto.length() <= 500 ? texto : texto.substring(0, 500);
+    }
+
+    /**
+     * Borra los eventos publicados hace más de {@code habitora.outbox.retencion}.
+     *
+     * @return cantidad de eventos borrados
+     */
+    @Scheduled(cron = "${habitora.outbox.cron-limpieza:0 20 0 * * *}", zone = "${habitora.zona-horaria:America/Lima}")
+    public int limpiarPublicados() {
+        LocalDateTime limite = LocalDateTime.now(clock).minus(retencion);
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = eventoOutboxRepository.findIdsPublicadosAntesDe(limite, Limit.of(TAMANO_BLOQUE_LIMPIEZA));
+            if (!ids.isEmpty()) {
+                List<Long> bloque = ids;
+                Integer borrados = transactionTemplate.execute(status -> eventoOutboxRepository.deleteByIds(bloque));
+                total += borrados == null ? 0 : borrados;
+            }
+        } while (ids.size() == TAMANO_BLOQUE_LIMPIEZA);
+        if (total > 0) {
+            log.info("Borrados {} eventos publicados antes de {}", total, limite);
+        }
+        return total;
+    }
+}
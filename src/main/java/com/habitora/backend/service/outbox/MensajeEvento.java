@@ -0,0 +1,8 @@
+package com.habitora.backend.service.outbox;
+
+/**
+ * Evento del outbox tal como se entrega al canal: {@code tipo} identifica la
+ * clase del evento y {@code payload} es su JSON.
+ */
+public record MensajeEvento(Long id, String tipo, String clave, String payload) {
+}
@@ -0,0 +1,87 @@
+package com.habitora.backend.service.outbox;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habitora.backend.service.event.ContratoCambiadoEvent;
+import com.habitora.backend.service.event.FacturasEmitidasEvent;
+import com.habitora.backend.service.event.FacturasModificadasEvent;
+import com.habitora.backend.service.event.PagosRegistradosEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escribe eventos de dominio en {@code eventos_outbox} dentro de la
+ * transacción del cambio que los origina: o se confirman ambos o ninguno.
+ * {@link DespachadorEventosService} los publica después, fuera de la
+ * petición. Se insertan por JDBC en un solo batch, también para las páginas
+ * de facturación con cientos de contratos.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistroEventos {
+
+    /** Eventos que pueden pasar por el outbox, por su {@code tipo}. */
+    static final Map<String, Class<?>> TIPOS = Stream.of(
+                    ContratoCambiadoEvent.class, FacturasEmitidasEvent.class, FacturasModificadasEvent.class,
+                    PagosRegistradosEvent.class)
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private static final String SQL_INSERTAR = """
+            insert into eventos_outbox (tipo, clave, payload, creado_en, disponible_desde, intentos)
+            values (?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public void registrar(Long contratoId, Object evento) {
+        registrarTodos(Map.of(contratoId, evento));
+    }
+
+    /** Un evento por contrato; se publican en orden de registro dentro de cada contrato. */
+    public void registrarTodos(Map<Long, ?> eventosPorContrato) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Los eventos se registran en la transacción del cambio que los origina.");
+        }
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now(clock));
+        List<Object[]> filas = new ArrayList<>(eventosPorContrato.size());
+        eventosPorContrato.forEach((contratoId, evento) ->
+                filas.add(new Object[] { tipo(evento), clave(contratoId), json(evento), ahora, ahora }));
+        jdbcTemplate.batchUpdate(SQL_INSERTAR, filas);
+    }
+
+    static String clave(Long contratoId) {
+        return "contrato:" + contratoId;
+    }
+
+    private static String tipo(Object evento) {
+        String tipo = evento.getClass().getSimpleName();
+        if (!TIPOS.containsKey(tipo)) {
+            throw new IllegalArgumentException("Evento no registrado para el outbox: " + evento.getClass().getName());
+        }
+        return tipo;
+    }
+
+    private String json(Object evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar " + evento, e);
+        }
+    }
+}
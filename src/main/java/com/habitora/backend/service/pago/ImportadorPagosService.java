@@ -0,0 +1,247 @@
+package com.habitora.backend.service.pago;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Pago;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.presentation.dto.ErrorFilaResponse;
+import com.habitora.backend.presentation.dto.ImportacionPagosResponse;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.service.event.PagosRegistradosEvent;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+import com.habitora.backend.service.outbox.RegistroEventos;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conciliación masiva de pagos a partir de un extracto (banco, Yape, Plin).
+ *
+ * <p>Formato CSV con cabecera: {@code factura_id,fecha_pago,monto,metodo}
+ * (también acepta {@code ;} como separador). El archivo se lee en streaming
+ * y se procesa en bloques: por bloque se cargan todas sus facturas con una
+ * sola consulta, se aplican los pagos en memoria y se escriben con batching
+ * JDBC (inserts de pagos y updates versionados de facturas). Las filas
+ * inválidas no detienen la importación: se devuelven en el reporte.
+ *
+ * <p>Si la base rechaza el bloque (una fila que pasa la validación pero
+ * viola una restricción, por ejemplo), el bloque se deshace y se repite
+ * fila por fila, cada una en su transacción: sólo las filas que fallan se
+ * reportan y las demás se registran. Una fila rechazada nunca aborta la
+ * importación, porque los bloques anteriores ya quedaron registrados y un
+ * reintento del archivo completo los duplicaría.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportadorPagosService {
+
+    private static final int TAMANO_BLOQUE = 500;
+
+    private final FacturaRepository facturaRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final RegistroEventos registroEventos;
+
+    /**
+     * @param propiedadIds propiedades del usuario; las facturas de otras se
+     *                     reportan como inexistentes
+     */
+    public ImportacionPagosResponse importar(InputStream archivo, Collection<Long> propiedadIds) throws IOException {
+        List<ErrorFilaResponse> errores = new ArrayList<>();
+        List<FilaPago> bloque = new ArrayList<>(TAMANO_BLOQUE);
+        int leidas = 0;
+        int registrados = 0;
+        int pagadas = 0;
+
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(archivo, StandardCharsets.UTF_8))) {
+            lector.readLine(); // cabecera
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                leidas++;
+                try {
+                    bloque.add(FilaPago.parsear(leidas, linea));
+                } catch (IllegalArgumentException e) {
+                    errores.add(new ErrorFilaResponse(leidas, e.getMessage()));
+                }
+                if (bloque.size() == TAMANO_BLOQUE) {
+                    ResultadoBloque resultado = procesar(bloque, propiedadIds);
+                    registrados += resultado.registrados();
+                    pagadas += resultado.pagadas();
+                    errores.addAll(resultado.errores());
+                    bloque.clear();
+                }
+            }
+        }
+        if (!bloque.isEmpty()) {
+            ResultadoBloque resultado = procesar(bloque, propiedadIds);
+            registrados += resultado.registrados();
+            pagadas += resultado.pagadas();
+            errores.addAll(resultado.errores());
+        }
+        return new ImportacionPagosResponse(leidas, registrados, pagadas, errores);
+    }
+
+    private ResultadoBloque procesar(List<FilaPago> filas, Collection<Long> propiedadIds) {
+        try {
+            return aplicarEnTransaccion(filas, propiedadIds);
+        } catch (DataAccessException | PersistenceException | ReglaNegocioException e) {
+            if (filas.size() == 1) {
+                return new ResultadoBloque(0, 0, List.of(rechazada(filas.get(0), e)));
+            }
+            log.warn("La base rechazó un bloque de {} pagos importados, se repite fila por fila: {}",
+                    filas.size(), e.toString());
+            return procesarFilaPorFila(filas, propiedadIds);
+        }
+    }
+
+    private ResultadoBloque procesarFilaPorFila(List<FilaPago> filas, Collection<Long> propiedadIds) {
+        List<ErrorFilaResponse> errores = new ArrayList<>();
+        int registrados = 0;
+        int pagadas = 0;
+        for (FilaPago fila : filas) {
+            try {
+                ResultadoBloque resultado = aplicarEnTransaccion(List.of(fila), propiedadIds);
+                registrados += resultado.registrados();
+                pagadas += resultado.pagadas();
+                errores.addAll(resultado.errores());
+            } catch (DataAccessException | PersistenceException | ReglaNegocioException e) {
+                errores.add(rechazada(fila, e));
+            }
+        }
+        return new ResultadoBloque(registrados, pagadas, errores);
+    }
+
+    private static ErrorFilaResponse rechazada(FilaPago fila, RuntimeException e) {
+        log.warn("No se pudo registrar el pago de la fila {} (factura {}): {}",
+                fila.numero(), fila.facturaId(), e.toString());
+        return new ErrorFilaResponse(fila.numero(), "No se pudo registrar el pago de la factura "
+                + fila.facturaId() + ".");
+    }
+
+    private ResultadoBloque aplicarEnTransaccion(List<FilaPago> filas, Collection<Long> propiedadIds) {
+        return ReintentosOptimistas.ejecutar(
+                () -> transactionTemplate.execute(status -> aplicarBloque(filas, propiedadIds)));
+    }
+
+    private ResultadoBloque aplicarBloque(List<FilaPago> filas, Collection<Long> propiedadIds) {
+        List<Long> ids = filas.stream().map(FilaPago::facturaId).distinct().toList();
+        List<Factura> encontradas = propiedadIds.isEmpty()
+                ? List.of()
+                : facturaRepository.findAllByIdEnPropiedades(ids, propiedadIds);
+        Map<Long, Factura> facturas = encontradas.stream()
+                .collect(Collectors.toMap(Factura::getId, Function.identity()));
+
+        List<ErrorFilaResponse> errores = new ArrayList<>();
+        Map<Long, Set<Long>> modificadasPorContrato = new LinkedHashMap<>();
+        Set<Long> pagadas = new LinkedHashSet<>();
+        int registrados = 0;
+        for (FilaPago fila : filas) {
+            Factura factura = facturas.get(fila.facturaId());
+            if (factura == null) {
+                errores.add(new ErrorFilaResponse(fila.numero(), "La factura " + fila.facturaId() + " no existe."));
+                continue;
+            }
+            try {
+                PagoService.validarPago(factura, fila.comoRequest());
+            } catch (ReglaNegocioException e) {
+                errores.add(new ErrorFilaResponse(fila.numero(), e.getMessage()));
+                continue;
+            }
+            Pago pago = Pago.builder()
+                    .contrato(factura.getContrato())
+                    .fechaPago(fila.fechaPago())
+                    .monto(fila.monto())
+                    .metodo(fila.metodo())
+                    .build();
+            factura.registrarPago(pago);
+            entityManager.persist(pago);
+            modificadasPorContrato.computeIfAbsent(factura.getContrato().getId(), id -> new LinkedHashSet<>())
+                    .add(factura.getId());
+            registrados++;
+            if (factura.getEstado() == EstadoFactura.PAGADA) {
+                pagadas.add(factura.getId());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        if (!modificadasPorContrato.isEmpty()) {
+            Map<Long, PagosRegistradosEvent> eventos = new LinkedHashMap<>();
+            modificadasPorContrato.forEach((contratoId, facturaIds) ->
+                    eventos.put(contratoId, new PagosRegistradosEvent(List.copyOf(facturaIds),
+                            facturaIds.stream().filter(pagadas::contains).toList())));
+            registroEventos.registrarTodos(eventos);
+        }
+        return new ResultadoBloque(registrados, pagadas.size(), errores);
+    }
+
+    private record ResultadoBloque(int registrados, int pagadas, List<ErrorFilaResponse> errores) {
+    }
+
+    private record FilaPago(int numero, Long facturaId, LocalDate fechaPago, BigDecimal monto, MetodoPago metodo) {
+
+        static FilaPago parsear(int numero, String linea) {
+            String[] columnas = linea.split("[,;]", -1);
+            if (columnas.length != 4) {
+                throw new IllegalArgumentException("Se esperaban 4 columnas y hay " + columnas.length + ".");
+            }
+            try {
+                BigDecimal monto = new BigDecimal(columnas[2].trim());
+                if (monto.signum() <= 0) {
+                    throw new IllegalArgumentException("El monto debe ser mayor a cero.");
+                }
+                return new FilaPago(numero,
+                        Long.valueOf(columnas[0].trim()),
+                        LocalDate.parse(columnas[1].trim()),
+                        monto,
+                        metodo(columnas[3].trim()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Fecha inválida (formato AAAA-MM-DD): " + columnas[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Número inválido en la fila: " + linea);
+            }
+        }
+
+        private static MetodoPago metodo(String valor) {
+            try {
+                return MetodoPago.valueOf(valor.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Método de pago desconocido: " + valor);
+            }
+        }
+
+        PagoRequest comoRequest() {
+            return new PagoRequest(monto, fechaPago, metodo);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.habitora.backend.service.pago;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Pago;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.persistence.repository.PagoRepository;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.presentation.dto.PagoResponse;
+import com.habitora.backend.service.event.PagosRegistradosEvent;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+import com.habitora.backend.service.idempotencia.SolicitudesIdempotentes;
+import com.habitora.backend.service.outbox.RegistroEventos;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registra pagos contra una factura.
+ *
+ * <p>El saldo se mantiene en {@code Factura.montoPagado}, protegido por
+ * {@code @Version}: dos pagos simultáneos sobre la misma factura no pueden
+ * perder una actualización; el que pierde la carrera se repite con el saldo
+ * ya actualizado.
+ *
+ * <p>Cada registro es una observación {@code habitora.pagos.registro} por
+ * método de pago; las repeticiones por conflicto se cuentan en
+ * {@code habitora.pagos.conflictos}.
+ */
+@Service
+@RequiredArgsConstructor
+public class PagoService {
+
+    private final FacturaRepository facturaRepository;
+    private final PagoRepository pagoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RegistroEventos registroEventos;
+    private final SolicitudesIdempotentes solicitudesIdempotentes;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public PagoResponse registrarPago(Long facturaId, PagoRequest request) {
+        return Observation.createNotStarted("habitora.pagos.registro", observationRegistry)
+                .lowCardinalityKeyValue("metodo", String.valueOf(request.metodo()))
+                .highCardinalityKeyValue("factura", String.valueOf(facturaId))
+                .observe(() -> registrarConReintentos(facturaId, request));
+    }
+
+    private PagoResponse registrarConReintentos(Long facturaId, PagoRequest request) {
+        AtomicInteger intentos = new AtomicInteger();
+        try {
+            return ReintentosOptimistas.ejecutar(() -> {
+                intentos.incrementAndGet();
+                return transactionTemplate.execute(status -> aplicarPago(facturaId, request));
+            });
+        } finally {
+            if (intentos.get() > 1) {
+                meterRegistry.counter("habitora.pagos.conflictos").increment(intentos.get() - 1);
+            }
+        }
+    }
+
+    private PagoResponse aplicarPago(Long facturaId, PagoRequest request) {
+        Factura factura = facturaRepository.findById(facturaId)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Factura", facturaId));
+        validarPago(factura, request);
+
+        Pago pago = Pago.builder()
+                .contrato(factura.getContrato())
+                .fechaPago(request.fechaPago())
+                .monto(request.monto())
+                .metodo(request.metodo())
+                .build();
+        factura.registrarPago(pago);
+        pagoRepository.save(pago);
+
+        registroEventos.registrar(factura.getContrato().getId(), new PagosRegistradosEvent(List.of(facturaId),
+                factura.getEstado() == EstadoFactura.PAGADA ? List.of(facturaId) : List.of()));
+        PagoResponse respuesta = PagoResponse.from(pago, factura);
+        solicitudesIdempotentes.registrar(respuesta);
+        return respuesta;
+    }
+
+    static void validarPago(Factura factura, PagoRequest request) {
+        if (factura.getEstado() == EstadoFactura.PAGADA || factura.getEstado() == EstadoFactura.CANCELADA) {
+            throw new ReglaNegocioException("La factura " + factura.getId() + " está " + factura.getEstado() + ".");
+        }
+        if (request.monto().compareTo(factura.getSaldo()) > 0) {
+            throw new ReglaNegocioException("El monto " + request.monto() + " excede el saldo pendiente de "
+                    + factura.getSaldo() + ".");
+        }
+    }
+}
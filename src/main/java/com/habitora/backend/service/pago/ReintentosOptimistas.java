@@ -0,0 +1,36 @@
+package com.habitora.backend.service.pago;
+
+import java.util.function.Supplier;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.habitora.backend.service.exception.ReglaNegocioException;
+
+import jakarta.persistence.OptimisticLockException;
+
+/**
+ * Repite una unidad de trabajo transaccional cuando otra transacción
+ * modificó la misma factura (conflicto de {@code @Version}). El conflicto
+ * llega traducido por Spring si se detecta al confirmar, o como
+ * {@link OptimisticLockException} si la unidad hace {@code flush()} directo
+ * sobre el {@code EntityManager}.
+ */
+final class ReintentosOptimistas {
+
+    static final int MAX_INTENTOS = 5;
+
+    private ReintentosOptimistas() {
+    }
+
+    static <T> T ejecutar(Supplier<T> transaccion) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return transaccion.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (intento >= MAX_INTENTOS) {
+                    throw new ReglaNegocioException("La factura está siendo modificada por otra operación, reintente.");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.habitora.backend.service.propiedad;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.projection.PropiedadVista;
+import com.habitora.backend.persistence.repository.PisoRepository;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.presentation.dto.PropiedadArbolResponse;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class PropiedadService {
+
+    private final PropiedadRepository propiedadRepository;
+    private final PisoRepository pisoRepository;
+
+    /**
+     * Propiedad con sus pisos y habitaciones: una consulta para la propiedad
+     * (proyección) y otra para pisos + habitaciones (entity graph).
+     */
+    @Transactional(readOnly = true)
+    public PropiedadArbolResponse obtenerArbol(Long propiedadId) {
+        PropiedadVista propiedad = propiedadRepository.findVistaById(propiedadId)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Propiedad", propiedadId));
+        return PropiedadArbolResponse.from(propiedad, pisoRepository.findByPropiedadIdOrderByNumeroPisoAsc(propiedadId));
+    }
+}
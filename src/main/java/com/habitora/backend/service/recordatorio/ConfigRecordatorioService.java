@@ -0,0 +1,97 @@
+package com.habitora.backend.service.recordatorio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.entity.ConfigRecordatorio;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.ConfigRecordatorioRepository;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.presentation.dto.ConfigRecordatorioRequest;
+import com.habitora.backend.presentation.dto.ConfigRecordatorioResponse;
+import com.habitora.backend.service.event.ConfigRecordatorioCambiadoEvent;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ConfigRecordatorioService {
+
+    private static final String COLECCION_CONFIGURACIONES = Propiedad.class.getName() + ".configRecordatorios";
+
+    private final ConfigRecordatorioRepository configRecordatorioRepository;
+    private final PropiedadRepository propiedadRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Crea o actualiza la configuración de recordatorios de la propiedad. Al
+     * confirmarse la transacción se reprograman sus recordatorios pendientes.
+     */
+    @Transactional
+    public ConfigRecordatorioResponse guardar(Long propiedadId, ConfigRecordatorioRequest request) {
+        if (!propiedadRepository.existsById(propiedadId)) {
+            throw new RecursoNoEncontradoException("Propiedad", propiedadId);
+        }
+        ConfigRecordatorio config = configRecordatorioRepository.findFirstByPropiedadIdOrderByIdAsc(propiedadId)
+                .orElseGet(() -> ConfigRecordatorio.builder()
+                        .propiedad(propiedadRepository.getReferenceById(propiedadId))
+                        .canal(ConfigRecordatorio.Canal.WHATSAPP)
+                        .build());
+
+        config.setDiasAntes(request.diasAntes())
+                .setTelefonoRemitente(request.telefonoRemitente())
+                .setEstaActivo(request.estaActivo() == null || request.estaActivo());
+        configRecordatorioRepository.save(config);
+
+        eventPublisher.publishEvent(new ConfigRecordatorioCambiadoEvent(propiedadId));
+        return ConfigRecordatorioResponse.from(config);
+    }
+
+    /**
+     * Configuración activa de cada propiedad indicada (la más antigua si hay
+     * varias). Las propiedades cuya colección de configuraciones ya está en
+     * la caché de segundo nivel se resuelven desde ella, sin SQL; las demás,
+     * todas juntas con una sola consulta, que además las deja en la caché.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ConfigRecordatorio> activasPorPropiedad(Collection<Long> propiedadIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Map<Long, ConfigRecordatorio> activas = new HashMap<>();
+        List<Long> fueraDeCache = new ArrayList<>();
+        for (Long propiedadId : propiedadIds) {
+            if (cache.containsEntity(Propiedad.class, propiedadId)
+                    && cache.containsCollection(COLECCION_CONFIGURACIONES, propiedadId)) {
+                propiedadRepository.findById(propiedadId)
+                        .flatMap(ConfigRecordatorioService::activa)
+                        .ifPresent(c -> activas.put(propiedadId, c));
+            } else {
+                fueraDeCache.add(propiedadId);
+            }
+        }
+        if (!fueraDeCache.isEmpty()) {
+            propiedadRepository.findConConfigRecordatoriosByIdIn(fueraDeCache)
+                    .forEach(p -> activa(p).ifPresent(c -> activas.put(p.getId(), c)));
+        }
+        return activas;
+    }
+
+    private static Optional<ConfigRecordatorio> activa(Propiedad propiedad) {
+        return propiedad.getConfigRecordatorios().stream()
+                .filter(c -> Boolean.TRUE.equals(c.getEstaActivo()))
+                .min(Comparator.comparing(ConfigRecordatorio::getId));
+    }
+}
@@ -0,0 +1,259 @@
+package com.habitora.backend.service.recordatorio;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+import com.habitora.backend.persistence.projection.RecordatorioPendiente;
+import com.habitora.backend.persistence.repository.RecordatorioRepository;
+import com.habitora.backend.service.notificacion.CambioEstado;
+import com.habitora.backend.service.notificacion.NotificadorCambiosEstado;
+import com.habitora.backend.util.LimitadorTasa;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Despacha los recordatorios {@code PROGRAMADO} cuya hora ya llegó.
+ *
+ * <p>Cada lote pasa por tres pasos, y ninguna conexión queda tomada
+ * mientras se espera a la pasarela:
+ * <ol>
+ *   <li>una transacción corta reclama las filas con
+ *       {@code FOR UPDATE SKIP LOCKED} y las deja {@code ENVIANDO} hasta
+ *       {@code habitora.recordatorios.duracion-reclamo};</li>
+ *   <li>los mensajes se envían en paralelo en hilos virtuales, fuera de
+ *       transacción, respetando el límite de mensajes por segundo de cada
+ *       número remitente;</li>
+ *   <li>otra transacción corta escribe los estados con un único batch de
+ *       UPDATE, y luego se avisan a los suscriptores de
+ *       {@link NotificadorCambiosEstado}.</li>
+ * </ol>
+ * Si el nodo cae entre el reclamo y el último paso, las filas siguen
+ * {@code ENVIANDO} y otro nodo las retoma al vencer el reclamo: un mensaje
+ * ya entregado puede repetirse, ninguno se pierde. El reclamo debe durar más
+ * que el envío de un lote.
+ *
+ * <p>Sólo los errores permanentes dejan el recordatorio {@code FALLIDO}: sin
+ * número remitente configurado o un mensaje que el proveedor rechaza
+ * ({@link MensajeRechazadoException}). Ante un fallo pasajero (pasarela
+ * caída, 5xx, 429, circuito abierto) vuelve a {@code PROGRAMADO} con una
+ * espera creciente desde {@code habitora.recordatorios.espera-reintento}
+ * (hasta una hora), y pasa a {@code FALLIDO} al llegar a
+ * {@code habitora.recordatorios.max-intentos}.
+ *
+ * <p>Métricas: observación {@code habitora.recordatorios.lote} por lote,
+ * {@code habitora.recordatorios.despachados} por estado resultante y
+ * {@code habitora.recordatorios.espera-limite}, el tiempo que cada envío
+ * espera por el límite de su remitente.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DespachadorRecordatoriosService {
+
+    private static final String SQL_ACTUALIZAR_ESTADO = """
+            update recordatorios
+            set estado = ?, enviado_en = ?, id_mensaje_proveedor = ?,
+                programado_para = coalesce(?, programado_para), intentos = intentos + ?, reclamado_hasta = null
+            where id = ? and estado = 'ENVIANDO'
+            """;
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofHours(1);
+
+    private final RecordatorioRepository recordatorioRepository;
+    private final ConfigRecordatorioService configRecordatorioService;
+    private final WhatsAppSender whatsAppSender;
+    private final NotificadorCambiosEstado notificador;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    private final Map<String, LimitadorTasa> limitadores = new ConcurrentHashMap<>();
+
+    @Value("${habitora.recordatorios.tamano-lote:100}")
+    private int tamanoLote;
+
+    @Value("${habitora.recordatorios.duracion-reclamo:PT5M}")
+    private Duration duracionReclamo;
+
+    @Value("${habitora.recordatorios.mensajes-por-segundo:10}")
+    private double mensajesPorSegundo;
+
+    @Value("${habitora.recordatorios.max-intentos:8}")
+    private int maxIntentos;
+
+    @Value("${habitora.recordatorios.espera-reintento:PT1M}")
+    private Duration esperaReintento;
+
+    @Value("${habitora.whatsapp.remitente-por-defecto:}")
+    private String remitentePorDefecto;
+
+    @Scheduled(fixedDelayString = "${habitora.recordatorios.intervalo-despacho:PT30S}")
+    public void despacharPendientes() {
+        int total = 0;
+        int enviados;
+        do {
+            enviados = despacharLote();
+            total += enviados;
+        } while (enviados == tamanoLote);
+        if (total > 0) {
+            log.info("Despachados {} recordatorios", total);
+        }
+    }
+
+    /**
+     * Reclama y envía un lote.
+     *
+     * @return cantidad de recordatorios procesados (enviados, fallidos o
+     *         reprogramados)
+     */
+    public int despacharLote() {
+        return Observation.createNotStarted("habitora.recordatorios.lote", observationRegistry)
+                .observe(this::reclamarYEnviar);
+    }
+
+    private int reclamarYEnviar() {
+        Lote lote = transactionTemplate.execute(status -> reclamar());
+        if (lote == null || lote.pendientes().isEmpty()) {
+            return 0;
+        }
+        List<ResultadoEnvio> resultados = enviar(lote.pendientes(), lote.remitentes());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(SQL_ACTUALIZAR_ESTADO, resultados, resultados.size(), (ps, r) -> {
+                    ps.setString(1, r.estado().name());
+                    ps.setTimestamp(2, r.enviadoEn() == null ? null : Timestamp.valueOf(r.enviadoEn()));
+                    ps.setString(3, r.idMensajeProveedor());
+                    ps.setTimestamp(4, r.reprogramadoPara() == null ? null : Timestamp.valueOf(r.reprogramadoPara()));
+                    ps.setInt(5, r.estado() == EstadoRecordatorio.ENVIADO ? 0 : 1);
+                    ps.setLong(6, r.id());
+                }));
+        resultados.forEach(r -> meterRegistry.counter("habitora.recordatorios.despachados",
+                "estado", r.estado().name()).increment());
+        notificador.publicarTrasCommit(cambios(lote.pendientes(), resultados));
+        return resultados.size();
+    }
+
+    private Lote reclamar() {
+        LocalDateTime ahora = LocalDateTime.now(clock);
+        List<Long> ids = recordatorioRepository.reclamarPendientes(ahora, tamanoLote);
+        if (ids.isEmpty()) {
+            return new Lote(List.of(), Map.of());
+        }
+        recordatorioRepository.marcarEnviando(ids, ahora.plus(duracionReclamo));
+        List<RecordatorioPendiente> pendientes = recordatorioRepository.findPendientes(ids);
+        return new Lote(pendientes, remitentesPorPropiedad(pendientes));
+    }
+
+    private Map<Long, String> remitentesPorPropiedad(List<RecordatorioPendiente> pendientes) {
+        List<Long> propiedadIds = pendientes.stream().map(RecordatorioPendiente::propiedadId).distinct().toList();
+        return configRecordatorioService.activasPorPropiedad(propiedadIds).entrySet().stream()
+                .filter(e -> e.getValue().getTelefonoRemitente() != null
+                        && !e.getValue().getTelefonoRemitente().isBlank())
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getTelefonoRemitente()));
+    }
+
+    private static List<CambioEstado> cambios(List<RecordatorioPendiente> pendientes, List<ResultadoEnvio> resultados) {
+        Map<Long, Long> propiedades = pendientes.stream()
+                .collect(Collectors.toMap(RecordatorioPendiente::id, RecordatorioPendiente::propiedadId));
+        // Un reprogramado vuelve a PROGRAMADO: para los suscriptores no cambió.
+        return resultados.stream()
+                .filter(r -> r.estado() != EstadoRecordatorio.PROGRAMADO)
+                .map(r -> new CambioEstado(propiedades.get(r.id()), CambioEstado.Tipo.RECORDATORIO, r.id(),
+                        r.estado().name()))
+                .toList();
+    }
+
+    private List<ResultadoEnvio> enviar(List<RecordatorioPendiente> pendientes, Map<Long, String> remitentes) {
+        List<ResultadoEnvio> resultados = new ArrayList<>(pendientes.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ResultadoEnvio>> futuros = pendientes.stream()
+                    .map(p -> executor.submit(() -> enviar(p, remitentes.getOrDefault(p.propiedadId(), remitentePorDefecto))))
+                    .toList();
+            for (int i = 0; i < futuros.size(); i++) {
+                try {
+                    resultados.add(futuros.get(i).get());
+                } catch (ExecutionException e) {
+                    log.warn("Fallo al enviar recordatorio {}: {}", pendientes.get(i).id(), e.getCause().toString());
+                    resultados.add(reintentar(pendientes.get(i)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Despacho de recordatorios interrumpido", e);
+                }
+            }
+        }
+        return resultados;
+    }
+
+    private ResultadoEnvio enviar(RecordatorioPendiente pendiente, String remitente) throws InterruptedException {
+        if (remitente == null || remitente.isBlank()) {
+            log.warn("Recordatorio {} sin número remitente configurado", pendiente.id());
+            return ResultadoEnvio.fallido(pendiente.id());
+        }
+        long t0 = System.nanoTime();
+        limitadores.computeIfAbsent(remitente, r -> new LimitadorTasa(mensajesPorSegundo, (int) Math.ceil(mensajesPorSegundo)))
+                .adquirir();
+        meterRegistry.timer("habitora.recordatorios.espera-limite").record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        try {
+            String idMensaje = whatsAppSender.enviar(remitente, pendiente.telefonoDestino(), pendiente.mensaje());
+            return new ResultadoEnvio(pendiente.id(), EstadoRecordatorio.ENVIADO, LocalDateTime.now(clock), idMensaje, null);
+        } catch (MensajeRechazadoException e) {
+            log.warn("Recordatorio {} rechazado: {}", pendiente.id(), e.getMessage());
+            return ResultadoEnvio.fallido(pendiente.id());
+        } catch (IOException e) {
+            log.warn("Fallo al enviar recordatorio {}: {}", pendiente.id(), e.getMessage());
+            return reintentar(pendiente);
+        }
+    }
+
+    /** Reprograma tras un fallo pasajero, o lo da por fallido si agotó los intentos. */
+    private ResultadoEnvio reintentar(RecordatorioPendiente pendiente) {
+        int intentos = pendiente.intentos() + 1;
+        if (intentos >= maxIntentos) {
+            log.error("El recordatorio {} agotó sus {} intentos", pendiente.id(), intentos);
+            return ResultadoEnvio.fallido(pendiente.id());
+        }
+        return new ResultadoEnvio(pendiente.id(), EstadoRecordatorio.PROGRAMADO, null, null,
+                LocalDateTime.now(clock).plus(espera(intentos)));
+    }
+
+    private Duration espera(int intentos) {
+        Duration espera = esperaReintento.multipliedBy(1L << Math.min(intentos - 1, 16));
+        return espera.compareTo(ESPERA_MAXIMA) > 0 ? ESPERA_MAXIMA : espera;
+    }
+
+    private record Lote(List<RecordatorioPendiente> pendientes, Map<Long, String> remitentes) {
+    }
+
+    private record ResultadoEnvio(long id, EstadoRecordatorio estado, LocalDateTime enviadoEn, String idMensajeProveedor,
+            LocalDateTime reprogramadoPara) {
+
+        static ResultadoEnvio fallido(long id) {
+            return new ResultadoEnvio(id, EstadoRecordatorio.FALLIDO, null, null, null);
+        }
+    }
+}
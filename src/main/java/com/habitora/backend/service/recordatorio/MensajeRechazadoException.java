@@ -0,0 +1,14 @@
+package com.habitora.backend.service.recordatorio;
+
+import java.io.IOException;
+
+/**
+ * El proveedor rechazó el mensaje por sí mismo (número inválido, plantilla
+ * no aprobada...): reintentarlo no cambia el resultado.
+ */
+public class MensajeRechazadoException extends IOException {
+
+    public MensajeRechazadoException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,177 @@
+package com.habitora.backend.service.recordatorio;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.habitora.backend.persistence.entity.ConfigRecordatorio;
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Recordatorio;
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+import com.habitora.backend.persistence.projection.FacturaARecordar;
+import com.habitora.backend.persistence.projection.ProgramacionRecordatorio;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.persistence.repository.RecordatorioArchivadoRepository;
+import com.habitora.backend.persistence.repository.RecordatorioRepository;
+import com.habitora.backend.service.event.ConfigRecordatorioCambiadoEvent;
+import com.habitora.backend.service.event.FacturasModificadasEvent;
+import com.habitora.backend.service.event.FacturasEmitidasEvent;
+import com.habitora.backend.service.event.PagosRegistradosEvent;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Programa los recordatorios de cobro {@code diasAntes} días antes del
+ * vencimiento de cada factura abierta.
+ *
+ * <p>No hay barrido diario: sólo se recalculan las facturas afectadas por un
+ * evento (facturas emitidas, facturas modificadas o configuración de la
+ * propiedad cambiada). Los pagos no cambian el vencimiento ni el mensaje:
+ * sólo cancelan los recordatorios de las facturas que quedan pagadas. Los de
+ * facturas y pagos llegan del outbox, que ya abre una transacción por
+ * evento. Recalcular una factura borra sus recordatorios
+ * {@code PROGRAMADO} y vuelve a crearlos con la configuración vigente, sin
+ * repetir uno que ya se envió para la misma fecha (también si ese envío ya
+ * se archivó).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlanificadorRecordatoriosService {
+
+    private static final int TAMANO_BLOQUE = 500;
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final FacturaRepository facturaRepository;
+    private final RecordatorioRepository recordatorioRepository;
+    private final RecordatorioArchivadoRepository recordatorioArchivadoRepository;
+    private final ConfigRecordatorioService configRecordatorioService;
+    private final EntityManager entityManager;
+    private final Clock clock;
+
+    @Value("${habitora.recordatorios.hora-envio:09:00}")
+    private String horaEnvio;
+
+    @EventListener
+    public void alEmitirFacturas(FacturasEmitidasEvent evento) {
+        planificar(evento.facturaIds());
+    }
+
+    @EventListener
+    public void alModificarFacturas(FacturasModificadasEvent evento) {
+        planificar(evento.facturaIds());
+    }
+
+    @EventListener
+    public void alRegistrarPagos(PagosRegistradosEvent evento) {
+        if (!evento.pagadas().isEmpty()) {
+            recordatorioRepository.deleteByFacturaIdsAndEstado(evento.pagadas(), EstadoRecordatorio.PROGRAMADO);
+        }
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void alCambiarConfiguracion(ConfigRecordatorioCambiadoEvent evento) {
+        replanificarPropiedad(evento.propiedadId());
+    }
+
+    /**
+     * Recalcula los recordatorios de las facturas abiertas que aún no vencen
+     * de una propiedad.
+     */
+    @Transactional
+    public void replanificarPropiedad(Long propiedadId) {
+        LocalDate hoy = LocalDate.now(clock);
+        long desdeId = 0;
+        List<Long> ids;
+        do {
+            ids = facturaRepository.findIdsPorPropiedad(propiedadId, EstadoFactura.ABIERTA, hoy, desdeId,
+                    Limit.of(TAMANO_BLOQUE));
+            if (!ids.isEmpty()) {
+                planificar(ids);
+                desdeId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == TAMANO_BLOQUE);
+    }
+
+    @Transactional
+    public void planificar(Collection<Long> facturaIds) {
+        List<Long> ids = List.copyOf(facturaIds);
+        for (int i = 0; i < ids.size(); i += TAMANO_BLOQUE) {
+            planificarBloque(ids.subList(i, Math.min(i + TAMANO_BLOQUE, ids.size())));
+        }
+    }
+
+    private void planificarBloque(List<Long> facturaIds) {
+        recordatorioRepository.deleteByFacturaIdsAndEstado(facturaIds, EstadoRecordatorio.PROGRAMADO);
+
+        List<FacturaARecordar> facturas = facturaRepository.findParaRecordatorio(facturaIds).stream()
+                .filter(f -> f.estado() == EstadoFactura.ABIERTA)
+                .filter(f -> f.telefonoInquilino() != null && !f.telefonoInquilino().isBlank())
+                .toList();
+        if (facturas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ConfigRecordatorio> configs = configuracionesActivas(facturas);
+        Set<ProgramacionRecordatorio> enviados = new HashSet<>(
+                recordatorioRepository.findProgramacionesPorEstado(facturaIds, EstadoRecordatorio.ENVIADO));
+        enviados.addAll(recordatorioArchivadoRepository.findProgramacionesPorEstado(facturaIds, EstadoRecordatorio.ENVIADO));
+        LocalTime hora = LocalTime.parse(horaEnvio);
+
+        int creados = 0;
+        for (FacturaARecordar factura : facturas) {
+            ConfigRecordatorio config = configs.get(factura.propiedadId());
+            if (config == null) {
+                continue;
+            }
+            LocalDateTime programadoPara = factura.fechaVencimiento().minusDays(config.getDiasAntes()).atTime(hora);
+            if (enviados.contains(new ProgramacionRecordatorio(factura.facturaId(), programadoPara))) {
+                continue;
+            }
+            entityManager.persist(Recordatorio.builder()
+                    .factura(entityManager.getReference(Factura.class, factura.facturaId()))
+                    .contrato(entityManager.getReference(Contrato.class, factura.contratoId()))
+                    .programadoPara(programadoPara)
+                    .canal(Recordatorio.Canal.WHATSAPP)
+                    .telefonoDestino(factura.telefonoInquilino())
+                    .mensaje(mensaje(factura))
+                    .estado(EstadoRecordatorio.PROGRAMADO)
+                    .build());
+            creados++;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        log.debug("Programados {} recordatorios para {} facturas", creados, facturaIds.size());
+    }
+
+    private Map<Long, ConfigRecordatorio> configuracionesActivas(List<FacturaARecordar> facturas) {
+        Set<Long> propiedadIds = facturas.stream().map(FacturaARecordar::propiedadId).collect(Collectors.toSet());
+        return configRecordatorioService.activasPorPropiedad(propiedadIds);
+    }
+
+    private static String mensaje(FacturaARecordar factura) {
+        return "Hola " + factura.nombreInquilino() + ", te recordamos que tu renta vence el "
+                + FORMATO_FECHA.format(factura.fechaVencimiento()) + ".";
+    }
+}
@@ -0,0 +1,63 @@
+package com.habitora.backend.service.recordatorio;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habitora.backend.service.http.HttpClient;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Envía mensajes de WhatsApp a través de la pasarela del proveedor.
+ *
+ * <p>Contrato de la pasarela: {@code POST {url-base}/messages} con
+ * {@code {"from","to","text"}}; responde {@code {"id"}} con el identificador
+ * del mensaje en el proveedor.
+ */
+@Component
+@RequiredArgsConstructor
+public class WhatsAppSender {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${habitora.whatsapp.url-base:http://localhost:8090}")
+    private String urlBase;
+
+    @Value("${habitora.whatsapp.token:}")
+    private String token;
+
+    /**
+     * @return identificador del mensaje asignado por el proveedor
+     * @throws MensajeRechazadoException si el proveedor rechaza el mensaje
+     *         (4xx salvo 408 y 429)
+     * @throws IOException si el proveedor no responde o falla; puede
+     *         reintentarse
+     */
+    public String enviar(String remitente, String destino, String mensaje) throws IOException, InterruptedException {
+        String cuerpo = objectMapper.writeValueAsString(Map.of(
+                "from", remitente,
+                "to", destino,
+                "text", mensaje == null ? "" : mensaje));
+
+        HttpResponse<String> respuesta = httpClient.postJson(
+                URI.create(urlBase + "/messages"), cuerpo, Map.of("Authorization", "Bearer " + token));
+
+        int status = respuesta.statusCode();
+        if (status / 100 == 4 && status != 408 && status != 429) {
+            throw new MensajeRechazadoException("El proveedor rechazó el mensaje con " + status + ": " + respuesta.body());
+        }
+        if (status / 100 != 2) {
+            throw new IOException("El proveedor respondió " + status + ": " + respuesta.body());
+        }
+        JsonNode json = objectMapper.readTree(respuesta.body());
+        return json.path("id").asText(null);
+    }
+}
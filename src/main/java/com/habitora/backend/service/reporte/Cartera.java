@@ -0,0 +1,106 @@
+package com.habitora.backend.service.reporte;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * La cartera de un reporte en columnas de primitivos, con los montos en
+ * céntimos: una fila por contrato activo y otra por factura abierta, más el
+ * historial de cobranza de cada propiedad.
+ *
+ * <p>Las filas llegan ordenadas por propiedad; {@link #cerrar()} calcula los
+ * desplazamientos, así las filas de la propiedad {@code p} son
+ * {@code inicioContratos[p] .. inicioContratos[p + 1] - 1} (igual para las
+ * facturas) y cada propiedad se puede calcular en un hilo distinto sin
+ * compartir nada.
+ */
+final class Cartera {
+
+    /** Mes sin fin, para los contratos indefinidos. */
+    static final int SIN_FIN = Integer.MAX_VALUE;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    /** Ids de las propiedades, ordenados; la posición es el índice de la propiedad. */
+    final long[] propiedadIds;
+
+    int contratos;
+    /** Primer mes a proyectar: el siguiente al último facturado (ver {@link #mes}). */
+    int[] contratoDesde = new int[CAPACIDAD_INICIAL];
+    int[] contratoHasta = new int[CAPACIDAD_INICIAL];
+    long[] contratoRenta = new long[CAPACIDAD_INICIAL];
+    final int[] inicioContratos;
+
+    int facturas;
+    /** Vencimiento en días desde la época. */
+    int[] facturaVencimiento = new int[CAPACIDAD_INICIAL];
+    int[] facturaMes = new int[CAPACIDAD_INICIAL];
+    long[] facturaSaldo = new long[CAPACIDAD_INICIAL];
+    final int[] inicioFacturas;
+
+    /** Facturado y cobrado en la ventana del historial, por propiedad. */
+    final long[] facturado;
+    final long[] cobrado;
+
+    Cartera(long[] propiedadIdsOrdenados) {
+        int n = propiedadIdsOrdenados.length;
+        this.propiedadIds = propiedadIdsOrdenados;
+        this.inicioContratos = new int[n + 1];
+        this.inicioFacturas = new int[n + 1];
+        this.facturado = new long[n];
+        this.cobrado = new long[n];
+    }
+
+    /** Año y mes como un entero consecutivo ({@code año * 12 + mes - 1}). */
+    static int mes(LocalDate fecha) {
+        return fecha.getYear() * 12 + fecha.getMonthValue() - 1;
+    }
+
+    int indice(long propiedadId) {
+        int indice = Arrays.binarySearch(propiedadIds, propiedadId);
+        if (indice < 0) {
+            throw new IllegalStateException("Fila de la propiedad " + propiedadId + ", que no se pidió.");
+        }
+        return indice;
+    }
+
+    void agregarContrato(long propiedadId, int desde, int hasta, long renta) {
+        if (contratos == contratoRenta.length) {
+            int capacidad = contratos * 2;
+            contratoDesde = Arrays.copyOf(contratoDesde, capacidad);
+            contratoHasta = Arrays.copyOf(contratoHasta, capacidad);
+            contratoRenta = Arrays.copyOf(contratoRenta, capacidad);
+        }
+        contratoDesde[contratos] = desde;
+        contratoHasta[contratos] = hasta;
+        contratoRenta[contratos] = renta;
+        contratos++;
+        inicioContratos[indice(propiedadId) + 1]++;
+    }
+
+    void agregarFactura(long propiedadId, LocalDate vencimiento, long saldo) {
+        if (facturas == facturaSaldo.length) {
+            int capacidad = facturas * 2;
+            facturaVencimiento = Arrays.copyOf(facturaVencimiento, capacidad);
+            facturaMes = Arrays.copyOf(facturaMes, capacidad);
+            facturaSaldo = Arrays.copyOf(facturaSaldo, capacidad);
+        }
+        facturaVencimiento[facturas] = (int) vencimiento.toEpochDay();
+        facturaMes[facturas] = mes(vencimiento);
+        facturaSaldo[facturas] = saldo;
+        facturas++;
+        inicioFacturas[indice(propiedadId) + 1]++;
+    }
+
+    /** Convierte las cuentas por propiedad en desplazamientos; se llama al terminar la carga. */
+    void cerrar() {
+        for (int p = 0; p < propiedadIds.length; p++) {
+            inicioContratos[p + 1] += inicioContratos[p];
+            inicioFacturas[p + 1] += inicioFacturas[p];
+        }
+    }
+
+    int filas() {
+        return contratos + facturas;
+    }
+}
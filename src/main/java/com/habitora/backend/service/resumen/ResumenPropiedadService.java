@@ -0,0 +1,171 @@
+package com.habitora.backend.service.resumen;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.entity.ResumenPropiedad;
+import com.habitora.backend.persistence.projection.OcupacionPropiedad;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.persistence.repository.ResumenPropiedadRepository;
+import com.habitora.backend.presentation.dto.ResumenPropiedadResponse;
+import com.habitora.backend.service.event.ContratoCambiadoEvent;
+import com.habitora.backend.service.event.FacturasEmitidasEvent;
+import com.habitora.backend.service.event.FacturasModificadasEvent;
+import com.habitora.backend.service.event.PagosRegistradosEvent;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantiene {@code resumen_propiedades}, el resumen de ocupación y cobranza
+ * que sirve el dashboard.
+ *
+ * <p>Los eventos de contratos, facturas y pagos sólo marcan la fila de la
+ * propiedad afectada como pendiente, en la transacción en que se publican:
+ * la marca sobrevive a un reinicio y cualquier nodo puede atenderla. Una
+ * tarea periódica recalcula cada propiedad pendiente una sola vez con cuatro
+ * agregados indexados, de modo que una importación de miles de pagos no
+ * provoca miles de recálculos, y limpia la marca sólo si nadie volvió a
+ * marcarla mientras calculaba. El recálculo completo diario cubre el cambio
+ * de mes y las facturas que vence el barrido nocturno. Una propiedad sin
+ * fila se calcula al leerla por primera vez.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumenPropiedadService {
+
+    private static final int TAMANO_BLOQUE = 500;
+
+    private final ResumenPropiedadRepository resumenRepository;
+    private final PropiedadRepository propiedadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public ResumenPropiedadResponse obtener(Long propiedadId) {
+        ResumenPropiedad resumen = resumenRepository.findById(propiedadId)
+                .orElseGet(() -> {
+                    if (!propiedadRepository.existsById(propiedadId)) {
+                        throw new RecursoNoEncontradoException("Propiedad", propiedadId);
+                    }
+                    return recalcular(propiedadId);
+                });
+        return ResumenPropiedadResponse.from(resumen);
+    }
+
+    @EventListener
+    public void alEmitirFacturas(FacturasEmitidasEvent evento) {
+        marcarPorFacturas(evento.facturaIds());
+    }
+
+    @EventListener
+    public void alModificarFacturas(FacturasModificadasEvent evento) {
+        marcarPorFacturas(evento.facturaIds());
+    }
+
+    @EventListener
+    public void alRegistrarPagos(PagosRegistradosEvent evento) {
+        marcarPorFacturas(evento.facturaIds());
+    }
+
+    @EventListener
+    public void alCambiarContrato(ContratoCambiadoEvent evento) {
+        marcarPendiente(evento.propiedadId());
+    }
+
+    public void marcarPendiente(Long propiedadId) {
+        marcar(List.of(propiedadId));
+    }
+
+    private void marcarPorFacturas(Collection<Long> facturaIds) {
+        transactionTemplate.executeWithoutResult(status ->
+                marcar(resumenRepository.findPropiedadIdsDeFacturas(facturaIds)));
+    }
+
+    private void marcar(Collection<Long> propiedadIds) {
+        if (!propiedadIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> resumenRepository.marcarPendientes(propiedadIds));
+        }
+    }
+
+    /**
+     * Recalcula las propiedades marcadas. Una que falla queda marcada y se
+     * reintenta en la siguiente pasada.
+     */
+    @Scheduled(fixedDelayString = "${habitora.resumen.intervalo:PT5S}")
+    public void recalcularPendientes() {
+        long desdeId = 0;
+        List<Long> lote;
+        do {
+            lote = resumenRepository.findPendientes(desdeId, Limit.of(TAMANO_BLOQUE));
+            for (Long propiedadId : lote) {
+                try {
+                    recalcular(propiedadId);
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo recalcular el resumen de la propiedad {}", propiedadId, e);
+                }
+            }
+            if (!lote.isEmpty()) {
+                desdeId = lote.get(lote.size() - 1);
+            }
+        } while (lote.size() == TAMANO_BLOQUE);
+    }
+
+    @Scheduled(cron = "${habitora.resumen.cron-completo:0 30 0 * * *}", zone = "${habitora.zona-horaria:America/Lima}")
+    public void marcarTodas() {
+        long desdeId = 0;
+        List<Long> ids;
+        do {
+            ids = resumenRepository.findPropiedadIds(desdeId, Limit.of(TAMANO_BLOQUE));
+            marcar(ids);
+            if (!ids.isEmpty()) {
+                desdeId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == TAMANO_BLOQUE);
+    }
+
+    ResumenPropiedad recalcular(Long propiedadId) {
+        try {
+            return transactionTemplate.execute(status -> calcularYGuardar(propiedadId));
+        } catch (DataIntegrityViolationException e) {
+            // Otro nodo insertó la fila a la vez: basta con volver a escribirla.
+            return transactionTemplate.execute(status -> calcularYGuardar(propiedadId));
+        }
+    }
+
+    private ResumenPropiedad calcularYGuardar(Long propiedadId) {
+        YearMonth mes = YearMonth.now(clock);
+        OcupacionPropiedad ocupacion = resumenRepository.calcularOcupacion(propiedadId, EstadoHabitacion.OCUPADA);
+
+        ResumenPropiedad resumen = resumenRepository.findById(propiedadId)
+                .orElseGet(() -> ResumenPropiedad.builder().propiedadId(propiedadId).build());
+        long marca = resumen.getMarca();
+        resumen.setTotalHabitaciones(ocupacion.totalHabitaciones().intValue())
+                .setHabitacionesOcupadas(ocupacion.habitacionesOcupadas().intValue())
+                .setRentaMensualEsperada(resumenRepository.calcularRentaEsperada(propiedadId, EstadoContrato.ACTIVO))
+                .setMes(mes.atDay(1))
+                .setRentaCobradaMes(resumenRepository.calcularCobrado(propiedadId, mes.atDay(1), mes.atEndOfMonth()))
+                .setMontoVencido(resumenRepository.calcularSaldo(propiedadId, EstadoFactura.VENCIDA))
+                .setActualizadoEn(LocalDateTime.now(clock));
+        ResumenPropiedad guardado = resumenRepository.save(resumen);
+        if (resumen.getPendiente()) {
+            resumenRepository.limpiarPendiente(propiedadId, marca);
+        }
+        return guardado;
+    }
+}
@@ -0,0 +1,108 @@
+package com.habitora.backend.service.seguridad;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import com.habitora.backend.persistence.entity.Usuario;
+import com.habitora.backend.persistence.repository.UsuarioRepository;
+import com.habitora.backend.presentation.dto.TokenResponse;
+import com.habitora.backend.service.exception.CredencialesInvalidasException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Login con email y contraseña (BCrypt) que emite un token de acceso JWT
+ * firmado con HS256. No hay sesión en el servidor: cada petición trae su
+ * token.
+ *
+ * <p>La verificación corre sin transacción abierta, para no retener una
+ * conexión del pool mientras BCrypt trabaja, y pasa por el
+ * {@link LimitadorLogin}. Un email inexistente también paga un BCrypt, así
+ * el tiempo de respuesta no revela qué emails están registrados. Si el hash
+ * guardado tiene un costo menor que el configurado, se rehace.
+ */
+@Slf4j
+@Service
+public class AutenticacionService {
+
+    /** {@code iss} de los tokens emitidos; el decodificador rechaza cualquier otro. */
+    public static final String EMISOR = "habitora";
+
+    private final UsuarioRepository usuarioRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtEncoder jwtEncoder;
+    private final LimitadorLogin limitador;
+    private final Clock clock;
+    private final Duration duracionToken;
+    private final String hashSimulado;
+
+    public AutenticacionService(UsuarioRepository usuarioRepository,
+                                PasswordEncoder passwordEncoder,
+                                JwtEncoder jwtEncoder,
+                                LimitadorLogin limitador,
+                                Clock clock,
+                                @Value("${habitora.seguridad.jwt.duracion:PT1H}") Duration duracionToken) {
+        this.usuarioRepository = usuarioRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtEncoder = jwtEncoder;
+        this.limitador = limitador;
+        this.clock = clock;
+        this.duracionToken = duracionToken;
+        this.hashSimulado = passwordEncoder.encode("habitora-usuario-inexistente");
+    }
+
+    /**
+     * @param origen IP del cliente; tras un proxy, la que resolvió Tomcat a
+     *               partir de {@code X-Forwarded-For} (ver
+     *               {@code server.forward-headers-strategy})
+     */
+    public TokenResponse login(String email, String contraseña, String origen) {
+        limitador.verificarPermitido(email, origen);
+        Usuario usuario;
+        try {
+            usuario = limitador.conTurno(() -> verificar(email.strip(), contraseña));
+        } catch (CredencialesInvalidasException e) {
+            limitador.registrarFallo(email, origen);
+            throw e;
+        }
+        limitador.registrarExito(email);
+
+        Instant ahora = clock.instant();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(EMISOR)
+                .subject(usuario.getId().toString())
+                .issuedAt(ahora)
+                .expiresAt(ahora.plus(duracionToken))
+                .claim("email", usuario.getEmail())
+                .build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+        return new TokenResponse(token, "Bearer", duracionToken.toSeconds());
+    }
+
+    private Usuario verificar(String email, String contraseña) {
+        Usuario usuario = usuarioRepository.findByEmail(email).orElse(null);
+        if (usuario == null) {
+            passwordEncoder.matches(contraseña, hashSimulado);
+            throw new CredencialesInvalidasException();
+        }
+        if (!passwordEncoder.matches(contraseña, usuario.getContraseña())) {
+            throw new CredencialesInvalidasException();
+        }
+        if (passwordEncoder.upgradeEncoding(usuario.getContraseña())) {
+            usuarioRepository.save(usuario.setContraseña(passwordEncoder.encode(contraseña)));
+            log.info("Hash de contraseña del usuario {} actualizado al costo vigente", usuario.getId());
+        }
+        return usuario;
+    }
+}
@@ -0,0 +1,150 @@
+package com.habitora.backend.service.seguridad;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.habitora.backend.persistence.entity.Usuario;
+import com.habitora.backend.persistence.repository.ContratoRepository;
+import com.habitora.backend.persistence.repository.FacturaArchivadaRepository;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.persistence.repository.HabitacionRepository;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.persistence.repository.UsuarioRepository;
+import com.habitora.backend.service.cache.CanalInvalidacion;
+import com.habitora.backend.service.cache.MensajeInvalidacion;
+import com.habitora.backend.service.exception.AccesoDenegadoException;
+import com.habitora.backend.service.exception.RecursoNoEncontradoException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Comprueba que el usuario del token sea dueño de lo que pide.
+ *
+ * <p>Una propiedad, contrato, factura o habitación ajena responde 404, igual
+ * que una inexistente: la respuesta no revela qué ids existen. (Las consultas
+ * de contratos y facturas ya no ven los ajenos por el filtro del
+ * propietario, y la caché de {@link #propiedadDe} puede tener el dueño de un
+ * recurso ajeno: con 403 para las propiedades, el resultado dependería de
+ * esa caché.) Sólo pedir datos de otro usuario por su id responde 403.
+ *
+ * <p>El usuario y los ids de sus propiedades se guardan en una caché con
+ * TTL ({@code habitora.seguridad.cache-principales.ttl}), así la comprobación
+ * por petición no consulta la base. Un alta de propiedad lo descarta en todos
+ * los nodos por el {@link CanalInvalidacion}; cualquier otro cambio se ve, a
+ * lo sumo, al vencer el TTL. La propiedad de un contrato, factura o
+ * habitación no cambia nunca, así que esas búsquedas se cachean sin TTL.
+ */
+@Service
+public class AutorizacionService {
+
+    /** Tema de los mensajes de esta caché en el canal de invalidación. */
+    public static final String TEMA = "usuario";
+
+    private final UsuarioRepository usuarioRepository;
+    private final PropiedadRepository propiedadRepository;
+    private final ContratoRepository contratoRepository;
+    private final FacturaRepository facturaRepository;
+    private final FacturaArchivadaRepository facturaArchivadaRepository;
+    private final HabitacionRepository habitacionRepository;
+    private final CanalInvalidacion canal;
+
+    private final Cache<Long, UsuarioAutenticado> principales;
+    private final Cache<String, Long> propiedadDeRecurso;
+    private final String nodo = UUID.randomUUID().toString();
+
+    public AutorizacionService(UsuarioRepository usuarioRepository,
+                               PropiedadRepository propiedadRepository,
+                               ContratoRepository contratoRepository,
+                               FacturaRepository facturaRepository,
+                               FacturaArchivadaRepository facturaArchivadaRepository,
+                               HabitacionRepository habitacionRepository,
+                               CanalInvalidacion canal,
+                               @Value("${habitora.seguridad.cache-principales.ttl:PT5M}") Duration ttl,
+                               @Value("${habitora.seguridad.cache-principales.maximo:10000}") long maximo) {
+        this.usuarioRepository = usuarioRepository;
+        this.propiedadRepository = propiedadRepository;
+        this.contratoRepository = contratoRepository;
+        this.facturaRepository = facturaRepository;
+        this.facturaArchivadaRepository = facturaArchivadaRepository;
+        this.habitacionRepository = habitacionRepository;
+        this.canal = canal;
+        this.principales = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximo).build();
+        this.propiedadDeRecurso = Caffeine.newBuilder().maximumSize(maximo * 10).build();
+    }
+
+    @PostConstruct
+    void suscribir() {
+        canal.suscribir(this::recibir);
+    }
+
+    /** Usuario de la petición en curso (el {@code sub} del token). */
+    public UsuarioAutenticado actual() {
+        return principal(PropietarioActual.id().orElseThrow(() -> new AccesoDenegadoException("Usuario", null)));
+    }
+
+    /** El usuario con sus propiedades, desde la caché o (si no está) desde la base. */
+    public UsuarioAutenticado principal(Long usuarioId) {
+        return principales.get(usuarioId, this::cargar);
+    }
+
+    private UsuarioAutenticado cargar(Long usuarioId) {
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new AccesoDenegadoException("Usuario", usuarioId));
+        return new UsuarioAutenticado(usuario.getId(), usuario.getEmail(),
+                propiedadRepository.findIdsByUsuarioId(usuarioId));
+    }
+
+    public void verificarUsuario(Long usuarioId) {
+        if (!actual().id().equals(usuarioId)) {
+            throw new AccesoDenegadoException("Usuario", usuarioId);
+        }
+    }
+
+    public void verificarPropiedad(Long propiedadId) {
+        if (!actual().esDuenoDe(propiedadId)) {
+            throw new RecursoNoEncontradoException("Propiedad", propiedadId);
+        }
+    }
+
+    public void verificarContrato(Long contratoId) {
+        verificarPropiedad(propiedadDe("Contrato", contratoId, contratoRepository::findPropiedadIdById));
+    }
+
+    public void verificarFactura(Long facturaId) {
+        verificarPropiedad(propiedadDe("Factura", facturaId, id -> facturaRepository.findPropiedadIdById(id)
+                .or(() -> facturaArchivadaRepository.findPropiedadIdById(id))));
+    }
+
+    public void verificarHabitacion(Long habitacionId) {
+        verificarPropiedad(propiedadDe("Habitacion", habitacionId, habitacionRepository::findPropiedadIdById));
+    }
+
+    private Long propiedadDe(String recurso, Long id, Function<Long, Optional<Long>> buscar) {
+        String clave = recurso + ":" + id;
+        Long propiedadId = propiedadDeRecurso.getIfPresent(clave);
+        if (propiedadId == null) {
+            propiedadId = buscar.apply(id).orElseThrow(() -> new RecursoNoEncontradoException(recurso, id));
+            propiedadDeRecurso.put(clave, propiedadId);
+        }
+        return propiedadId;
+    }
+
+    /** Descarta el usuario en todos los nodos; p. ej. tras darle de alta una propiedad. */
+    public void invalidar(Long usuarioId) {
+        principales.invalidate(usuarioId);
+        canal.publicar(new MensajeInvalidacion(nodo, TEMA, usuarioId));
+    }
+
+    void recibir(MensajeInvalidacion mensaje) {
+        if (TEMA.equals(mensaje.entidad()) && !nodo.equals(mensaje.nodoOrigen())) {
+            principales.invalidate(((Number) mensaje.id()).longValue());
+        }
+    }
+}
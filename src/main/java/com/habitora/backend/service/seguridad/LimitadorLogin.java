@@ -0,0 +1,104 @@
+package com.habitora.backend.service.seguridad;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.habitora.backend.service.exception.DemasiadosIntentosException;
+
+/**
+ * Acota el costo de BCrypt en el login:
+ * <ul>
+ *   <li>ventana fija de intentos fallidos por email y por IP de origen: el
+ *       contador nace con el primer fallo y vence {@code ventana} después. Un
+ *       login correcto borra el contador de su email, no el de la IP (si no,
+ *       bastaría entrar con una cuenta propia para seguir probando otras);</li>
+ *   <li>un semáforo limita las verificaciones simultáneas (por defecto, una
+ *       por núcleo), así una ráfaga espera o recibe 429 en vez de ocupar
+ *       toda la CPU.</li>
+ * </ul>
+ * Los contadores son de este nodo: con N nodos el límite efectivo es N veces
+ * el configurado.
+ */
+@Component
+public class LimitadorLogin {
+
+    private final Cache<String, AtomicInteger> intentos;
+    private final Semaphore verificaciones;
+    private final int intentosPorEmail;
+    private final int intentosPorIp;
+    private final Duration ventana;
+    private final Duration esperaMaxima;
+
+    public LimitadorLogin(@Value("${habitora.seguridad.login.intentos-por-email:5}") int intentosPorEmail,
+                          @Value("${habitora.seguridad.login.intentos-por-ip:20}") int intentosPorIp,
+                          @Value("${habitora.seguridad.login.ventana:PT1M}") Duration ventana,
+                          @Value("${habitora.seguridad.login.max-concurrentes:0}") int maxConcurrentes,
+                          @Value("${habitora.seguridad.login.espera-maxima:PT2S}") Duration esperaMaxima) {
+        this.intentosPorEmail = intentosPorEmail;
+        this.intentosPorIp = intentosPorIp;
+        this.ventana = ventana;
+        this.esperaMaxima = esperaMaxima;
+        this.intentos = Caffeine.newBuilder().expireAfterWrite(ventana).maximumSize(100_000).build();
+        this.verificaciones = new Semaphore(maxConcurrentes > 0
+                ? maxConcurrentes
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Lanza 429 si el email o la IP ya agotaron sus intentos fallidos. */
+    public void verificarPermitido(String email, String origen) {
+        verificar(claveEmail(email), intentosPorEmail);
+        verificar(claveIp(origen), intentosPorIp);
+    }
+
+    public void registrarFallo(String email, String origen) {
+        intentos.get(claveEmail(email), k -> new AtomicInteger()).incrementAndGet();
+        intentos.get(claveIp(origen), k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void registrarExito(String email) {
+        intentos.invalidate(claveEmail(email));
+    }
+
+    private void verificar(String clave, int maximo) {
+        AtomicInteger fallos = intentos.getIfPresent(clave);
+        if (fallos != null && fallos.get() >= maximo) {
+            throw new DemasiadosIntentosException(ventana);
+        }
+    }
+
+    private static String claveEmail(String email) {
+        return "email:" + email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static String claveIp(String origen) {
+        return "ip:" + origen;
+    }
+
+    /** Ejecuta la verificación de la contraseña con uno de los turnos del semáforo. */
+    public <T> T conTurno(Supplier<T> verificacion) {
+        boolean turno;
+        try {
+            turno = verificaciones.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DemasiadosIntentosException(esperaMaxima);
+        }
+        if (!turno) {
+            throw new DemasiadosIntentosException(esperaMaxima);
+        }
+        try {
+            return verificacion.get();
+        } finally {
+            verificaciones.release();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.habitora.backend.service.seguridad;
+
+import java.util.Optional;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Id del usuario autenticado en el hilo actual (el {@code sub} del token),
+ * sin consultar la base. Vacío en las tareas programadas, el login y
+ * cualquier hilo sin autenticación.
+ */
+public final class PropietarioActual {
+
+    private PropietarioActual() {
+    }
+
+    public static Optional<Long> id() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion == null || !autenticacion.isAuthenticated()
+                || autenticacion instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(autenticacion.getName()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.habitora.backend.service.seguridad;
+
+import java.util.List;
+
+/**
+ * Usuario del token ya verificado contra la base, con los ids de sus
+ * propiedades (en orden de id).
+ */
+public record UsuarioAutenticado(Long id, String email, List<Long> propiedadIds) {
+
+    public boolean esDuenoDe(Long propiedadId) {
+        return propiedadIds.contains(propiedadId);
+    }
+}
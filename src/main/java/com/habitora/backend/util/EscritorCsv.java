@@ -0,0 +1,67 @@
+package com.habitora.backend.util;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escritor CSV (RFC 4180) sobre un flujo de salida, con búfer propio y sin
+ * acumular filas: lo escrito llega al flujo en cada {@link #flush()}.
+ *
+ * <p>Empieza con BOM UTF-8 para que Excel respete las tildes, y antepone un
+ * apóstrofo a los textos que empiezan como fórmula ({@code = + - @}).
+ */
+public class EscritorCsv implements Flushable {
+
+    private static final int TAMANO_BUFER = 64 * 1024;
+
+    private final Writer writer;
+
+    public EscritorCsv(OutputStream salida) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFER);
+        writer.write('\uFEFF');
+    }
+
+    public void fila(Object... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(celda(valores[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static String celda(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor instanceof BigDecimal numero) {
+            return numero.toPlainString();
+        }
+        if (valor instanceof Enum<?> constante) {
+            return constante.name();
+        }
+        if (!(valor instanceof CharSequence)) {
+            return valor.toString();
+        }
+        String texto = valor.toString();
+        if (!texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            texto = '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,70 @@
+package com.habitora.backend.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket sencillo: permite ráfagas de hasta {@code capacidad} permisos
+ * y repone {@code permisosPorSegundo} permisos por segundo.
+ *
+ * <p>{@link #adquirir()} bloquea al hilo llamante hasta obtener un permiso,
+ * pensado para ejecutarse en hilos virtuales.
+ */
+public class LimitadorTasa {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final double capacidad;
+    private final double permisosPorNano;
+    private double disponibles;
+    private long ultimaRecarga;
+
+    public LimitadorTasa(double permisosPorSegundo, int capacidad) {
+        if (permisosPorSegundo <= 0 || capacidad <= 0) {
+            throw new IllegalArgumentException("La tasa y la capacidad deben ser positivas.");
+        }
+        this.capacidad = capacidad;
+        this.permisosPorNano = permisosPorSegundo / TimeUnit.SECONDS.toNanos(1);
+        this.disponibles = capacidad;
+        this.ultimaRecarga = System.nanoTime();
+    }
+
+    /** Intenta tomar un permiso sin esperar. */
+    public boolean intentarAdquirir() {
+        lock.lock();
+        try {
+            recargar();
+            if (disponibles >= 1) {
+                disponibles -= 1;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Toma un permiso, esperando lo necesario hasta que se repongan. */
+    public void adquirir() throws InterruptedException {
+        while (true) {
+            long espera;
+            lock.lock();
+            try {
+                recargar();
+                if (disponibles >= 1) {
+                    disponibles -= 1;
+                    return;
+                }
+                espera = (long) Math.ceil((1 - disponibles) / permisosPorNano);
+            } finally {
+                lock.unlock();
+            }
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+
+    private void recargar() {
+        long ahora = System.nanoTime();
+        disponibles = Math.min(capacidad, disponibles + (ahora - ultimaRecarga) * permisosPorNano);
+        ultimaRecarga = ahora;
+    }
+}
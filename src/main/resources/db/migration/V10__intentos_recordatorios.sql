@@ -0,0 +1,4 @@
+-- Intentos de envío de cada recordatorio (ver DespachadorRecordatoriosService):
+-- un fallo pasajero de la pasarela lo reprograma en lugar de darlo por fallido.
+
+alter table recordatorios add column intentos integer not null default 0;
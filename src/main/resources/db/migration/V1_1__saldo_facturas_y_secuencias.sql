@@ -0,0 +1,39 @@
+-- Cambios de las entidades posteriores al esquema base de V1. Corre también
+-- sobre las bases marcadas con baseline en V1, que tienen datos: las
+-- columnas nuevas se agregan al final con valor por defecto (sin copiar la
+-- tabla en MySQL 8) y se completan desde lo ya registrado.
+
+-- Saldo acumulado y versión para el bloqueo optimista de las facturas.
+alter table facturas add column monto_pagado decimal(12,2) not null default 0;
+alter table facturas add column version bigint not null default 0;
+
+update facturas f
+set monto_pagado = (select sum(p.monto) from pagos p where p.factura_id = f.id)
+where exists (select 1 from pagos p where p.factura_id = f.id);
+
+create table resumen_propiedades (
+    propiedad_id bigint not null,
+    total_habitaciones integer not null,
+    habitaciones_ocupadas integer not null,
+    renta_mensual_esperada decimal(14,2) not null,
+    mes date not null,
+    renta_cobrada_mes decimal(14,2) not null,
+    monto_vencido decimal(14,2) not null,
+    actualizado_en datetime(6) not null,
+    primary key (propiedad_id)
+) engine=InnoDB;
+
+-- MySQL no tiene secuencias: Hibernate emula las pooled (allocationSize 50)
+-- con una tabla de una fila por secuencia. Cada lectura reserva los 50 ids
+-- que terminan en next_val, así que con filas existentes se siembra con
+-- max(id) + 50 para que el primer bloque empiece después del último id. Las
+-- columnas id conservan su auto_increment: Hibernate siempre envía el id y
+-- quitarlo obligaría a copiar las tablas.
+create table contratos_seq (next_val bigint) engine=InnoDB;
+insert into contratos_seq select coalesce(max(id) + 50, 1) from contratos;
+create table facturas_seq (next_val bigint) engine=InnoDB;
+insert into facturas_seq select coalesce(max(id) + 50, 1) from facturas;
+create table pagos_seq (next_val bigint) engine=InnoDB;
+insert into pagos_seq select coalesce(max(id) + 50, 1) from pagos;
+create table recordatorios_seq (next_val bigint) engine=InnoDB;
+insert into recordatorios_seq select coalesce(max(id) + 50, 1) from recordatorios;
@@ -0,0 +1,129 @@
+-- Esquema inicial: tablas, claves primarias, únicas y foráneas tal como las
+-- generaba Hibernate (MySQLDialect) con ddl-auto, antes de Flyway.
+--
+-- Las bases que ya existían se marcan con baseline en esta versión y no la
+-- ejecutan, así que debe quedar igual a ellas: todo cambio posterior de las
+-- entidades va en una migración nueva (V1_1 en adelante), y los índices
+-- secundarios en V2__IndicesConsultasFrecuentes, que sí corren sobre ellas.
+
+create table usuarios (
+    id bigint not null auto_increment,
+    nombre_completo varchar(120) not null,
+    email varchar(160) not null,
+    telefono_whatsapp varchar(40),
+    contraseña varchar(255) not null,
+    primary key (id),
+    constraint uk_usuario_email unique (email)
+) engine=InnoDB;
+
+create table propiedades (
+    id bigint not null auto_increment,
+    usuario_id bigint not null,
+    nombre varchar(120) not null,
+    direccion varchar(200),
+    cantidad_pisos integer not null,
+    piso_residencia_dueno integer,
+    primary key (id)
+) engine=InnoDB;
+
+create table pisos (
+    id bigint not null auto_increment,
+    propiedad_id bigint not null,
+    numero_piso integer not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table habitaciones (
+    id bigint not null auto_increment,
+    propiedad_id bigint not null,
+    piso_id bigint not null,
+    codigo varchar(50) not null,
+    precio_renta decimal(12,2) not null,
+    estado enum ('DISPONIBLE','OCUPADA') not null,
+    primary key (id),
+    constraint uk_codigo_propiedad unique (propiedad_id, codigo)
+) engine=InnoDB;
+
+create table inquilinos (
+    id bigint not null auto_increment,
+    nombre_completo varchar(140) not null,
+    numero_dni varchar(20) not null,
+    email varchar(160),
+    telefono_whatsapp varchar(40),
+    primary key (id),
+    constraint uk_inquilino_dni unique (numero_dni)
+) engine=InnoDB;
+
+create table contratos (
+    id bigint not null auto_increment,
+    propiedad_id bigint not null,
+    habitacion_id bigint not null,
+    inquilino_id bigint not null,
+    estado enum ('ACTIVO','CANCELADO') not null,
+    fecha_inicio date not null,
+    fecha_fin date,
+    monto_deposito decimal(12,2) not null,
+    url_archivo_firmado varchar(300),
+    primary key (id)
+) engine=InnoDB;
+
+create table facturas (
+    id bigint not null auto_increment,
+    contrato_id bigint not null,
+    periodo_inicio date not null,
+    periodo_fin date not null,
+    fecha_vencimiento date not null,
+    monto_renta decimal(12,2) not null,
+    total_a_pagar decimal(12,2) not null,
+    estado enum ('ABIERTA','PAGADA','VENCIDA','CANCELADA') not null,
+    primary key (id),
+    constraint uk_factura_periodo unique (contrato_id, periodo_inicio, periodo_fin)
+) engine=InnoDB;
+
+create table pagos (
+    id bigint not null auto_increment,
+    contrato_id bigint not null,
+    factura_id bigint,
+    fecha_pago date not null,
+    monto decimal(12,2) not null,
+    metodo enum ('EFECTIVO','TRANSFERENCIA','YAPE','PLIN','OTRO') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table config_recordatorios (
+    id bigint not null auto_increment,
+    propiedad_id bigint not null,
+    dias_antes integer not null,
+    canal enum ('WHATSAPP') not null,
+    telefono_remitente varchar(40),
+    esta_activo bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table recordatorios (
+    id bigint not null auto_increment,
+    factura_id bigint not null,
+    contrato_id bigint not null,
+    programado_para datetime(6) not null,
+    enviado_en datetime(6),
+    canal enum ('WHATSAPP') not null,
+    telefono_destino varchar(40) not null,
+    mensaje longtext,
+    id_mensaje_proveedor varchar(120),
+    estado enum ('PROGRAMADO','ENVIADO','FALLIDO','CANCELADO') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table propiedades add constraint fk_propiedad_usuario foreign key (usuario_id) references usuarios (id);
+alter table pisos add constraint fk_piso_propiedad foreign key (propiedad_id) references propiedades (id);
+alter table habitaciones add constraint fk_habitacion_propiedad foreign key (propiedad_id) references propiedades (id);
+alter table habitaciones add constraint fk_habitacion_piso foreign key (piso_id) references pisos (id);
+alter table contratos add constraint fk_contrato_propiedad foreign key (propiedad_id) references propiedades (id);
+alter table contratos add constraint fk_contrato_habitacion foreign key (habitacion_id) references habitaciones (id);
+alter table contratos add constraint fk_contrato_inquilino foreign key (inquilino_id) references inquilinos (id);
+alter table facturas add constraint fk_factura_contrato foreign key (contrato_id) references contratos (id);
+alter table pagos add constraint fk_pago_contrato foreign key (contrato_id) references contratos (id);
+alter table pagos add constraint fk_pago_factura foreign key (factura_id) references facturas (id);
+alter table config_recordatorios add constraint fk_configrecordatorio_propiedad foreign key (propiedad_id) references propiedades (id);
+alter table recordatorios add constraint fk_recordatorio_factura foreign key (factura_id) references facturas (id);
+alter table recordatorios add constraint fk_recordatorio_contrato foreign key (contrato_id) references contratos (id);
@@ -0,0 +1,18 @@
+-- Outbox de eventos de dominio (contratos, facturas y pagos). Tabla nueva:
+-- los índices se crean aquí mismo, sin la migración en línea de V2.
+
+create table eventos_outbox (
+    id bigint not null auto_increment,
+    tipo varchar(60) not null,
+    clave varchar(60) not null,
+    payload longtext not null,
+    creado_en datetime(6) not null,
+    disponible_desde datetime(6) not null,
+    publicado_en datetime(6),
+    intentos integer not null,
+    ultimo_error varchar(500),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_evento_outbox_pendiente on eventos_outbox (publicado_en, id);
+create index idx_evento_outbox_clave on eventos_outbox (clave, publicado_en, id);
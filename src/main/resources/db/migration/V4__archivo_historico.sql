@@ -0,0 +1,52 @@
+-- Tablas de archivo para facturas cerradas, sus pagos y recordatorios, y los
+-- recordatorios enviados antiguos (ver ArchivadorService). Conservan los ids
+-- de las tablas de origen; no tienen secuencia ni columna version.
+
+create table facturas_archivo (
+    id bigint not null,
+    contrato_id bigint not null,
+    periodo_inicio date not null,
+    periodo_fin date not null,
+    fecha_vencimiento date not null,
+    monto_renta decimal(12,2) not null,
+    total_a_pagar decimal(12,2) not null,
+    monto_pagado decimal(12,2) not null,
+    estado enum ('ABIERTA','PAGADA','VENCIDA','CANCELADA') not null,
+    archivado_en datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table pagos_archivo (
+    id bigint not null,
+    contrato_id bigint not null,
+    factura_id bigint,
+    fecha_pago date not null,
+    monto decimal(12,2) not null,
+    metodo enum ('EFECTIVO','TRANSFERENCIA','YAPE','PLIN','OTRO') not null,
+    archivado_en datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table recordatorios_archivo (
+    id bigint not null,
+    factura_id bigint not null,
+    contrato_id bigint not null,
+    programado_para datetime(6) not null,
+    enviado_en datetime(6),
+    canal enum ('WHATSAPP') not null,
+    telefono_destino varchar(40) not null,
+    mensaje longtext,
+    id_mensaje_proveedor varchar(120),
+    estado enum ('PROGRAMADO','ENVIADO','FALLIDO','CANCELADO') not null,
+    archivado_en datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_factura_archivo_contrato_periodo on facturas_archivo (contrato_id, periodo_inicio);
+create index idx_pago_archivo_factura on pagos_archivo (factura_id);
+create index idx_recordatorio_archivo_factura on recordatorios_archivo (factura_id, estado);
+
+alter table facturas_archivo add constraint fk_factura_archivo_contrato foreign key (contrato_id) references contratos (id);
+alter table pagos_archivo add constraint fk_pago_archivo_contrato foreign key (contrato_id) references contratos (id);
+alter table pagos_archivo add constraint fk_pago_archivo_factura foreign key (factura_id) references facturas_archivo (id);
+alter table recordatorios_archivo add constraint fk_recordatorio_archivo_contrato foreign key (contrato_id) references contratos (id);
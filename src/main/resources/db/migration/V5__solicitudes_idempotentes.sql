@@ -0,0 +1,13 @@
+-- Respuestas de las escrituras enviadas con Idempotency-Key (ver
+-- SolicitudesIdempotentes); se borran al expirar.
+
+create table solicitudes_idempotentes (
+    id varchar(150) not null,
+    huella varchar(64) not null,
+    respuesta longtext not null,
+    creado_en datetime(6) not null,
+    expira_en datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_solicitud_idempotente_expira on solicitudes_idempotentes (expira_en);
@@ -0,0 +1,9 @@
+-- Reclamo con plazo de los recordatorios (ver DespachadorRecordatoriosService):
+-- quedan ENVIANDO mientras se envían, fuera de transacción, y otro nodo los
+-- retoma si el plazo vence. ENVIANDO va al final del enum: agregar un valor
+-- al final no renumera los existentes y MySQL lo aplica sin copiar la tabla.
+
+alter table recordatorios modify column estado enum ('PROGRAMADO','ENVIADO','FALLIDO','CANCELADO','ENVIANDO') not null;
+alter table recordatorios add column reclamado_hasta datetime(6);
+
+alter table recordatorios_archivo modify column estado enum ('PROGRAMADO','ENVIADO','FALLIDO','CANCELADO','ENVIANDO') not null;
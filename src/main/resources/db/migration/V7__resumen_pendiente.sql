@@ -0,0 +1,7 @@
+-- Marca persistida de los resúmenes por recalcular (ver ResumenPropiedadService):
+-- sobrevive a los reinicios y la ven todos los nodos.
+
+alter table resumen_propiedades add column pendiente bit not null default false;
+alter table resumen_propiedades add column marca bigint not null default 0;
+
+create index idx_resumen_pendiente on resumen_propiedades (pendiente, propiedad_id);
@@ -0,0 +1,4 @@
+-- Eventos del outbox que agotaron sus intentos (ver DespachadorEventosService):
+-- quedan aparte, sin frenar a los siguientes de su contrato.
+
+alter table eventos_outbox add column fallido_en datetime(6);
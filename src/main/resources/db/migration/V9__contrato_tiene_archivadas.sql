@@ -0,0 +1,8 @@
+-- Marca de los contratos con facturas archivadas (ver ArchivadorService): el
+-- detalle del contrato sólo consulta facturas_archivo cuando está puesta.
+
+alter table contratos add column tiene_archivadas bit not null default false;
+
+update contratos c
+set tiene_archivadas = true
+where exists (select 1 from facturas_archivo fa where fa.contrato_id = c.id);
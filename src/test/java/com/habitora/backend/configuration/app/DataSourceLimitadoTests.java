@@ -0,0 +1,49 @@
+package com.habitora.backend.configuration.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class DataSourceLimitadoTests {
+
+    private final DataSourceLimitado dataSource = new DataSourceLimitado(h2(), 2, Duration.ofMillis(50));
+
+    @Test
+    void rechazaCuandoNoQuedanPermisosYLosDevuelveAlCerrar() throws Exception {
+        Connection primera = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        primera.close();
+        try (Connection tercera = dataSource.getConnection()) {
+            assertThat(tercera.isValid(1)).isTrue();
+        }
+        segunda.close();
+    }
+
+    @Test
+    void cerrarDosVecesDevuelveUnSoloPermiso() throws Exception {
+        Connection conexion = dataSource.getConnection();
+        conexion.close();
+        conexion.close();
+
+        Connection a = dataSource.getConnection();
+        Connection b = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        a.close();
+        b.close();
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limitado;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
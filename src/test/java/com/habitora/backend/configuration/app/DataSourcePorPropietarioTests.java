@@ -0,0 +1,62 @@
+package com.habitora.backend.configuration.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class DataSourcePorPropietarioTests {
+
+    private final DataSourcePorPropietario dataSource = enrutador();
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void elDuenoConParticionUsaSuPoolYLosDemasElPrincipal() throws Exception {
+        assertThat(base()).isEqualTo("principal");
+
+        autenticar("7");
+        assertThat(base()).isEqualTo("grandes");
+
+        autenticar("8");
+        assertThat(base()).isEqualTo("principal");
+
+        autenticar("no-es-un-id");
+        assertThat(base()).isEqualTo("principal");
+    }
+
+    private String base() throws Exception {
+        try (Connection conexion = dataSource.getConnection()) {
+            return conexion.getMetaData().getURL().replaceFirst(".*mem:particion-([a-z]+).*", "$1");
+        }
+    }
+
+    private static void autenticar(String usuarioId) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(usuarioId, null, "USUARIO"));
+    }
+
+    private static DataSourcePorPropietario enrutador() {
+        DataSourcePorPropietario enrutador = new DataSourcePorPropietario(Map.of(7L, "grandes"));
+        enrutador.setDefaultTargetDataSource(h2("principal"));
+        enrutador.setTargetDataSources(Map.of("grandes", h2("grandes")));
+        enrutador.afterPropertiesSet();
+        return enrutador;
+    }
+
+    private static DataSource h2(String nombre) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:particion-" + nombre + ";DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -0,0 +1,73 @@
+package com.habitora.backend.configuration.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.ContratoRepository;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.persistence.repository.PropiedadRepository;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class FiltroPropietarioConfigTests {
+
+    private static final BigDecimal RENTA = new BigDecimal("450.00");
+
+    @Autowired
+    private PropiedadRepository propiedadRepository;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lasConsultasDeUnUsuarioAutenticadoSoloVenSusDatos() {
+        Propiedad propia = datos.propiedad();
+        Propiedad ajena = datos.propiedad();
+        Contrato contratoPropio = datos.contratoActivo(propia, RENTA, LocalDate.of(2041, 1, 1));
+        Contrato contratoAjeno = datos.contratoActivo(ajena, RENTA, LocalDate.of(2041, 1, 1));
+        Factura facturaPropia = datos.factura(contratoPropio, LocalDate.of(2041, 1, 5));
+        Factura facturaAjena = datos.factura(contratoAjeno, LocalDate.of(2041, 1, 5));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(propia.getUsuario().getId().toString(), null, "USUARIO"));
+
+        assertThat(propiedadRepository.findAll()).extracting(Propiedad::getId)
+                .contains(propia.getId()).doesNotContain(ajena.getId());
+        assertThat(contratoRepository.findAll()).extracting(Contrato::getId)
+                .contains(contratoPropio.getId()).doesNotContain(contratoAjeno.getId());
+        assertThat(facturaRepository.findAll()).extracting(Factura::getId)
+                .contains(facturaPropia.getId()).doesNotContain(facturaAjena.getId());
+
+        SecurityContextHolder.clearContext();
+
+        assertThat(contratoRepository.findAll()).extracting(Contrato::getId)
+                .contains(contratoPropio.getId(), contratoAjeno.getId());
+    }
+}
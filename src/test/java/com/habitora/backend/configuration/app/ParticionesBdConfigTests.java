@@ -0,0 +1,77 @@
+package com.habitora.backend.configuration.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Contexto completo con particiones y semáforo: la base principal y la de la
+ * partición son dos URLs de la misma base H2, como en producción.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:particiones;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false",
+        "habitora.particiones.habilitadas=true",
+        "habitora.particiones.destinos.grandes.url=jdbc:h2:mem:particiones;MODE=MySQL;DATABASE_TO_UPPER=false",
+        "habitora.particiones.destinos.grandes.usuario=sa",
+        "habitora.particiones.destinos.grandes.contrasena=",
+        "habitora.particiones.destinos.grandes.max-conexiones=2",
+        "habitora.particiones.usuarios.7=grandes",
+        "habitora.db.max-concurrencia=4"
+})
+@ActiveProfiles("test")
+class ParticionesBdConfigTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void elEnrutadorEnvuelveAlPrincipalYaLimitadoYCadaParticionTieneSuSemaforo() throws Exception {
+        assertThat(dataSource).isInstanceOf(DataSourcePorPropietario.class);
+        DataSourcePorPropietario enrutador = (DataSourcePorPropietario) dataSource;
+
+        assertThat(enrutador.getResolvedDefaultDataSource()).isInstanceOf(DataSourceLimitado.class);
+        DataSource grandes = enrutador.getResolvedDataSources().get("grandes");
+        assertThat(grandes).isInstanceOf(DataSourceLimitado.class);
+        HikariDataSource pool = grandes.unwrap(HikariDataSource.class);
+        assertThat(pool.getPoolName()).isEqualTo("habitora-grandes");
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(2);
+
+        assertThat(meterRegistry.find("habitora.bd.en-espera").gauge()).isNotNull();
+    }
+
+    @Test
+    void elDuenoConParticionConsultaLaMismaBasePorSuPool() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("7", null, "USUARIO"));
+        try (Connection conexion = dataSource.getConnection()) {
+            assertThat(conexion.createStatement().executeQuery("select count(*) from propiedades").next()).isTrue();
+        }
+
+        HikariDataSource pool = ((DataSourcePorPropietario) dataSource).getResolvedDataSources().get("grandes")
+                .unwrap(HikariDataSource.class);
+        assertThat(pool.getHikariPoolMXBean().getTotalConnections()).isPositive();
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "habitora-grandes").gauge())
+                .isNotNull();
+    }
+}
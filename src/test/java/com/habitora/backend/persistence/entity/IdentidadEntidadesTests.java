@@ -0,0 +1,102 @@
+package com.habitora.backend.persistence.entity;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.junit.AnalyzeClasses;
+import com.tngtech.archunit.junit.ArchTest;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+
+/**
+ * Las entidades se comparan por id, con {@code equals} y {@code hashCode}
+ * finales: así el proxy de Hibernate no los intercepta (no se inicializa al
+ * meterlo en un {@code Set}) y el hash no cambia al asignarse el id. Ni esos
+ * métodos ni {@code toString} pueden leer asociaciones, que dispararían
+ * SELECTs ocultos al registrar o agrupar entidades en los procesos masivos.
+ */
+@AnalyzeClasses(packages = "com.habitora.backend.persistence.entity", importOptions = ImportOption.DoNotIncludeTests.class)
+class IdentidadEntidadesTests {
+
+    private static final Set<String> METODOS_IDENTIDAD = Set.of("equals", "hashCode", "toString");
+
+    private static final List<Class<? extends Annotation>> ASOCIACIONES = List.of(
+            ManyToOne.class, OneToOne.class, OneToMany.class, ManyToMany.class, ElementCollection.class);
+
+    private static final DescribedPredicate<JavaField> ES_ASOCIACION = DescribedPredicate.describe(
+            "asociación JPA", campo -> ASOCIACIONES.stream().anyMatch(campo::isAnnotatedWith));
+
+    @ArchTest
+    static final ArchRule identidadFinalPorId = classes()
+            .that().areAnnotatedWith(Entity.class)
+            .should(declararFinal("equals", Object.class))
+            .andShould(declararFinal("hashCode"));
+
+    @ArchTest
+    static final ArchRule identidadSinAsociaciones = classes()
+            .that().areAnnotatedWith(Entity.class)
+            .should(noLeerAsociacionesEnIdentidad());
+
+    private static ArchCondition<JavaClass> declararFinal(String nombre, Class<?>... parametros) {
+        return new ArchCondition<>("declarar " + nombre + " final") {
+            @Override
+            public void check(JavaClass entidad, ConditionEvents eventos) {
+                boolean declarado = entidad.tryGetMethod(nombre, parametros)
+                        .filter(metodo -> metodo.getModifiers().contains(JavaModifier.FINAL))
+                        .isPresent();
+                if (!declarado) {
+                    eventos.add(SimpleConditionEvent.violated(entidad,
+                            entidad.getName() + " no declara " + nombre + " final"));
+                }
+            }
+        };
+    }
+
+    private static ArchCondition<JavaClass> noLeerAsociacionesEnIdentidad() {
+        return new ArchCondition<>("no leer asociaciones en equals, hashCode ni toString") {
+            @Override
+            public void check(JavaClass entidad, ConditionEvents eventos) {
+                Set<String> asociaciones = entidad.getFields().stream()
+                        .filter(ES_ASOCIACION)
+                        .map(JavaField::getName)
+                        .collect(Collectors.toSet());
+                Set<String> getters = asociaciones.stream()
+                        .map(campo -> "get" + Character.toUpperCase(campo.charAt(0)) + campo.substring(1))
+                        .collect(Collectors.toSet());
+
+                for (JavaMethod metodo : entidad.getMethods()) {
+                    if (!METODOS_IDENTIDAD.contains(metodo.getName())) {
+                        continue;
+                    }
+                    metodo.getFieldAccesses().stream()
+                            .filter(acceso -> acceso.getTargetOwner().equals(entidad)
+                                    && asociaciones.contains(acceso.getTarget().getName()))
+                            .forEach(acceso -> eventos.add(SimpleConditionEvent.violated(acceso, acceso.getDescription())));
+                    metodo.getMethodCallsFromSelf().stream()
+                            .filter(llamada -> llamada.getTargetOwner().equals(entidad)
+                                    && getters.contains(llamada.getTarget().getName()))
+                            .forEach(llamada -> eventos.add(SimpleConditionEvent.violated(llamada, llamada.getDescription())));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.habitora.backend.persistence.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Aplica las migraciones sobre una H2 vacía y compara el resultado con el
+ * esquema que Hibernate genera desde las entidades (la base del perfil
+ * test): columnas, claves únicas, foráneas e índices {@code idx_*}. Los ids
+ * de las tablas con secuencia no se comparan por auto_increment: V1 lo
+ * conserva del esquema base y Hibernate siempre envía el id.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MigracionesFlywayTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private List<JavaMigration> migracionesJava;
+
+    @Test
+    void lasMigracionesReproducenElEsquemaDeLasEntidades() throws SQLException {
+        DataSource migrada = h2("flyway_completa");
+        flyway(migrada, null).migrate();
+
+        Esquema esperado = Esquema.leer(dataSource);
+        Esquema obtenido = Esquema.leer(migrada);
+
+        assertThat(obtenido.columnas()).containsExactlyElementsOf(esperado.columnas());
+        assertThat(obtenido.unicas()).containsExactlyElementsOf(esperado.unicas());
+        assertThat(obtenido.foraneas()).containsExactlyElementsOf(esperado.foraneas());
+        assertThat(obtenido.indices()).containsExactlyElementsOf(esperado.indices());
+    }
+
+    @Test
+    void unaBaseConDatosDelEsquemaBaseRecibeSaldosYSecuenciasPosteriores() throws SQLException {
+        DataSource migrada = h2("flyway_baseline");
+        flyway(migrada, "1").migrate();
+        try (Connection conexion = migrada.getConnection(); Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("insert into usuarios (id, nombre_completo, email, contraseña) values (1, 'Dueño', 'd@h.pe', 'x')");
+            sentencia.execute("insert into propiedades (id, usuario_id, nombre, cantidad_pisos) values (1, 1, 'Casa', 1)");
+            sentencia.execute("insert into pisos (id, propiedad_id, numero_piso) values (1, 1, 1)");
+            sentencia.execute("insert into habitaciones (id, propiedad_id, piso_id, codigo, precio_renta, estado)"
+                    + " values (1, 1, 1, 'H-1', 400.00, 'OCUPADA')");
+            sentencia.execute("insert into inquilinos (id, nombre_completo, numero_dni) values (1, 'Inquilino', '70000001')");
+            sentencia.execute("insert into contratos (propiedad_id, habitacion_id, inquilino_id, estado, fecha_inicio,"
+                    + " monto_deposito) values (1, 1, 1, 'ACTIVO', date '2020-01-01', 400.00)");
+            sentencia.execute("insert into facturas (id, contrato_id, periodo_inicio, periodo_fin, fecha_vencimiento,"
+                    + " monto_renta, total_a_pagar, estado) values"
+                    + " (7, 1, date '2020-01-01', date '2020-01-31', date '2020-01-05', 400.00, 400.00, 'PAGADA'),"
+                    + " (120, 1, date '2020-02-01', date '2020-02-29', date '2020-02-05', 400.00, 400.00, 'ABIERTA')");
+            sentencia.execute("insert into pagos (id, contrato_id, factura_id, fecha_pago, monto, metodo) values"
+                    + " (3, 1, 7, date '2020-01-02', 150.00, 'YAPE'), (4, 1, 7, date '2020-01-03', 250.00, 'EFECTIVO')");
+        }
+
+        flyway(migrada, null).migrate();
+
+        try (Connection conexion = migrada.getConnection(); Statement sentencia = conexion.createStatement()) {
+            assertThat(valores(sentencia, "select monto_pagado from facturas order by id"))
+                    .containsExactly("400.00", "0.00");
+            // El primer bloque de 50 que reserva Hibernate empieza después del último id.
+            assertThat(valores(sentencia, "select next_val - 49 from facturas_seq")).containsExactly("121");
+            assertThat(valores(sentencia, "select next_val - 49 from pagos_seq")).containsExactly("5");
+            assertThat(valores(sentencia, "select next_val - 49 from contratos_seq")).containsExactly("2");
+            assertThat(valores(sentencia, "select next_val from recordatorios_seq")).containsExactly("1");
+        }
+    }
+
+    @Test
+    void losIndicesQueYaExistenSeOmiten() throws SQLException {
+        DataSource migrada = h2("flyway_parcial");
+        flyway(migrada, "1").migrate();
+        try (Connection conexion = migrada.getConnection(); Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("create index idx_pago_factura on pagos (factura_id)");
+        }
+
+        flyway(migrada, null).migrate();
+
+        assertThat(Esquema.leer(migrada).indices()).containsExactlyElementsOf(Esquema.leer(dataSource).indices());
+    }
+
+    private Flyway flyway(DataSource destino, String version) {
+        var configuracion = Flyway.configure()
+                .dataSource(destino)
+                .javaMigrations(migracionesJava.toArray(JavaMigration[]::new));
+        if (version != null) {
+            configuracion.target(version);
+        }
+        return configuracion.load();
+    }
+
+    private static List<String> valores(Statement sentencia, String consulta) throws SQLException {
+        List<String> valores = new ArrayList<>();
+        try (ResultSet rs = sentencia.executeQuery(consulta)) {
+            while (rs.next()) {
+                valores.add(rs.getString(1));
+            }
+        }
+        return valores;
+    }
+
+    private static DataSource h2(String nombre) {
+        return new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + nombre + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false", "sa", "");
+    }
+
+    /** Esquema normalizado a conjuntos ordenados de texto, para comparar con diff legible. */
+    private record Esquema(Set<String> columnas, Set<String> unicas, Set<String> foraneas, Set<String> indices) {
+
+        private static final Set<String> TABLAS_CON_SECUENCIA = Set.of("contratos", "facturas", "pagos", "recordatorios");
+
+        static Esquema leer(DataSource dataSource) throws SQLException {
+            Esquema esquema = new Esquema(new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), new TreeSet<>());
+            try (Connection conexion = dataSource.getConnection()) {
+                DatabaseMetaData meta = conexion.getMetaData();
+                String catalogo = conexion.getCatalog();
+                String schema = conexion.getSchema();
+                for (String tabla : tablas(meta, catalogo, schema)) {
+                    esquema.leerColumnas(meta, catalogo, schema, tabla);
+                    esquema.leerIndices(meta, catalogo, schema, tabla);
+                    esquema.leerForaneas(meta, catalogo, schema, tabla);
+                }
+            }
+            return esquema;
+        }
+
+        private static Set<String> tablas(DatabaseMetaData meta, String catalogo, String schema) throws SQLException {
+            Set<String> tablas = new TreeSet<>();
+            try (ResultSet rs = meta.getTables(catalogo, schema, "%", new String[] { "TABLE" })) {
+                while (rs.next()) {
+                    String tabla = rs.getString("TABLE_NAME");
+                    if (!tabla.equalsIgnoreCase("flyway_schema_history")) {
+                        tablas.add(tabla);
+                    }
+                }
+            }
+            return tablas;
+        }
+
+        private void leerColumnas(DatabaseMetaData meta, String catalogo, String schema, String tabla) throws SQLException {
+            try (ResultSet rs = meta.getColumns(catalogo, schema, tabla, "%")) {
+                while (rs.next()) {
+                    String columna = rs.getString("COLUMN_NAME");
+                    String auto = TABLAS_CON_SECUENCIA.contains(tabla) && columna.equals("id")
+                            ? "-" : rs.getString("IS_AUTOINCREMENT");
+                    columnas.add("%s.%s %s(%d,%d) nulo=%s auto=%s".formatted(tabla, columna,
+                            rs.getString("TYPE_NAME"), rs.getInt("COLUMN_SIZE"), rs.getInt("DECIMAL_DIGITS"),
+                            rs.getString("IS_NULLABLE"), auto));
+                }
+            }
+        }
+
+        /**
+         * Las únicas se comparan por columnas (Hibernate nombra con hash las de
+         * {@code unique = true}); los índices no únicos por nombre, solo los
+         * {@code idx_*}: H2 agrega por su cuenta índices para las foráneas.
+         */
+        private void leerIndices(DatabaseMetaData meta, String catalogo, String schema, String tabla) throws SQLException {
+            Map<String, TreeMap<Integer, String>> columnasPorIndice = new TreeMap<>();
+            Map<String, Boolean> esUnico = new TreeMap<>();
+            try (ResultSet rs = meta.getIndexInfo(catalogo, schema, tabla, false, false)) {
+                while (rs.next()) {
+                    String nombre = rs.getString("INDEX_NAME");
+                    columnasPorIndice.computeIfAbsent(nombre, n -> new TreeMap<>())
+                            .put(rs.getInt("ORDINAL_POSITION"), rs.getString("COLUMN_NAME"));
+                    esUnico.put(nombre, !rs.getBoolean("NON_UNIQUE"));
+                }
+            }
+            columnasPorIndice.forEach((nombre, columnasIndice) -> {
+                String definicion = tabla + "(" + String.join(", ", columnasIndice.values()) + ")";
+                if (esUnico.get(nombre)) {
+                    unicas.add(definicion);
+                } else if (nombre.startsWith("idx_")) {
+                    indices.add(nombre + " " + definicion);
+                }
+            });
+        }
+
+        private void leerForaneas(DatabaseMetaData meta, String catalogo, String schema, String tabla) throws SQLException {
+            try (ResultSet rs = meta.getImportedKeys(catalogo, schema, tabla)) {
+                while (rs.next()) {
+                    foraneas.add("%s %s.%s -> %s.%s".formatted(rs.getString("FK_NAME"), tabla,
+                            rs.getString("FKCOLUMN_NAME"), rs.getString("PKTABLE_NAME"), rs.getString("PKCOLUMN_NAME")));
+                }
+            }
+        }
+    }
+}
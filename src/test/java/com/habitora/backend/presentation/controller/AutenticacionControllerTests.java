@@ -0,0 +1,161 @@
+package com.habitora.backend.presentation.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.entity.Usuario;
+import com.habitora.backend.persistence.repository.UsuarioRepository;
+import com.habitora.backend.presentation.dto.LoginRequest;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class AutenticacionControllerTests {
+
+    private static final String CONTRASENA = "clave-de-prueba-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    private Propiedad propia;
+    private Propiedad ajena;
+    private Usuario usuario;
+
+    @BeforeEach
+    void crearDatos() {
+        propia = datos.propiedad();
+        ajena = datos.propiedad();
+        usuario = usuarioRepository.save(propia.getUsuario().setContraseña(passwordEncoder.encode(CONTRASENA)));
+    }
+
+    @Test
+    void elTokenDaAccesoSoloALasPropiedadesDelUsuario() throws Exception {
+        String token = login(usuario.getEmail(), CONTRASENA, "10.0.0.1");
+
+        mockMvc.perform(get("/api/propiedades/{id}/arbol", propia.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/propiedades/{id}/arbol", ajena.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/habitaciones/disponibles")
+                        .param("usuarioId", ajena.getUsuario().getId().toString())
+                        .param("desde", "2040-01-01").param("hasta", "2040-01-31")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/propiedades/{id}/arbol", propia.getId()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void loAjenoYLoInexistenteRespondenIgual() throws Exception {
+        Contrato contratoAjeno = datos.contratoActivo(ajena, new BigDecimal("400.00"), LocalDate.of(2040, 1, 1));
+        Factura facturaAjena = datos.factura(contratoAjeno, LocalDate.of(2040, 1, 10));
+        String token = login(usuario.getEmail(), CONTRASENA, "10.0.0.7");
+
+        for (String ruta : List.of(
+                "/api/propiedades/" + ajena.getId() + "/resumen",
+                "/api/propiedades/999999999/resumen",
+                "/api/propiedades/" + ajena.getId() + "/exportaciones/pagos?anio=2040",
+                "/api/propiedades/999999999/exportaciones/pagos?anio=2040",
+                "/api/propiedades/" + ajena.getId() + "/exportaciones/facturas?anio=2040",
+                "/api/contratos/" + contratoAjeno.getId(),
+                "/api/contratos/999999999",
+                "/api/facturas/" + facturaAjena.getId(),
+                "/api/facturas/999999999")) {
+            mockMvc.perform(get(ruta).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    void limitaLosIntentosPorEmail() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(peticionLogin(usuario.getEmail(), "incorrecta", "10.0.0.2"))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(peticionLogin(usuario.getEmail(), CONTRASENA, "10.0.0.3"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void soloCuentanLosFallosYUnLoginCorrectoLosBorra() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            login(usuario.getEmail(), CONTRASENA, "10.0.0.4");
+        }
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(peticionLogin(usuario.getEmail(), "incorrecta", "10.0.0.5"))
+                    .andExpect(status().isUnauthorized());
+        }
+        login(usuario.getEmail(), CONTRASENA, "10.0.0.5");
+
+        // El contador del email volvió a cero: otros cuatro fallos siguen sin bloquear.
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(peticionLogin(usuario.getEmail(), "incorrecta", "10.0.0.6"))
+                    .andExpect(status().isUnauthorized());
+        }
+        login(usuario.getEmail(), CONTRASENA, "10.0.0.6");
+    }
+
+    private String login(String email, String contrasena, String origen) throws Exception {
+        String cuerpo = mockMvc.perform(peticionLogin(email, contrasena, origen))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tipo").value("Bearer"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(cuerpo).get("token").asText();
+    }
+
+    private MockHttpServletRequestBuilder peticionLogin(String email, String contrasena, String origen)
+            throws Exception {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(email, contrasena)))
+                .with(peticion -> {
+                    peticion.setRemoteAddr(origen);
+                    return peticion;
+                });
+    }
+}
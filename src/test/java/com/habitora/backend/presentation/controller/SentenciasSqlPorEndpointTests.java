@@ -0,0 +1,110 @@
+package com.habitora.backend.presentation.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.service.seguridad.AutorizacionService;
+import com.habitora.backend.support.DatosPrueba;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Fija el número exacto de sentencias SQL de cada endpoint de lectura, para
+ * que un cambio en los mapeos o DTOs no reintroduzca consultas N+1. El
+ * usuario ya está en la caché de autorización, así que la comprobación de
+ * dueño no suma sentencias.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class SentenciasSqlPorEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private AutorizacionService autorizacion;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    private Propiedad propiedad;
+    private Contrato contrato;
+    private Factura factura;
+
+    @BeforeEach
+    void crearDatos() {
+        propiedad = datos.propiedad();
+        contrato = datos.contratoActivo(propiedad, new BigDecimal("350.00"), LocalDate.of(2033, 1, 1));
+        datos.contratoActivo(propiedad, new BigDecimal("420.00"), LocalDate.of(2033, 1, 1));
+        factura = datos.factura(contrato, LocalDate.of(2033, 1, 5));
+        datos.factura(contrato, LocalDate.of(2033, 2, 5));
+        for (int i = 0; i < 3; i++) {
+            pagoService.registrarPago(factura.getId(),
+                    new PagoRequest(new BigDecimal("50.00"), LocalDate.of(2033, 1, 2), MetodoPago.PLIN));
+        }
+        autorizacion.principal(propiedad.getUsuario().getId());
+    }
+
+    @Test
+    void arbolDePropiedad() throws Exception {
+        assertSentencias(2, get("/api/propiedades/{id}/arbol", propiedad.getId()))
+                .andExpect(jsonPath("$.pisos[0].habitaciones.length()").value(2));
+    }
+
+    @Test
+    void contratoConFacturas() throws Exception {
+        assertSentencias(1, get("/api/contratos/{id}", contrato.getId()))
+                .andExpect(jsonPath("$.facturas.length()").value(2));
+    }
+
+    @Test
+    void facturaConPagos() throws Exception {
+        assertSentencias(1, get("/api/facturas/{id}", factura.getId()))
+                .andExpect(jsonPath("$.pagos.length()").value(3));
+    }
+
+    private ResultActions assertSentencias(long esperadas, MockHttpServletRequestBuilder peticion) throws Exception {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        ResultActions resultado = mockMvc.perform(peticion
+                        .with(jwt().jwt(token -> token.subject(propiedad.getUsuario().getId().toString()))))
+                .andExpect(status().isOk());
+
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(esperadas);
+        return resultado;
+    }
+}
@@ -0,0 +1,113 @@
+package com.habitora.backend.service.archivo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Recordatorio;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.persistence.repository.RecordatorioArchivadoRepository;
+import com.habitora.backend.persistence.repository.RecordatorioRepository;
+import com.habitora.backend.presentation.dto.ContratoDetalleResponse;
+import com.habitora.backend.presentation.dto.FacturaDetalleResponse;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.service.contrato.ContratoService;
+import com.habitora.backend.service.factura.FacturaService;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class ArchivadorServiceTests {
+
+    @Autowired
+    private ArchivadorService archivador;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private FacturaService facturaService;
+
+    @Autowired
+    private ContratoService contratoService;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private RecordatorioRepository recordatorioRepository;
+
+    @Autowired
+    private RecordatorioArchivadoRepository recordatorioArchivadoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void archivaLasFacturasCerradasYSiguenLegibles() {
+        Contrato contrato = datos.contratoActivo(datos.propiedad(), new BigDecimal("400.00"), LocalDate.of(2019, 1, 1));
+        Factura pagada = datos.factura(contrato, LocalDate.of(2019, 2, 5));
+        Recordatorio deLaPagada = datos.recordatorio(pagada, "+51900000001", LocalDateTime.of(2019, 2, 2, 9, 0));
+        pagoService.registrarPago(pagada.getId(),
+                new PagoRequest(new BigDecimal("400.00"), LocalDate.of(2019, 2, 1), MetodoPago.EFECTIVO));
+        Factura abierta = datos.factura(contrato, LocalDate.of(2019, 3, 5));
+        Recordatorio enviado = datos.recordatorio(abierta, "+51900000001", LocalDateTime.of(2019, 3, 2, 9, 0));
+        jdbcTemplate.update("update recordatorios set estado = 'ENVIADO' where id = ?", enviado.getId());
+
+        ResultadoArchivo resultado = archivador.archivar(LocalDate.of(2020, 7, 15));
+
+        assertThat(resultado).isEqualTo(new ResultadoArchivo(LocalDate.of(2019, 7, 1), 1, 1, 2));
+        assertThat(facturaRepository.findById(pagada.getId())).isEmpty();
+        assertThat(facturaRepository.findById(abierta.getId())).isPresent();
+        assertThat(recordatorioRepository.findAllById(List.of(deLaPagada.getId(), enviado.getId()))).isEmpty();
+        assertThat(recordatorioArchivadoRepository.findById(enviado.getId())).isPresent();
+
+        FacturaDetalleResponse detalle = facturaService.obtenerDetalle(pagada.getId());
+        assertThat(detalle.estado()).isEqualTo(EstadoFactura.PAGADA);
+        assertThat(detalle.pagos()).singleElement()
+                .satisfies(pago -> assertThat(pago.monto()).isEqualByComparingTo("400.00"));
+
+        assertThat(tieneArchivadas(contrato)).isTrue();
+        ContratoDetalleResponse contratoDetalle = contratoService.obtenerDetalle(contrato.getId());
+        assertThat(contratoDetalle.facturas()).extracting(ContratoDetalleResponse.FacturaItem::id)
+                .containsExactly(pagada.getId(), abierta.getId());
+    }
+
+    @Test
+    void soloMarcaLosContratosCuyasFacturasMueve() {
+        Contrato antiguoSinArchivar = datos.contratoActivo(datos.propiedad(), new BigDecimal("400.00"),
+                LocalDate.of(2018, 1, 1));
+        Factura abierta = datos.factura(antiguoSinArchivar, LocalDate.of(2018, 2, 5));
+
+        archivador.archivar(LocalDate.of(2020, 7, 15));
+
+        assertThat(tieneArchivadas(antiguoSinArchivar)).isFalse();
+        assertThat(contratoService.obtenerDetalle(antiguoSinArchivar.getId()).facturas())
+                .extracting(ContratoDetalleResponse.FacturaItem::id)
+                .containsExactly(abierta.getId());
+    }
+
+    private boolean tieneArchivadas(Contrato contrato) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select tiene_archivadas from contratos where id = ?", Boolean.class, contrato.getId()));
+    }
+}
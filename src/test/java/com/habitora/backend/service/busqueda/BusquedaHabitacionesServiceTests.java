@@ -0,0 +1,61 @@
+package com.habitora.backend.service.busqueda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.presentation.dto.HabitacionResponse;
+import com.habitora.backend.presentation.dto.OnboardingRequest;
+import com.habitora.backend.presentation.dto.OnboardingRequest.HabitacionFila;
+import com.habitora.backend.presentation.dto.PaginaResponse;
+import com.habitora.backend.service.onboarding.ImportadorOnboardingService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class BusquedaHabitacionesServiceTests {
+
+    @Autowired
+    private BusquedaHabitacionesService busqueda;
+
+    @Autowired
+    private ImportadorOnboardingService importador;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void recorrePorPrecioConCursorSinRepetirNiSaltar() {
+        Propiedad propiedad = datos.propiedad();
+        importador.importar(new OnboardingRequest(propiedad.getId(), null, List.of(
+                new HabitacionFila(1, "K-1", new BigDecimal("400.00")),
+                new HabitacionFila(1, "K-2", new BigDecimal("300.00")),
+                new HabitacionFila(1, "K-3", new BigDecimal("300.00")),
+                new HabitacionFila(1, "K-4", new BigDecimal("350.00")),
+                new HabitacionFila(1, "K-5", new BigDecimal("500.00"))), List.of()));
+
+        List<String> codigos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaResponse<HabitacionResponse> pagina = busqueda.buscar(List.of(propiedad.getId()), propiedad.getId(),
+                    null, null, new BigDecimal("300.00"), new BigDecimal("450.00"), cursor, 2);
+            pagina.elementos().forEach(h -> codigos.add(h.codigo()));
+            cursor = pagina.siguiente();
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(codigos).containsExactly("K-2", "K-3", "K-4", "K-1");
+        assertThat(paginas).isEqualTo(2);
+    }
+}
@@ -0,0 +1,119 @@
+package com.habitora.backend.service.busqueda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Inquilino;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.InquilinoRepository;
+import com.habitora.backend.presentation.dto.InquilinoResponse;
+import com.habitora.backend.presentation.dto.PaginaResponse;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class BusquedaInquilinosServiceTests {
+
+    @Autowired
+    private BusquedaInquilinosService busqueda;
+
+    @Autowired
+    private InquilinoRepository inquilinoRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void recorrePorPrefijoDelNombreConCursorSinRepetirNiSaltar() {
+        Propiedad propiedad = datos.propiedad();
+        // Dos con el mismo nombre: el corte entre páginas cae entre ellos y lo resuelve el id.
+        Inquilino rosa = inquilino(propiedad, "Zenobia_Rosa", "81000001");
+        Inquilino ana1 = inquilino(propiedad, "Zenobia_Ana", "81000002");
+        Inquilino ana2 = inquilino(propiedad, "Zenobia_Ana", "81000003");
+        Inquilino luz = inquilino(propiedad, "Zenobia_Luz", "81000004");
+        // El "_" del prefijo se busca literal, no como comodín.
+        inquilino(propiedad, "ZenobiaXAna", "81000005");
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaResponse<InquilinoResponse> pagina = busqueda.buscar(List.of(propiedad.getId()), null, "Zenobia_",
+                    null, cursor, 2);
+            pagina.elementos().forEach(i -> ids.add(i.id()));
+            cursor = pagina.siguiente();
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly(ana1.getId(), ana2.getId(), luz.getId(), rosa.getId());
+        assertThat(paginas).isEqualTo(2);
+    }
+
+    @Test
+    void rechazaElCursorDeOtraBusqueda() {
+        Propiedad propiedad = datos.propiedad();
+        List<Long> permitidas = List.of(propiedad.getId());
+        inquilino(propiedad, "Eustaquia Uno", "82000001");
+        inquilino(propiedad, "Eustaquia Dos", "82000002");
+        String cursor = busqueda.buscar(permitidas, null, "Eustaquia", null, null, 1).siguiente();
+        assertThat(cursor).isNotNull();
+
+        assertThatThrownBy(() -> busqueda.buscar(permitidas, null, "Eusebio", null, cursor, 1))
+                .isInstanceOf(DatosInvalidosException.class);
+        assertThatThrownBy(() -> busqueda.buscar(permitidas, null, null, "eustaquia@correo.pe", cursor, 1))
+                .isInstanceOf(DatosInvalidosException.class);
+        assertThat(busqueda.buscar(permitidas, null, "Eustaquia", null, cursor, 1).elementos()).hasSize(1);
+    }
+
+    @Test
+    void otroDuenoNoVeLosInquilinosAjenosConNiSinCriterio() {
+        Propiedad propiedad = datos.propiedad();
+        Inquilino propio = inquilino(propiedad, "Leocadia Propia", "83000001");
+        inquilinoRepository.save(propio.setEmail("leocadia@correo.pe"));
+        List<Long> deOtroDueno = List.of(datos.propiedad().getId());
+
+        assertThat(busqueda.buscar(deOtroDueno, "83000001", null, null, null, null).elementos()).isEmpty();
+        assertThat(busqueda.buscar(deOtroDueno, null, "Leocadia", null, null, null).elementos()).isEmpty();
+        assertThat(busqueda.buscar(deOtroDueno, null, null, "leocadia@correo.pe", null, null).elementos()).isEmpty();
+        assertThat(busqueda.buscar(deOtroDueno, null, null, null, null, 100).elementos()).isEmpty();
+        assertThat(busqueda.buscar(List.of(), null, "Leocadia", null, null, null).elementos()).isEmpty();
+
+        List<Long> permitidas = List.of(propiedad.getId());
+        assertThat(busqueda.buscar(permitidas, "83000001", null, null, null, null).elementos())
+                .extracting(InquilinoResponse::id).containsExactly(propio.getId());
+        assertThat(busqueda.buscar(permitidas, null, null, "leocadia@correo.pe", null, null).elementos())
+                .extracting(InquilinoResponse::id).containsExactly(propio.getId());
+        assertThat(busqueda.buscar(permitidas, null, null, null, null, 100).elementos())
+                .extracting(InquilinoResponse::id).containsExactly(propio.getId());
+    }
+
+    @Test
+    void admiteUnSoloCriterio() {
+        assertThatThrownBy(() -> busqueda.buscar(List.of(1L), "81000001", "Zenobia", null, null, null))
+                .isInstanceOf(DatosInvalidosException.class);
+    }
+
+    /** Inquilino con un contrato en {@code propiedad}: sólo así lo ve su dueño. */
+    private Inquilino inquilino(Propiedad propiedad, String nombre, String dni) {
+        Inquilino inquilino = inquilinoRepository.save(Inquilino.builder()
+                .nombreCompleto(nombre)
+                .numeroDni(dni)
+                .telefonoWhatsapp("+51987000000")
+                .build());
+        datos.contratoActivo(propiedad, inquilino, new BigDecimal("400.00"), LocalDate.of(2036, 1, 1));
+        return inquilino;
+    }
+}
@@ -0,0 +1,70 @@
+package com.habitora.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.ConfigRecordatorio;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.service.recordatorio.ConfigRecordatorioService;
+import com.habitora.backend.support.DatosPrueba;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class CacheSegundoNivelTests {
+
+    @Autowired
+    private ConfigRecordatorioService configRecordatorioService;
+
+    @Autowired
+    private CanalInvalidacion canal;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void configuracionActivaSeLeeDeCacheSinSql() {
+        Propiedad propiedad = datos.propiedad();
+        ConfigRecordatorio config = datos.configRecordatorio(propiedad, "+51900000001", 3);
+        configRecordatorioService.activasPorPropiedad(List.of(propiedad.getId()));
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        Map<Long, ConfigRecordatorio> activas = configRecordatorioService.activasPorPropiedad(List.of(propiedad.getId()));
+
+        assertThat(activas.get(propiedad.getId()).getId()).isEqualTo(config.getId());
+        assertThat(estadisticas.getPrepareStatementCount()).isZero();
+        assertThat(estadisticas.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void mensajeDeOtroNodoDesalojaLaEntidadYSusColecciones() {
+        Propiedad propiedad = datos.propiedad();
+        ConfigRecordatorio config = datos.configRecordatorio(propiedad, "+51900000002", 3);
+        configRecordatorioService.activasPorPropiedad(List.of(propiedad.getId()));
+        Cache cache = entityManagerFactory.getCache();
+        assertThat(cache.contains(ConfigRecordatorio.class, config.getId())).isTrue();
+
+        canal.publicar(new MensajeInvalidacion("otro-nodo", ConfigRecordatorio.class.getName(), config.getId()));
+
+        assertThat(cache.contains(ConfigRecordatorio.class, config.getId())).isFalse();
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .containsCollection(Propiedad.class.getName() + ".configRecordatorios", propiedad.getId())).isFalse();
+    }
+}
@@ -0,0 +1,130 @@
+package com.habitora.backend.service.disponibilidad;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.entity.Inquilino;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.HabitacionRepository;
+import com.habitora.backend.presentation.dto.ContratoDetalleResponse;
+import com.habitora.backend.presentation.dto.ContratoRequest;
+import com.habitora.backend.presentation.dto.HabitacionDisponibleResponse;
+import com.habitora.backend.service.contrato.ContratoService;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+import com.habitora.backend.service.outbox.DespachadorEventosService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class DisponibilidadServiceTests {
+
+    private static final BigDecimal RENTA = new BigDecimal("500.00");
+
+    @Autowired
+    private DisponibilidadService disponibilidadService;
+
+    @Autowired
+    private ContratoService contratoService;
+
+    @Autowired
+    private DespachadorEventosService despachadorEventos;
+
+    @Autowired
+    private HabitacionRepository habitacionRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void elIndiceSeActualizaAlCrearYFinalizarContratos() {
+        Propiedad propiedad = datos.propiedad();
+        Habitacion habitacion = datos.habitacionLibre(propiedad, RENTA);
+        Inquilino inquilino = datos.inquilino();
+
+        assertThat(libres(propiedad, LocalDate.of(2040, 3, 1), LocalDate.of(2040, 3, 31)))
+                .containsExactly(habitacion.getId());
+
+        ContratoDetalleResponse contrato = contratoService.crear(new ContratoRequest(habitacion.getId(),
+                inquilino.getId(), LocalDate.of(2040, 2, 1), null, RENTA));
+        despachadorEventos.despacharPendientes();
+
+        assertThat(libres(propiedad, LocalDate.of(2040, 1, 1), LocalDate.of(2040, 1, 31)))
+                .containsExactly(habitacion.getId());
+        assertThat(libres(propiedad, LocalDate.of(2040, 1, 15), LocalDate.of(2040, 2, 1))).isEmpty();
+        assertThat(libres(propiedad, LocalDate.of(2050, 1, 1), LocalDate.of(2050, 1, 1))).isEmpty();
+
+        contratoService.finalizar(contrato.id(), LocalDate.of(2040, 6, 30));
+        despachadorEventos.despacharPendientes();
+
+        assertThat(libres(propiedad, LocalDate.of(2040, 7, 1), LocalDate.of(2040, 12, 31)))
+                .containsExactly(habitacion.getId());
+        assertThat(libres(propiedad, LocalDate.of(2040, 6, 30), LocalDate.of(2040, 7, 1))).isEmpty();
+    }
+
+    @Test
+    void noSePermitenContratosSolapadosEnLaMismaHabitacion() {
+        Propiedad propiedad = datos.propiedad();
+        Habitacion habitacion = datos.habitacionLibre(propiedad, RENTA);
+        contratoService.crear(new ContratoRequest(habitacion.getId(), datos.inquilino().getId(),
+                LocalDate.of(2041, 1, 1), LocalDate.of(2041, 12, 31), RENTA));
+
+        assertThatThrownBy(() -> contratoService.crear(new ContratoRequest(habitacion.getId(),
+                datos.inquilino().getId(), LocalDate.of(2041, 12, 31), null, RENTA)))
+                .isInstanceOf(ReglaNegocioException.class);
+    }
+
+    @Test
+    void elEstadoDeLaHabitacionSeDerivaDelContratoVigente() {
+        Propiedad propiedad = datos.propiedad();
+        Habitacion habitacion = datos.habitacionLibre(propiedad, RENTA);
+        ContratoDetalleResponse contrato = contratoService.crear(new ContratoRequest(habitacion.getId(),
+                datos.inquilino().getId(), LocalDate.of(2020, 1, 1), null, RENTA));
+
+        assertThat(estado(habitacion)).isEqualTo(EstadoHabitacion.OCUPADA);
+
+        contratoService.cancelar(contrato.id());
+        despachadorEventos.despacharPendientes();
+
+        assertThat(estado(habitacion)).isEqualTo(EstadoHabitacion.DISPONIBLE);
+        assertThat(libres(propiedad, LocalDate.of(2020, 1, 1), LocalDate.of(2030, 1, 1)))
+                .containsExactly(habitacion.getId());
+    }
+
+    @Test
+    void laSincronizacionNocturnaOcupaYLiberaSegunLaFecha() {
+        Propiedad propiedad = datos.propiedad();
+        Habitacion habitacion = datos.habitacionLibre(propiedad, RENTA);
+        contratoService.crear(new ContratoRequest(habitacion.getId(), datos.inquilino().getId(),
+                LocalDate.of(2042, 1, 1), LocalDate.of(2042, 1, 31), RENTA));
+        assertThat(estado(habitacion)).isEqualTo(EstadoHabitacion.DISPONIBLE);
+
+        disponibilidadService.sincronizarEstados(LocalDate.of(2042, 1, 1));
+        assertThat(estado(habitacion)).isEqualTo(EstadoHabitacion.OCUPADA);
+
+        disponibilidadService.sincronizarEstados(LocalDate.of(2042, 2, 1));
+        assertThat(estado(habitacion)).isEqualTo(EstadoHabitacion.DISPONIBLE);
+    }
+
+    private List<Long> libres(Propiedad propiedad, LocalDate desde, LocalDate hasta) {
+        return disponibilidadService.libres(List.of(propiedad.getId()), desde, hasta).stream()
+                .map(HabitacionDisponibleResponse::id)
+                .toList();
+    }
+
+    private EstadoHabitacion estado(Habitacion habitacion) {
+        return habitacionRepository.findById(habitacion.getId()).orElseThrow().getEstado();
+    }
+}
@@ -0,0 +1,63 @@
+package com.habitora.backend.service.exportacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class ExportacionServiceTests {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void exportaSoloLasFacturasYPagosDelAnio() throws Exception {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("500.00"), LocalDate.of(2034, 1, 1));
+        Factura enero = datos.factura(contrato, LocalDate.of(2034, 1, 5));
+        datos.factura(contrato, LocalDate.of(2034, 12, 5));
+        datos.factura(contrato, LocalDate.of(2035, 1, 5));
+        pagoService.registrarPago(enero.getId(),
+                new PagoRequest(new BigDecimal("500.00"), LocalDate.of(2034, 1, 3), MetodoPago.TRANSFERENCIA));
+
+        ByteArrayOutputStream facturas = new ByteArrayOutputStream();
+        long exportadas = exportacionService.exportarFacturas(propiedad.getId(), Year.of(2034), facturas);
+
+        String[] lineas = facturas.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(exportadas).isEqualTo(2);
+        assertThat(lineas).hasSize(3);
+        assertThat(lineas[0]).isEqualTo("\uFEFFfactura_id,contrato_id,habitacion,inquilino,dni,periodo_inicio,"
+                + "periodo_fin,fecha_vencimiento,monto_renta,total_a_pagar,monto_pagado,estado");
+        assertThat(lineas[1]).startsWith(enero.getId() + ",").contains(",2034-01-01,").endsWith(",500.00,PAGADA");
+
+        ByteArrayOutputStream pagos = new ByteArrayOutputStream();
+        assertThat(exportacionService.exportarPagos(propiedad.getId(), Year.of(2034), pagos)).isEqualTo(1);
+        assertThat(pagos.toString(StandardCharsets.UTF_8)).contains(",2034-01-03,500.00,TRANSFERENCIA");
+    }
+}
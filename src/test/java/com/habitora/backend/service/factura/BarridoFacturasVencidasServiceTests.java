@@ -0,0 +1,88 @@
+package com.habitora.backend.service.factura;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.support.DatosPrueba;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class BarridoFacturasVencidasServiceTests {
+
+    /** Anterior a cualquier factura de los demás tests: el barrido sólo ve las de este. */
+    private static final LocalDate HOY = LocalDate.of(1990, 1, 10);
+
+    @Autowired
+    private BarridoFacturasVencidasService barrido;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void recorreLosBloquesPorKeysetYSoloVenceLasAbiertasAtrasadas() {
+        Propiedad propiedad = datos.propiedad();
+        Factura primera = factura(propiedad, LocalDate.of(1990, 1, 2));
+        // Tres con la misma fecha: el corte entre bloques cae entre ellas y lo resuelve el id.
+        Factura empatada1 = factura(propiedad, LocalDate.of(1990, 1, 5));
+        Factura empatada2 = factura(propiedad, LocalDate.of(1990, 1, 5));
+        Factura empatada3 = factura(propiedad, LocalDate.of(1990, 1, 5));
+        Factura ultima = factura(propiedad, LocalDate.of(1990, 1, 9));
+        Factura venceHoy = factura(propiedad, HOY);
+        Factura pagada = factura(propiedad, LocalDate.of(1990, 1, 3));
+        facturaRepository.save(pagada.setEstado(EstadoFactura.PAGADA));
+        long bloques = meterRegistry.timer("habitora.facturas.barrido.bloque").count();
+
+        int vencidas;
+        ReflectionTestUtils.setField(barrido, "tamanoBloque", 2);
+        try {
+            vencidas = barrido.barrer(HOY);
+        } finally {
+            ReflectionTestUtils.setField(barrido, "tamanoBloque", 1000);
+        }
+
+        assertThat(vencidas).isEqualTo(5);
+        // [primera, empatada1], [empatada2, empatada3], [ultima]: el último bloque incompleto corta el recorrido.
+        assertThat(meterRegistry.timer("habitora.facturas.barrido.bloque").count()).isEqualTo(bloques + 3);
+        for (Factura factura : List.of(primera, empatada1, empatada2, empatada3, ultima)) {
+            assertThat(estado(factura)).as("factura %d", factura.getId()).isEqualTo(EstadoFactura.VENCIDA);
+        }
+        assertThat(estado(venceHoy)).isEqualTo(EstadoFactura.ABIERTA);
+        assertThat(estado(pagada)).isEqualTo(EstadoFactura.PAGADA);
+
+        assertThat(barrido.barrer(HOY)).isZero();
+    }
+
+    /** Un contrato por factura: todas caen en el mismo período. */
+    private Factura factura(Propiedad propiedad, LocalDate vencimiento) {
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.of(1989, 12, 1));
+        return datos.factura(contrato, vencimiento);
+    }
+
+    private EstadoFactura estado(Factura factura) {
+        return facturaRepository.findById(factura.getId()).orElseThrow().getEstado();
+    }
+}
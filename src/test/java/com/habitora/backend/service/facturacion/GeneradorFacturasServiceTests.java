@@ -0,0 +1,111 @@
+package com.habitora.backend.service.facturacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.support.DatosPrueba;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class GeneradorFacturasServiceTests {
+
+    @Autowired
+    private GeneradorFacturasService generador;
+
+    @MockitoSpyBean
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void generaUnaFacturaPorContratoYEsIdempotente() {
+        Propiedad propiedad = datos.propiedad();
+        datos.contratoActivo(propiedad, new BigDecimal("450.00"), LocalDate.of(2030, 1, 1));
+        datos.contratoActivo(propiedad, new BigDecimal("500.00"), LocalDate.of(2030, 1, 15));
+        long antes = facturaRepository.count();
+
+        ResultadoFacturacion primera = generador.generarCiclo(YearMonth.of(2030, 2));
+        ResultadoFacturacion segunda = generador.generarCiclo(YearMonth.of(2030, 2));
+
+        assertThat(primera.creadas()).isGreaterThanOrEqualTo(2);
+        assertThat(segunda.creadas()).isZero();
+        assertThat(segunda.omitidas()).isEqualTo(primera.creadas() + primera.omitidas());
+        assertThat(facturaRepository.count()).isEqualTo(antes + primera.creadas());
+    }
+
+    @Test
+    void registraElCicloYLasFacturasEmitidasEnMetricas() {
+        Propiedad propiedad = datos.propiedad();
+        datos.contratoActivo(propiedad, new BigDecimal("380.00"), LocalDate.of(2030, 1, 1));
+        long ciclos = meterRegistry.timer("habitora.facturacion.ciclo", "error", "none").count();
+        double emitidas = meterRegistry.counter("habitora.facturas.emitidas").count();
+
+        ResultadoFacturacion resultado = generador.generarCiclo(YearMonth.of(2030, 3));
+
+        assertThat(meterRegistry.timer("habitora.facturacion.ciclo", "error", "none").count()).isEqualTo(ciclos + 1);
+        assertThat(meterRegistry.counter("habitora.facturas.emitidas").count()).isEqualTo(emitidas + resultado.creadas());
+    }
+
+    @Test
+    void unaFacturaInsertadaPorOtraInstanciaAMitadDePaginaSeOmiteAlRepetirla() {
+        Propiedad propiedad = datos.propiedad();
+        Contrato ajeno = datos.contratoActivo(propiedad, new BigDecimal("410.00"), LocalDate.of(2041, 1, 1));
+        datos.contratoActivo(propiedad, new BigDecimal("420.00"), LocalDate.of(2041, 1, 1));
+        YearMonth periodo = YearMonth.of(2041, 5);
+        TransactionTemplate otraInstancia = new TransactionTemplate(transactionManager);
+        otraInstancia.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Answer<?> real = mockingDetails(facturaRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicInteger consultas = new AtomicInteger();
+        doAnswer(invocacion -> {
+            Object facturados = real.answer(invocacion);
+            if (consultas.getAndIncrement() == 0) {
+                // Otra instancia factura un contrato de la página después de la consulta y antes del flush.
+                otraInstancia.executeWithoutResult(status -> datos.factura(ajeno, periodo.atDay(6)));
+            }
+            return facturados;
+        }).when(facturaRepository).findContratoIdsFacturados(anyCollection(), any(), any());
+        long antes = facturaRepository.count();
+
+        ResultadoFacturacion resultado = generador.generarCiclo(periodo);
+
+        assertThat(consultas.get()).isGreaterThanOrEqualTo(2);
+        assertThat(resultado.omitidas()).isGreaterThanOrEqualTo(1);
+        assertThat(resultado.creadas()).isGreaterThanOrEqualTo(1);
+        assertThat(facturaRepository.count()).isEqualTo(antes + 1 + resultado.creadas());
+        assertThat(facturaRepository.findContratoIdsFacturados(List.of(ajeno.getId()),
+                periodo.atDay(1), periodo.atEndOfMonth())).containsExactly(ajeno.getId());
+    }
+}
@@ -0,0 +1,66 @@
+package com.habitora.backend.service.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTests {
+
+    private Instant ahora = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    };
+
+    @Test
+    void seAbreTrasElUmbralYSeCierraConUnaPruebaExitosa() {
+        CircuitBreaker circuito = new CircuitBreaker(3, Duration.ofSeconds(30), clock);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(circuito.permitir()).isTrue();
+            circuito.registrarFallo();
+        }
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.ABIERTO);
+        assertThat(circuito.permitir()).isFalse();
+
+        ahora = ahora.plusSeconds(31);
+        assertThat(circuito.permitir()).isTrue();
+        assertThat(circuito.permitir()).isFalse();
+        circuito.registrarExito();
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.CERRADO);
+        assertThat(circuito.permitir()).isTrue();
+    }
+
+    @Test
+    void unaPruebaFallidaVuelveAAbrirElCircuito() {
+        CircuitBreaker circuito = new CircuitBreaker(1, Duration.ofSeconds(10), clock);
+        circuito.registrarFallo();
+
+        ahora = ahora.plusSeconds(11);
+        assertThat(circuito.permitir()).isTrue();
+        circuito.registrarFallo();
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.ABIERTO);
+        assertThat(circuito.permitir()).isFalse();
+    }
+}
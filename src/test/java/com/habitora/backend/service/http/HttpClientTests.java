@@ -0,0 +1,68 @@
+package com.habitora.backend.service.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HttpClientTests {
+
+    private final AtomicInteger llamadas = new AtomicInteger();
+    private HttpServer proveedor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        proveedor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        proveedor.createContext("/", intercambio -> {
+            llamadas.incrementAndGet();
+            intercambio.getRequestBody().readAllBytes();
+            intercambio.sendResponseHeaders(503, -1);
+            intercambio.close();
+        });
+        proveedor.start();
+        httpClient = new HttpClient(new SimpleMeterRegistry(), Clock.systemUTC(), Duration.ofSeconds(5), 10, 2,
+                Duration.ofMillis(1), 100, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void detener() {
+        httpClient.cerrar();
+        proveedor.stop(0);
+    }
+
+    @Test
+    void unPostSinClaveNoSeRepiteTrasUn5xx() throws Exception {
+        HttpResponse<String> respuesta = httpClient.postJson(uri(), "{}", Map.of());
+
+        assertThat(respuesta.statusCode()).isEqualTo(503);
+        assertThat(llamadas).hasValue(1);
+    }
+
+    @Test
+    void unPostConClaveDeIdempotenciaSeReintenta() throws Exception {
+        HttpResponse<String> respuesta = httpClient.postJson(uri(), "{}",
+                Map.of(HttpClient.CABECERA_IDEMPOTENCIA, "mensaje-1"));
+
+        assertThat(respuesta.statusCode()).isEqualTo(503);
+        assertThat(llamadas).hasValue(3);
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + proveedor.getAddress().getPort() + "/messages");
+    }
+}
@@ -0,0 +1,162 @@
+package com.habitora.backend.service.idempotencia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.persistence.repository.SolicitudIdempotenteRepository;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.presentation.dto.PagoResponse;
+import com.habitora.backend.service.exception.ReglaNegocioException;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.support.DatosPrueba;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class SolicitudesIdempotentesTests {
+
+    @Autowired
+    private SolicitudesIdempotentes solicitudes;
+
+    @Autowired
+    private SolicitudIdempotenteRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lasRepeticionesDevuelvenLaRespuestaDelPrimerEnvioSinPagarDeNuevo() {
+        Factura factura = facturaAutenticada(new BigDecimal("300.00"));
+        PagoRequest mitad = new PagoRequest(new BigDecimal("150.00"), LocalDate.of(2034, 1, 3), MetodoPago.YAPE);
+        String clave = UUID.randomUUID().toString();
+
+        PagoResponse primera = pagar(solicitudes, clave, factura, mitad);
+        PagoResponse repetida = pagar(solicitudes, clave, factura, mitad);
+        PagoResponse enOtroNodo = pagar(otroNodo(), clave, factura, mitad);
+
+        assertThat(repetida).isEqualTo(primera);
+        assertThat(enOtroNodo).isEqualTo(primera);
+        assertThat(facturaRepository.findById(factura.getId()).orElseThrow().getMontoPagado())
+                .isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void laMismaClaveConOtraSolicitudSeRechaza() {
+        Factura factura = facturaAutenticada(new BigDecimal("300.00"));
+        String clave = UUID.randomUUID().toString();
+        pagar(solicitudes, clave, factura,
+                new PagoRequest(new BigDecimal("100.00"), LocalDate.of(2034, 1, 3), MetodoPago.YAPE));
+
+        assertThatThrownBy(() -> pagar(solicitudes, clave, factura,
+                new PagoRequest(new BigDecimal("120.00"), LocalDate.of(2034, 1, 3), MetodoPago.YAPE)))
+                .isInstanceOf(ReglaNegocioException.class);
+        assertThat(facturaRepository.findById(factura.getId()).orElseThrow().getMontoPagado())
+                .isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void laRespuestaSeInsertaConElFlushDeLaEscrituraSinViajePropio() {
+        facturaAutenticada(new BigDecimal("300.00"));
+        String clave = UUID.randomUUID().toString();
+        String id = SecurityContextHolder.getContext().getAuthentication().getName() + ":prueba:" + clave;
+
+        Integer alRegistrar = transactionTemplate.execute(status ->
+                solicitudes.ejecutar("prueba", clave, List.of(clave), Integer.class, () -> {
+                    solicitudes.registrar(42);
+                    return jdbcTemplate.queryForObject(
+                            "select count(*) from solicitudes_idempotentes where id = ?", Integer.class, id);
+                }));
+
+        assertThat(alRegistrar).isZero();
+        assertThat(repository.existsById(id)).isTrue();
+    }
+
+    @Test
+    void laLimpiezaBorraLasExpiradas() {
+        Factura factura = facturaAutenticada(new BigDecimal("300.00"));
+        String clave = UUID.randomUUID().toString();
+        pagar(solicitudes, clave, factura,
+                new PagoRequest(new BigDecimal("10.00"), LocalDate.of(2034, 1, 3), MetodoPago.YAPE));
+        String id = SecurityContextHolder.getContext().getAuthentication().getName() + ":pago:" + clave;
+        jdbcTemplate.update("update solicitudes_idempotentes set expira_en = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now(clock).minusMinutes(1)), id);
+
+        assertThat(solicitudes.limpiarExpiradas()).isPositive();
+        assertThat(repository.existsById(id)).isFalse();
+    }
+
+    private Factura facturaAutenticada(BigDecimal renta) {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, renta, LocalDate.of(2034, 1, 1));
+        Factura factura = datos.factura(contrato, LocalDate.of(2034, 1, 5));
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(propiedad.getUsuario().getId().toString(), null, "USUARIO"));
+        return factura;
+    }
+
+    private PagoResponse pagar(SolicitudesIdempotentes nodo, String clave, Factura factura, PagoRequest request) {
+        return nodo.ejecutar("pago", clave, List.of(factura.getId(), request), PagoResponse.class,
+                () -> pagoService.registrarPago(factura.getId(), request));
+    }
+
+    /** Otra instancia, con su memoria vacía: sólo comparte la base. */
+    private SolicitudesIdempotentes otroNodo() {
+        return new SolicitudesIdempotentes(repository, entityManager, transactionTemplate, objectMapper, clock,
+                new SimpleMeterRegistry(), Duration.ofHours(1), 100);
+    }
+}
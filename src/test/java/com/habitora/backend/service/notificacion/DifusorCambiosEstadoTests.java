@@ -0,0 +1,216 @@
+package com.habitora.backend.service.notificacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.habitora.backend.service.exception.DemasiadosIntentosException;
+import com.habitora.backend.service.notificacion.CambioEstado.Tipo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * El difusor contra emisores de prueba: cada bucle de envío corre en un hilo
+ * que arranca el test, después de encolar lo que necesita.
+ */
+class DifusorCambiosEstadoTests {
+
+    private static final Duration SIN_LATIDO = Duration.ofMinutes(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CanalCambiosEstadoLocal canal = new CanalCambiosEstadoLocal();
+    private final List<Runnable> envios = new CopyOnWriteArrayList<>();
+
+    @Test
+    void fundeLosCambiosDeUnaMismaFacturaYEnviaSoloElUltimo() throws Exception {
+        DifusorCambiosEstado difusor = difusor(10, 10, SIN_LATIDO);
+        EmisorDePrueba emisor = (EmisorDePrueba) difusor.suscribir(1L);
+        CambioEstado abierta = new CambioEstado(1L, Tipo.FACTURA, 10L, "ABIERTA");
+        CambioEstado recordatorio = new CambioEstado(1L, Tipo.RECORDATORIO, 20L, "ENVIADO");
+        CambioEstado pagada = new CambioEstado(1L, Tipo.FACTURA, 10L, "PAGADA");
+
+        difusor.difundir(abierta);
+        difusor.difundir(recordatorio);
+        difusor.difundir(pagada);
+        difusor.difundir(new CambioEstado(2L, Tipo.FACTURA, 30L, "PAGADA"));
+        Thread hilo = arrancar(0);
+        esperar(() -> emisor.datos.size() == 2);
+        emisor.cerrarCliente();
+
+        assertThat(hilo.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(emisor.datos).containsExactly(recordatorio, pagada);
+        assertThat(emisor.enviados).satisfiesExactly(
+                e -> assertThat(e).startsWith("event:recordatorio"),
+                e -> assertThat(e).startsWith("event:factura"));
+    }
+
+    @Test
+    void unSuscriptorQueLlenaSuColaRecibeUnSoloReinicioYLuegoSigue() throws Exception {
+        DifusorCambiosEstado difusor = difusor(10, 2, SIN_LATIDO);
+        EmisorDePrueba emisor = (EmisorDePrueba) difusor.suscribir(1L);
+        for (long id = 1; id <= 4; id++) {
+            difusor.difundir(new CambioEstado(1L, Tipo.FACTURA, id, "VENCIDA"));
+        }
+        assertThat(meterRegistry.get("habitora.sse.reinicios").counter().count()).isEqualTo(1.0);
+
+        Thread hilo = arrancar(0);
+        esperar(() -> emisor.enviados.size() == 1);
+        CambioEstado posterior = new CambioEstado(1L, Tipo.FACTURA, 5L, "PAGADA");
+        difusor.difundir(posterior);
+        esperar(() -> emisor.enviados.size() == 2);
+        emisor.cerrarCliente();
+
+        assertThat(hilo.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(emisor.enviados.get(0)).startsWith("event:reinicio");
+        assertThat(emisor.datos).containsExactly(posterior);
+        assertThat(meterRegistry.get("habitora.sse.reinicios").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void pasadoElMaximoRechazaSuscripcionesHastaQueSeCierraUna() {
+        DifusorCambiosEstado difusor = difusor(1, 10, SIN_LATIDO);
+        EmisorDePrueba primera = (EmisorDePrueba) difusor.suscribir(1L);
+
+        assertThatThrownBy(() -> difusor.suscribir(2L)).isInstanceOf(DemasiadosIntentosException.class);
+        assertThat(suscripciones()).isEqualTo(1.0);
+
+        primera.cerrarCliente();
+        assertThat(suscripciones()).isZero();
+        assertThat(difusor.suscribir(2L)).isNotNull();
+        assertThat(suscripciones()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sinCambiosEnviaLatidos() throws Exception {
+        DifusorCambiosEstado difusor = difusor(10, 10, Duration.ofMillis(20));
+        EmisorDePrueba emisor = (EmisorDePrueba) difusor.suscribir(1L);
+
+        Thread hilo = arrancar(0);
+        esperar(() -> emisor.enviados.size() >= 2);
+        emisor.cerrarCliente();
+
+        assertThat(hilo.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(emisor.enviados).allSatisfy(e -> assertThat(e).startsWith(":latido"));
+        assertThat(emisor.datos).isEmpty();
+    }
+
+    @Test
+    void unaConexionCerradaOCaidaDejaDeRecibirYLiberaSuLugar() throws Exception {
+        DifusorCambiosEstado difusor = difusor(10, 10, SIN_LATIDO);
+        EmisorDePrueba cerrada = (EmisorDePrueba) difusor.suscribir(1L);
+        EmisorDePrueba caida = (EmisorDePrueba) difusor.suscribir(1L);
+        assertThat(suscripciones()).isEqualTo(2.0);
+
+        cerrada.cerrarCliente();
+        caida.fallar = true;
+        difusor.difundir(new CambioEstado(1L, Tipo.FACTURA, 10L, "PAGADA"));
+        Thread hiloCerrada = arrancar(0);
+        Thread hiloCaida = arrancar(1);
+
+        assertThat(hiloCerrada.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(hiloCaida.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(cerrada.enviados).isEmpty();
+        assertThat(suscripciones()).isZero();
+    }
+
+    @Test
+    void alApagarseSeDaDeBajaDelCanalYCompletaLasConexiones() throws Exception {
+        DifusorCambiosEstado difusor = difusor(10, 10, SIN_LATIDO);
+        difusor.escuchar();
+        EmisorDePrueba emisor = (EmisorDePrueba) difusor.suscribir(1L);
+        CambioEstado antes = new CambioEstado(1L, Tipo.FACTURA, 10L, "PAGADA");
+        canal.publicar(antes);
+
+        difusor.cerrarTodas();
+        canal.publicar(new CambioEstado(1L, Tipo.FACTURA, 11L, "PAGADA"));
+        Thread hilo = arrancar(0);
+        esperar(() -> emisor.datos.size() == 1);
+        emisor.cerrarCliente();
+
+        assertThat(hilo.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(emisor.completado).isTrue();
+        assertThat(emisor.datos).containsExactly(antes);
+    }
+
+    private DifusorCambiosEstado difusor(int maxSuscripciones, int maxPendientes, Duration latido) {
+        return new DifusorCambiosEstado(canal, meterRegistry, maxSuscripciones, maxPendientes,
+                Duration.ofMinutes(30), latido) {
+            @Override
+            SseEmitter nuevoEmisor(Duration duracion) {
+                return new EmisorDePrueba();
+            }
+
+            @Override
+            void iniciar(String nombre, Runnable envio) {
+                envios.add(envio);
+            }
+        };
+    }
+
+    private Thread arrancar(int suscripcion) {
+        return Thread.ofVirtual().start(envios.get(suscripcion));
+    }
+
+    private double suscripciones() {
+        return meterRegistry.get("habitora.sse.suscripciones").gauge().value();
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+
+    /** Emisor sin contenedor: guarda lo enviado y deja simular que el cliente cierra la conexión. */
+    private static final class EmisorDePrueba extends SseEmitter {
+
+        /** Texto de cada evento enviado, sin los datos. */
+        private final List<String> enviados = new CopyOnWriteArrayList<>();
+        private final List<CambioEstado> datos = new CopyOnWriteArrayList<>();
+        private volatile Runnable alCerrar;
+        private volatile boolean fallar;
+        private volatile boolean completado;
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            if (fallar) {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+            StringBuilder texto = new StringBuilder();
+            for (DataWithMediaType parte : evento.build()) {
+                if (parte.getData() instanceof CambioEstado cambio) {
+                    datos.add(cambio);
+                } else {
+                    texto.append(parte.getData());
+                }
+            }
+            enviados.add(texto.toString());
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            alCerrar = callback;
+        }
+
+        @Override
+        public void complete() {
+            completado = true;
+            super.complete();
+        }
+
+        void cerrarCliente() {
+            alCerrar.run();
+        }
+    }
+}
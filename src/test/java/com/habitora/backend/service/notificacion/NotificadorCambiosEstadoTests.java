@@ -0,0 +1,88 @@
+package com.habitora.backend.service.notificacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.service.factura.BarridoFacturasVencidasService;
+import com.habitora.backend.service.notificacion.CambioEstado.Tipo;
+import com.habitora.backend.service.outbox.DespachadorEventosService;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class NotificadorCambiosEstadoTests {
+
+    private static final BigDecimal RENTA = new BigDecimal("200.00");
+
+    @Autowired
+    private CanalCambiosEstado canal;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private DespachadorEventosService despachadorEventos;
+
+    @Autowired
+    private BarridoFacturasVencidasService barrido;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    private final List<CambioEstado> recibidos = new CopyOnWriteArrayList<>();
+
+    private Runnable desuscribir;
+
+    @BeforeEach
+    void escuchar() {
+        desuscribir = canal.suscribir(recibidos::add);
+    }
+
+    @AfterEach
+    void dejarDeEscuchar() {
+        desuscribir.run();
+    }
+
+    @Test
+    void elPagoQueCierraLaFacturaSeAvisaASuPropiedad() {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, RENTA, LocalDate.of(2035, 1, 1));
+        Factura factura = datos.factura(contrato, LocalDate.of(2035, 1, 5));
+
+        pagoService.registrarPago(factura.getId(), new PagoRequest(RENTA, LocalDate.of(2035, 1, 2), MetodoPago.EFECTIVO));
+        assertThat(recibidos).isEmpty();
+        despachadorEventos.despacharPendientes();
+
+        assertThat(recibidos).contains(new CambioEstado(propiedad.getId(), Tipo.FACTURA, factura.getId(), "PAGADA"));
+    }
+
+    @Test
+    void elBarridoAvisaLasFacturasQueVencen() {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, RENTA, LocalDate.of(2000, 1, 1));
+        Factura factura = datos.factura(contrato, LocalDate.of(2000, 1, 5));
+
+        barrido.barrer(LocalDate.of(2000, 1, 6));
+
+        assertThat(recibidos).contains(new CambioEstado(propiedad.getId(), Tipo.FACTURA, factura.getId(), "VENCIDA"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.habitora.backend.service.onboarding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.presentation.dto.ErrorFilaResponse;
+import com.habitora.backend.presentation.dto.ImportacionOnboardingResponse;
+import com.habitora.backend.presentation.dto.OnboardingRequest;
+import com.habitora.backend.presentation.dto.OnboardingRequest.HabitacionFila;
+import com.habitora.backend.presentation.dto.OnboardingRequest.InquilinoFila;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class ImportadorOnboardingServiceTests {
+
+    @Autowired
+    private ImportadorOnboardingService importador;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void importaFilasValidasYReportaConflictos() {
+        Propiedad propiedad = datos.propiedad();
+        String dni = String.valueOf(System.nanoTime() % 100_000_000L);
+        OnboardingRequest request = new OnboardingRequest(propiedad.getId(), null,
+                List.of(new HabitacionFila(1, "A-101", new BigDecimal("300.00")),
+                        new HabitacionFila(2, "a-101", new BigDecimal("300.00")),
+                        new HabitacionFila(2, "A-201", new BigDecimal("-5")),
+                        new HabitacionFila(2, "A-202", new BigDecimal("350.00"))),
+                List.of(new InquilinoFila("Ana Quispe", dni, "ana@correo.pe", "+51911111111"),
+                        new InquilinoFila("Ana Quispe", dni, null, null),
+                        new InquilinoFila("", "x" + dni, "no-es-correo", null)));
+
+        ImportacionOnboardingResponse primera = importador.importar(request);
+
+        assertThat(primera.habitacionesCreadas()).isEqualTo(2);
+        assertThat(primera.pisosCreados()).isEqualTo(1);
+        assertThat(primera.erroresHabitaciones()).extracting(ErrorFilaResponse::fila).containsExactly(2, 3);
+        assertThat(primera.inquilinosCreados()).isEqualTo(1);
+        assertThat(primera.erroresInquilinos()).extracting(ErrorFilaResponse::fila).containsExactly(2, 3);
+
+        ImportacionOnboardingResponse segunda = importador.importar(request);
+
+        assertThat(segunda.habitacionesCreadas()).isZero();
+        assertThat(segunda.erroresHabitaciones()).extracting(ErrorFilaResponse::mensaje)
+                .contains("El código A-101 ya existe en la propiedad.");
+        assertThat(segunda.inquilinosCreados()).isZero();
+        assertThat(segunda.inquilinosExistentes()).isEqualTo(1);
+    }
+}
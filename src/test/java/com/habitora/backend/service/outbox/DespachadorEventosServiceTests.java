@@ -0,0 +1,153 @@
+package com.habitora.backend.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.EventoOutbox;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.EventoOutboxRepository;
+import com.habitora.backend.service.event.ContratoCambiadoEvent;
+import com.habitora.backend.support.DatosPrueba;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({ DatosPrueba.class, DespachadorEventosServiceTests.Consumidor.class })
+class DespachadorEventosServiceTests {
+
+    private static final long CONTRATO_A = 900_001L;
+    private static final long CONTRATO_B = 900_002L;
+    private static final long CONTRATO_C = 900_003L;
+
+    @Autowired
+    private DespachadorEventosService despachador;
+
+    @Autowired
+    private RegistroEventos registroEventos;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Consumidor consumidor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void unEventoFallidoFrenaSoloASuContratoYSeReintentaEnOrden() {
+        Propiedad propiedad = datos.propiedad();
+        consumidor.fallarCon = -1L;
+        transactionTemplate.executeWithoutResult(status -> {
+            registroEventos.registrar(CONTRATO_A, new ContratoCambiadoEvent(propiedad.getId(), -1L));
+            registroEventos.registrar(CONTRATO_A, new ContratoCambiadoEvent(propiedad.getId(), -2L));
+            registroEventos.registrar(CONTRATO_B, new ContratoCambiadoEvent(propiedad.getId(), -3L));
+        });
+
+        despachador.despacharPendientes();
+
+        assertThat(consumidor.recibidos).containsExactly(-3L);
+        List<EventoOutbox> deA = eventos(CONTRATO_A);
+        assertThat(deA.get(0).getIntentos()).isEqualTo(1);
+        assertThat(deA.get(0).getUltimoError()).contains("consumidor caído");
+        assertThat(deA).allSatisfy(e -> assertThat(e.getPublicadoEn()).isNull());
+
+        consumidor.fallarCon = null;
+        jdbcTemplate.update("update eventos_outbox set disponible_desde = ? where clave = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusYears(1)), RegistroEventos.clave(CONTRATO_A));
+        despachador.despacharPendientes();
+
+        assertThat(consumidor.recibidos).containsExactly(-3L, -1L, -2L);
+        assertThat(eventos(CONTRATO_A)).allSatisfy(e -> assertThat(e.getPublicadoEn()).isNotNull());
+    }
+
+    @Test
+    void unEventoQueAgotaSusIntentosSeAparteYLiberaASuContrato() {
+        Propiedad propiedad = datos.propiedad();
+        consumidor.fallarCon = -11L;
+        transactionTemplate.executeWithoutResult(status -> {
+            registroEventos.registrar(CONTRATO_C, new ContratoCambiadoEvent(propiedad.getId(), -11L));
+            registroEventos.registrar(CONTRATO_C, new ContratoCambiadoEvent(propiedad.getId(), -12L));
+        });
+        double agotados = meterRegistry.counter("habitora.outbox.eventos", "resultado", "agotado").count();
+
+        ReflectionTestUtils.setField(despachador, "maxIntentos", 2);
+        try {
+            despachador.despacharPendientes();
+            assertThat(eventos(CONTRATO_C).get(0).getFallidoEn()).isNull();
+
+            hacerDisponibles(CONTRATO_C);
+            despachador.despacharPendientes();
+            hacerDisponibles(CONTRATO_C);
+            despachador.despacharPendientes();
+        } finally {
+            ReflectionTestUtils.setField(despachador, "maxIntentos", 10);
+            consumidor.fallarCon = null;
+        }
+
+        List<EventoOutbox> deC = eventos(CONTRATO_C);
+        assertThat(deC.get(0).getIntentos()).isEqualTo(2);
+        assertThat(deC.get(0).getFallidoEn()).isNotNull();
+        assertThat(deC.get(0).getPublicadoEn()).isNull();
+        assertThat(deC.get(1).getPublicadoEn()).isNotNull();
+        assertThat(consumidor.recibidos).contains(-12L).doesNotContain(-11L);
+        assertThat(meterRegistry.counter("habitora.outbox.eventos", "resultado", "agotado").count())
+                .isEqualTo(agotados + 1);
+    }
+
+    private void hacerDisponibles(long contratoId) {
+        jdbcTemplate.update("update eventos_outbox set disponible_desde = ? where clave = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusYears(1)), RegistroEventos.clave(contratoId));
+    }
+
+    private List<EventoOutbox> eventos(long contratoId) {
+        return eventoOutboxRepository.findAll().stream()
+                .filter(e -> e.getClave().equals(RegistroEventos.clave(contratoId)))
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .toList();
+    }
+
+    /** Registra los eventos de prueba (habitaciones con id negativo) y falla a pedido. */
+    @TestComponent
+    static class Consumidor {
+
+        final List<Long> recibidos = new CopyOnWriteArrayList<>();
+        volatile Long fallarCon;
+
+        @EventListener
+        void alCambiarContrato(ContratoCambiadoEvent evento) {
+            if (evento.habitacionId() >= 0) {
+                return;
+            }
+            if (evento.habitacionId().equals(fallarCon)) {
+                throw new IllegalStateException("consumidor caído");
+            }
+            recibidos.add(evento.habitacionId());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.habitora.backend.service.pago;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.presentation.dto.ErrorFilaResponse;
+import com.habitora.backend.presentation.dto.ImportacionPagosResponse;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class ImportadorPagosServiceTests {
+
+    @Autowired
+    private ImportadorPagosService importador;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void registraLasFilasValidasYReportaLasDemas() throws IOException {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.of(2033, 1, 1));
+        Factura enero = datos.factura(contrato, LocalDate.of(2033, 1, 10));
+        Factura febrero = datos.factura(contrato, LocalDate.of(2033, 2, 10));
+        Propiedad ajena = datos.propiedad();
+        Factura deOtro = datos.factura(datos.contratoActivo(ajena, new BigDecimal("400.00"), LocalDate.of(2033, 1, 1)),
+                LocalDate.of(2033, 1, 10));
+
+        ImportacionPagosResponse respuesta = importador.importar(csv(
+                enero.getId() + ",2033-01-05,400.00,YAPE",
+                febrero.getId() + ",2033-01-05,150.00,efectivo",
+                "999999999,2033-01-05,10.00,PLIN",
+                febrero.getId() + ";2033-01-05;abc;PLIN",
+                enero.getId() + ",2033-01-06,10.00,YAPE",
+                deOtro.getId() + ",2033-01-05,10.00,YAPE"), List.of(propiedad.getId()));
+
+        assertThat(respuesta.filasLeidas()).isEqualTo(6);
+        assertThat(respuesta.pagosRegistrados()).isEqualTo(2);
+        assertThat(respuesta.facturasPagadas()).isEqualTo(1);
+        assertThat(respuesta.errores()).extracting(ErrorFilaResponse::fila).containsExactlyInAnyOrder(3, 4, 5, 6);
+        assertThat(facturaRepository.findById(enero.getId()).orElseThrow().getEstado()).isEqualTo(EstadoFactura.PAGADA);
+        assertThat(facturaRepository.findById(febrero.getId()).orElseThrow().getMontoPagado()).isEqualByComparingTo("150.00");
+        assertThat(facturaRepository.findById(deOtro.getId()).orElseThrow().getMontoPagado()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void unaFilaQueLaBaseRechazaNoDeshaceElRestoDelBloque() throws IOException {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.of(2033, 1, 1));
+        Factura enero = datos.factura(contrato, LocalDate.of(2033, 1, 10));
+        Factura febrero = datos.factura(contrato, LocalDate.of(2033, 2, 10));
+        Factura marzo = datos.factura(contrato, LocalDate.of(2033, 3, 10));
+
+        ImportacionPagosResponse respuesta;
+        // Pasa la validación del servicio pero la base la rechaza.
+        jdbcTemplate.execute("alter table pagos add constraint chk_pago_prueba check (monto <> 123.45)");
+        try {
+            respuesta = importador.importar(csv(
+                    enero.getId() + ",2033-01-05,100.00,YAPE",
+                    febrero.getId() + ",2033-01-05,123.45,YAPE",
+                    marzo.getId() + ",2033-01-05,50.00,YAPE"), List.of(propiedad.getId()));
+        } finally {
+            jdbcTemplate.execute("alter table pagos drop constraint chk_pago_prueba");
+        }
+
+        assertThat(respuesta.pagosRegistrados()).isEqualTo(2);
+        assertThat(respuesta.errores()).extracting(ErrorFilaResponse::fila).containsExactly(2);
+        assertThat(facturaRepository.findById(enero.getId()).orElseThrow().getMontoPagado()).isEqualByComparingTo("100.00");
+        assertThat(facturaRepository.findById(febrero.getId()).orElseThrow().getMontoPagado()).isEqualByComparingTo("0");
+        assertThat(facturaRepository.findById(marzo.getId()).orElseThrow().getMontoPagado()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void unBloqueDeUnaFilaRechazadoSeReportaSinAbortarLaImportacion() throws IOException {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.of(2033, 1, 1));
+        Factura enero = datos.factura(contrato, LocalDate.of(2033, 1, 10));
+
+        ImportacionPagosResponse respuesta;
+        jdbcTemplate.execute("alter table pagos add constraint chk_pago_prueba check (monto <> 123.45)");
+        try {
+            respuesta = importador.importar(csv(enero.getId() + ",2033-01-05,123.45,YAPE"), List.of(propiedad.getId()));
+        } finally {
+            jdbcTemplate.execute("alter table pagos drop constraint chk_pago_prueba");
+        }
+
+        assertThat(respuesta.pagosRegistrados()).isZero();
+        assertThat(respuesta.errores()).extracting(ErrorFilaResponse::fila).containsExactly(1);
+        assertThat(facturaRepository.findById(enero.getId()).orElseThrow().getMontoPagado()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void importacionesSimultaneasDeUnaFacturaSeReintentanSinPerderPagos() throws Exception {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.of(2033, 1, 1));
+        Factura enero = datos.factura(contrato, LocalDate.of(2033, 1, 10));
+        CountDownLatch largada = new CountDownLatch(1);
+
+        Callable<ImportacionPagosResponse> importar = () -> {
+            largada.await();
+            return importador.importar(csv(enero.getId() + ",2033-01-05,100.00,YAPE"), List.of(propiedad.getId()));
+        };
+        List<ImportacionPagosResponse> respuestas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<ImportacionPagosResponse>> enCurso = List.of(executor.submit(importar),
+                    executor.submit(importar), executor.submit(importar), executor.submit(importar));
+            largada.countDown();
+            for (Future<ImportacionPagosResponse> respuesta : enCurso) {
+                respuestas.add(respuesta.get());
+            }
+        }
+
+        assertThat(respuestas).allSatisfy(r -> {
+            assertThat(r.pagosRegistrados()).isEqualTo(1);
+            assertThat(r.errores()).isEmpty();
+        });
+        Factura actualizada = facturaRepository.findById(enero.getId()).orElseThrow();
+        assertThat(actualizada.getMontoPagado()).isEqualByComparingTo("400.00");
+        assertThat(actualizada.getEstado()).isEqualTo(EstadoFactura.PAGADA);
+    }
+
+    private static InputStream csv(String... filas) {
+        String contenido = "factura_id,fecha_pago,monto,metodo\n" + String.join("\n", filas) + "\n";
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package com.habitora.backend.service.pago;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.presentation.dto.PagoResponse;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class PagoServiceTests {
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void pagosSimultaneosNoPierdenSaldoYCierranLaFactura() throws Exception {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.of(2032, 1, 1));
+        Factura factura = datos.factura(contrato, LocalDate.of(2032, 2, 5));
+        PagoRequest mitad = new PagoRequest(new BigDecimal("200.00"), LocalDate.of(2032, 2, 1), MetodoPago.YAPE);
+
+        Callable<PagoResponse> pagar = () -> pagoService.registrarPago(factura.getId(), mitad);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            List<Future<PagoResponse>> resultados = executor.invokeAll(List.of(pagar, pagar));
+            for (Future<PagoResponse> resultado : resultados) {
+                resultado.get();
+            }
+        }
+
+        Factura actualizada = facturaRepository.findById(factura.getId()).orElseThrow();
+        assertThat(actualizada.getMontoPagado()).isEqualByComparingTo("400.00");
+        assertThat(actualizada.getEstado()).isEqualTo(EstadoFactura.PAGADA);
+    }
+}
@@ -0,0 +1,70 @@
+package com.habitora.backend.service.pago;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.repository.FacturaRepository;
+import com.habitora.backend.support.DatosPrueba;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class ReintentosOptimistasTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void unConflictoDetectadoEnUnFlushDirectoSeReintenta() {
+        Factura factura = datos.factura(datos.contratoActivo(datos.propiedad(), new BigDecimal("400.00"),
+                LocalDate.of(2037, 1, 1)), LocalDate.of(2037, 1, 10));
+        TransactionTemplate otraTransaccion = new TransactionTemplate(transactionManager);
+        otraTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger intentos = new AtomicInteger();
+
+        ReintentosOptimistas.ejecutar(() -> transactionTemplate.execute(status -> {
+            Factura leida = entityManager.find(Factura.class, factura.getId());
+            if (intentos.incrementAndGet() == 1) {
+                // Otra operación cobra la misma factura entre la lectura y el flush.
+                otraTransaccion.executeWithoutResult(s -> {
+                    Factura otra = entityManager.find(Factura.class, factura.getId());
+                    otra.setMontoPagado(otra.getMontoPagado().add(new BigDecimal("100.00")));
+                });
+            }
+            leida.setMontoPagado(leida.getMontoPagado().add(new BigDecimal("50.00")));
+            entityManager.flush();
+            return leida;
+        }));
+
+        assertThat(intentos).hasValue(2);
+        assertThat(facturaRepository.findById(factura.getId()).orElseThrow().getMontoPagado())
+                .isEqualByComparingTo("150.00");
+    }
+}
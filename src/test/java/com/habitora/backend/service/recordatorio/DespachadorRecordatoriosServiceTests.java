@@ -0,0 +1,157 @@
+package com.habitora.backend.service.recordatorio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.entity.Recordatorio;
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+import com.habitora.backend.persistence.repository.RecordatorioRepository;
+import com.habitora.backend.support.DatosPrueba;
+import com.sun.net.httpserver.HttpServer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class DespachadorRecordatoriosServiceTests {
+
+    private static HttpServer pasarela;
+    private static final AtomicInteger mensajesRecibidos = new AtomicInteger();
+
+    @DynamicPropertySource
+    static void pasarelaWhatsApp(DynamicPropertyRegistry registry) throws IOException {
+        pasarela = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        pasarela.createContext("/messages", intercambio -> {
+            String cuerpo = new String(intercambio.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            int n = mensajesRecibidos.incrementAndGet();
+            boolean rechazar = cuerpo.contains("+51000000000");
+            boolean caida = cuerpo.contains("+51555555555");
+            byte[] respuesta = (rechazar ? "{\"error\":\"numero invalido\"}"
+                    : caida ? "{\"error\":\"no disponible\"}" : "{\"id\":\"wamid-" + n + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            intercambio.sendResponseHeaders(rechazar ? 400 : caida ? 503 : 200, respuesta.length);
+            try (OutputStream out = intercambio.getResponseBody()) {
+                out.write(respuesta);
+            }
+        });
+        pasarela.start();
+        registry.add("habitora.whatsapp.url-base", () -> "http://localhost:" + pasarela.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void detenerPasarela() {
+        pasarela.stop(0);
+    }
+
+    @Autowired
+    private DespachadorRecordatoriosService despachador;
+
+    @Autowired
+    private RecordatorioRepository recordatorioRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${habitora.recordatorios.max-intentos}")
+    private int maxIntentos;
+
+    @Test
+    void enviaLosVencidosYRegistraElResultado() {
+        Propiedad propiedad = datos.propiedad();
+        datos.configRecordatorio(propiedad, "+51999888777", 3);
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.now(clock).minusMonths(1));
+        Factura factura = datos.factura(contrato, LocalDate.now(clock).plusDays(3));
+
+        LocalDateTime pasado = LocalDateTime.now(clock).minusMinutes(5);
+        Recordatorio valido = datos.recordatorio(factura, "+51911111111", pasado);
+        Recordatorio invalido = datos.recordatorio(factura, "+51000000000", pasado);
+        Recordatorio futuro = datos.recordatorio(factura, "+51922222222", LocalDateTime.now(clock).plusDays(1));
+
+        despachador.despacharPendientes();
+
+        Recordatorio enviado = recordatorioRepository.findById(valido.getId()).orElseThrow();
+        assertThat(enviado.getEstado()).isEqualTo(EstadoRecordatorio.ENVIADO);
+        assertThat(enviado.getEnviadoEn()).isNotNull();
+        assertThat(enviado.getIdMensajeProveedor()).startsWith("wamid-");
+        assertThat(enviado.getReclamadoHasta()).isNull();
+
+        assertThat(recordatorioRepository.findById(invalido.getId()).orElseThrow().getEstado())
+                .isEqualTo(EstadoRecordatorio.FALLIDO);
+        assertThat(recordatorioRepository.findById(futuro.getId()).orElseThrow().getEstado())
+                .isEqualTo(EstadoRecordatorio.PROGRAMADO);
+        assertThat(mensajesRecibidos.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void unFalloPasajeroReprogramaHastaAgotarLosIntentos() {
+        Propiedad propiedad = datos.propiedad();
+        datos.configRecordatorio(propiedad, "+51999888777", 3);
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.now(clock).minusMonths(1));
+        Factura factura = datos.factura(contrato, LocalDate.now(clock).plusDays(3));
+
+        LocalDateTime pasado = LocalDateTime.now(clock).minusMinutes(5);
+        Recordatorio primero = datos.recordatorio(factura, "+51555555555", pasado);
+        Recordatorio ultimo = datos.recordatorio(factura, "+51555555555", pasado);
+        recordatorioRepository.save(ultimo.setIntentos(maxIntentos - 1));
+
+        despachador.despacharPendientes();
+
+        Recordatorio reprogramado = recordatorioRepository.findById(primero.getId()).orElseThrow();
+        assertThat(reprogramado.getEstado()).isEqualTo(EstadoRecordatorio.PROGRAMADO);
+        assertThat(reprogramado.getProgramadoPara()).isAfter(LocalDateTime.now(clock));
+        assertThat(reprogramado.getIntentos()).isEqualTo(1);
+        assertThat(reprogramado.getReclamadoHasta()).isNull();
+
+        Recordatorio agotado = recordatorioRepository.findById(ultimo.getId()).orElseThrow();
+        assertThat(agotado.getEstado()).isEqualTo(EstadoRecordatorio.FALLIDO);
+        assertThat(agotado.getIntentos()).isEqualTo(maxIntentos);
+    }
+
+    @Test
+    void retomaSoloLosEnviosCuyoReclamoVencio() {
+        Propiedad propiedad = datos.propiedad();
+        datos.configRecordatorio(propiedad, "+51999888777", 3);
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.now(clock).minusMonths(1));
+        Factura factura = datos.factura(contrato, LocalDate.now(clock).plusDays(3));
+
+        LocalDateTime pasado = LocalDateTime.now(clock).minusMinutes(5);
+        Recordatorio abandonado = datos.recordatorio(factura, "+51933333333", pasado);
+        recordatorioRepository.save(abandonado.setEstado(EstadoRecordatorio.ENVIANDO)
+                .setReclamadoHasta(LocalDateTime.now(clock).minusMinutes(1)));
+        Recordatorio enCurso = datos.recordatorio(factura, "+51944444444", pasado);
+        recordatorioRepository.save(enCurso.setEstado(EstadoRecordatorio.ENVIANDO)
+                .setReclamadoHasta(LocalDateTime.now(clock).plusMinutes(4)));
+
+        despachador.despacharPendientes();
+
+        assertThat(recordatorioRepository.findById(abandonado.getId()).orElseThrow().getEstado())
+                .isEqualTo(EstadoRecordatorio.ENVIADO);
+        Recordatorio ajeno = recordatorioRepository.findById(enCurso.getId()).orElseThrow();
+        assertThat(ajeno.getEstado()).isEqualTo(EstadoRecordatorio.ENVIANDO);
+        assertThat(ajeno.getEnviadoEn()).isNull();
+    }
+}
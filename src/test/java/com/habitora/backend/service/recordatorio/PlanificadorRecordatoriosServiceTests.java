@@ -0,0 +1,105 @@
+package com.habitora.backend.service.recordatorio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.entity.Recordatorio;
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+import com.habitora.backend.persistence.repository.RecordatorioRepository;
+import com.habitora.backend.presentation.dto.ConfigRecordatorioRequest;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.service.outbox.DespachadorEventosService;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class PlanificadorRecordatoriosServiceTests {
+
+    @Autowired
+    private PlanificadorRecordatoriosService planificador;
+
+    @Autowired
+    private ConfigRecordatorioService configRecordatorioService;
+
+    @Autowired
+    private RecordatorioRepository recordatorioRepository;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private DespachadorEventosService despachadorEventos;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void programaSegunDiasAntesYReprogramaAlCambiarLaConfiguracion() {
+        Propiedad propiedad = datos.propiedad();
+        datos.configRecordatorio(propiedad, "+51999888777", 3);
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("380.00"), LocalDate.of(2031, 1, 1));
+        LocalDate vencimiento = LocalDate.of(2031, 3, 10);
+        Factura factura = datos.factura(contrato, vencimiento);
+
+        planificador.planificar(List.of(factura.getId()));
+
+        assertThat(programados(factura))
+                .extracting(Recordatorio::getProgramadoPara)
+                .containsExactly(vencimiento.minusDays(3).atTime(9, 0));
+
+        configRecordatorioService.guardar(propiedad.getId(), new ConfigRecordatorioRequest(5, "+51999888777", true));
+
+        assertThat(programados(factura))
+                .extracting(Recordatorio::getProgramadoPara)
+                .containsExactly(vencimiento.minusDays(5).atTime(9, 0));
+
+        configRecordatorioService.guardar(propiedad.getId(), new ConfigRecordatorioRequest(5, "+51999888777", false));
+
+        assertThat(programados(factura)).isEmpty();
+    }
+
+    @Test
+    void unPagoParcialNoReprogramaYElQueSaldaCancela() {
+        Propiedad propiedad = datos.propiedad();
+        datos.configRecordatorio(propiedad, "+51999888777", 3);
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("380.00"), LocalDate.of(2031, 1, 1));
+        Factura factura = datos.factura(contrato, LocalDate.of(2031, 4, 10));
+        planificador.planificar(List.of(factura.getId()));
+        Long recordatorioId = programados(factura).get(0).getId();
+
+        pagoService.registrarPago(factura.getId(),
+                new PagoRequest(new BigDecimal("180.00"), LocalDate.of(2031, 4, 1), MetodoPago.YAPE));
+        despachadorEventos.despacharPendientes();
+
+        assertThat(programados(factura)).extracting(Recordatorio::getId).containsExactly(recordatorioId);
+        assertThat(programados(factura).get(0).getMensaje()).doesNotContain("S/");
+
+        pagoService.registrarPago(factura.getId(),
+                new PagoRequest(new BigDecimal("200.00"), LocalDate.of(2031, 4, 2), MetodoPago.YAPE));
+        despachadorEventos.despacharPendientes();
+
+        assertThat(programados(factura)).isEmpty();
+    }
+
+    private List<Recordatorio> programados(Factura factura) {
+        return recordatorioRepository.findAll().stream()
+                .filter(r -> r.getEstado() == EstadoRecordatorio.PROGRAMADO)
+                .filter(r -> r.getFactura().getId().equals(factura.getId()))
+                .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.habitora.backend.service.reporte;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.presentation.dto.ProyeccionCobranzaResponse;
+import com.habitora.backend.presentation.dto.ProyeccionCobranzaResponse.MesItem;
+import com.habitora.backend.presentation.dto.ProyeccionCobranzaResponse.PropiedadItem;
+import com.habitora.backend.service.exception.DatosInvalidosException;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class ProyeccionCobranzaServiceTests {
+
+    @Autowired
+    private ProyeccionCobranzaService proyeccionService;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void proyectaLaRentaPendienteConLaTasaDeCobroYAgrupaLaMorosidad() {
+        LocalDate hoy = LocalDate.now(clock);
+        Propiedad propiedad = datos.propiedad();
+        Contrato vigente = datos.contratoActivo(propiedad, new BigDecimal("500.00"),
+                hoy.minusMonths(3).withDayOfMonth(1));
+        Factura vencida = datos.factura(vigente, hoy.minusDays(45));
+        pagoService.registrarPago(vencida.getId(),
+                new PagoRequest(new BigDecimal("250.00"), hoy.minusDays(20), MetodoPago.EFECTIVO));
+        datos.contratoActivo(propiedad, new BigDecimal("300.00"), hoy.plusMonths(1).withDayOfMonth(1));
+
+        ProyeccionCobranzaResponse reporte = proyeccionService.proyectar(List.of(propiedad.getId()), 3);
+
+        PropiedadItem item = reporte.propiedades().get(0);
+        assertThat(item.propiedadId()).isEqualTo(propiedad.getId());
+        assertThat(item.tasaCobro()).isEqualByComparingTo("0.5");
+        assertThat(item.meses()).extracting(MesItem::facturacionEsperada)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("500"), new BigDecimal("800"), new BigDecimal("800"));
+        assertThat(item.meses()).extracting(MesItem::cobroEsperado)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("250"), new BigDecimal("400"), new BigDecimal("400"));
+        assertThat(item.morosidad().total()).isEqualByComparingTo("250.00");
+        assertThat(item.morosidad().de31A60Dias()).isEqualByComparingTo("250.00");
+        assertThat(reporte.totales()).isEqualTo(item.meses());
+    }
+
+    @Test
+    void sinPropiedadesDevuelveUnReporteVacio() {
+        ProyeccionCobranzaResponse reporte = proyeccionService.proyectar(List.of(), 6);
+
+        assertThat(reporte.propiedades()).isEmpty();
+        assertThat(reporte.totales()).hasSize(6)
+                .allSatisfy(mes -> assertThat(mes.cobroEsperado()).isEqualByComparingTo("0"));
+        assertThat(reporte.morosidad().total()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void rechazaHorizontesFueraDeRango() {
+        assertThatThrownBy(() -> proyeccionService.proyectar(List.of(1L), ProyeccionCobranzaService.MESES_MAXIMO + 1))
+                .isInstanceOf(DatosInvalidosException.class);
+    }
+}
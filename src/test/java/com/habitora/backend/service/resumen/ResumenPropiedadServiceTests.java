@@ -0,0 +1,99 @@
+package com.habitora.backend.service.resumen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Pago.MetodoPago;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.entity.ResumenPropiedad;
+import com.habitora.backend.persistence.repository.ResumenPropiedadRepository;
+import com.habitora.backend.presentation.dto.PagoRequest;
+import com.habitora.backend.service.outbox.DespachadorEventosService;
+import com.habitora.backend.service.pago.PagoService;
+import com.habitora.backend.support.DatosPrueba;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DatosPrueba.class)
+class ResumenPropiedadServiceTests {
+
+    @Autowired
+    private ResumenPropiedadService resumenService;
+
+    @Autowired
+    private ResumenPropiedadRepository resumenRepository;
+
+    @Autowired
+    private PagoService pagoService;
+
+    @Autowired
+    private DespachadorEventosService despachadorEventos;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Test
+    void unPagoMarcaLaPropiedadYElRecalculoLaLimpia() {
+        Propiedad propiedad = datos.propiedad();
+        Contrato contrato = datos.contratoActivo(propiedad, new BigDecimal("400.00"), LocalDate.now(clock).minusMonths(1));
+        Factura factura = datos.factura(contrato, LocalDate.now(clock).plusDays(5));
+        assertThat(resumenService.obtener(propiedad.getId()).rentaCobradaMes()).isEqualByComparingTo("0");
+
+        pagoService.registrarPago(factura.getId(),
+                new PagoRequest(new BigDecimal("150.00"), LocalDate.now(clock), MetodoPago.YAPE));
+        despachadorEventos.despacharPendientes();
+
+        ResumenPropiedad marcado = resumen(propiedad);
+        assertThat(marcado.getPendiente()).isTrue();
+        assertThat(marcado.getRentaCobradaMes()).isEqualByComparingTo("0");
+
+        resumenService.recalcularPendientes();
+
+        ResumenPropiedad recalculado = resumen(propiedad);
+        assertThat(recalculado.getPendiente()).isFalse();
+        assertThat(recalculado.getMarca()).isEqualTo(marcado.getMarca());
+        assertThat(recalculado.getRentaCobradaMes()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void unaMarcaPosteriorALaLecturaNoSeLimpia() {
+        Propiedad propiedad = datos.propiedad();
+        resumenService.obtener(propiedad.getId());
+        resumenService.marcarPendiente(propiedad.getId());
+        long marcaLeida = resumen(propiedad).getMarca();
+
+        // Otro cambio llega mientras el recálculo calcula con la marca leída.
+        resumenService.marcarPendiente(propiedad.getId());
+        Integer limpiadas = transactionTemplate.execute(status ->
+                resumenRepository.limpiarPendiente(propiedad.getId(), marcaLeida));
+
+        assertThat(limpiadas).isZero();
+        assertThat(resumen(propiedad).getPendiente()).isTrue();
+
+        resumenService.recalcularPendientes();
+
+        assertThat(resumen(propiedad).getPendiente()).isFalse();
+    }
+
+    private ResumenPropiedad resumen(Propiedad propiedad) {
+        return resumenRepository.findById(propiedad.getId()).orElseThrow();
+    }
+}
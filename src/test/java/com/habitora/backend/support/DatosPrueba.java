@@ -0,0 +1,163 @@
+package com.habitora.backend.support;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.habitora.backend.persistence.entity.ConfigRecordatorio;
+import com.habitora.backend.persistence.entity.Contrato;
+import com.habitora.backend.persistence.entity.Contrato.EstadoContrato;
+import com.habitora.backend.persistence.entity.Factura;
+import com.habitora.backend.persistence.entity.Factura.EstadoFactura;
+import com.habitora.backend.persistence.entity.Habitacion;
+import com.habitora.backend.persistence.entity.Habitacion.EstadoHabitacion;
+import com.habitora.backend.persistence.entity.Inquilino;
+import com.habitora.backend.persistence.entity.Piso;
+import com.habitora.backend.persistence.entity.Propiedad;
+import com.habitora.backend.persistence.entity.Recordatorio;
+import com.habitora.backend.persistence.entity.Recordatorio.EstadoRecordatorio;
+import com.habitora.backend.persistence.entity.Usuario;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Crea grafos mínimos de entidades para los tests de integración.
+ */
+@TestComponent
+public class DatosPrueba {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private long secuencia = System.nanoTime();
+
+    @Transactional
+    public Propiedad propiedad() {
+        long n = ++secuencia;
+        Usuario usuario = Usuario.builder()
+                .nombreCompleto("Dueño " + n)
+                .email("dueno" + n + "@habitora.test")
+                .contraseña("secreto-" + n)
+                .build();
+        entityManager.persist(usuario);
+
+        Propiedad propiedad = Propiedad.builder()
+                .usuario(usuario)
+                .nombre("Propiedad " + n)
+                .cantidadPisos(1)
+                .build();
+        entityManager.persist(propiedad);
+
+        Piso piso = Piso.builder().numeroPiso(1).build();
+        propiedad.addPiso(piso);
+        entityManager.persist(piso);
+        return propiedad;
+    }
+
+    @Transactional
+    public ConfigRecordatorio configRecordatorio(Propiedad propiedad, String telefonoRemitente, int diasAntes) {
+        ConfigRecordatorio config = ConfigRecordatorio.builder()
+                .propiedad(entityManager.getReference(Propiedad.class, propiedad.getId()))
+                .diasAntes(diasAntes)
+                .canal(ConfigRecordatorio.Canal.WHATSAPP)
+                .telefonoRemitente(telefonoRemitente)
+                .build();
+        entityManager.persist(config);
+        return config;
+    }
+
+    @Transactional
+    public Habitacion habitacionLibre(Propiedad propiedad, BigDecimal renta) {
+        Propiedad gestionada = entityManager.find(Propiedad.class, propiedad.getId());
+        Habitacion habitacion = Habitacion.builder()
+                .propiedad(gestionada)
+                .piso(gestionada.getPisos().get(0))
+                .codigo("H-" + ++secuencia)
+                .precioRenta(renta)
+                .estado(EstadoHabitacion.DISPONIBLE)
+                .build();
+        entityManager.persist(habitacion);
+        return habitacion;
+    }
+
+    @Transactional
+    public Inquilino inquilino() {
+        long n = ++secuencia;
+        Inquilino inquilino = Inquilino.builder()
+                .nombreCompleto("Inquilino " + n)
+                .numeroDni(String.valueOf(n % 100_000_000L))
+                .telefonoWhatsapp("+5190000" + (n % 10_000))
+                .build();
+        entityManager.persist(inquilino);
+        return inquilino;
+    }
+
+    @Transactional
+    public Contrato contratoActivo(Propiedad propiedad, BigDecimal renta, LocalDate inicio) {
+        return contratoActivo(propiedad, inquilino(), renta, inicio);
+    }
+
+    @Transactional
+    public Contrato contratoActivo(Propiedad propiedad, Inquilino inquilino, BigDecimal renta, LocalDate inicio) {
+        long n = ++secuencia;
+        Propiedad gestionada = entityManager.find(Propiedad.class, propiedad.getId());
+        Piso piso = gestionada.getPisos().get(0);
+
+        Habitacion habitacion = Habitacion.builder()
+                .propiedad(gestionada)
+                .piso(piso)
+                .codigo("H-" + n)
+                .precioRenta(renta)
+                .estado(EstadoHabitacion.OCUPADA)
+                .build();
+        entityManager.persist(habitacion);
+
+        Contrato contrato = Contrato.builder()
+                .propiedad(gestionada)
+                .habitacion(habitacion)
+                .inquilino(entityManager.getReference(Inquilino.class, inquilino.getId()))
+                .estado(EstadoContrato.ACTIVO)
+                .fechaInicio(inicio)
+                .montoDeposito(renta)
+                .build();
+        entityManager.persist(contrato);
+        return contrato;
+    }
+
+    @Transactional
+    public Factura factura(Contrato contrato, LocalDate vencimiento) {
+        Contrato gestionado = entityManager.find(Contrato.class, contrato.getId());
+        BigDecimal renta = gestionado.getHabitacion().getPrecioRenta();
+        Factura factura = Factura.builder()
+                .contrato(gestionado)
+                .periodoInicio(vencimiento.withDayOfMonth(1))
+                .periodoFin(vencimiento.withDayOfMonth(vencimiento.lengthOfMonth()))
+                .fechaVencimiento(vencimiento)
+                .montoRenta(renta)
+                .totalAPagar(renta)
+                .estado(EstadoFactura.ABIERTA)
+                .build();
+        entityManager.persist(factura);
+        return factura;
+    }
+
+    @Transactional
+    public Recordatorio recordatorio(Factura factura, String telefonoDestino, LocalDateTime programadoPara) {
+        Factura gestionada = entityManager.find(Factura.class, factura.getId());
+        Recordatorio recordatorio = Recordatorio.builder()
+                .factura(gestionada)
+                .contrato(gestionada.getContrato())
+                .programadoPara(programadoPara)
+                .canal(Recordatorio.Canal.WHATSAPP)
+                .telefonoDestino(telefonoDestino)
+                .mensaje("Recordatorio de pago")
+                .estado(EstadoRecordatorio.PROGRAMADO)
+                .build();
+        entityManager.persist(recordatorio);
+        return recordatorio;
+    }
+}